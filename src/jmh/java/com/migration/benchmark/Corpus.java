@@ -0,0 +1,106 @@
+package com.migration.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Access to the committed benchmark corpus under {@code src/jmh/resources/corpus}.
+ *
+ * Larger inputs are derived deterministically from the committed files, so a
+ * given parameter set always produces byte-identical input and results stay
+ * comparable between releases.
+ */
+public final class Corpus {
+    
+    public static final String LEGACY = "legacy.gradle";
+    public static final String MODERN = "modern.gradle";
+    public static final String MIXED_KTS = "mixed.gradle.kts";
+    public static final String WRAPPER = "gradle-wrapper.properties";
+    
+    // Module build files in rotation order for synthetic projects
+    private static final String[] MODULE_FILES = {LEGACY, MODERN, MIXED_KTS};
+    
+    // Prevent instantiation
+    private Corpus() {
+        throw new AssertionError("Cannot instantiate Corpus class");
+    }
+    
+    /**
+     * Reads a corpus file from the benchmark classpath
+     */
+    public static String read(String name) {
+        try (InputStream in = Corpus.class.getResourceAsStream("/corpus/" + name)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Unknown corpus file: " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Repeats a corpus file until the result has exactly the given number of lines
+     */
+    public static String scaled(String name, int lines) {
+        String[] source = read(name).split("\n");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            content.append(source[i % source.length]).append('\n');
+        }
+        return content.toString();
+    }
+    
+    /**
+     * Creates a multi-module project in a fresh temporary directory. The root
+     * build uses the modern corpus file; modules rotate through the legacy,
+     * modern and Kotlin DSL files.
+     *
+     * @param modules number of subprojects
+     * @return the project root
+     */
+    public static Path createProject(int modules) throws IOException {
+        Path root = Files.createTempDirectory("migration-bench-");
+        
+        StringBuilder settings = new StringBuilder("rootProject.name = 'synthetic'\n\n");
+        for (int i = 0; i < modules; i++) {
+            String module = moduleName(i);
+            settings.append("include '").append(module).append("'\n");
+            
+            String file = MODULE_FILES[i % MODULE_FILES.length];
+            Path moduleDir = Files.createDirectories(root.resolve(module));
+            String buildFile = file.endsWith(".kts") ? "build.gradle.kts" : "build.gradle";
+            Files.writeString(moduleDir.resolve(buildFile), read(file));
+        }
+        
+        Files.writeString(root.resolve("settings.gradle"), settings.toString());
+        Files.writeString(root.resolve("build.gradle"), read(MODERN));
+        Path wrapperDir = Files.createDirectories(root.resolve("gradle/wrapper"));
+        Files.writeString(wrapperDir.resolve(WRAPPER), read(WRAPPER));
+        return root;
+    }
+    
+    /**
+     * Recursively deletes a directory created for a benchmark
+     */
+    public static void delete(Path root) throws IOException {
+        if (root == null || !Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+    
+    private static String moduleName(int index) {
+        return String.format("module-%04d", index);
+    }
+}
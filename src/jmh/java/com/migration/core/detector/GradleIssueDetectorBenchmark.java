@@ -0,0 +1,158 @@
+package com.migration.core.detector;
+
+import com.migration.benchmark.Corpus;
+import com.migration.core.cache.FileContent;
+import com.migration.core.cache.LineIndex;
+import com.migration.model.MigrationIssue;
+import com.migration.model.ProjectInfo;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the detector: single rules and the full rule set over one
+ * file, line number lookup, and whole-project analysis over synthetic trees.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GradleIssueDetectorBenchmark {
+    
+    /**
+     * One corpus file scaled to a line count and written to disk
+     */
+    @State(Scope.Benchmark)
+    public static class FileState {
+        @Param({Corpus.LEGACY, Corpus.MODERN, Corpus.MIXED_KTS})
+        public String corpusFile;
+        
+        @Param({"100", "1000", "10000"})
+        public int lines;
+        
+        final GradleIssueDetector detector = new GradleIssueDetector();
+        Path root;
+        Path file;
+        String content;
+        FileContent fileContent;
+        long fileSize;
+        
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            root = Files.createTempDirectory("migration-bench-");
+            content = Corpus.scaled(corpusFile, lines);
+            fileContent = FileContent.of(content);
+            file = root.resolve(corpusFile.endsWith(".kts") ? "build.gradle.kts" : "build.gradle");
+            Files.writeString(file, content);
+            fileSize = Files.size(file);
+        }
+        
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            Corpus.delete(root);
+        }
+        
+        ScanContext newContext() {
+            ProjectInfo projectInfo = new ProjectInfo();
+            projectInfo.setProjectPath(root.toString());
+            return new ScanContext(projectInfo, new ArrayList<>(), AnalysisOptions.defaults());
+        }
+    }
+    
+    /**
+     * Like {@link FileState}, for a single rule
+     */
+    @State(Scope.Benchmark)
+    public static class RuleState extends FileState {
+        @Param({
+            "DEPRECATED_CONFIGURATIONS", "DEPRECATED_API", "ARCHIVE_NAME",
+            "TASK_LEFTSHIFT", "DYNAMIC_PROPERTIES", "DEPRECATED_METHODS", "DEPRECATED_DEPENDENCY_CONFIG",
+            "BUILDSCRIPT_CLASSPATH", "SOURCESET_OUTPUT", "DEPRECATED_TASK_TYPES", "DEPRECATED_PROPERTIES"
+        })
+        public String rule;
+        
+        @Setup(Level.Trial)
+        public void checkRule() {
+            if (!GradleIssueDetector.ruleTypes().contains(rule)) {
+                throw new IllegalStateException("Unknown rule: " + rule);
+            }
+        }
+    }
+    
+    /**
+     * Scaled content with a lookup position given as a fraction of its length
+     */
+    @State(Scope.Benchmark)
+    public static class LineNumberState {
+        @Param({"1000", "10000", "100000"})
+        public int lines;
+        
+        @Param({"0.1", "0.5", "1.0"})
+        public double position;
+        
+        LineIndex lineIndex;
+        int offset;
+        
+        @Setup(Level.Trial)
+        public void setUp() {
+            String content = Corpus.scaled(Corpus.LEGACY, lines);
+            lineIndex = LineIndex.of(content);
+            offset = (int) ((content.length() - 1) * position);
+        }
+    }
+    
+    /**
+     * A synthetic multi-module project on disk
+     */
+    @State(Scope.Benchmark)
+    public static class ProjectState {
+        @Param({"10", "100", "500"})
+        public int modules;
+        
+        final GradleIssueDetector detector = new GradleIssueDetector();
+        Path root;
+        
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            root = Corpus.createProject(modules);
+        }
+        
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            Corpus.delete(root);
+        }
+    }
+    
+    @Benchmark
+    public List<MigrationIssue> scanFileAllRules(FileState state) throws IOException {
+        // After the first invocation the file comes from the content cache, as when a project is analyzed again
+        ScanContext context = state.newContext();
+        state.detector.scanFile(state.file, context);
+        return context.issues;
+    }
+    
+    @Benchmark
+    public List<MigrationIssue> scanFileSingleRule(RuleState state) throws IOException {
+        // Content is already in memory, so this isolates the matching cost of one rule
+        ScanContext context = state.newContext();
+        state.detector.matchRule(state.rule, state.file, state.fileContent, state.fileSize, context);
+        return context.issues;
+    }
+    
+    @Benchmark
+    public int getLineNumber(LineNumberState state) {
+        return state.lineIndex.lineNumber(state.offset);
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ProjectInfo analyzeProject(ProjectState state) throws IOException {
+        return state.detector.analyzeProject(state.root.toString());
+    }
+}
@@ -0,0 +1,71 @@
+package com.migration.core.fixer;
+
+import com.migration.benchmark.Corpus;
+import com.migration.core.detector.GradleIssueDetector;
+import com.migration.model.MigrationIssue;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks applying every auto-fixable issue of one build file, for files
+ * of increasing size. The file is restored and its backups removed before
+ * each invocation so every call fixes the same input.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AutoFixerBenchmark {
+    
+    @Param({"100", "1000", "10000"})
+    public int lines;
+    
+    private final AutoFixer fixer = new AutoFixer();
+    private Path root;
+    private Path file;
+    private String original;
+    private List<MigrationIssue> issues;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("migration-bench-");
+        file = root.resolve("build.gradle");
+        original = Corpus.scaled(Corpus.LEGACY, lines);
+        Files.writeString(file, original);
+        
+        issues = new GradleIssueDetector().analyzeProject(root.toString()).getIssues().stream()
+            .filter(MigrationIssue::isAutoFixable)
+            .collect(Collectors.toList());
+    }
+    
+    @Setup(Level.Invocation)
+    public void restore() throws IOException {
+        Files.writeString(file, original);
+        try (Stream<Path> backups = Files.list(root)) {
+            for (Path backup : (Iterable<Path>) backups::iterator) {
+                if (backup.getFileName().toString().contains(".backup.")) {
+                    Files.delete(backup);
+                }
+            }
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Corpus.delete(root);
+    }
+    
+    @Benchmark
+    public AutoFixer.BatchFixResult applyMultipleFixes() {
+        return fixer.applyMultipleFixes(issues);
+    }
+}
@@ -3,10 +3,12 @@ package com.migration.api.request;
 import java.util.List;
 
 /**
- * Request object for applying fixes
+ * Request object for applying fixes. Issues are chosen by id, by selectors,
+ * or both; an issue chosen more than once is fixed once.
  */
 public class FixRequest {
     private List<String> issueIds;
+    private List<FixSelector> selectors;
     
     public FixRequest() {
     }
@@ -22,4 +24,12 @@ public class FixRequest {
     public void setIssueIds(List<String> issueIds) {
         this.issueIds = issueIds;
     }
+    
+    public List<FixSelector> getSelectors() {
+        return selectors;
+    }
+    
+    public void setSelectors(List<FixSelector> selectors) {
+        this.selectors = selectors;
+    }
 }
@@ -0,0 +1,49 @@
+package com.migration.api.request;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Selects the auto-fixable issues of the stored analysis to fix, without
+ * listing their ids. Empty lists match everything; values within one list
+ * are OR-ed, different criteria are AND-ed. A selector must set at least one
+ * criterion, or allAutoFixable to select every auto-fixable issue.
+ */
+public class FixSelector {
+    private List<String> types = new ArrayList<>();
+    private List<String> severities = new ArrayList<>();
+    private List<String> modules = new ArrayList<>();
+    // Glob over the path relative to the project, with / separators, e.g. "libs/**/build.gradle"
+    private String fileGlob;
+    private boolean allAutoFixable;
+    
+    public FixSelector() {
+    }
+    
+    public List<String> getTypes() { return types; }
+    public void setTypes(List<String> types) { this.types = types; }
+    
+    public List<String> getSeverities() { return severities; }
+    public void setSeverities(List<String> severities) { this.severities = severities; }
+    
+    public List<String> getModules() { return modules; }
+    public void setModules(List<String> modules) { this.modules = modules; }
+    
+    public String getFileGlob() { return fileGlob; }
+    public void setFileGlob(String fileGlob) { this.fileGlob = fileGlob; }
+    
+    public boolean isAllAutoFixable() { return allAutoFixable; }
+    public void setAllAutoFixable(boolean allAutoFixable) { this.allAutoFixable = allAutoFixable; }
+    
+    /**
+     * Checks whether the selector sets any criterion
+     */
+    public boolean isEmpty() {
+        return !allAutoFixable && isEmpty(types) && isEmpty(severities) && isEmpty(modules)
+            && (fileGlob == null || fileGlob.isEmpty());
+    }
+    
+    private static boolean isEmpty(List<String> values) {
+        return values == null || values.isEmpty();
+    }
+}
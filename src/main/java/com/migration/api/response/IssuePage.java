@@ -0,0 +1,49 @@
+package com.migration.api.response;
+
+import com.migration.model.MigrationIssue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of issues from a stored analysis
+ */
+public class IssuePage {
+    private int page;
+    private int size;
+    private int totalMatches;
+    private int totalPages;
+    private String sort;
+    private List<MigrationIssue> issues;
+    
+    public IssuePage() {
+        this.issues = new ArrayList<>();
+    }
+    
+    public IssuePage(int page, int size, int totalMatches, String sort, List<MigrationIssue> issues) {
+        this.page = page;
+        this.size = size;
+        this.totalMatches = totalMatches;
+        this.totalPages = (totalMatches + size - 1) / size;
+        this.sort = sort;
+        this.issues = issues;
+    }
+    
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+    
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+    
+    public int getTotalMatches() { return totalMatches; }
+    public void setTotalMatches(int totalMatches) { this.totalMatches = totalMatches; }
+    
+    public int getTotalPages() { return totalPages; }
+    public void setTotalPages(int totalPages) { this.totalPages = totalPages; }
+    
+    public String getSort() { return sort; }
+    public void setSort(String sort) { this.sort = sort; }
+    
+    public List<MigrationIssue> getIssues() { return issues; }
+    public void setIssues(List<MigrationIssue> issues) { this.issues = issues; }
+}
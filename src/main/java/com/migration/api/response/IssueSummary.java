@@ -0,0 +1,92 @@
+package com.migration.api.response;
+
+import com.migration.model.MigrationIssue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Issue counts of an analysis without the issues themselves. Summary
+ * analyses add per-file counts and a sample of issues.
+ */
+public class IssueSummary {
+    private String projectName;
+    private String projectPath;
+    private String currentGradleVersion;
+    private boolean multiModule;
+    private List<String> modules;
+    private int totalIssues;
+    private int criticalIssues;
+    private int autoFixableIssues;
+    private Map<String, Integer> bySeverity;
+    private Map<String, Integer> byType;
+    private Map<String, Integer> byModule;
+    private boolean incomplete;
+    // Base revision when only build files changed since it were analyzed
+    private String changedSince;
+    // Summary analyses only
+    private Integer filesWithIssues;
+    private Map<String, Integer> byFile;
+    private List<MigrationIssue> sample;
+    
+    public IssueSummary() {
+        this.modules = new ArrayList<>();
+        this.bySeverity = new LinkedHashMap<>();
+        this.byType = new LinkedHashMap<>();
+        this.byModule = new LinkedHashMap<>();
+    }
+    
+    public String getProjectName() { return projectName; }
+    public void setProjectName(String projectName) { this.projectName = projectName; }
+    
+    public String getProjectPath() { return projectPath; }
+    public void setProjectPath(String projectPath) { this.projectPath = projectPath; }
+    
+    public String getCurrentGradleVersion() { return currentGradleVersion; }
+    public void setCurrentGradleVersion(String currentGradleVersion) { 
+        this.currentGradleVersion = currentGradleVersion; 
+    }
+    
+    public boolean isMultiModule() { return multiModule; }
+    public void setMultiModule(boolean multiModule) { this.multiModule = multiModule; }
+    
+    public List<String> getModules() { return modules; }
+    public void setModules(List<String> modules) { this.modules = modules; }
+    
+    public int getTotalIssues() { return totalIssues; }
+    public void setTotalIssues(int totalIssues) { this.totalIssues = totalIssues; }
+    
+    public int getCriticalIssues() { return criticalIssues; }
+    public void setCriticalIssues(int criticalIssues) { this.criticalIssues = criticalIssues; }
+    
+    public int getAutoFixableIssues() { return autoFixableIssues; }
+    public void setAutoFixableIssues(int autoFixableIssues) { 
+        this.autoFixableIssues = autoFixableIssues; 
+    }
+    
+    public Map<String, Integer> getBySeverity() { return bySeverity; }
+    public void setBySeverity(Map<String, Integer> bySeverity) { this.bySeverity = bySeverity; }
+    
+    public Map<String, Integer> getByType() { return byType; }
+    public void setByType(Map<String, Integer> byType) { this.byType = byType; }
+    
+    public Map<String, Integer> getByModule() { return byModule; }
+    public void setByModule(Map<String, Integer> byModule) { this.byModule = byModule; }
+    
+    public boolean isIncomplete() { return incomplete; }
+    public void setIncomplete(boolean incomplete) { this.incomplete = incomplete; }
+    
+    public String getChangedSince() { return changedSince; }
+    public void setChangedSince(String changedSince) { this.changedSince = changedSince; }
+    
+    public Integer getFilesWithIssues() { return filesWithIssues; }
+    public void setFilesWithIssues(Integer filesWithIssues) { this.filesWithIssues = filesWithIssues; }
+    
+    public Map<String, Integer> getByFile() { return byFile; }
+    public void setByFile(Map<String, Integer> byFile) { this.byFile = byFile; }
+    
+    public List<MigrationIssue> getSample() { return sample; }
+    public void setSample(List<MigrationIssue> sample) { this.sample = sample; }
+}
@@ -0,0 +1,35 @@
+package com.migration.api.response;
+
+import com.migration.model.AnalysisRun;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The recorded runs of a project in a time range
+ */
+public class RunHistory {
+    private String projectPath;
+    private long latestSequence;
+    private List<AnalysisRun> runs;
+    
+    public RunHistory() {
+        this.runs = new ArrayList<>();
+    }
+    
+    public RunHistory(String projectPath, long latestSequence, List<AnalysisRun> runs) {
+        this.projectPath = projectPath;
+        this.latestSequence = latestSequence;
+        this.runs = runs;
+    }
+    
+    // Getters and Setters
+    public String getProjectPath() { return projectPath; }
+    public void setProjectPath(String projectPath) { this.projectPath = projectPath; }
+    
+    public long getLatestSequence() { return latestSequence; }
+    public void setLatestSequence(long latestSequence) { this.latestSequence = latestSequence; }
+    
+    public List<AnalysisRun> getRuns() { return runs; }
+    public void setRuns(List<AnalysisRun> runs) { this.runs = runs; }
+}
@@ -0,0 +1,367 @@
+package com.migration.cli;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.migration.core.detector.AnalysisOptions;
+import com.migration.core.detector.CancellationToken;
+import com.migration.core.detector.GradleIssueDetector;
+import com.migration.core.fixer.AutoFixer;
+import com.migration.core.index.IssueIndex;
+import com.migration.model.MigrationIssue;
+import com.migration.model.ProjectInfo;
+import com.migration.report.HtmlReportWriter;
+import com.migration.report.SarifWriter;
+import com.migration.util.PathValidator;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Command-line entry point for CI pipelines. Runs the detector and fixer
+ * in-process, without a servlet container.
+ *
+ * <pre>
+ * gradle-migration analyze PATH [--format json|sarif|html|text] [--output FILE] [--fail-on SEVERITY] [--profile]
+ *                  [--source-version VERSION|wrapper] [--target-version VERSION] [--timeout SECONDS]
+ *                  [--changed-since REVISION]
+ * gradle-migration fix PATH [--types TYPE,...] [--format json|text] [--output FILE]
+ * </pre>
+ *
+ * Exit codes: 0 no issues at or above the fail-on severity (or all fixes
+ * applied), 1 issues found (or a fix failed), 2 usage error, 3 analysis error or
+ * an analysis stopped by its timeout without finding failing issues.
+ */
+public final class MigrationCli {
+    
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_ISSUES = 1;
+    public static final int EXIT_USAGE = 2;
+    public static final int EXIT_ERROR = 3;
+    
+    private static final String USAGE =
+        "Usage: gradle-migration <command> PATH [options]\n" +
+        "\n" +
+        "Commands:\n" +
+        "  analyze   Detect Gradle 9 migration issues\n" +
+        "  fix       Apply all auto-fixable issues\n" +
+        "\n" +
+        "Options:\n" +
+        "  --format json|sarif|html|text\n" +
+        "                             Output format (default: text; sarif and html are\n" +
+        "                             analyze only)\n" +
+        "  --output FILE              Write the report to FILE instead of stdout\n" +
+        "  --fail-on SEVERITY         Lowest severity that fails analyze: CRITICAL, HIGH,\n" +
+        "                             MEDIUM, LOW (default) or NONE\n" +
+        "  --profile                  Include per-stage timings in the JSON report\n" +
+        "  --source-version VERSION   Gradle version migrated from, or 'wrapper' for the\n" +
+        "                             project's wrapper version (default: any)\n" +
+        "  --target-version VERSION   Gradle version migrated to (default: 9.0)\n" +
+        "  --timeout SECONDS          Stop analyze after SECONDS and report the files\n" +
+        "                             scanned so far (default: no limit)\n" +
+        "  --changed-since REVISION   Only analyze build files that differ from a Git\n" +
+        "                             revision, e.g. origin/main or HEAD\n" +
+        "  --types TYPE,...           Only fix issues of these types\n" +
+        "  --help                     Show this help\n" +
+        "  --version                  Show the version\n" +
+        "\n" +
+        "Exit codes: 0 clean, 1 issues found or fixes failed, 2 usage error, 3 error or timeout\n";
+    
+    private final PrintStream stdout;
+    private final PrintStream stderr;
+    
+    public MigrationCli(PrintStream stdout, PrintStream stderr) {
+        this.stdout = stdout;
+        this.stderr = stderr;
+    }
+    
+    public static void main(String[] args) {
+        System.exit(new MigrationCli(System.out, System.err).run(args));
+    }
+    
+    /**
+     * Runs one command and returns its exit code
+     */
+    public int run(String[] args) {
+        CliOptions options;
+        try {
+            options = CliOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            stderr.println("Error: " + e.getMessage());
+            stderr.print(USAGE);
+            return EXIT_USAGE;
+        }
+        
+        if (options.help) {
+            stdout.print(USAGE);
+            return EXIT_OK;
+        }
+        if (options.version) {
+            stdout.println(SarifWriter.TOOL_NAME + " " + version());
+            return EXIT_OK;
+        }
+        
+        PathValidator.ValidationResult validation = PathValidator.validate(options.projectPath);
+        if (!validation.isValid()) {
+            stderr.println("Error: " + validation.getErrorMessage() + ": " + options.projectPath);
+            return EXIT_USAGE;
+        }
+        
+        try {
+            return "fix".equals(options.command) ? fix(options) : analyze(options);
+        } catch (IOException | RuntimeException e) {
+            stderr.println("Error: " + e.getMessage());
+            return EXIT_ERROR;
+        }
+    }
+    
+    private int analyze(CliOptions options) throws IOException {
+        AnalysisOptions analysisOptions = new AnalysisOptions();
+        analysisOptions.setProfile(options.profile);
+        analysisOptions.setVersions(options.sourceVersion, options.targetVersion);
+        analysisOptions.setChangedSince(options.changedSince);
+        if (options.timeoutSeconds > 0) {
+            analysisOptions.setCancellation(CancellationToken.withTimeout(options.timeoutSeconds * 1000L));
+        }
+        ProjectInfo projectInfo = new GradleIssueDetector().analyzeProject(options.projectPath, analysisOptions);
+        
+        try (Writer out = openOutput(options)) {
+            switch (options.format) {
+                case "sarif":
+                    new SarifWriter(out, version()).write(projectInfo);
+                    break;
+                case "html":
+                    new HtmlReportWriter(out, version()).write(projectInfo);
+                    break;
+                case "json":
+                    gson().toJson(projectInfo, out);
+                    break;
+                default:
+                    writeText(out, projectInfo);
+                    break;
+            }
+            out.write(System.lineSeparator());
+        }
+        
+        if (countFailing(projectInfo.getIssues(), options.failOn) > 0) {
+            return EXIT_ISSUES;
+        }
+        if (projectInfo.isIncomplete()) {
+            // Files left unscanned may hold failing issues
+            stderr.println("Error: Analysis stopped after " + options.timeoutSeconds + "s, results are incomplete");
+            return EXIT_ERROR;
+        }
+        return EXIT_OK;
+    }
+    
+    private int fix(CliOptions options) throws IOException {
+        ProjectInfo projectInfo = new GradleIssueDetector().analyzeProject(options.projectPath);
+        List<MigrationIssue> toFix = projectInfo.getIssues().stream()
+            .filter(MigrationIssue::isAutoFixable)
+            .filter(issue -> options.types.isEmpty() || options.types.contains(issue.getType()))
+            .collect(Collectors.toList());
+        
+        AutoFixer.BatchFixResult result = new AutoFixer().applyMultipleFixes(toFix);
+        
+        try (Writer out = openOutput(options)) {
+            if ("json".equals(options.format)) {
+                gson().toJson(result, out);
+            } else {
+                for (AutoFixer.FixResult fix : result.getResults()) {
+                    out.write((fix.isSuccess() ? "FIXED  " : "FAILED ") + fix.getFilePath() + " - " +
+                              fix.getMessage() + System.lineSeparator());
+                }
+                out.write(String.format("%d processed, %d fixed, %d failed",
+                                        result.getTotalProcessed(), result.getSuccessCount(), result.getFailureCount()));
+            }
+            out.write(System.lineSeparator());
+        }
+        
+        return result.getFailureCount() > 0 ? EXIT_ISSUES : EXIT_OK;
+    }
+    
+    private void writeText(Writer out, ProjectInfo projectInfo) throws IOException {
+        String newline = System.lineSeparator();
+        Path root = Paths.get(projectInfo.getProjectPath());
+        for (MigrationIssue issue : projectInfo.getIssues()) {
+            Path file = Paths.get(issue.getFilePath());
+            String display = file.startsWith(root) ? root.relativize(file).toString() : file.toString();
+            out.write(String.format("%s:%d: %-8s %s: %s%s", display, issue.getLineNumber(), issue.getSeverity(),
+                                    issue.getType(), issue.getCurrentCode(), newline));
+        }
+        out.write(String.format("%s: %d issues (%d critical, %d auto-fixable), Gradle %s",
+                                projectInfo.getProjectName(), projectInfo.getTotalIssues(),
+                                projectInfo.getCriticalIssues(), projectInfo.getAutoFixableIssues(),
+                                projectInfo.getCurrentGradleVersion() != null
+                                    ? projectInfo.getCurrentGradleVersion() : "unknown"));
+        if (projectInfo.getChangedSince() != null) {
+            out.write(" in files changed since " + projectInfo.getChangedSince());
+        }
+        if (projectInfo.isIncomplete()) {
+            out.write(" (incomplete: timeout reached)");
+        }
+    }
+    
+    private Writer openOutput(CliOptions options) throws IOException {
+        if (options.output == null) {
+            // Closing the report flushes it but leaves stdout open
+            return new BufferedWriter(new OutputStreamWriter(stdout, StandardCharsets.UTF_8)) {
+                @Override
+                public void close() throws IOException {
+                    flush();
+                }
+            };
+        }
+        return Files.newBufferedWriter(Paths.get(options.output), StandardCharsets.UTF_8);
+    }
+    
+    static long countFailing(List<MigrationIssue> issues, String failOn) {
+        if ("NONE".equals(failOn)) {
+            return 0;
+        }
+        int threshold = IssueIndex.SEVERITY_ORDER.indexOf(failOn);
+        return issues.stream()
+            .filter(issue -> {
+                int rank = IssueIndex.SEVERITY_ORDER.indexOf(issue.getSeverity());
+                return rank >= 0 && rank <= threshold;
+            })
+            .count();
+    }
+    
+    private static Gson gson() {
+        return new GsonBuilder().setPrettyPrinting().create();
+    }
+    
+    static String version() {
+        String version = MigrationCli.class.getPackage().getImplementationVersion();
+        return version != null ? version : "dev";
+    }
+    
+    /**
+     * Parsed command line
+     */
+    static class CliOptions {
+        // Options that only change what analyze reports, rejected for fix rather than ignored
+        private static final List<String> ANALYZE_ONLY = List.of(
+            "--fail-on", "--profile", "--source-version", "--target-version", "--timeout", "--changed-since");
+        
+        String command;
+        String projectPath;
+        String format = "text";
+        String output;
+        String failOn = "LOW";
+        boolean profile;
+        String sourceVersion;
+        String targetVersion;
+        int timeoutSeconds;
+        String changedSince;
+        Set<String> types = new HashSet<>();
+        boolean help;
+        boolean version;
+        
+        static CliOptions parse(String[] args) {
+            CliOptions options = new CliOptions();
+            List<String> positional = new ArrayList<>();
+            Set<String> given = new LinkedHashSet<>();
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if (arg.startsWith("--")) {
+                    given.add(arg);
+                }
+                switch (arg) {
+                    case "--help":
+                    case "-h":
+                        options.help = true;
+                        return options;
+                    case "--version":
+                        options.version = true;
+                        return options;
+                    case "--profile":
+                        options.profile = true;
+                        break;
+                    case "--format":
+                        options.format = value(args, ++i, arg).toLowerCase(Locale.ROOT);
+                        break;
+                    case "--output":
+                        options.output = value(args, ++i, arg);
+                        break;
+                    case "--source-version":
+                        options.sourceVersion = value(args, ++i, arg);
+                        break;
+                    case "--target-version":
+                        options.targetVersion = value(args, ++i, arg);
+                        break;
+                    case "--timeout":
+                        String timeout = value(args, ++i, arg);
+                        try {
+                            options.timeoutSeconds = Integer.parseInt(timeout);
+                        } catch (NumberFormatException e) {
+                            options.timeoutSeconds = -1;
+                        }
+                        if (options.timeoutSeconds < 0) {
+                            throw new IllegalArgumentException("Invalid timeout " + timeout);
+                        }
+                        break;
+                    case "--changed-since":
+                        options.changedSince = value(args, ++i, arg);
+                        break;
+                    case "--fail-on":
+                        options.failOn = value(args, ++i, arg).toUpperCase(Locale.ROOT);
+                        break;
+                    case "--types":
+                        for (String type : value(args, ++i, arg).split(",")) {
+                            if (!type.isBlank()) {
+                                options.types.add(type.trim().toUpperCase(Locale.ROOT));
+                            }
+                        }
+                        break;
+                    default:
+                        if (arg.startsWith("-")) {
+                            throw new IllegalArgumentException("Unknown option " + arg);
+                        }
+                        positional.add(arg);
+                        break;
+                }
+            }
+            
+            if (positional.size() != 2) {
+                throw new IllegalArgumentException("Expected a command and a project path");
+            }
+            options.command = positional.get(0);
+            if (!options.command.equals("analyze") && !options.command.equals("fix")) {
+                throw new IllegalArgumentException("Unknown command " + options.command);
+            }
+            options.projectPath = Paths.get(positional.get(1)).toAbsolutePath().normalize().toString();
+            
+            if (options.command.equals("fix")) {
+                for (String option : given) {
+                    if (ANALYZE_ONLY.contains(option)) {
+                        throw new IllegalArgumentException("Option " + option + " is not supported by fix");
+                    }
+                }
+            }
+            List<String> formats = options.command.equals("fix")
+                ? List.of("json", "text") : List.of("json", "sarif", "html", "text");
+            if (!formats.contains(options.format)) {
+                throw new IllegalArgumentException("Unsupported format " + options.format + " for " + options.command);
+            }
+            if (!options.failOn.equals("NONE") && !IssueIndex.SEVERITY_ORDER.contains(options.failOn)) {
+                throw new IllegalArgumentException("Unknown severity " + options.failOn);
+            }
+            // Fails on versions that do not parse
+            new AnalysisOptions().setVersions(options.sourceVersion, options.targetVersion);
+            return options;
+        }
+        
+        private static String value(String[] args, int index, String option) {
+            if (index >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + option);
+            }
+            return args[index];
+        }
+    }
+}
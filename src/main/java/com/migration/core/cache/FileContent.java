@@ -0,0 +1,150 @@
+package com.migration.core.cache;
+
+import com.migration.util.Constants;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * The content of a file as of one modification, with the decoded forms the
+ * detector and the fixer work on. Decoding happens on first use and is kept,
+ * so a cached file is decoded once however often it is scanned or fixed.
+ */
+public final class FileContent {
+    
+    private final byte[] bytes;
+    private final FileTime lastModified;
+    private final Object fileKey;
+    private volatile String text;
+    private volatile String normalizedText;
+    private volatile LineIndex lineIndex;
+    private volatile String hash;
+    
+    /**
+     * @param attributes the file's attributes when it had these bytes, or null
+     *                   for content not read from a file
+     */
+    FileContent(byte[] bytes, BasicFileAttributes attributes) {
+        this.bytes = bytes;
+        this.lastModified = attributes != null ? attributes.lastModifiedTime() : null;
+        this.fileKey = attributes != null ? attributes.fileKey() : null;
+    }
+    
+    /**
+     * Wraps text that is not read from a file, such as generated content
+     */
+    public static FileContent of(String text) {
+        return new FileContent(text.getBytes(StandardCharsets.UTF_8), null);
+    }
+    
+    /**
+     * Checks whether a file with these attributes still has this content
+     */
+    boolean matches(BasicFileAttributes attributes) {
+        return lastModified != null
+            && attributes.size() == bytes.length
+            && attributes.lastModifiedTime().equals(lastModified)
+            && Objects.equals(attributes.fileKey(), fileKey);
+    }
+    
+    /**
+     * Checks whether the file was modified so shortly before its attributes
+     * were read that a later change could have kept its modification time
+     */
+    boolean isRacy(long readMillis) {
+        return lastModified == null
+            || readMillis - lastModified.toMillis() < Constants.FILE_CACHE_RACY_MILLIS;
+    }
+    
+    /**
+     * Returns the raw bytes. Callers must not modify them.
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+    
+    public int getSize() {
+        return bytes.length;
+    }
+    
+    /**
+     * Returns the content as Files.readString would, line terminators included
+     *
+     * @throws CharacterCodingException if the file is not valid UTF-8
+     */
+    public String text() throws CharacterCodingException {
+        String decoded = text;
+        if (decoded == null) {
+            decoded = StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(bytes)).toString();
+            text = decoded;
+        }
+        return decoded;
+    }
+    
+    /**
+     * Returns the content with every line terminator turned into \n and no
+     * terminator after the last line, as the rules match it
+     *
+     * @throws CharacterCodingException if the file is not valid UTF-8
+     */
+    public String normalizedText() throws CharacterCodingException {
+        String normalized = normalizedText;
+        if (normalized == null) {
+            String raw = text();
+            if (raw.indexOf('\r') < 0) {
+                // Lines already end with \n, so only the final terminator goes
+                normalized = raw.endsWith("\n") ? raw.substring(0, raw.length() - 1) : raw;
+            } else {
+                normalized = raw.lines().collect(Collectors.joining("\n"));
+            }
+            normalizedText = normalized;
+        }
+        return normalized;
+    }
+    
+    /**
+     * Returns the line index of {@link #normalizedText()}
+     */
+    public LineIndex lineIndex() throws CharacterCodingException {
+        LineIndex index = lineIndex;
+        if (index == null) {
+            index = LineIndex.of(normalizedText());
+            lineIndex = index;
+        }
+        return index;
+    }
+    
+    /**
+     * Returns a SHA-256 hash of the bytes, identifying the content
+     */
+    public String hash() {
+        String value = hash;
+        if (value == null) {
+            try {
+                value = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+            } catch (NoSuchAlgorithmException e) {
+                // Every Java platform is required to provide SHA-256
+                throw new IllegalStateException(e);
+            }
+            hash = value;
+        }
+        return value;
+    }
+    
+    /**
+     * Approximate heap size once fully decoded: the bytes, up to two decoded
+     * copies at one byte per character for the usual ASCII build file, and a
+     * line index at one entry per 16 bytes
+     */
+    long weight() {
+        return 64L + 3L * bytes.length + bytes.length / 4;
+    }
+}
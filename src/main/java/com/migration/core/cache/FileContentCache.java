@@ -0,0 +1,154 @@
+package com.migration.core.cache;
+
+import com.migration.metrics.AnalysisMetrics;
+import com.migration.util.Constants;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Contents of recently read build files, shared by the detector and the fixer
+ * so that analyzing a project and then fixing it reads each file once.
+ *
+ * <p>Entries are keyed by canonical path and checked against the file's size,
+ * modification time and identity on every lookup, so a file changed on disk
+ * is read again. A file modified within {@value Constants#FILE_CACHE_RACY_MILLIS}
+ * ms of being read is not cached, since another change in the same timestamp
+ * tick could leave all three as they were. For the same reason a file written
+ * through {@link #write} is not cached; the next lookup reads it. The least
+ * recently used entries are evicted once the entries' total weight passes the
+ * budget, which is {@value Constants#FILE_CACHE_BYTES_PROPERTY} if set, else
+ * {@value Constants#FILE_CACHE_MAX_BYTES} bytes.
+ */
+public final class FileContentCache {
+    
+    private static final FileContentCache INSTANCE = new FileContentCache(defaultBudget());
+    
+    private final long budget;
+    // Least recently used first
+    private final LinkedHashMap<Path, FileContent> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long weight;
+    
+    /**
+     * @param budget total weight of the entries kept, in bytes; 0 disables caching
+     */
+    public FileContentCache(long budget) {
+        this.budget = budget;
+    }
+    
+    public static FileContentCache getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Returns a file's current content, from the cache if the file has not
+     * changed since it was cached
+     */
+    public FileContent read(Path path) throws IOException {
+        Path key = path.toRealPath();
+        long readMillis = System.currentTimeMillis();
+        BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+        synchronized (entries) {
+            FileContent cached = entries.get(key);
+            if (cached != null && cached.matches(attributes)) {
+                AnalysisMetrics.recordCacheLookup("file", true);
+                return cached;
+            }
+        }
+        AnalysisMetrics.recordCacheLookup("file", false);
+        // Attributes from before the read: if the file changes meanwhile, the next lookup reads it again
+        FileContent content = new FileContent(Files.readAllBytes(key), attributes);
+        put(key, content, readMillis);
+        return content;
+    }
+    
+    /**
+     * Writes a file as UTF-8 and drops its entry. The written content is not
+     * cached: its modification time is as recent as can be, so it is always racy.
+     */
+    public void write(Path path, String text) throws IOException {
+        Path key = path.toRealPath();
+        try {
+            Files.write(key, text.getBytes(StandardCharsets.UTF_8));
+        } finally {
+            // Also after a failed write, which may have left part of the file
+            invalidate(key);
+        }
+    }
+    
+    /**
+     * Drops a file's entry, for changes made other than through {@link #write}
+     */
+    public void invalidate(Path path) {
+        Path key;
+        try {
+            key = path.toRealPath();
+        } catch (IOException e) {
+            // Gone, or never cached under this path; normalize to drop any stale entry anyway
+            key = path.toAbsolutePath().normalize();
+        }
+        synchronized (entries) {
+            remove(entries.remove(key));
+        }
+    }
+    
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            weight = 0;
+            AnalysisMetrics.FILE_CACHE_BYTES.set(0);
+        }
+    }
+    
+    /**
+     * Returns the total weight of the cached entries
+     */
+    public long getWeight() {
+        synchronized (entries) {
+            return weight;
+        }
+    }
+    
+    private void put(Path key, FileContent content, long readMillis) {
+        synchronized (entries) {
+            // A file worth more than an eighth of the budget would evict too many others
+            if (content.weight() > budget / 8 || content.isRacy(readMillis)) {
+                remove(entries.remove(key));
+                return;
+            }
+            remove(entries.put(key, content));
+            weight += content.weight();
+            Iterator<Map.Entry<Path, FileContent>> eldest = entries.entrySet().iterator();
+            while (weight > budget && eldest.hasNext()) {
+                weight -= eldest.next().getValue().weight();
+                eldest.remove();
+            }
+            AnalysisMetrics.FILE_CACHE_BYTES.set(weight);
+        }
+    }
+    
+    private void remove(FileContent removed) {
+        if (removed != null) {
+            weight -= removed.weight();
+            AnalysisMetrics.FILE_CACHE_BYTES.set(weight);
+        }
+    }
+    
+    private static long defaultBudget() {
+        String configured = System.getProperty(Constants.FILE_CACHE_BYTES_PROPERTY);
+        if (configured != null && !configured.isBlank()) {
+            try {
+                return Math.max(0, Long.parseLong(configured.trim()));
+            } catch (NumberFormatException e) {
+                System.err.println("Ignoring invalid " + Constants.FILE_CACHE_BYTES_PROPERTY + ": " + configured);
+            }
+        }
+        return Constants.FILE_CACHE_MAX_BYTES;
+    }
+}
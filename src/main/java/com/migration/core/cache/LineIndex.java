@@ -0,0 +1,45 @@
+package com.migration.core.cache;
+
+import java.util.Arrays;
+
+/**
+ * Start offsets of the lines of a text, for turning match positions into line
+ * numbers in O(log lines) instead of rescanning the text before each match
+ */
+public final class LineIndex {
+    
+    // Offset of each line's first character; the first line starts at 0
+    private final int[] starts;
+    
+    private LineIndex(int[] starts) {
+        this.starts = starts;
+    }
+    
+    /**
+     * Indexes a text whose lines end with \n
+     */
+    public static LineIndex of(String text) {
+        int[] starts = new int[16];
+        int count = 1;
+        for (int i = text.indexOf('\n'); i >= 0; i = text.indexOf('\n', i + 1)) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+            }
+            starts[count++] = i + 1;
+        }
+        return new LineIndex(Arrays.copyOf(starts, count));
+    }
+    
+    /**
+     * Returns the 1-based line of a position
+     */
+    public int lineNumber(int position) {
+        // The last line starting at or before the position
+        int found = Arrays.binarySearch(starts, position);
+        return found >= 0 ? found + 1 : -found - 1;
+    }
+    
+    public int getLineCount() {
+        return starts.length;
+    }
+}
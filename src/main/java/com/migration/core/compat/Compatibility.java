@@ -0,0 +1,33 @@
+package com.migration.core.compat;
+
+/**
+ * What the compatibility index knows about one plugin or coordinate
+ */
+public final class Compatibility {
+    
+    private final String minimumVersion;
+    private final String replacement;
+    
+    Compatibility(String minimumVersion, String replacement) {
+        this.minimumVersion = minimumVersion;
+        this.replacement = replacement;
+    }
+    
+    /**
+     * Checks whether a declared version needs changing for Gradle 9. Versions
+     * the index cannot compare, such as dynamic versions or property
+     * references, are assumed to be fine.
+     */
+    public boolean isIncompatible(String version) {
+        if (minimumVersion == null) {
+            return true;
+        }
+        return !CompatibilityIndex.isDynamic(version) &&
+               CompatibilityIndex.compareVersions(version, minimumVersion) < 0;
+    }
+    
+    /** Oldest compatible version, or null if no version is */
+    public String getMinimumVersion() { return minimumVersion; }
+    /** Suggested plugin id or coordinate with version to use instead, or null */
+    public String getReplacement() { return replacement; }
+}
@@ -0,0 +1,433 @@
+package com.migration.core.compat;
+
+import com.migration.util.Constants;
+
+import java.io.*;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Offline index of plugin ids and plugin coordinates with the oldest version
+ * of each that works on Gradle 9.
+ *
+ * <p>The index is a radix trie serialized into one byte buffer, so it has no
+ * object graph to build and can be memory-mapped straight from a file. Lookups
+ * walk the buffer and only allocate for a hit. The build compiles the bundled
+ * list into {@value Constants#COMPAT_INDEX_COMPILED_RESOURCE}, which is mapped
+ * on first use, or read when it is packed in an archive; the text is only
+ * compiled at runtime when that resource is missing. A prebuilt file can
+ * replace both through the {@value Constants#COMPAT_INDEX_PROPERTY} system
+ * property.
+ *
+ * <p>Layout, big-endian: magic, format version, entry count and root offset as
+ * ints, then the nodes. A node is a u16 label length and label bytes, a flags
+ * byte, for nodes with a value two u8-length-prefixed strings (minimum version,
+ * replacement), then a u16 child count and per child its first label byte and
+ * int offset, sorted by that byte.
+ */
+public final class CompatibilityIndex {
+    
+    private static final int MAGIC = 0x474D4349; // "GMCI"
+    private static final int FORMAT_VERSION = 1;
+    private static final int FLAG_VALUE = 1;
+    private static final int FLAG_PREFIX = 2;
+    private static final String PLUGIN_PREFIX = "plugin:";
+    private static final String MODULE_PREFIX = "module:";
+    private static final String NO_VERSION = "-";
+    
+    private static final class Bundled {
+        static final CompatibilityIndex INDEX = loadDefault();
+    }
+    
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int root;
+    
+    private CompatibilityIndex(ByteBuffer buffer) {
+        if (buffer.remaining() < 16 || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a compatibility index");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported compatibility index version " + buffer.getInt(4));
+        }
+        this.buffer = buffer;
+        this.size = buffer.getInt(8);
+        this.root = buffer.getInt(12);
+    }
+    
+    /**
+     * Returns the index used by the detector: the file named by the system
+     * property if set, else the bundled list
+     */
+    public static CompatibilityIndex getDefault() {
+        return Bundled.INDEX;
+    }
+    
+    /**
+     * Memory-maps a compiled index file
+     */
+    public static CompatibilityIndex open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new CompatibilityIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+    
+    /**
+     * Compiles an index from its text form: one "plugin ID MIN [REPLACEMENT]"
+     * or "module GROUP:ARTIFACT MIN [REPLACEMENT]" line per entry. A key ending
+     * in * covers every key that starts with the rest, MIN "-" means no version
+     * works, and # starts a comment.
+     *
+     * @throws IllegalArgumentException if a line is malformed
+     */
+    public static CompatibilityIndex compile(Reader source) throws IOException {
+        return new CompatibilityIndex(ByteBuffer.wrap(new Builder().read(source).toBytes()));
+    }
+    
+    /**
+     * Compiles the text form into a file that {@link #open(Path)} can map
+     */
+    public static void compile(Reader source, Path target) throws IOException {
+        Files.write(target, new Builder().read(source).toBytes());
+    }
+    
+    /**
+     * Compiles a text file into an index file, for the build: the arguments
+     * are the source and the target path
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CompatibilityIndex SOURCE TARGET");
+            System.exit(2);
+        }
+        Path target = Paths.get(args[1]);
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+        try (Reader reader = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+            compile(reader, target);
+        }
+    }
+    
+    /**
+     * Looks up a plugin id, such as "org.jetbrains.kotlin.jvm"
+     *
+     * @return the entry, or null if the plugin is not in the index
+     */
+    public Compatibility findPlugin(CharSequence id) {
+        return find(PLUGIN_PREFIX, id);
+    }
+    
+    /**
+     * Looks up a module by group and artifact, such as "com.android.tools.build:gradle"
+     *
+     * @return the entry, or null if the module is not in the index
+     */
+    public Compatibility findModule(CharSequence groupAndArtifact) {
+        return find(MODULE_PREFIX, groupAndArtifact);
+    }
+    
+    /** Number of entries */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Walks the trie along the key. An exact entry wins; otherwise the longest
+     * prefix entry passed on the way is returned.
+     */
+    private Compatibility find(String namespace, CharSequence name) {
+        int length = namespace.length() + name.length();
+        int node = root;
+        int position = 0;
+        int prefixMatch = -1;
+        while (true) {
+            int labelLength = buffer.getShort(node) & 0xFFFF;
+            int label = node + 2;
+            for (int i = 0; i < labelLength; i++) {
+                if (position + i >= length || keyByte(namespace, name, position + i) != buffer.get(label + i)) {
+                    return valueAt(prefixMatch);
+                }
+            }
+            position += labelLength;
+            
+            int flagsAt = label + labelLength;
+            int flags = buffer.get(flagsAt);
+            int childrenAt = flagsAt + 1;
+            if ((flags & FLAG_VALUE) != 0) {
+                if (position == length) {
+                    return valueAt(flagsAt);
+                }
+                if ((flags & FLAG_PREFIX) != 0) {
+                    prefixMatch = flagsAt;
+                }
+                int minLength = buffer.get(childrenAt) & 0xFF;
+                childrenAt += 1 + minLength;
+                childrenAt += 1 + (buffer.get(childrenAt) & 0xFF);
+            }
+            if (position == length) {
+                return valueAt(prefixMatch);
+            }
+            
+            int next = findChild(childrenAt, keyByte(namespace, name, position));
+            if (next < 0) {
+                return valueAt(prefixMatch);
+            }
+            node = next;
+        }
+    }
+    
+    private int findChild(int childrenAt, byte first) {
+        int low = 0;
+        int high = (buffer.getShort(childrenAt) & 0xFFFF) - 1;
+        int table = childrenAt + 2;
+        int target = first & 0xFF;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int entry = table + middle * 5;
+            int label = buffer.get(entry) & 0xFF;
+            if (label < target) {
+                low = middle + 1;
+            } else if (label > target) {
+                high = middle - 1;
+            } else {
+                return buffer.getInt(entry + 1);
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Returns one byte of the UTF-8 key. Plugin ids and coordinates are ASCII;
+     * other characters cannot be in the index, so they map to a byte no key has.
+     */
+    private static byte keyByte(String namespace, CharSequence name, int index) {
+        char c = index < namespace.length() ? namespace.charAt(index) : name.charAt(index - namespace.length());
+        return c < 0x80 ? (byte) c : (byte) 0xFF;
+    }
+    
+    private Compatibility valueAt(int flagsAt) {
+        if (flagsAt < 0) {
+            return null;
+        }
+        int at = flagsAt + 1;
+        String minimum = readString(at);
+        at += 1 + (buffer.get(at) & 0xFF);
+        String replacement = readString(at);
+        return new Compatibility(minimum.equals(NO_VERSION) ? null : minimum,
+                                 replacement.isEmpty() ? null : replacement);
+    }
+    
+    private String readString(int at) {
+        int length = buffer.get(at) & 0xFF;
+        byte[] bytes = new byte[length];
+        buffer.get(at + 1, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Compares two release versions numerically part by part, with
+     * pre-release qualifiers ("-rc01", "-beta") before the release
+     */
+    public static int compareVersions(String left, String right) {
+        String[] a = left.split("[.\\-+_]");
+        String[] b = right.split("[.\\-+_]");
+        for (int i = 0; i < Math.max(a.length, b.length); i++) {
+            String x = i < a.length ? a[i] : null;
+            String y = i < b.length ? b[i] : null;
+            int result = comparePart(x, y);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+    
+    private static int comparePart(String x, String y) {
+        boolean xNumber = isNumber(x);
+        boolean yNumber = isNumber(y);
+        if (x == null) {
+            // 1.0 equals 1.0.0 and is newer than 1.0-rc1
+            return yNumber ? (isZero(y) ? 0 : -1) : 1;
+        }
+        if (y == null) {
+            return xNumber ? (isZero(x) ? 0 : 1) : -1;
+        }
+        if (xNumber && yNumber) {
+            // Compared as digit strings, so long numbers cannot overflow
+            String a = x.replaceFirst("^0+(?=.)", "");
+            String b = y.replaceFirst("^0+(?=.)", "");
+            return a.length() != b.length() ? Integer.compare(a.length(), b.length()) : a.compareTo(b);
+        }
+        if (xNumber != yNumber) {
+            return xNumber ? 1 : -1;
+        }
+        return x.compareToIgnoreCase(y);
+    }
+    
+    private static boolean isNumber(String part) {
+        return part != null && !part.isEmpty() && part.chars().allMatch(c -> c >= '0' && c <= '9');
+    }
+    
+    private static boolean isZero(String part) {
+        return part.chars().allMatch(c -> c == '0');
+    }
+    
+    /**
+     * Checks whether a version is resolved at build time, so cannot be compared
+     */
+    public static boolean isDynamic(String version) {
+        return version.isEmpty() || version.contains("$") || version.contains("+") ||
+               version.startsWith("[") || version.startsWith("(") || version.startsWith("latest.");
+    }
+    
+    private static CompatibilityIndex loadDefault() {
+        String override = System.getProperty(Constants.COMPAT_INDEX_PROPERTY);
+        try {
+            if (override != null && !override.isBlank()) {
+                return open(Paths.get(override));
+            }
+            URL compiled = CompatibilityIndex.class.getResource(Constants.COMPAT_INDEX_COMPILED_RESOURCE);
+            if (compiled != null) {
+                if ("file".equals(compiled.getProtocol())) {
+                    return open(Paths.get(compiled.toURI()));
+                }
+                // Inside a jar or war, where it cannot be mapped
+                try (InputStream in = compiled.openStream()) {
+                    return new CompatibilityIndex(ByteBuffer.wrap(in.readAllBytes()));
+                }
+            }
+            // Not built with the compiled index, such as when run from an IDE
+            InputStream in = CompatibilityIndex.class.getResourceAsStream(Constants.COMPAT_INDEX_RESOURCE);
+            if (in == null) {
+                throw new IllegalStateException("Missing resource " + Constants.COMPAT_INDEX_RESOURCE);
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                return compile(reader);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load the compatibility index", e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Cannot locate the compatibility index", e);
+        }
+    }
+    
+    /**
+     * Builds the trie in memory and serializes it, merging chains of nodes
+     * without values into single labels
+     */
+    private static final class Builder {
+        
+        private static final class Node {
+            final TreeMap<Integer, Node> children = new TreeMap<>();
+            String minimum;
+            String replacement;
+            boolean prefix;
+        }
+        
+        private final Node root = new Node();
+        private int entries;
+        private ByteArrayOutputStream out;
+        
+        Builder read(Reader source) throws IOException {
+            BufferedReader reader = new BufferedReader(source);
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                int hash = line.indexOf('#');
+                String[] fields = (hash < 0 ? line : line.substring(0, hash)).trim().split("\\s+");
+                if (fields.length == 1 && fields[0].isEmpty()) {
+                    continue;
+                }
+                if (fields.length < 3 || fields.length > 4 ||
+                    (!fields[0].equals("plugin") && !fields[0].equals("module"))) {
+                    throw new IllegalArgumentException("Invalid compatibility entry on line " + lineNumber + ": " + line);
+                }
+                add(fields[0] + ":" + fields[1], fields[2], fields.length == 4 ? fields[3] : "");
+            }
+            return this;
+        }
+        
+        private void add(String key, String minimum, String replacement) {
+            boolean prefix = key.endsWith("*");
+            byte[] bytes = (prefix ? key.substring(0, key.length() - 1) : key).getBytes(StandardCharsets.UTF_8);
+            Node node = root;
+            for (byte b : bytes) {
+                node = node.children.computeIfAbsent(b & 0xFF, k -> new Node());
+            }
+            if (node.minimum == null) {
+                entries++;
+            }
+            node.minimum = minimum;
+            node.replacement = replacement;
+            node.prefix = prefix;
+        }
+        
+        byte[] toBytes() throws IOException {
+            out = new ByteArrayOutputStream();
+            DataOutputStream header = new DataOutputStream(out);
+            header.writeInt(MAGIC);
+            header.writeInt(FORMAT_VERSION);
+            header.writeInt(entries);
+            header.writeInt(0);
+            int rootOffset = write(new ByteArrayOutputStream(), root);
+            byte[] bytes = out.toByteArray();
+            ByteBuffer.wrap(bytes).putInt(12, rootOffset);
+            return bytes;
+        }
+        
+        /**
+         * Writes a node's children, then the node, and returns the node's offset
+         */
+        private int write(ByteArrayOutputStream label, Node node) throws IOException {
+            // Merge the chain below a node with no value and a single child into its label
+            while (node.minimum == null && node.children.size() == 1 && node != root) {
+                Map.Entry<Integer, Node> only = node.children.firstEntry();
+                label.write(only.getKey());
+                node = only.getValue();
+            }
+            
+            Map<Integer, Integer> childOffsets = new LinkedHashMap<>();
+            for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                ByteArrayOutputStream childLabel = new ByteArrayOutputStream();
+                childLabel.write(child.getKey());
+                childOffsets.put(child.getKey(), write(childLabel, child.getValue()));
+            }
+            
+            int offset = out.size();
+            DataOutputStream data = new DataOutputStream(out);
+            byte[] labelBytes = label.toByteArray();
+            data.writeShort(labelBytes.length);
+            data.write(labelBytes);
+            if (node.minimum != null) {
+                data.writeByte(FLAG_VALUE | (node.prefix ? FLAG_PREFIX : 0));
+                writeString(data, node.minimum);
+                writeString(data, node.replacement);
+            } else {
+                data.writeByte(0);
+            }
+            data.writeShort(childOffsets.size());
+            for (Map.Entry<Integer, Integer> child : childOffsets.entrySet()) {
+                data.writeByte(child.getKey());
+                data.writeInt(child.getValue());
+            }
+            data.flush();
+            return offset;
+        }
+        
+        private static void writeString(DataOutputStream data, String text) throws IOException {
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > 255) {
+                throw new IllegalArgumentException("Compatibility entry value too long: " + text);
+            }
+            data.writeByte(bytes.length);
+            data.write(bytes);
+        }
+    }
+}
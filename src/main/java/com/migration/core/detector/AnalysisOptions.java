@@ -0,0 +1,103 @@
+package com.migration.core.detector;
+
+import com.migration.core.rules.GradleVersion;
+import com.migration.util.Constants;
+
+import java.io.Serializable;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Options controlling how a project is analyzed
+ */
+public class AnalysisOptions implements Serializable {
+    private boolean profile;
+    // Shared between concurrent analyses to bound the number of files read at once
+    private transient Semaphore ioPermits;
+    // Stops the analysis when cancelled or at its deadline; null if it always runs to the end
+    private transient CancellationToken cancellation;
+    // Base revision when only build files changed since it are scanned; null scans every build file
+    private String changedSince;
+    // Versions selecting the rules; a null source keeps every rule up to the target
+    private GradleVersion sourceVersion;
+    private boolean sourceFromWrapper;
+    private GradleVersion targetVersion = GradleVersion.parse(Constants.DEFAULT_TARGET_GRADLE_VERSION);
+    private int maxIssuesPerPatternPerFile = Constants.MAX_ISSUES_PER_PATTERN_PER_FILE;
+    // Summary analyses only
+    private int sampleSize = Constants.SUMMARY_DEFAULT_SAMPLE_SIZE;
+    private int topFiles = Constants.SUMMARY_DEFAULT_TOP_FILES;
+    
+    public AnalysisOptions() {
+    }
+    
+    public static AnalysisOptions defaults() {
+        return new AnalysisOptions();
+    }
+    
+    // Getters and Setters
+    public boolean isProfile() { return profile; }
+    public void setProfile(boolean profile) { this.profile = profile; }
+    
+    public Semaphore getIoPermits() { return ioPermits; }
+    public void setIoPermits(Semaphore ioPermits) { this.ioPermits = ioPermits; }
+    
+    public CancellationToken getCancellation() { return cancellation; }
+    public void setCancellation(CancellationToken cancellation) { this.cancellation = cancellation; }
+    
+    public String getChangedSince() { return changedSince; }
+    public void setChangedSince(String changedSince) { this.changedSince = changedSince; }
+    
+    public GradleVersion getSourceVersion() { return sourceVersion; }
+    public boolean isSourceFromWrapper() { return sourceFromWrapper; }
+    public GradleVersion getTargetVersion() { return targetVersion; }
+    
+    /**
+     * Sets the migration the analysis checks for, from request parameters
+     * 
+     * @param source the version migrated from, "wrapper" for the version in the
+     *               project's wrapper, or null or blank for any version
+     * @param target the version migrated to, or null or blank for the default
+     * @throws IllegalArgumentException if a version is invalid or the target is older than the source
+     */
+    public void setVersions(String source, String target) {
+        GradleVersion targetVersion = target == null || target.isBlank()
+            ? GradleVersion.parse(Constants.DEFAULT_TARGET_GRADLE_VERSION) : GradleVersion.parse(target);
+        GradleVersion sourceVersion = null;
+        boolean sourceFromWrapper = false;
+        if (Constants.SOURCE_VERSION_WRAPPER.equalsIgnoreCase(source)) {
+            sourceFromWrapper = true;
+        } else if (source != null && !source.isBlank()) {
+            sourceVersion = GradleVersion.parse(source);
+            if (targetVersion.isBefore(sourceVersion)) {
+                throw new IllegalArgumentException(Constants.ERROR_TARGET_BEFORE_SOURCE);
+            }
+        }
+        this.sourceVersion = sourceVersion;
+        this.sourceFromWrapper = sourceFromWrapper;
+        this.targetVersion = targetVersion;
+    }
+    
+    public int getMaxIssuesPerPatternPerFile() { return maxIssuesPerPatternPerFile; }
+    public void setMaxIssuesPerPatternPerFile(int maxIssuesPerPatternPerFile) {
+        this.maxIssuesPerPatternPerFile = maxIssuesPerPatternPerFile;
+    }
+    
+    /**
+     * Copies the options that decide which issues a file yields: the versions
+     * and the match limit. Re-scans of an analysis' files use these, so they
+     * report what the analysis would have.
+     */
+    public AnalysisOptions copyScanOptions() {
+        AnalysisOptions copy = new AnalysisOptions();
+        copy.sourceVersion = sourceVersion;
+        copy.sourceFromWrapper = sourceFromWrapper;
+        copy.targetVersion = targetVersion;
+        copy.maxIssuesPerPatternPerFile = maxIssuesPerPatternPerFile;
+        return copy;
+    }
+    
+    public int getSampleSize() { return sampleSize; }
+    public void setSampleSize(int sampleSize) { this.sampleSize = sampleSize; }
+    
+    public int getTopFiles() { return topFiles; }
+    public void setTopFiles(int topFiles) { this.topFiles = topFiles; }
+}
@@ -0,0 +1,76 @@
+package com.migration.core.detector;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stops a running analysis from another thread, and optionally at a deadline.
+ * The detector checks it during the directory walk, between files and rules,
+ * and between matches of a rule.
+ *
+ * A cancelled analysis fails with a {@link CancellationException}; one that
+ * reaches its deadline returns the issues found so far, marked incomplete.
+ */
+public final class CancellationToken {
+    
+    private final long deadlineNanos;
+    private final boolean hasDeadline;
+    private volatile boolean cancelled;
+    
+    /**
+     * Creates a token without a deadline
+     */
+    public CancellationToken() {
+        this.deadlineNanos = 0;
+        this.hasDeadline = false;
+    }
+    
+    private CancellationToken(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+        this.hasDeadline = true;
+    }
+    
+    /**
+     * Creates a token whose deadline is the given time from now
+     *
+     * @param timeoutMillis time the analysis may take, or 0 for no deadline
+     */
+    public static CancellationToken withTimeout(long timeoutMillis) {
+        if (timeoutMillis <= 0) {
+            return new CancellationToken();
+        }
+        return new CancellationToken(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+    }
+    
+    public void cancel() {
+        cancelled = true;
+    }
+    
+    public boolean isCancelled() {
+        return cancelled;
+    }
+    
+    public boolean isDeadlinePassed() {
+        return hasDeadline && System.nanoTime() - deadlineNanos >= 0;
+    }
+    
+    /**
+     * Returns the time left until the deadline, at least 1, or 0 if there is
+     * no deadline
+     */
+    public long remainingMillis() {
+        if (!hasDeadline) {
+            return 0;
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime()));
+    }
+    
+    /**
+     * @throws CancellationException if the token was cancelled
+     */
+    public void throwIfCancelled() {
+        if (cancelled) {
+            throw new CancellationException("Analysis cancelled");
+        }
+    }
+}
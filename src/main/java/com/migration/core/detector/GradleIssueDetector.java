@@ -1,139 +1,87 @@
 package com.migration.core.detector;
 
+import com.migration.api.response.IssueSummary;
+import com.migration.core.cache.FileContent;
+import com.migration.core.cache.FileContentCache;
+import com.migration.core.git.GitRepository;
+import com.migration.core.rules.ConfigEntry;
+import com.migration.core.rules.ConfigParser;
+import com.migration.core.rules.FileKind;
+import com.migration.core.rules.MatchCheck;
+import com.migration.core.rules.Rule;
+import com.migration.core.rules.RuleSet;
+import com.migration.diagnostics.DirectoryWalkEvent;
+import com.migration.diagnostics.FileReadEvent;
+import com.migration.diagnostics.RuleScanEvent;
+import com.migration.metrics.AnalysisMetrics;
 import com.migration.model.MigrationIssue;
 import com.migration.model.ProjectInfo;
+import com.migration.util.Constants;
 
 import java.io.*;
+import java.nio.charset.CharacterCodingException;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 import java.util.regex.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class GradleIssueDetector {
     
-    private static final Map<String, IssuePattern> ISSUE_PATTERNS = new HashMap<>();
+    private final FileContentCache fileCache = FileContentCache.getInstance();
     
-    static {
-        initializeIssuePatterns();
+    public ProjectInfo analyzeProject(String projectPath) throws IOException {
+        return analyzeProject(projectPath, AnalysisOptions.defaults());
     }
     
-    private static void initializeIssuePatterns() {
-        // 1. Deprecated compile/runtime configurations
-        ISSUE_PATTERNS.put("DEPRECATED_CONFIGURATIONS", new IssuePattern(
-            Pattern.compile("\\b(compile|runtime|testCompile|testRuntime)\\s+"),
-            "CRITICAL",
-            "Deprecated Configuration Usage",
-            "The 'compile', 'runtime', 'testCompile', and 'testRuntime' configurations are removed in Gradle 9. " +
-            "These must be replaced with 'implementation', 'runtimeOnly', 'testImplementation', and 'testRuntimeOnly' respectively.",
-            true
-        ));
-        
-        // 2. Deprecated API usage
-        ISSUE_PATTERNS.put("DEPRECATED_API", new IssuePattern(
-            Pattern.compile("\\bconvention\\s*\\.\\s*getPlugin|\\bconvention\\s*\\["),
-            "HIGH",
-            "Deprecated Convention API",
-            "The Convention API is removed in Gradle 9. Use the newer Provider API and extensions instead. " +
-            "Replace convention.getPlugin() with project.extensions.getByType().",
-            true
-        ));
-        
-        // 3. AbstractArchiveTask changes
-        ISSUE_PATTERNS.put("ARCHIVE_NAME", new IssuePattern(
-            Pattern.compile("\\barchiveName\\s*=|\\barchiveBaseName\\s*=|\\barchiveVersion\\s*=|\\barchiveExtension\\s*="),
-            "HIGH",
-            "Deprecated Archive Task Properties",
-            "Direct property assignment for archive tasks is deprecated. Use the Property API: " +
-            "archiveFileName.set(), archiveBaseName.set(), archiveVersion.set(), archiveExtension.set().",
-            true
-        ));
-        
-        // 4. Gradle wrapper version
-        ISSUE_PATTERNS.put("GRADLE_VERSION", new IssuePattern(
-            Pattern.compile("distributionUrl=.*gradle-(\\d+\\.\\d+)"),
-            "CRITICAL",
-            "Gradle Version Update Required",
-            "Your project is using an older Gradle version. Gradle 9.x requires updating the wrapper to version 9.0 or higher.",
-            true
-        ));
-        
-        // 5. Deprecated task configuration
-        ISSUE_PATTERNS.put("TASK_LEFTSHIFT", new IssuePattern(
-            Pattern.compile("task\\s+\\w+\\s*<<"),
-            "HIGH",
-            "Deprecated Task Configuration (<<)",
-            "The << operator for task configuration is removed. Use doLast { } instead.",
-            true
-        ));
-        
-        // 6. Deprecated dynamic properties
-        ISSUE_PATTERNS.put("DYNAMIC_PROPERTIES", new IssuePattern(
-            Pattern.compile("\\bproject\\.ext\\[|\\bext\\["),
-            "MEDIUM",
-            "Dynamic Properties Usage",
-            "Dynamic properties using ext[] are discouraged. Consider using typed extensions or the Provider API for better type safety.",
-            false
-        ));
-        
-        // 7. Deprecated Gradle API methods
-        ISSUE_PATTERNS.put("DEPRECATED_METHODS", new IssuePattern(
-            Pattern.compile("\\b(getArchivePath|getClassesDir|getDestinationDir)\\s*\\("),
-            "HIGH",
-            "Deprecated Gradle API Methods",
-            "Methods like getArchivePath(), getClassesDir(), and getDestinationDir() are removed. " +
-            "Use archiveFile.get(), classesDirectory.get(), and destinationDirectory.get() respectively.",
-            true
-        ));
-        
-        // 8. Deprecated configurations in dependencies
-        ISSUE_PATTERNS.put("DEPRECATED_DEPENDENCY_CONFIG", new IssuePattern(
-            Pattern.compile("(compile|runtime|testCompile|testRuntime)\\s*\\("),
-            "CRITICAL",
-            "Deprecated Dependency Configuration Methods",
-            "Dependency configuration methods compile(), runtime(), testCompile(), and testRuntime() are removed. " +
-            "Use implementation(), runtimeOnly(), testImplementation(), and testRuntimeOnly().",
-            true
-        ));
-        
-        // 9. Deprecated buildscript classpath
-        ISSUE_PATTERNS.put("BUILDSCRIPT_CLASSPATH", new IssuePattern(
-            Pattern.compile("buildscript\\s*\\{[^}]*classpath\\s+['\"]"),
-            "MEDIUM",
-            "Legacy Buildscript Classpath",
-            "Consider migrating to the plugins {} block instead of buildscript {} for plugin dependencies. " +
-            "This provides better dependency resolution and version management.",
-            false
-        ));
-        
-        // 10. Deprecated SourceSet output
-        ISSUE_PATTERNS.put("SOURCESET_OUTPUT", new IssuePattern(
-            Pattern.compile("sourceSets\\.\\w+\\.output\\.classesDir"),
-            "HIGH",
-            "Deprecated SourceSet Output Property",
-            "The classesDir property is removed. Use classesDirs (plural) which returns a FileCollection.",
-            true
-        ));
-        
-        // 11. Deprecated task types
-        ISSUE_PATTERNS.put("DEPRECATED_TASK_TYPES", new IssuePattern(
-            Pattern.compile("\\b(Upload|InstallTask)\\b"),
-            "HIGH",
-            "Deprecated Task Types",
-            "Task types like Upload and InstallTask are removed. Use the maven-publish or ivy-publish plugins instead.",
-            false
-        ));
-        
-        // 12. Deprecated Gradle properties
-        ISSUE_PATTERNS.put("DEPRECATED_PROPERTIES", new IssuePattern(
-            Pattern.compile("\\b(archivesBaseName|version|group)\\s*="),
-            "MEDIUM",
-            "Direct Property Assignment",
-            "Direct assignment to properties like archivesBaseName is deprecated. " +
-            "Use base.archivesName.set() for archivesBaseName in Gradle 9.",
-            true
-        ));
+    public ProjectInfo analyzeProject(String projectPath, AnalysisOptions options) throws IOException {
+        long startTime = System.nanoTime();
+        AnalysisMetrics.ANALYSES_IN_FLIGHT.inc();
+        try {
+            ScanContext context = analyze(projectPath, options, null);
+            long elapsedNanos = System.nanoTime() - startTime;
+            recordAnalysisMetrics(context, elapsedNanos);
+            if (options.isProfile()) {
+                context.projectInfo.setProfile(context.buildProfile(elapsedNanos));
+            }
+            return context.projectInfo;
+        } finally {
+            AnalysisMetrics.ANALYSES_IN_FLIGHT.dec();
+        }
     }
     
-    public ProjectInfo analyzeProject(String projectPath) throws IOException {
+    /**
+     * Analyzes a project keeping only counts, for projects too large to hold
+     * every issue in memory. Only a random sample of issues is created, sized
+     * by {@link AnalysisOptions#getSampleSize()}.
+     * 
+     * @return issue counts by severity, type, module and file, plus the sample
+     */
+    public IssueSummary summarizeProject(String projectPath, AnalysisOptions options) throws IOException {
+        long startTime = System.nanoTime();
+        AnalysisMetrics.ANALYSES_IN_FLIGHT.inc();
+        try {
+            SummarySink sink = new SummarySink(options.getSampleSize());
+            ScanContext context = analyze(projectPath, options, sink);
+            recordAnalysisMetrics(context, System.nanoTime() - startTime);
+            
+            ProjectInfo projectInfo = context.projectInfo;
+            IssueSummary summary = sink.toSummary(options.getTopFiles());
+            summary.setProjectName(projectInfo.getProjectName());
+            summary.setProjectPath(projectInfo.getProjectPath());
+            summary.setCurrentGradleVersion(projectInfo.getCurrentGradleVersion());
+            summary.setMultiModule(projectInfo.isMultiModule());
+            summary.setModules(projectInfo.getModules());
+            summary.setIncomplete(projectInfo.isIncomplete());
+            summary.setChangedSince(projectInfo.getChangedSince());
+            return summary;
+        } finally {
+            AnalysisMetrics.ANALYSES_IN_FLIGHT.dec();
+        }
+    }
+    
+    private ScanContext analyze(String projectPath, AnalysisOptions options, SummarySink summary) throws IOException {
         ProjectInfo projectInfo = new ProjectInfo();
         projectInfo.setProjectPath(projectPath);
         
@@ -147,7 +95,7 @@ public class GradleIssueDetector {
         }
         
         if (Files.exists(settingsFile)) {
-            String content = Files.readString(settingsFile);
+            String content = fileCache.read(settingsFile).text();
             List<String> modules = extractModules(content);
             projectInfo.setModules(modules);
             projectInfo.setMultiModule(!modules.isEmpty());
@@ -156,79 +104,363 @@ public class GradleIssueDetector {
         // Detect Gradle version
         Path wrapperProperties = rootPath.resolve("gradle/wrapper/gradle-wrapper.properties");
         if (Files.exists(wrapperProperties)) {
-            String content = Files.readString(wrapperProperties);
+            String content = fileCache.read(wrapperProperties).text();
             projectInfo.setCurrentGradleVersion(extractGradleVersion(content));
         }
         
         // Scan for issues
         List<MigrationIssue> issues = new ArrayList<>();
-        scanDirectory(rootPath, issues, projectInfo);
+        ScanContext context = new ScanContext(projectInfo, issues, options);
+        context.summary = summary;
+        try {
+            if (options.getChangedSince() != null) {
+                projectInfo.setChangedSince(options.getChangedSince());
+                scanChangedFiles(rootPath, options.getChangedSince(), context);
+            } else {
+                scanDirectory(rootPath, context);
+            }
+        } catch (CancellationException e) {
+            AnalysisMetrics.ANALYSES_STOPPED.labels("cancelled").increment();
+            throw e;
+        }
+        if (context.incomplete) {
+            AnalysisMetrics.ANALYSES_STOPPED.labels("deadline").increment();
+        }
         
         projectInfo.setIssues(issues);
+        projectInfo.setIncomplete(context.incomplete);
         projectInfo.setTotalIssues(issues.size());
         projectInfo.setCriticalIssues((int) issues.stream()
             .filter(i -> "CRITICAL".equals(i.getSeverity())).count());
         projectInfo.setAutoFixableIssues((int) issues.stream()
             .filter(MigrationIssue::isAutoFixable).count());
         
-        return projectInfo;
+        return context;
     }
     
-    private void scanDirectory(Path directory, List<MigrationIssue> issues, ProjectInfo projectInfo) throws IOException {
-        Files.walk(directory)
-            .filter(path -> {
-                String fileName = path.getFileName().toString();
-                return (fileName.endsWith(".gradle") || fileName.endsWith(".gradle.kts")) &&
-                       !path.toString().contains("/.gradle/") &&
-                       !path.toString().contains("/build/");
-            })
-            .forEach(path -> {
-                try {
-                    scanFile(path, issues, projectInfo);
-                } catch (IOException e) {
-                    System.err.println("Error scanning file: " + path + " - " + e.getMessage());
-                }
-            });
+    private void recordAnalysisMetrics(ScanContext context, long elapsedNanos) {
+        AnalysisMetrics.ANALYSIS_DURATION.observeNanos(elapsedNanos);
+        AnalysisMetrics.ANALYSIS_BYTES_READ.observe(context.bytesRead);
+        if (elapsedNanos > 0) {
+            AnalysisMetrics.ANALYSIS_FILES_PER_SECOND.observe(context.filesScanned * 1_000_000_000.0 / elapsedNanos);
+        }
     }
     
-    private void scanFile(Path filePath, List<MigrationIssue> issues, ProjectInfo projectInfo) throws IOException {
-        List<String> lines = Files.readAllLines(filePath);
-        String content = String.join("\n", lines);
+    private void scanDirectory(Path directory, ScanContext context) throws IOException {
+        // Collect first so the walk and the scans can be timed separately
+        DirectoryWalkEvent walkEvent = new DirectoryWalkEvent();
+        walkEvent.begin();
+        long walkStart = System.nanoTime();
+        List<Path> buildFiles;
+        context.acquireIo();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            // A walk of a huge tree can outlast the deadline by itself
+            buildFiles = paths
+                .takeWhile(path -> !context.shouldStop())
+                .filter(GradleIssueDetector::isBuildFile)
+                .collect(Collectors.toList());
+        } finally {
+            context.releaseIo();
+        }
+        context.walkNanos += System.nanoTime() - walkStart;
+        if (walkEvent.shouldCommit()) {
+            walkEvent.root = directory.toString();
+            walkEvent.filesFound = buildFiles.size();
+            walkEvent.commit();
+        }
+        scanPaths(buildFiles, context);
+    }
+    
+    /**
+     * Scans only the build files that differ from a base revision, as listed by
+     * the project's Git repository instead of a directory walk
+     * 
+     * @throws com.migration.exception.GitException if the project is not in a
+     *         Git working tree or the revision cannot be resolved
+     */
+    private void scanChangedFiles(Path directory, String baseRevision, ScanContext context) throws IOException {
+        long walkStart = System.nanoTime();
+        List<Path> buildFiles;
+        context.acquireIo();
+        try (GitRepository repository = GitRepository.open(directory)) {
+            buildFiles = repository.changedFiles(baseRevision, directory, GradleIssueDetector::isBuildFile);
+        } finally {
+            context.releaseIo();
+        }
+        context.walkNanos += System.nanoTime() - walkStart;
+        scanPaths(buildFiles, context);
+    }
+    
+    private void scanPaths(List<Path> buildFiles, ScanContext context) {
+        for (Path path : buildFiles) {
+            if (context.shouldStop()) {
+                break;
+            }
+            try {
+                scanFile(path, context);
+            } catch (IOException e) {
+                AnalysisMetrics.SCAN_ERRORS.inc();
+                System.err.println("Error scanning file: " + path + " - " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Checks whether a path is a file the detector scans: a build or settings
+     * script, wrapper or Gradle properties, or a version catalog
+     */
+    public static boolean isBuildFile(Path path) {
+        return FileKind.of(path) != null &&
+               !path.toString().contains("/.gradle/") &&
+               !path.toString().contains("/build/");
+    }
+    
+    /**
+     * Re-scans some files of an analyzed project, for example after they
+     * changed on disk. Files that no longer exist yield no issues.
+     * 
+     * @param projectInfo the analysis the files belong to
+     * @param files the files to scan; paths that are not build files are ignored
+     * @param options the options the project was analyzed with, selecting the same rules and limits
+     * @return the issues found in those files
+     */
+    public List<MigrationIssue> scanFiles(ProjectInfo projectInfo, Collection<Path> files, AnalysisOptions options) {
+        List<MigrationIssue> issues = new ArrayList<>();
+        ScanContext context = new ScanContext(projectInfo, issues, options);
+        for (Path path : files) {
+            if (!isBuildFile(path) || !Files.isRegularFile(path)) {
+                continue;
+            }
+            try {
+                scanFile(path, context);
+            } catch (IOException e) {
+                // Usually a file deleted or replaced between the event and the read
+                AnalysisMetrics.SCAN_ERRORS.inc();
+                System.err.println("Error scanning file: " + path + " - " + e.getMessage());
+            }
+        }
+        return issues;
+    }
+    
+    void scanFile(Path filePath, ScanContext context) throws IOException {
+        FileReadEvent readEvent = new FileReadEvent();
+        readEvent.begin();
+        context.acquireIo();
+        long readStart = System.nanoTime();
+        FileContent fileContent;
+        try {
+            fileContent = fileCache.read(filePath);
+        } finally {
+            context.releaseIo();
+        }
+        FileKind kind = FileKind.of(filePath);
+        // Files of different kinds run different rules, so identical bytes only share matches within a kind
+        String contentKey = kind + ":" + fileContent.hash();
+        long fileSize = fileContent.getSize();
+        long readNanos = System.nanoTime() - readStart;
+        context.filesScanned++;
+        context.bytesRead += fileSize;
+        AnalysisMetrics.FILES_SCANNED.inc();
+        AnalysisMetrics.BYTES_READ.inc(fileSize);
+        if (readEvent.shouldCommit()) {
+            readEvent.path = filePath.toString();
+            readEvent.bytes = fileSize;
+            readEvent.commit();
+        }
         
-        for (Map.Entry<String, IssuePattern> entry : ISSUE_PATTERNS.entrySet()) {
-            String issueType = entry.getKey();
-            IssuePattern pattern = entry.getValue();
-            
-            Matcher matcher = pattern.pattern.matcher(content);
-            int issueCount = 0;
+        if (context.summary != null) {
+            context.summary.startFile(filePath.toString(), getModuleName(filePath, context.projectInfo));
+        }
+        int fileIssues = 0;
+        long matchStart = System.nanoTime();
+        List<ScanContext.RuleMatch> matches = context.matchesByContent.get(contentKey);
+        AnalysisMetrics.recordCacheLookup("content", matches != null);
+        if (matches != null) {
+            // Same bytes as a file scanned earlier, so the same matches at the same lines
+            context.filesDeduplicated++;
+            for (ScanContext.RuleMatch match : matches) {
+                report(match.issueType, filePath, match.lineNumber, match.matchedText, match.suggestedFix, context);
+                AnalysisMetrics.RULE_HITS.labels(match.issueType).increment();
+            }
+            fileIssues = matches.size();
+        } else {
+            long decodeStart = System.nanoTime();
+            String content = fileContent.normalizedText();
+            readNanos += System.nanoTime() - decodeStart;
             
-            while (matcher.find() && issueCount < 100) { // Limit per pattern per file
-                int lineNumber = getLineNumber(content, matcher.start());
-                String matchedText = matcher.group();
-                
-                MigrationIssue issue = new MigrationIssue();
-                issue.setId(UUID.randomUUID().toString());
-                issue.setType(issueType);
-                issue.setSeverity(pattern.severity);
-                issue.setTitle(pattern.title);
-                issue.setDescription(pattern.description);
-                issue.setFilePath(filePath.toString());
-                issue.setLineNumber(lineNumber);
-                issue.setCurrentCode(matchedText.trim());
-                issue.setExplanation(generateDetailedExplanation(issueType, matchedText));
-                issue.setAutoFixable(pattern.autoFixable);
-                issue.setSuggestedFix(generateSuggestedFix(issueType, matchedText));
-                
-                // Track affected modules
-                String moduleName = getModuleName(filePath, projectInfo);
-                if (moduleName != null) {
-                    issue.getAffectedModules().add(moduleName);
+            matches = new ArrayList<>();
+            matchStart = System.nanoTime();
+            // Configuration files are parsed once, and only if a rule may match
+            List<ConfigEntry> entries = null;
+            for (Rule rule : context.rules.forKind(kind)) {
+                if (context.shouldStop()) {
+                    break;
                 }
-                
-                issues.add(issue);
-                issueCount++;
+                if (!rule.mightMatch(content)) {
+                    AnalysisMetrics.RULE_SKIPS.labels(rule.getType()).increment();
+                    continue;
+                }
+                if (kind.isScript()) {
+                    fileIssues += matchRule(rule, filePath, fileContent, fileSize, context, matches);
+                } else if (rule.getEntryCheck() != null) {
+                    if (entries == null) {
+                        entries = ConfigParser.parse(kind, content);
+                    }
+                    fileIssues += checkEntries(rule, filePath, entries, fileSize, context, matches);
+                }
+            }
+            // Matches of a file cut short by the deadline are not all of its matches
+            if (!context.incomplete &&
+                context.cachedMatches + 1 + matches.size() <= Constants.DETECTOR_MAX_CACHED_MATCHES) {
+                context.matchesByContent.put(contentKey, matches.isEmpty() ? List.of() : matches);
+                context.cachedMatches += 1 + matches.size();
             }
         }
+        context.readNanos += readNanos;
+        
+        context.recordFile(filePath.toString(), readNanos + System.nanoTime() - matchStart,
+                           fileSize, fileIssues);
+    }
+    
+    int matchRule(String issueType, Path filePath, FileContent content, long fileSize, ScanContext context)
+            throws CharacterCodingException {
+        return matchRule(RuleSet.rule(issueType), filePath, content, fileSize, context, null);
+    }
+    
+    /**
+     * Runs one rule over a file's content and adds its matches to the context
+     *
+     * @param matches receives each match for reuse on identical files; may be null
+     * @return the number of issues added
+     */
+    int matchRule(Rule rule, Path filePath, FileContent content, long fileSize, ScanContext context,
+                  List<ScanContext.RuleMatch> matches) throws CharacterCodingException {
+        String issueType = rule.getType();
+        int limit = context.options.getMaxIssuesPerPatternPerFile();
+        
+        RuleScanEvent ruleEvent = new RuleScanEvent();
+        ruleEvent.begin();
+        long ruleStart = System.nanoTime();
+        Matcher matcher = rule.getPattern().matcher(content.normalizedText());
+        MatchCheck matchCheck = rule.getMatchCheck();
+        int issueCount = 0;
+        
+        while (issueCount < limit && !context.shouldStop() && matcher.find()) {
+            String suggestedFix = null;
+            if (matchCheck != null) {
+                suggestedFix = matchCheck.check(matcher, context.options.getTargetVersion());
+                if (suggestedFix == null) {
+                    continue;
+                }
+            }
+            // Built on the first match, and kept with the cached content
+            int lineNumber = content.lineIndex().lineNumber(matcher.start());
+            String matchedText = matcher.group();
+            
+            report(issueType, filePath, lineNumber, matchedText, suggestedFix, context);
+            if (matches != null) {
+                matches.add(new ScanContext.RuleMatch(issueType, lineNumber, matchedText, suggestedFix));
+            }
+            issueCount++;
+        }
+        
+        recordRuleRun(ruleEvent, issueType, filePath, fileSize, System.nanoTime() - ruleStart, issueCount, context);
+        return issueCount;
+    }
+    
+    /**
+     * Runs a rule's entry check over a parsed configuration file and adds its
+     * findings to the context
+     *
+     * @param matches receives each finding for reuse on identical files
+     * @return the number of issues added
+     */
+    private int checkEntries(Rule rule, Path filePath, List<ConfigEntry> entries, long fileSize, ScanContext context,
+                             List<ScanContext.RuleMatch> matches) {
+        String issueType = rule.getType();
+        int limit = context.options.getMaxIssuesPerPatternPerFile();
+        
+        RuleScanEvent ruleEvent = new RuleScanEvent();
+        ruleEvent.begin();
+        long ruleStart = System.nanoTime();
+        int[] issueCount = new int[1];
+        rule.getEntryCheck().check(entries, context.options.getTargetVersion(), (entry, suggestedFix) -> {
+            if (issueCount[0] >= limit) {
+                return;
+            }
+            report(issueType, filePath, entry.getLineNumber(), entry.getText(), suggestedFix, context);
+            matches.add(new ScanContext.RuleMatch(issueType, entry.getLineNumber(), entry.getText(), suggestedFix));
+            issueCount[0]++;
+        });
+        
+        recordRuleRun(ruleEvent, issueType, filePath, fileSize, System.nanoTime() - ruleStart, issueCount[0], context);
+        return issueCount[0];
+    }
+    
+    /**
+     * Records one rule's run over a file in the profile, the metrics and JFR
+     */
+    private void recordRuleRun(RuleScanEvent ruleEvent, String issueType, Path filePath, long fileSize,
+                               long ruleNanos, int issueCount, ScanContext context) {
+        context.recordRule(issueType, ruleNanos, issueCount);
+        AnalysisMetrics.RULE_MATCH_DURATION.labels(issueType).observeNanos(ruleNanos);
+        if (issueCount > 0) {
+            AnalysisMetrics.RULE_HITS.labels(issueType).add(issueCount);
+        }
+        if (ruleEvent.shouldCommit()) {
+            ruleEvent.path = filePath.toString();
+            ruleEvent.rule = issueType;
+            ruleEvent.bytes = fileSize;
+            ruleEvent.matches = issueCount;
+            ruleEvent.commit();
+        }
+    }
+    
+    /**
+     * Hands one match to the analysis: as an issue, or as a count in summary mode
+     *
+     * @param suggestedFix the fix given by the rule, or null to derive it from the match
+     */
+    private void report(String issueType, Path filePath, int lineNumber, String matchedText, String suggestedFix,
+                        ScanContext context) {
+        Rule rule = RuleSet.rule(issueType);
+        if (context.summary != null) {
+            context.summary.add(issueType, rule.getSeverity(), rule.isAutoFixable(),
+                                () -> createIssue(rule, filePath, lineNumber, matchedText, suggestedFix, context));
+        } else {
+            context.issues.add(createIssue(rule, filePath, lineNumber, matchedText, suggestedFix, context));
+        }
+    }
+    
+    private MigrationIssue createIssue(Rule rule, Path filePath, int lineNumber, String matchedText,
+                                       String suggestedFix, ScanContext context) {
+        String issueType = rule.getType();
+        MigrationIssue issue = new MigrationIssue();
+        issue.setId(UUID.randomUUID().toString());
+        issue.setType(issueType);
+        issue.setSeverity(rule.getSeverity());
+        issue.setTitle(rule.getTitle());
+        issue.setDescription(rule.getDescription());
+        issue.setFilePath(filePath.toString());
+        issue.setLineNumber(lineNumber);
+        issue.setCurrentCode(matchedText.trim());
+        issue.setExplanation(generateDetailedExplanation(issueType, matchedText));
+        issue.setAutoFixable(rule.isAutoFixable());
+        issue.setSuggestedFix(suggestedFix != null ? suggestedFix : generateSuggestedFix(issueType, matchedText));
+        
+        // Track affected modules
+        String moduleName = getModuleName(filePath, context.projectInfo);
+        if (moduleName != null) {
+            issue.getAffectedModules().add(moduleName);
+        }
+        return issue;
+    }
+    
+    /**
+     * Returns the identifiers of all registered rules
+     */
+    static Set<String> ruleTypes() {
+        return RuleSet.types();
     }
     
     private String getModuleName(Path filePath, ProjectInfo projectInfo) {
@@ -238,6 +470,10 @@ public class GradleIssueDetector {
         if (pathStr.startsWith(projectPath)) {
             String relativePath = pathStr.substring(projectPath.length());
             String[] parts = relativePath.split(File.separator);
+            // The wrapper and version catalogs under gradle/ belong to the root project
+            if (parts.length > 2 && parts[1].equals("gradle")) {
+                return "root";
+            }
             if (parts.length > 1 && !parts[1].isEmpty()) {
                 return parts[1];
             }
@@ -245,10 +481,6 @@ public class GradleIssueDetector {
         return "root";
     }
     
-    private int getLineNumber(String content, int position) {
-        return content.substring(0, position).split("\n").length;
-    }
-    
     private String extractGradleVersion(String wrapperContent) {
         Pattern pattern = Pattern.compile("gradle-(\\d+\\.\\d+(?:\\.\\d+)?(?:-\\w+)?)");
         Matcher matcher = pattern.matcher(wrapperContent);
@@ -313,6 +545,24 @@ public class GradleIssueDetector {
                 return "Direct property assignment '" + matchedText + "' should be migrated to the Property API. " +
                        "For archivesBaseName, use: base { archivesName.set('name') }";
                        
+            case "WRAPPER_CHECKSUM":
+                return "The wrapper verifies the downloaded distribution against '" + matchedText + "'. " +
+                       "After changing distributionUrl, set the checksum of the new distribution, " +
+                       "or run: ./gradlew wrapper --gradle-version 9.0 --gradle-distribution-sha256-sum <sum>";
+            
+            case "RENAMED_GRADLE_PROPERTY":
+                return "The property in '" + matchedText + "' was renamed when its feature became stable. " +
+                       "Gradle ignores the old name, so the setting silently has no effect.";
+            
+            case "INCOMPATIBLE_PLUGIN":
+                return "The plugin declared in '" + matchedText + "' is older than the first release that works " +
+                       "on Gradle 9, according to the bundled compatibility index. Plugins compiled against " +
+                       "removed APIs fail when they are applied, before any task runs.";
+            
+            case "CATALOG_UNDEFINED_VERSION_REF":
+                return "The catalog entry '" + matchedText + "' references a version that is not declared in " +
+                       "the [versions] table. Gradle rejects the whole catalog, so no build using it can run.";
+            
             default:
                 return "This code pattern is deprecated or removed in Gradle 9 and requires migration.";
         }
@@ -380,20 +630,4 @@ public class GradleIssueDetector {
         
         return "// TODO: Manual migration required - see explanation";
     }
-    
-    private static class IssuePattern {
-        Pattern pattern;
-        String severity;
-        String title;
-        String description;
-        boolean autoFixable;
-        
-        IssuePattern(Pattern pattern, String severity, String title, String description, boolean autoFixable) {
-            this.pattern = pattern;
-            this.severity = severity;
-            this.title = title;
-            this.description = description;
-            this.autoFixable = autoFixable;
-        }
-    }
 }
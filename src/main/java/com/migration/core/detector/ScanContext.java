@@ -0,0 +1,156 @@
+package com.migration.core.detector;
+
+import com.migration.core.rules.GradleVersion;
+import com.migration.core.rules.RuleSet;
+import com.migration.model.AnalysisProfile;
+import com.migration.model.MigrationIssue;
+import com.migration.model.ProjectInfo;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+
+/**
+ * State of one running analysis, threaded through the directory walk and the
+ * per-file scans
+ */
+class ScanContext {
+    
+    private static final int PROFILE_TOP_N = 10;
+    
+    final ProjectInfo projectInfo;
+    final List<MigrationIssue> issues;
+    final AnalysisOptions options;
+    // Rules for the analysis' version pair
+    final RuleSet rules;
+    // Set in summary mode, where matches are counted rather than kept as issues
+    SummarySink summary;
+    // Set when the deadline stopped the analysis before every file was scanned
+    boolean incomplete;
+    
+    int filesScanned;
+    long bytesRead;
+    long walkNanos;
+    long readNanos;
+    long matchNanos;
+    int filesDeduplicated;
+    
+    // Matches per file content, so byte-identical build files are matched once. Bounded by
+    // Constants.DETECTOR_MAX_CACHED_MATCHES counting each file and each match, since summaries
+    // of large trees would otherwise keep every match they only meant to count.
+    final Map<String, List<RuleMatch>> matchesByContent = new HashMap<>();
+    int cachedMatches;
+    
+    // Only filled when profiling: per-rule {nanos, matches} and the slowest files seen so far
+    private final Map<String, long[]> ruleTotals = new HashMap<>();
+    private final PriorityQueue<AnalysisProfile.FileTiming> slowestFiles =
+        new PriorityQueue<>(Comparator.comparingDouble(AnalysisProfile.FileTiming::getMillis));
+    
+    ScanContext(ProjectInfo projectInfo, List<MigrationIssue> issues, AnalysisOptions options) {
+        this.projectInfo = projectInfo;
+        this.issues = issues;
+        this.options = options;
+        // From the wrapper, read before the context is made; an unreadable version leaves the source open
+        GradleVersion source = options.isSourceFromWrapper()
+            ? GradleVersion.tryParse(projectInfo.getCurrentGradleVersion()) : options.getSourceVersion();
+        this.rules = RuleSet.forVersions(source, options.getTargetVersion());
+    }
+    
+    /**
+     * Checks whether the analysis should stop scanning. Once the deadline has
+     * passed this returns true and the results are marked incomplete.
+     *
+     * @throws CancellationException if the analysis was cancelled
+     */
+    boolean shouldStop() {
+        CancellationToken cancellation = options.getCancellation();
+        if (cancellation == null) {
+            return false;
+        }
+        cancellation.throwIfCancelled();
+        if (!incomplete && cancellation.isDeadlinePassed()) {
+            incomplete = true;
+        }
+        return incomplete;
+    }
+    
+    /**
+     * Waits for an I/O permit when the analysis runs under a shared limit
+     */
+    void acquireIo() {
+        if (options.getIoPermits() != null) {
+            options.getIoPermits().acquireUninterruptibly();
+        }
+    }
+    
+    void releaseIo() {
+        if (options.getIoPermits() != null) {
+            options.getIoPermits().release();
+        }
+    }
+    
+    void recordRule(String rule, long nanos, int matches) {
+        matchNanos += nanos;
+        if (options.isProfile()) {
+            long[] totals = ruleTotals.computeIfAbsent(rule, k -> new long[2]);
+            totals[0] += nanos;
+            totals[1] += matches;
+        }
+    }
+    
+    void recordFile(String filePath, long nanos, long bytes, int issueCount) {
+        if (!options.isProfile()) {
+            return;
+        }
+        slowestFiles.add(new AnalysisProfile.FileTiming(filePath, nanos / 1_000_000.0, bytes, issueCount));
+        if (slowestFiles.size() > PROFILE_TOP_N) {
+            slowestFiles.poll();
+        }
+    }
+    
+    AnalysisProfile buildProfile(long totalNanos) {
+        AnalysisProfile profile = new AnalysisProfile();
+        profile.setTotalMillis(totalNanos / 1_000_000);
+        profile.setWalkMillis(walkNanos / 1_000_000);
+        profile.setReadMillis(readNanos / 1_000_000);
+        profile.setMatchMillis(matchNanos / 1_000_000);
+        profile.setFilesScanned(filesScanned);
+        profile.setBytesRead(bytesRead);
+        profile.setFilesDeduplicated(filesDeduplicated);
+        
+        List<AnalysisProfile.FileTiming> files = new ArrayList<>(slowestFiles);
+        files.sort(Comparator.comparingDouble(AnalysisProfile.FileTiming::getMillis).reversed());
+        profile.setSlowestFiles(files);
+        
+        List<AnalysisProfile.RuleTiming> rules = new ArrayList<>();
+        ruleTotals.forEach((rule, totals) ->
+            rules.add(new AnalysisProfile.RuleTiming(rule, totals[0] / 1_000_000.0, (int) totals[1])));
+        rules.sort(Comparator.comparingDouble(AnalysisProfile.RuleTiming::getMillis).reversed());
+        profile.setSlowestRules(rules.size() > PROFILE_TOP_N ? rules.subList(0, PROFILE_TOP_N) : rules);
+        
+        return profile;
+    }
+    
+    /**
+     * One rule match, enough to recreate the issue for another file with the
+     * same content
+     */
+    static final class RuleMatch {
+        final String issueType;
+        final int lineNumber;
+        final String matchedText;
+        // Set when the rule gave the fix rather than the detector deriving it
+        final String suggestedFix;
+        
+        RuleMatch(String issueType, int lineNumber, String matchedText, String suggestedFix) {
+            this.issueType = issueType;
+            this.lineNumber = lineNumber;
+            this.matchedText = matchedText;
+            this.suggestedFix = suggestedFix;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.migration.core.detector;
+
+import com.migration.api.response.IssueSummary;
+import com.migration.core.index.IssueIndex;
+import com.migration.model.MigrationIssue;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Counts matches instead of keeping them, for summary analyses. Memory grows
+ * with the number of rules, modules and files that have issues, not with the
+ * number of issues; only a fixed-size sample is materialized.
+ */
+final class SummarySink {
+    
+    // Fixed so the same tree yields the same sample
+    private static final long SAMPLE_SEED = 0x5EEDL;
+    
+    private final int sampleSize;
+    private final Random random = new Random(SAMPLE_SEED);
+    private final List<MigrationIssue> sample = new ArrayList<>();
+    
+    // Mutable one-element counters, so counting does not box
+    private final Map<String, int[]> byType = new HashMap<>();
+    private final Map<String, int[]> bySeverity = new HashMap<>();
+    private final Map<String, int[]> byModule = new HashMap<>();
+    private final Map<String, int[]> byFile = new HashMap<>();
+    private int totalIssues;
+    private int criticalIssues;
+    private int autoFixableIssues;
+    
+    // Counters of the file being scanned
+    private String filePath;
+    private int[] fileCount;
+    private int[] moduleCount;
+    
+    SummarySink(int sampleSize) {
+        this.sampleSize = sampleSize;
+    }
+    
+    /**
+     * Directs the following matches to a file and the module it belongs to
+     */
+    void startFile(String filePath, String module) {
+        this.filePath = filePath;
+        this.fileCount = null;
+        this.moduleCount = byModule.computeIfAbsent(module, k -> new int[1]);
+    }
+    
+    /**
+     * Counts one match of the current file. The issue is only created when it
+     * enters the sample, which is a uniform random sample of all matches.
+     */
+    void add(String issueType, String severity, boolean autoFixable, Supplier<MigrationIssue> issue) {
+        if (fileCount == null) {
+            fileCount = byFile.computeIfAbsent(filePath, k -> new int[1]);
+        }
+        fileCount[0]++;
+        moduleCount[0]++;
+        byType.computeIfAbsent(issueType, k -> new int[1])[0]++;
+        bySeverity.computeIfAbsent(severity, k -> new int[1])[0]++;
+        totalIssues++;
+        if ("CRITICAL".equals(severity)) {
+            criticalIssues++;
+        }
+        if (autoFixable) {
+            autoFixableIssues++;
+        }
+        
+        // Reservoir sampling
+        if (sample.size() < sampleSize) {
+            sample.add(issue.get());
+        } else if (sampleSize > 0) {
+            int slot = random.nextInt(totalIssues);
+            if (slot < sampleSize) {
+                sample.set(slot, issue.get());
+            }
+        }
+    }
+    
+    /**
+     * Returns the counts, with per-file counts limited to the files with the
+     * most issues
+     */
+    IssueSummary toSummary(int topFiles) {
+        IssueSummary summary = new IssueSummary();
+        summary.setTotalIssues(totalIssues);
+        summary.setCriticalIssues(criticalIssues);
+        summary.setAutoFixableIssues(autoFixableIssues);
+        
+        for (String severity : IssueIndex.SEVERITY_ORDER) {
+            int[] count = bySeverity.get(severity);
+            if (count != null) {
+                summary.getBySeverity().put(severity, count[0]);
+            }
+        }
+        new TreeMap<>(bySeverity).forEach((severity, count) -> summary.getBySeverity().putIfAbsent(severity, count[0]));
+        new TreeMap<>(byType).forEach((type, count) -> summary.getByType().put(type, count[0]));
+        new TreeMap<>(byModule).forEach((module, count) -> {
+            if (count[0] > 0) {
+                summary.getByModule().put(module, count[0]);
+            }
+        });
+        
+        Map<String, Integer> files = new LinkedHashMap<>();
+        byFile.entrySet().stream()
+            .sorted(Map.Entry.<String, int[]>comparingByValue(Comparator.comparingInt(count -> -count[0]))
+                .thenComparing(Map.Entry.comparingByKey()))
+            .limit(topFiles)
+            .forEach(entry -> files.put(entry.getKey(), entry.getValue()[0]));
+        summary.setByFile(files);
+        summary.setFilesWithIssues(byFile.size());
+        
+        List<MigrationIssue> issues = new ArrayList<>(sample);
+        issues.sort(Comparator.comparing(MigrationIssue::getFilePath).thenComparingInt(MigrationIssue::getLineNumber));
+        summary.setSample(issues);
+        return summary;
+    }
+}
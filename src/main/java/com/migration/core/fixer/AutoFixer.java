@@ -1,77 +1,47 @@
 package com.migration.core.fixer;
 
+import com.migration.core.cache.FileContentCache;
+import com.migration.diagnostics.FixBackupEvent;
+import com.migration.diagnostics.FixEditEvent;
+import com.migration.diagnostics.FixWriteEvent;
+import com.migration.metrics.AnalysisMetrics;
 import com.migration.model.MigrationIssue;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.util.*;
 import java.util.regex.*;
 
 public class AutoFixer {
     
+    private final FileContentCache fileCache = FileContentCache.getInstance();
+    
     public FixResult applyFix(MigrationIssue issue) {
-        FixResult result = new FixResult();
-        result.setIssueId(issue.getId());
-        result.setFilePath(issue.getFilePath());
-        
-        if (!issue.isAutoFixable()) {
-            result.setSuccess(false);
-            result.setMessage("This issue is not auto-fixable and requires manual intervention.");
-            return result;
-        }
-        
-        try {
-            Path filePath = Paths.get(issue.getFilePath());
-            if (!Files.exists(filePath)) {
-                result.setSuccess(false);
-                result.setMessage("File not found: " + issue.getFilePath());
-                return result;
-            }
-            
-            // Create backup
-            String backupPath = createBackup(filePath);
-            result.setBackupPath(backupPath);
-            
-            // Read file content
-            String content = Files.readString(filePath);
-            String originalContent = content;
-            
-            // Apply fix based on issue type
-            String fixedContent = applyFixByType(content, issue);
-            
-            if (fixedContent.equals(originalContent)) {
-                result.setSuccess(false);
-                result.setMessage("No changes were made. The pattern might have already been fixed.");
-                return result;
-            }
-            
-            // Write fixed content
-            Files.writeString(filePath, fixedContent);
-            
-            result.setSuccess(true);
-            result.setMessage("Successfully applied fix to " + filePath.getFileName());
-            result.setOriginalCode(issue.getCurrentCode());
-            result.setFixedCode(issue.getSuggestedFix());
-            
-        } catch (IOException e) {
-            result.setSuccess(false);
-            result.setMessage("Error applying fix: " + e.getMessage());
-        }
-        
-        return result;
+        return applyFileFixes(issue.getFilePath(), List.of(issue)).get(0);
     }
     
+    /**
+     * Applies fixes for several issues. Issues in the same file are fixed
+     * together, with one backup, read and write of the file, so the results
+     * are grouped by file in the order each file first appears.
+     */
     public BatchFixResult applyMultipleFixes(List<MigrationIssue> issues) {
+        long startTime = System.nanoTime();
         BatchFixResult batchResult = new BatchFixResult();
-        List<FixResult> results = new ArrayList<>();
+        List<FixResult> results = new ArrayList<>(issues.size());
+        
+        Map<String, List<MigrationIssue>> byFile = new LinkedHashMap<>();
+        for (MigrationIssue issue : issues) {
+            byFile.computeIfAbsent(issue.getFilePath(), k -> new ArrayList<>()).add(issue);
+        }
+        for (Map.Entry<String, List<MigrationIssue>> file : byFile.entrySet()) {
+            results.addAll(applyFileFixes(file.getKey(), file.getValue()));
+        }
         
         int successCount = 0;
         int failureCount = 0;
-        
-        for (MigrationIssue issue : issues) {
-            FixResult result = applyFix(issue);
-            results.add(result);
-            
+        for (FixResult result : results) {
             if (result.isSuccess()) {
                 successCount++;
             } else {
@@ -84,9 +54,113 @@ public class AutoFixer {
         batchResult.setSuccessCount(successCount);
         batchResult.setFailureCount(failureCount);
         
+        AnalysisMetrics.FIX_BATCH_DURATION.observeNanos(System.nanoTime() - startTime);
+        AnalysisMetrics.FIXES.labels("success").add(successCount);
+        AnalysisMetrics.FIXES.labels("failure").add(failureCount);
+        
         return batchResult;
     }
     
+    /**
+     * Applies the fixes for issues in one file to its content in turn and
+     * writes the result once. The backup holds the content from before all
+     * of them.
+     */
+    private List<FixResult> applyFileFixes(String file, List<MigrationIssue> issues) {
+        List<FixResult> results = new ArrayList<>(issues.size());
+        List<MigrationIssue> fixable = new ArrayList<>();
+        List<FixResult> pending = new ArrayList<>();
+        for (MigrationIssue issue : issues) {
+            FixResult result = new FixResult();
+            result.setIssueId(issue.getId());
+            result.setFilePath(issue.getFilePath());
+            results.add(result);
+            
+            if (!issue.isAutoFixable()) {
+                result.setSuccess(false);
+                result.setMessage("This issue is not auto-fixable and requires manual intervention.");
+            } else {
+                fixable.add(issue);
+                pending.add(result);
+            }
+        }
+        if (fixable.isEmpty()) {
+            return results;
+        }
+        
+        try {
+            Path filePath = Paths.get(file);
+            if (!Files.exists(filePath)) {
+                for (FixResult result : pending) {
+                    result.setSuccess(false);
+                    result.setMessage("File not found: " + file);
+                }
+                return results;
+            }
+            
+            // Create backup
+            String backupPath = createBackup(filePath);
+            
+            // Read file content, usually cached by the analysis
+            String content = fileCache.read(filePath).text();
+            boolean changed = false;
+            
+            for (int i = 0; i < fixable.size(); i++) {
+                MigrationIssue issue = fixable.get(i);
+                FixResult result = pending.get(i);
+                result.setBackupPath(backupPath);
+                
+                // Apply fix based on issue type, on top of the fixes before it
+                FixEditEvent editEvent = new FixEditEvent();
+                editEvent.begin();
+                String fixedContent = applyFixByType(content, issue);
+                
+                if (editEvent.shouldCommit()) {
+                    editEvent.path = filePath.toString();
+                    editEvent.issueType = issue.getType();
+                    editEvent.bytes = content.getBytes(StandardCharsets.UTF_8).length;
+                    editEvent.changed = !fixedContent.equals(content);
+                    editEvent.commit();
+                }
+                
+                if (fixedContent.equals(content)) {
+                    result.setSuccess(false);
+                    result.setMessage("No changes were made. The pattern might have already been fixed.");
+                    continue;
+                }
+                
+                content = fixedContent;
+                changed = true;
+                result.setSuccess(true);
+                result.setMessage("Successfully applied fix to " + filePath.getFileName());
+                result.setOriginalCode(issue.getCurrentCode());
+                result.setFixedCode(issue.getSuggestedFix());
+            }
+            
+            // Write fixed content
+            if (changed) {
+                FixWriteEvent writeEvent = new FixWriteEvent();
+                writeEvent.begin();
+                fileCache.write(filePath, content);
+                if (writeEvent.shouldCommit()) {
+                    writeEvent.path = filePath.toString();
+                    writeEvent.bytes = content.getBytes(StandardCharsets.UTF_8).length;
+                    writeEvent.commit();
+                }
+            }
+        
+        } catch (IOException e) {
+            for (FixResult result : pending) {
+                result.setSuccess(false);
+                result.setMessage("Error applying fix: " + e.getMessage());
+                result.setOriginalCode(null);
+                result.setFixedCode(null);
+            }
+        }
+        
+        return results;
+    }
+    
     private String applyFixByType(String content, MigrationIssue issue) {
         String currentCode = issue.getCurrentCode();
         String suggestedFix = issue.getSuggestedFix();
@@ -219,9 +293,16 @@ public class AutoFixer {
     }
     
     private String createBackup(Path filePath) throws IOException {
+        FixBackupEvent backupEvent = new FixBackupEvent();
+        backupEvent.begin();
         String timestamp = String.valueOf(System.currentTimeMillis());
         Path backupPath = Paths.get(filePath.toString() + ".backup." + timestamp);
         Files.copy(filePath, backupPath, StandardCopyOption.REPLACE_EXISTING);
+        if (backupEvent.shouldCommit()) {
+            backupEvent.path = filePath.toString();
+            backupEvent.bytes = Files.size(backupPath);
+            backupEvent.commit();
+        }
         return backupPath.toString();
     }
     
@@ -0,0 +1,198 @@
+package com.migration.core.fleet;
+
+import com.migration.api.response.IssueSummary;
+import com.migration.core.detector.AnalysisOptions;
+import com.migration.core.detector.GradleIssueDetector;
+import com.migration.core.scheduler.AnalysisScheduler;
+import com.migration.model.FleetReport;
+import com.migration.util.Constants;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Analyzes many Gradle builds concurrently.
+ *
+ * Builds are discovered under the given roots and analyzed on one shared
+ * pool. All analyses draw on one I/O semaphore, so the number of files read
+ * at once stays bounded however many requests and builds are in flight.
+ * Each build is admitted by the {@link AnalysisScheduler} as a batch analysis
+ * of the requesting client.
+ */
+public class FleetAnalyzer {
+    
+    private static final Set<String> SKIPPED_DIRECTORIES = Set.of("build", "node_modules", "out");
+    
+    private final GradleIssueDetector detector = new GradleIssueDetector();
+    private final ExecutorService executor;
+    private final Semaphore ioPermits;
+    private final AnalysisScheduler scheduler = AnalysisScheduler.getInstance();
+    
+    public FleetAnalyzer(int threads, int ioPermits) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "fleet-analyzer-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ioPermits = new Semaphore(ioPermits, true);
+    }
+    
+    /**
+     * Finds the Gradle builds under each root. A directory with a settings
+     * file, or a build file and no enclosing build, is one build; its
+     * subdirectories are not searched further.
+     *
+     * @param roots directories that are builds or contain builds
+     * @param maxDepth how many directory levels below a root to search
+     * @return real paths of the build directories in path order, without duplicates
+     */
+    public List<Path> discoverBuilds(List<Path> roots, int maxDepth) throws IOException {
+        Set<Path> builds = new TreeSet<>();
+        for (Path requested : roots) {
+            // The walk does not follow links, so a symlinked root is resolved first
+            Path root = requested.toRealPath();
+            Files.walkFileTree(root, EnumSet.noneOf(FileVisitOption.class), maxDepth + 1,
+                new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                        String name = dir.getFileName() != null ? dir.getFileName().toString() : "";
+                        if (!dir.equals(root) && (name.startsWith(".") || SKIPPED_DIRECTORIES.contains(name))) {
+                            return FileVisitResult.SKIP_SUBTREE;
+                        }
+                        if (isBuild(dir)) {
+                            builds.add(dir);
+                            return FileVisitResult.SKIP_SUBTREE;
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                    
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException e) {
+                        // Unreadable directories are skipped rather than failing discovery
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            if (builds.size() > Constants.FLEET_MAX_REPOSITORIES) {
+                throw new IllegalArgumentException(Constants.ERROR_FLEET_TOO_MANY + Constants.FLEET_MAX_REPOSITORIES);
+            }
+        }
+        return new ArrayList<>(builds);
+    }
+    
+    /**
+     * Discovers and analyzes every build under the roots. Failures are
+     * reported per repository and do not fail the fleet.
+     *
+     * @param clientId who the fleet is analyzed for, sharing batch slots fairly with other clients
+     */
+    public FleetReport analyze(List<Path> roots, int maxDepth, String clientId)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        List<Path> builds = discoverBuilds(roots, maxDepth);
+        
+        List<Future<FleetReport.RepositorySummary>> futures = new ArrayList<>(builds.size());
+        for (Path build : builds) {
+            futures.add(executor.submit(() -> analyzeBuild(build, clientId)));
+        }
+        
+        FleetReport report = new FleetReport();
+        for (Path root : roots) {
+            report.getRoots().add(root.toString());
+        }
+        try {
+            for (Future<FleetReport.RepositorySummary> future : futures) {
+                try {
+                    add(report, future.get());
+                } catch (ExecutionException e) {
+                    // analyzeBuild catches its own failures; this is a bug guard
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+        
+        report.setRepositories(builds.size());
+        report.setDurationMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return report;
+    }
+    
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    // The scheduler permit is held for its block, never referenced
+    @SuppressWarnings("try")
+    private FleetReport.RepositorySummary analyzeBuild(Path build, String clientId) {
+        long start = System.nanoTime();
+        FleetReport.RepositorySummary summary = new FleetReport.RepositorySummary();
+        summary.setProjectPath(build.toString());
+        summary.setProjectName(build.getFileName() != null ? build.getFileName().toString() : build.toString());
+        
+        try (AnalysisScheduler.Permit permit = scheduler.acquire(AnalysisScheduler.Priority.BATCH, clientId, null)) {
+            // Only counts are reported, so no issue is materialized
+            AnalysisOptions options = new AnalysisOptions();
+            options.setIoPermits(ioPermits);
+            options.setSampleSize(0);
+            options.setTopFiles(0);
+            IssueSummary counts = detector.summarizeProject(build.toString(), options);
+            
+            summary.setCurrentGradleVersion(counts.getCurrentGradleVersion());
+            summary.setMultiModule(counts.isMultiModule());
+            summary.setModules(counts.getModules().size());
+            summary.setTotalIssues(counts.getTotalIssues());
+            summary.setCriticalIssues(counts.getCriticalIssues());
+            summary.setAutoFixableIssues(counts.getAutoFixableIssues());
+            summary.getIssuesBySeverity().putAll(counts.getBySeverity());
+            summary.getIssuesByType().putAll(counts.getByType());
+            boolean ready = !counts.getBySeverity().containsKey("CRITICAL") &&
+                            !counts.getBySeverity().containsKey("HIGH");
+            summary.setReady(ready);
+        } catch (IOException | RuntimeException e) {
+            summary.setError(e.getMessage() != null ? e.getMessage() : e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            summary.setError("interrupted");
+        }
+        
+        summary.setDurationMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return summary;
+    }
+    
+    private static void add(FleetReport report, FleetReport.RepositorySummary summary) {
+        report.getResults().add(summary);
+        if (summary.getError() != null) {
+            report.setFailed(report.getFailed() + 1);
+            return;
+        }
+        
+        report.setAnalyzed(report.getAnalyzed() + 1);
+        if (summary.isReady()) {
+            report.setReady(report.getReady() + 1);
+        }
+        report.setTotalIssues(report.getTotalIssues() + summary.getTotalIssues());
+        report.setCriticalIssues(report.getCriticalIssues() + summary.getCriticalIssues());
+        report.setAutoFixableIssues(report.getAutoFixableIssues() + summary.getAutoFixableIssues());
+        summary.getIssuesBySeverity().forEach((severity, count) ->
+            report.getIssuesBySeverity().merge(severity, count, Integer::sum));
+        summary.getIssuesByType().forEach((type, count) -> {
+            report.getIssuesByType().merge(type, count, Integer::sum);
+            report.getRepositoriesByType().merge(type, 1, Integer::sum);
+        });
+        String version = summary.getCurrentGradleVersion() != null ? summary.getCurrentGradleVersion() : "unknown";
+        report.getGradleVersions().merge(version, 1, Integer::sum);
+    }
+    
+    private static boolean isBuild(Path dir) {
+        return Files.exists(dir.resolve(Constants.SETTINGS_GRADLE)) ||
+               Files.exists(dir.resolve(Constants.SETTINGS_GRADLE_KTS)) ||
+               Files.exists(dir.resolve(Constants.BUILD_GRADLE)) ||
+               Files.exists(dir.resolve(Constants.BUILD_GRADLE_KTS));
+    }
+}
@@ -0,0 +1,171 @@
+package com.migration.core.git;
+
+import com.migration.exception.GitException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The entries of a repository's index (.git/index), versions 2 to 4. A split
+ * index is not supported.
+ */
+final class GitIndex {
+    
+    private static final int SIGNATURE = 0x44495243; // "DIRC"
+    private static final int FLAG_EXTENDED = 0x4000;
+    private static final int EXTENDED_SKIP_WORKTREE = 0x4000;
+    private static final int MODE_TYPE_MASK = 0170000;
+    private static final int MODE_DIRECTORY = 0040000;
+    
+    final List<Entry> entries;
+    // When the index was written; files modified since may have changed without their size or time showing it
+    final FileTime modified;
+    
+    private GitIndex(List<Entry> entries, FileTime modified) {
+        this.entries = entries;
+        this.modified = modified;
+    }
+    
+    /**
+     * Reads an index file
+     *
+     * @return the entries in path order; empty if the repository has no index yet
+     */
+    static GitIndex read(Path indexFile) throws IOException {
+        byte[] bytes;
+        FileTime modified;
+        try {
+            modified = Files.getLastModifiedTime(indexFile);
+            bytes = Files.readAllBytes(indexFile);
+        } catch (NoSuchFileException e) {
+            return new GitIndex(Collections.emptyList(), FileTime.fromMillis(0));
+        }
+        
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length < 12 || buffer.getInt() != SIGNATURE) {
+            throw new GitException("Not a Git index: " + indexFile);
+        }
+        int version = buffer.getInt();
+        if (version < 2 || version > 4) {
+            throw new GitException("Unsupported index version " + version + ": " + indexFile);
+        }
+        int count = buffer.getInt();
+        
+        List<Entry> entries = new ArrayList<>(count);
+        byte[] previousPath = new byte[0];
+        for (int i = 0; i < count; i++) {
+            int start = buffer.position();
+            buffer.position(start + 8); // ctime
+            long mtimeSeconds = buffer.getInt() & 0xFFFFFFFFL;
+            int mtimeNanos = buffer.getInt();
+            buffer.position(buffer.position() + 8); // dev, ino
+            int mode = buffer.getInt();
+            buffer.position(buffer.position() + 8); // uid, gid
+            long size = buffer.getInt() & 0xFFFFFFFFL;
+            byte[] id = new byte[20];
+            buffer.get(id);
+            int flags = buffer.getShort() & 0xFFFF;
+            boolean skipWorktree = false;
+            if ((flags & FLAG_EXTENDED) != 0 && version >= 3) {
+                skipWorktree = (buffer.getShort() & EXTENDED_SKIP_WORKTREE) != 0;
+            }
+            
+            byte[] path;
+            if (version == 4) {
+                // The path shares all but the given number of trailing bytes with the previous one
+                int strip = readVarint(buffer);
+                int suffixStart = buffer.position();
+                int suffixEnd = indexOfNul(bytes, suffixStart);
+                int keep = previousPath.length - strip;
+                path = new byte[keep + suffixEnd - suffixStart];
+                System.arraycopy(previousPath, 0, path, 0, keep);
+                System.arraycopy(bytes, suffixStart, path, keep, suffixEnd - suffixStart);
+                buffer.position(suffixEnd + 1);
+            } else {
+                int pathStart = buffer.position();
+                int pathEnd = indexOfNul(bytes, pathStart);
+                path = new byte[pathEnd - pathStart];
+                System.arraycopy(bytes, pathStart, path, 0, path.length);
+                // Entries are NUL padded to a multiple of 8 bytes
+                int length = pathEnd - start;
+                buffer.position(start + ((length + 8) & ~7));
+            }
+            previousPath = path;
+            
+            if ((mode & MODE_TYPE_MASK) == MODE_DIRECTORY) {
+                // Directory entry of a sparse index; the files under it are not checked out
+                continue;
+            }
+            entries.add(new Entry(new String(path, StandardCharsets.UTF_8), ObjectDatabase.toHex(id), mode,
+                                  size, mtimeSeconds, mtimeNanos, (flags >>> 12) & 3, skipWorktree));
+        }
+        
+        while (buffer.remaining() > 20 + 8) {
+            String extension = new String(bytes, buffer.position(), 4, StandardCharsets.US_ASCII);
+            if (extension.equals("link")) {
+                throw new GitException("Split indexes are not supported: " + indexFile);
+            }
+            buffer.position(buffer.position() + 4);
+            int length = buffer.getInt();
+            buffer.position(buffer.position() + length);
+        }
+        return new GitIndex(entries, modified);
+    }
+    
+    private static int indexOfNul(byte[] bytes, int from) throws GitException {
+        for (int i = from; i < bytes.length; i++) {
+            if (bytes[i] == 0) {
+                return i;
+            }
+        }
+        throw new GitException("Truncated index");
+    }
+    
+    private static int readVarint(ByteBuffer buffer) {
+        int c = buffer.get() & 0xFF;
+        int value = c & 0x7F;
+        while ((c & 0x80) != 0) {
+            c = buffer.get() & 0xFF;
+            value = ((value + 1) << 7) | (c & 0x7F);
+        }
+        return value;
+    }
+    
+    /**
+     * One tracked path. A path with a merge conflict has an entry per stage.
+     */
+    static final class Entry {
+        final String path;
+        final String id;
+        final int mode;
+        final long size;
+        final long mtimeSeconds;
+        final int mtimeNanos;
+        final int stage;
+        final boolean skipWorktree;
+        
+        Entry(String path, String id, int mode, long size, long mtimeSeconds, int mtimeNanos, int stage,
+              boolean skipWorktree) {
+            this.path = path;
+            this.id = id;
+            this.mode = mode;
+            this.size = size;
+            this.mtimeSeconds = mtimeSeconds;
+            this.mtimeNanos = mtimeNanos;
+            this.stage = stage;
+            this.skipWorktree = skipWorktree;
+        }
+        
+        boolean isRegularFile() {
+            return (mode & MODE_TYPE_MASK) == 0100000;
+        }
+    }
+}
@@ -0,0 +1,441 @@
+package com.migration.core.git;
+
+import com.migration.exception.GitException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Read-only access to a local Git repository, enough to tell which files of
+ * the working tree differ from a commit. Objects, refs and the index are read
+ * straight from disk; nothing is fetched.
+ *
+ * Supports loose and packed objects, alternates, linked worktrees and index
+ * versions 2 to 4. SHA-256 repositories, reftables and split indexes are not
+ * supported.
+ */
+public final class GitRepository implements Closeable {
+    
+    private static final Pattern FULL_ID = Pattern.compile("[0-9a-f]{40}");
+    private static final Pattern ABBREVIATED_ID = Pattern.compile("[0-9a-f]{4,39}");
+    private static final Pattern NAVIGATION = Pattern.compile("([~^])(\\d*)");
+    private static final int MAX_SYMBOLIC_DEPTH = 5;
+    private static final int HASH_BUFFER_SIZE = 8192;
+    
+    private final Path workTree;
+    // The repository of the worktree, and the one shared by all its worktrees
+    private final Path gitDir;
+    private final Path commonDir;
+    private final ObjectDatabase objects;
+    private Map<String, String> packedRefs;
+    // Entries of the trees read so far, by tree id
+    private final Map<String, Map<String, String>> trees = new HashMap<>();
+    
+    private GitRepository(Path workTree, Path gitDir, Path commonDir) throws IOException {
+        this.workTree = workTree;
+        this.gitDir = gitDir;
+        this.commonDir = commonDir;
+        this.objects = new ObjectDatabase(commonDir.resolve("objects"));
+    }
+    
+    /**
+     * Opens the repository whose working tree contains a path
+     *
+     * @param start a directory in the working tree
+     * @throws GitException if the path is not in a working tree or the
+     *                      repository's format is not supported
+     */
+    public static GitRepository open(Path start) throws IOException {
+        for (Path directory = start.toAbsolutePath().normalize(); directory != null;
+             directory = directory.getParent()) {
+            Path dotGit = directory.resolve(".git");
+            Path gitDir;
+            if (Files.isDirectory(dotGit)) {
+                gitDir = dotGit;
+            } else if (Files.isRegularFile(dotGit)) {
+                // A linked worktree or submodule points at its repository
+                String content = Files.readString(dotGit, StandardCharsets.UTF_8).trim();
+                if (!content.startsWith("gitdir:")) {
+                    throw new GitException("Invalid .git file: " + dotGit);
+                }
+                gitDir = directory.resolve(content.substring("gitdir:".length()).trim()).normalize();
+            } else {
+                continue;
+            }
+            
+            Path commonDir = gitDir;
+            Path commonDirFile = gitDir.resolve("commondir");
+            if (Files.isRegularFile(commonDirFile)) {
+                commonDir = gitDir.resolve(Files.readString(commonDirFile, StandardCharsets.UTF_8).trim()).normalize();
+            }
+            checkFormat(commonDir);
+            return new GitRepository(directory, gitDir, commonDir);
+        }
+        throw new GitException("Not in a Git working tree: " + start);
+    }
+    
+    public Path getWorkTree() { return workTree; }
+    
+    /**
+     * Resolves a revision to a commit id. Accepts HEAD, branch, tag and remote
+     * branch names, full or abbreviated commit ids, each optionally followed
+     * by ~N (Nth ancestor) or ^N (Nth parent) steps.
+     *
+     * @throws GitException if the revision names no commit
+     */
+    public String resolve(String revision) throws IOException {
+        if (revision == null || revision.isBlank()) {
+            throw new GitException("No revision given");
+        }
+        int navigation = revision.length();
+        for (int i = 0; i < revision.length(); i++) {
+            char c = revision.charAt(i);
+            if (c == '~' || c == '^') {
+                navigation = i;
+                break;
+            }
+        }
+        String id = peelToCommit(resolveName(revision.substring(0, navigation)), revision);
+        
+        Matcher step = NAVIGATION.matcher(revision);
+        int position = navigation;
+        while (position < revision.length()) {
+            if (!step.find(position) || step.start() != position) {
+                throw new GitException("Invalid revision: " + revision);
+            }
+            int count = step.group(2).isEmpty() ? 1 : Integer.parseInt(step.group(2));
+            if (step.group(1).equals("~")) {
+                for (int i = 0; i < count; i++) {
+                    id = parent(id, 1, revision);
+                }
+            } else if (count > 0) {
+                id = parent(id, count, revision);
+            }
+            position = step.end();
+        }
+        return id;
+    }
+    
+    /**
+     * Lists the tracked files of the working tree whose content differs from
+     * a commit, including changes not yet staged or committed. Files deleted
+     * from the working tree and untracked files are not listed.
+     *
+     * Files whose size and modification time still match the index are taken
+     * to have the content the index records; only the others are hashed.
+     *
+     * @param baseRevision the commit to compare with
+     * @param scope the directory whose files are listed
+     * @param include selects the files of interest, checked before any file is read
+     * @return the changed files, in path order
+     * @throws GitException if the revision cannot be resolved or the repository cannot be read
+     */
+    public List<Path> changedFiles(String baseRevision, Path scope, Predicate<Path> include) throws IOException {
+        String baseTree = treeOf(resolve(baseRevision));
+        GitIndex index = GitIndex.read(gitDir.resolve("index"));
+        
+        Path normalizedScope = scope.toAbsolutePath().normalize();
+        if (!normalizedScope.startsWith(workTree)) {
+            throw new GitException("Not in the working tree of " + workTree + ": " + scope);
+        }
+        String prefix = workTree.relativize(normalizedScope).toString().replace('\\', '/');
+        if (!prefix.isEmpty()) {
+            prefix += "/";
+        }
+        
+        Set<Path> changed = new LinkedHashSet<>();
+        for (GitIndex.Entry entry : index.entries) {
+            if (!entry.path.startsWith(prefix) || !entry.isRegularFile() || entry.skipWorktree) {
+                continue;
+            }
+            Path file = workTree.resolve(entry.path);
+            if (changed.contains(file) || !include.test(file)) {
+                continue;
+            }
+            
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                continue;
+            }
+            if (!attributes.isRegularFile()) {
+                continue;
+            }
+            if (entry.stage != 0) {
+                // Unmerged; whatever the working file holds is not in the base
+                changed.add(file);
+                continue;
+            }
+            
+            String currentId = isUnchanged(entry, attributes, index) ? entry.id : hashBlob(file);
+            if (!currentId.equals(lookup(baseTree, entry.path))) {
+                changed.add(file);
+            }
+        }
+        return new ArrayList<>(changed);
+    }
+    
+    @Override
+    public void close() throws IOException {
+        objects.close();
+    }
+    
+    private static void checkFormat(Path commonDir) throws IOException {
+        if (Files.isDirectory(commonDir.resolve("reftable"))) {
+            throw new GitException("Reftable repositories are not supported: " + commonDir);
+        }
+        Path config = commonDir.resolve("config");
+        if (!Files.isRegularFile(config)) {
+            return;
+        }
+        for (String line : Files.readAllLines(config, StandardCharsets.UTF_8)) {
+            String setting = line.trim().toLowerCase(Locale.ROOT).replace(" ", "");
+            if (setting.startsWith("objectformat=") && !setting.equals("objectformat=sha1")) {
+                throw new GitException("Only SHA-1 repositories are supported: " + commonDir);
+            }
+        }
+    }
+    
+    /**
+     * Resolves a ref name or object id, without navigation steps
+     */
+    private String resolveName(String name) throws IOException {
+        if (name.isEmpty() || name.contains("..") || name.startsWith("/") || name.contains("\\")) {
+            throw new GitException("Invalid revision: " + name);
+        }
+        for (String candidate : List.of(name, "refs/" + name, "refs/tags/" + name, "refs/heads/" + name,
+                                        "refs/remotes/" + name, "refs/remotes/" + name + "/HEAD")) {
+            String id = readRef(candidate, 0);
+            if (id != null) {
+                return id;
+            }
+        }
+        
+        String lowerCase = name.toLowerCase(Locale.ROOT);
+        if (FULL_ID.matcher(lowerCase).matches()) {
+            return lowerCase;
+        }
+        if (ABBREVIATED_ID.matcher(lowerCase).matches()) {
+            List<String> found = new ArrayList<>(new LinkedHashSet<>(objects.findByPrefix(lowerCase)));
+            if (found.size() == 1) {
+                return found.get(0);
+            }
+            if (found.size() > 1) {
+                throw new GitException("Ambiguous revision: " + name);
+            }
+        }
+        throw new GitException("Unknown revision: " + name);
+    }
+    
+    /**
+     * Reads a ref, following symbolic refs
+     *
+     * @return the object id, or null if there is no such ref
+     */
+    private String readRef(String name, int depth) throws IOException {
+        if (depth > MAX_SYMBOLIC_DEPTH) {
+            throw new GitException("Symbolic ref loop: " + name);
+        }
+        // Refs such as HEAD belong to the worktree; branches and tags are shared
+        for (Path directory : List.of(gitDir, commonDir)) {
+            Path file = directory.resolve(name);
+            if (!Files.isRegularFile(file)) {
+                continue;
+            }
+            String content = Files.readString(file, StandardCharsets.UTF_8).trim();
+            if (content.startsWith("ref:")) {
+                return readRef(content.substring("ref:".length()).trim(), depth + 1);
+            }
+            if (FULL_ID.matcher(content).matches()) {
+                return content;
+            }
+        }
+        return packedRefs().get(name);
+    }
+    
+    private Map<String, String> packedRefs() throws IOException {
+        if (packedRefs == null) {
+            packedRefs = new HashMap<>();
+            Path file = commonDir.resolve("packed-refs");
+            if (Files.isRegularFile(file)) {
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    // Skip the header and the peeled ids of annotated tags
+                    if (line.startsWith("#") || line.startsWith("^") || line.length() < 42) {
+                        continue;
+                    }
+                    packedRefs.put(line.substring(41).trim(), line.substring(0, 40));
+                }
+            }
+        }
+        return packedRefs;
+    }
+    
+    /**
+     * Follows annotated tags to the commit they point at
+     */
+    private String peelToCommit(String id, String revision) throws IOException {
+        for (int depth = 0; depth <= MAX_SYMBOLIC_DEPTH; depth++) {
+            ObjectDatabase.RawObject object = objects.read(id);
+            if (object.type == ObjectDatabase.OBJ_COMMIT) {
+                return id;
+            }
+            if (object.type != ObjectDatabase.OBJ_TAG) {
+                break;
+            }
+            id = header(object.data, "object");
+            if (id == null) {
+                break;
+            }
+        }
+        throw new GitException("Not a commit: " + revision);
+    }
+    
+    private String parent(String commitId, int number, String revision) throws IOException {
+        String text = new String(objects.read(commitId).data, StandardCharsets.UTF_8);
+        int found = 0;
+        for (String line : text.split("\n")) {
+            if (line.isEmpty()) {
+                break;
+            }
+            if (line.startsWith("parent ") && ++found == number) {
+                return line.substring("parent ".length()).trim();
+            }
+        }
+        throw new GitException("No such parent: " + revision);
+    }
+    
+    private String treeOf(String commitId) throws IOException {
+        String tree = header(objects.read(commitId).data, "tree");
+        if (tree == null) {
+            throw new GitException("Corrupt commit: " + commitId);
+        }
+        return tree;
+    }
+    
+    /**
+     * Returns a header field of a commit or tag, which precede the message
+     */
+    private static String header(byte[] data, String field) {
+        String text = new String(data, StandardCharsets.UTF_8);
+        for (String line : text.split("\n")) {
+            if (line.isEmpty()) {
+                break;
+            }
+            if (line.startsWith(field + " ")) {
+                return line.substring(field.length() + 1).trim();
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Finds the object id of a path in a tree
+     *
+     * @return the id, or null if the tree has no such path
+     */
+    private String lookup(String treeId, String path) throws IOException {
+        String id = treeId;
+        for (String name : path.split("/")) {
+            if (id == null) {
+                return null;
+            }
+            Map<String, String> entries = trees.get(id);
+            if (entries == null) {
+                ObjectDatabase.RawObject tree = objects.read(id);
+                if (tree.type != ObjectDatabase.OBJ_TREE) {
+                    return null; // A file where the path expects a directory
+                }
+                entries = parseTree(tree.data);
+                trees.put(id, entries);
+            }
+            id = entries.get(name);
+        }
+        return id;
+    }
+    
+    /**
+     * Parses tree entries: "mode name\0" followed by the 20-byte id
+     */
+    private static Map<String, String> parseTree(byte[] data) {
+        Map<String, String> entries = new HashMap<>();
+        int position = 0;
+        while (position < data.length) {
+            int space = position;
+            while (data[space] != ' ') {
+                space++;
+            }
+            int nul = space + 1;
+            while (data[nul] != 0) {
+                nul++;
+            }
+            String name = new String(data, space + 1, nul - space - 1, StandardCharsets.UTF_8);
+            byte[] id = new byte[20];
+            System.arraycopy(data, nul + 1, id, 0, 20);
+            entries.put(name, ObjectDatabase.toHex(id));
+            position = nul + 21;
+        }
+        return entries;
+    }
+    
+    /**
+     * Checks whether a file is unchanged since it was staged. A file modified
+     * in the same instant the index was written may have changed afterwards,
+     * so it does not count.
+     */
+    private static boolean isUnchanged(GitIndex.Entry entry, BasicFileAttributes attributes, GitIndex index) {
+        Instant modified = attributes.lastModifiedTime().toInstant();
+        return attributes.size() == entry.size &&
+               modified.getEpochSecond() == entry.mtimeSeconds &&
+               modified.getNano() == entry.mtimeNanos &&
+               attributes.lastModifiedTime().compareTo(index.modified) < 0;
+    }
+    
+    /**
+     * Computes the id a file would get as a blob
+     */
+    private static String hashBlob(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to provide SHA-1
+            throw new IllegalStateException(e);
+        }
+        long size = Files.size(file);
+        digest.update(("blob " + size + "\0").getBytes(StandardCharsets.US_ASCII));
+        byte[] buffer = new byte[HASH_BUFFER_SIZE];
+        long total = 0;
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+                total += read;
+            }
+        }
+        if (total != size) {
+            // Changed while being read; no stored blob can match this id
+            return "";
+        }
+        return ObjectDatabase.toHex(digest.digest());
+    }
+}
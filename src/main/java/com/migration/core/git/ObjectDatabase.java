@@ -0,0 +1,198 @@
+package com.migration.core.git;
+
+import com.migration.exception.GitException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads objects from a repository's object directory, its packs, and the
+ * object directories of its alternates
+ */
+final class ObjectDatabase implements Closeable {
+    
+    static final int OBJ_COMMIT = 1;
+    static final int OBJ_TREE = 2;
+    static final int OBJ_BLOB = 3;
+    static final int OBJ_TAG = 4;
+    
+    private static final HexFormat HEX = HexFormat.of();
+    
+    private final List<Path> objectDirectories = new ArrayList<>();
+    private final List<PackFile> packs = new ArrayList<>();
+    
+    ObjectDatabase(Path objectDirectory) throws IOException {
+        collectDirectories(objectDirectory, new LinkedHashSet<>());
+        try {
+            for (Path directory : objectDirectories) {
+                Path packDirectory = directory.resolve("pack");
+                if (!Files.isDirectory(packDirectory)) {
+                    continue;
+                }
+                try (DirectoryStream<Path> indexes = Files.newDirectoryStream(packDirectory, "*.idx")) {
+                    for (Path index : indexes) {
+                        packs.add(new PackFile(index));
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Reads an object
+     *
+     * @param id the object's hex id
+     * @throws GitException if the object is in neither a pack nor the loose objects
+     */
+    RawObject read(String id) throws IOException {
+        byte[] binary = HEX.parseHex(id);
+        for (PackFile pack : packs) {
+            long offset = pack.find(binary);
+            if (offset >= 0) {
+                return pack.read(offset, this);
+            }
+        }
+        for (Path directory : objectDirectories) {
+            Path loose = directory.resolve(id.substring(0, 2)).resolve(id.substring(2));
+            try {
+                return parseLoose(Files.readAllBytes(loose), id);
+            } catch (NoSuchFileException e) {
+                // Try the next directory
+            }
+        }
+        throw new GitException("Object not found: " + id);
+    }
+    
+    /**
+     * Finds the objects whose hex id starts with a prefix, for abbreviated ids
+     */
+    List<String> findByPrefix(String hexPrefix) throws IOException {
+        List<String> found = new ArrayList<>();
+        int whole = hexPrefix.length() / 2;
+        byte[] prefix = HEX.parseHex(hexPrefix, 0, whole * 2);
+        int halfByte = hexPrefix.length() % 2 == 1 ? Character.digit(hexPrefix.charAt(whole * 2), 16) : -1;
+        for (PackFile pack : packs) {
+            pack.findByPrefix(prefix, halfByte, found);
+        }
+        for (Path directory : objectDirectories) {
+            Path fanout = directory.resolve(hexPrefix.substring(0, 2));
+            if (!Files.isDirectory(fanout)) {
+                continue;
+            }
+            try (DirectoryStream<Path> objects = Files.newDirectoryStream(fanout, hexPrefix.substring(2) + "*")) {
+                for (Path object : objects) {
+                    found.add(hexPrefix.substring(0, 2) + object.getFileName());
+                }
+            }
+        }
+        return found;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        for (PackFile pack : packs) {
+            pack.close();
+        }
+    }
+    
+    static String toHex(byte[] id) {
+        return HEX.formatHex(id);
+    }
+    
+    /**
+     * Adds an object directory and, recursively, its alternates
+     */
+    private void collectDirectories(Path directory, Set<Path> seen) throws IOException {
+        Path normalized = directory.toAbsolutePath().normalize();
+        if (!seen.add(normalized)) {
+            return;
+        }
+        objectDirectories.add(normalized);
+        Path alternates = normalized.resolve("info").resolve("alternates");
+        if (!Files.isRegularFile(alternates)) {
+            return;
+        }
+        for (String line : Files.readAllLines(alternates, StandardCharsets.UTF_8)) {
+            String alternate = line.trim();
+            if (!alternate.isEmpty() && !alternate.startsWith("#")) {
+                collectDirectories(normalized.resolve(alternate), seen);
+            }
+        }
+    }
+    
+    /**
+     * Inflates a loose object: a "type size\0" header followed by the content
+     */
+    private static RawObject parseLoose(byte[] compressed, String id) throws GitException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] header = new byte[64];
+            int headerLength = inflater.inflate(header);
+            int nul = 0;
+            while (nul < headerLength && header[nul] != 0) {
+                nul++;
+            }
+            String[] typeAndSize = new String(header, 0, nul, StandardCharsets.US_ASCII).split(" ");
+            if (nul == headerLength || typeAndSize.length != 2) {
+                throw new GitException("Corrupt object: " + id);
+            }
+            byte[] data = new byte[Integer.parseInt(typeAndSize[1])];
+            int copied = Math.min(headerLength - nul - 1, data.length);
+            System.arraycopy(header, nul + 1, data, 0, copied);
+            while (copied < data.length && !inflater.finished()) {
+                int inflated = inflater.inflate(data, copied, data.length - copied);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                copied += inflated;
+            }
+            if (copied != data.length) {
+                throw new GitException("Corrupt object: " + id);
+            }
+            return new RawObject(typeOf(typeAndSize[0], id), data);
+        } catch (DataFormatException | NumberFormatException e) {
+            throw new GitException("Corrupt object: " + id, e);
+        } finally {
+            inflater.end();
+        }
+    }
+    
+    private static int typeOf(String name, String id) throws GitException {
+        switch (name) {
+            case "commit": return OBJ_COMMIT;
+            case "tree": return OBJ_TREE;
+            case "blob": return OBJ_BLOB;
+            case "tag": return OBJ_TAG;
+            default: throw new GitException("Unknown object type " + name + ": " + id);
+        }
+    }
+    
+    /**
+     * An object's type and inflated content
+     */
+    static final class RawObject {
+        final int type;
+        final byte[] data;
+        
+        RawObject(int type, byte[] data) {
+            this.type = type;
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.migration.core.git;
+
+import com.migration.exception.GitException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * One pack of the object database: the version 2 .idx, memory-mapped, and
+ * the .pack, read at the offsets the index gives
+ */
+final class PackFile implements Closeable {
+    
+    private static final int IDX_MAGIC = 0xff744f63;
+    private static final int CHUNK_SIZE = 16 * 1024;
+    
+    static final int OBJ_OFS_DELTA = 6;
+    static final int OBJ_REF_DELTA = 7;
+    
+    private final Path packPath;
+    private final ByteBuffer idx;
+    private final FileChannel pack;
+    private final int count;
+    private final int idTable;
+    private final int offsetTable;
+    private final int largeOffsetTable;
+    // Reused across objects; a pack is read by one thread at a time
+    private final Inflater inflater = new Inflater();
+    
+    PackFile(Path idxPath) throws IOException {
+        String name = idxPath.getFileName().toString();
+        this.packPath = idxPath.resolveSibling(name.substring(0, name.length() - ".idx".length()) + ".pack");
+        try (FileChannel channel = FileChannel.open(idxPath, StandardOpenOption.READ)) {
+            this.idx = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (idx.getInt(0) != IDX_MAGIC || idx.getInt(4) != 2) {
+            throw new GitException("Unsupported pack index format: " + idxPath);
+        }
+        this.count = idx.getInt(8 + 255 * 4);
+        this.idTable = 8 + 256 * 4;
+        this.offsetTable = idTable + count * 24;
+        this.largeOffsetTable = offsetTable + count * 4;
+        this.pack = FileChannel.open(packPath, StandardOpenOption.READ);
+    }
+    
+    /**
+     * Finds an object's offset in the pack
+     *
+     * @return the offset, or -1 if the pack does not hold the object
+     */
+    long find(byte[] id) {
+        int first = id[0] & 0xFF;
+        int low = first == 0 ? 0 : idx.getInt(8 + (first - 1) * 4);
+        int high = idx.getInt(8 + first * 4) - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int compare = compareId(middle, id, id.length);
+            if (compare < 0) {
+                low = middle + 1;
+            } else if (compare > 0) {
+                high = middle - 1;
+            } else {
+                return offsetAt(middle);
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Adds the ids of the pack's objects that start with the given bytes to a list
+     *
+     * @param prefix the leading bytes of the id, with an odd trailing nibble
+     *               given separately
+     * @param halfByte the high nibble following the prefix, or -1
+     */
+    void findByPrefix(byte[] prefix, int halfByte, List<String> found) {
+        int first = prefix[0] & 0xFF;
+        int start = first == 0 ? 0 : idx.getInt(8 + (first - 1) * 4);
+        int end = idx.getInt(8 + first * 4);
+        for (int i = start; i < end; i++) {
+            if (compareId(i, prefix, prefix.length) != 0) {
+                continue;
+            }
+            if (halfByte >= 0 && ((idx.get(idTable + i * 20 + prefix.length) & 0xF0) >>> 4) != halfByte) {
+                continue;
+            }
+            byte[] id = new byte[20];
+            idx.get(idTable + i * 20, id);
+            found.add(ObjectDatabase.toHex(id));
+        }
+    }
+    
+    /**
+     * Reads the object at an offset, applying deltas against their bases
+     */
+    ObjectDatabase.RawObject read(long offset, ObjectDatabase database) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(32);
+        pack.read(header, offset);
+        header.flip();
+        
+        int c = header.get() & 0xFF;
+        int type = (c >>> 4) & 7;
+        long size = c & 0x0F;
+        int shift = 4;
+        while ((c & 0x80) != 0) {
+            c = header.get() & 0xFF;
+            size |= (long) (c & 0x7F) << shift;
+            shift += 7;
+        }
+        
+        if (type == OBJ_OFS_DELTA) {
+            c = header.get() & 0xFF;
+            long distance = c & 0x7F;
+            while ((c & 0x80) != 0) {
+                c = header.get() & 0xFF;
+                distance = ((distance + 1) << 7) | (c & 0x7F);
+            }
+            ObjectDatabase.RawObject base = read(offset - distance, database);
+            byte[] delta = inflate(offset + header.position(), size);
+            return new ObjectDatabase.RawObject(base.type, applyDelta(base.data, delta));
+        }
+        if (type == OBJ_REF_DELTA) {
+            byte[] baseId = new byte[20];
+            header.get(baseId);
+            ObjectDatabase.RawObject base = database.read(ObjectDatabase.toHex(baseId));
+            byte[] delta = inflate(offset + header.position(), size);
+            return new ObjectDatabase.RawObject(base.type, applyDelta(base.data, delta));
+        }
+        return new ObjectDatabase.RawObject(type, inflate(offset + header.position(), size));
+    }
+    
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        pack.close();
+    }
+    
+    private int compareId(int index, byte[] id, int length) {
+        int at = idTable + index * 20;
+        for (int i = 0; i < length; i++) {
+            int compare = Integer.compare(idx.get(at + i) & 0xFF, id[i] & 0xFF);
+            if (compare != 0) {
+                return compare;
+            }
+        }
+        return 0;
+    }
+    
+    private long offsetAt(int index) {
+        int offset = idx.getInt(offsetTable + index * 4);
+        if (offset >= 0) {
+            return offset;
+        }
+        // Packs over 2GB keep large offsets in a separate table
+        return idx.getLong(largeOffsetTable + (offset & 0x7FFFFFFF) * 8);
+    }
+    
+    private byte[] inflate(long position, long size) throws IOException {
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new GitException("Object too large in " + packPath);
+        }
+        byte[] result = new byte[(int) size];
+        inflater.reset();
+        try {
+            // Most objects are small; compressed, they rarely outgrow their inflated size by much
+            ByteBuffer input = ByteBuffer.allocate((int) Math.min(CHUNK_SIZE, size + 64));
+            int produced = 0;
+            while (!inflater.finished()) {
+                if (inflater.needsInput()) {
+                    input.clear();
+                    int read = pack.read(input, position);
+                    if (read <= 0) {
+                        throw new GitException("Truncated pack: " + packPath);
+                    }
+                    position += read;
+                    inflater.setInput(input.array(), 0, read);
+                }
+                int inflated = inflater.inflate(result, produced, result.length - produced);
+                produced += inflated;
+                if (inflated == 0 && produced == result.length && !inflater.needsInput()) {
+                    break;
+                }
+            }
+            if (produced != result.length) {
+                throw new GitException("Corrupt object in " + packPath);
+            }
+            return result;
+        } catch (DataFormatException e) {
+            throw new GitException("Corrupt object in " + packPath, e);
+        }
+    }
+    
+    /**
+     * Rebuilds an object from its base and a delta of copy and insert
+     * instructions
+     *
+     * @throws GitException if the delta is truncated or reaches outside its
+     *                      base or result
+     */
+    static byte[] applyDelta(byte[] base, byte[] delta) throws GitException {
+        int[] at = {0};
+        long baseSize = readSize(delta, at);
+        long resultSize = readSize(delta, at);
+        if (baseSize != base.length) {
+            throw new GitException("Delta base size mismatch");
+        }
+        if (resultSize > Integer.MAX_VALUE - 8) {
+            throw new GitException("Delta result too large: " + resultSize);
+        }
+        byte[] result = new byte[(int) resultSize];
+        int out = 0;
+        int i = at[0];
+        while (i < delta.length) {
+            int op = delta[i++] & 0xFF;
+            if ((op & 0x80) != 0) {
+                // Offset and size are little endian, with only the bytes the op flags present
+                long copyOffset = 0;
+                int copySize = 0;
+                for (int bit = 0; bit < 4; bit++) {
+                    if ((op & (1 << bit)) != 0) {
+                        copyOffset |= (long) deltaByte(delta, i++) << (bit * 8);
+                    }
+                }
+                for (int bit = 0; bit < 3; bit++) {
+                    if ((op & (0x10 << bit)) != 0) {
+                        copySize |= deltaByte(delta, i++) << (bit * 8);
+                    }
+                }
+                if (copySize == 0) {
+                    copySize = 0x10000;
+                }
+                if (copyOffset + copySize > base.length || copySize > result.length - out) {
+                    throw new GitException("Delta copy outside its base or result");
+                }
+                System.arraycopy(base, (int) copyOffset, result, out, copySize);
+                out += copySize;
+            } else if (op != 0) {
+                if (op > delta.length - i || op > result.length - out) {
+                    throw new GitException("Delta insert outside its delta or result");
+                }
+                System.arraycopy(delta, i, result, out, op);
+                i += op;
+                out += op;
+            } else {
+                throw new GitException("Invalid delta instruction");
+            }
+        }
+        if (out != result.length) {
+            throw new GitException("Delta result size mismatch");
+        }
+        return result;
+    }
+    
+    private static long readSize(byte[] delta, int[] at) throws GitException {
+        long size = 0;
+        int shift = 0;
+        int c;
+        do {
+            if (shift > 56) {
+                throw new GitException("Delta size too large");
+            }
+            c = deltaByte(delta, at[0]++);
+            size |= (long) (c & 0x7F) << shift;
+            shift += 7;
+        } while ((c & 0x80) != 0);
+        return size;
+    }
+    
+    private static int deltaByte(byte[] delta, int index) throws GitException {
+        if (index >= delta.length) {
+            throw new GitException("Truncated delta");
+        }
+        return delta[index] & 0xFF;
+    }
+}
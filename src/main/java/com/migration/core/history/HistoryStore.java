@@ -0,0 +1,177 @@
+package com.migration.core.history;
+
+import com.migration.model.AnalysisRun;
+import com.migration.model.ProjectInfo;
+import com.migration.model.RunDelta;
+import com.migration.util.Constants;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local, append-only history of each project's analyses, kept on disk so
+ * migration progress can be followed across sessions and restarts. Each
+ * project has its own directory under the store, named by a hash of the
+ * project path.
+ *
+ * <p>A run stores only the issues that appeared or disappeared since the
+ * previous run, with every issue stored again at regular checkpoints, so the
+ * history of a project that changes a little per run stays small, and the
+ * delta between any two runs is computed from the changes between them. The
+ * store directory is {@value Constants#HISTORY_DIR_PROPERTY} if set, else
+ * {@code ~/.gradle-migration/history}.
+ */
+public final class HistoryStore {
+    
+    private static final String PROJECT_FILE = "project";
+    
+    private static final HistoryStore INSTANCE = new HistoryStore(defaultDirectory(),
+        Constants.HISTORY_CHECKPOINT_INTERVAL, Constants.HISTORY_CACHED_PROJECTS);
+    
+    private final Path directory;
+    private final int checkpointInterval;
+    private final Map<String, ProjectHistory> projects = new HashMap<>();
+    // Projects whose latest issues are kept in memory for the next run's diff, least recent first
+    private final LinkedHashMap<String, ProjectHistory> recentlyRecorded;
+    
+    /**
+     * @param directory where the histories are stored
+     * @param checkpointInterval runs between the ones that store every issue
+     * @param cachedProjects projects whose latest issues are kept in memory
+     */
+    public HistoryStore(Path directory, int checkpointInterval, int cachedProjects) {
+        this.directory = directory;
+        this.checkpointInterval = checkpointInterval;
+        this.recentlyRecorded = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ProjectHistory> eldest) {
+                if (size() > cachedProjects) {
+                    eldest.getValue().dropLatest();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    public static HistoryStore getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Records a complete analysis as the project's latest run
+     *
+     * @return the recorded run
+     */
+    public AnalysisRun record(ProjectInfo projectInfo) throws IOException {
+        ProjectHistory history = history(projectInfo.getProjectPath(), true);
+        synchronized (recentlyRecorded) {
+            recentlyRecorded.put(key(projectInfo.getProjectPath()), history);
+        }
+        return history.append(projectInfo.getIssues(), System.currentTimeMillis());
+    }
+    
+    /**
+     * Lists a project's runs recorded in a time range, oldest first
+     */
+    public List<AnalysisRun> runs(String projectPath, long fromMillis, long toMillis) throws IOException {
+        ProjectHistory history = history(projectPath, false);
+        return history != null ? history.runs(fromMillis, toMillis) : Collections.emptyList();
+    }
+    
+    /**
+     * Returns the number of runs recorded for a project, which is also the
+     * latest run's sequence number
+     */
+    public long latestSequence(String projectPath) throws IOException {
+        ProjectHistory history = history(projectPath, false);
+        return history != null ? history.size() : 0;
+    }
+    
+    /**
+     * Finds the project's latest run recorded at or before a time
+     *
+     * @return its sequence number, or 0 if there is none
+     */
+    public long sequenceAt(String projectPath, long millis) throws IOException {
+        ProjectHistory history = history(projectPath, false);
+        return history != null ? history.sequenceAt(millis) : 0;
+    }
+    
+    /**
+     * Computes the issues introduced and fixed between two runs
+     *
+     * @param from the earlier run's sequence number, or 0 for before the first run
+     * @param to the later run's sequence number
+     * @param limit issues to list on each side; the counts are always complete
+     * @throws IllegalArgumentException if a run does not exist
+     */
+    public RunDelta delta(String projectPath, long from, long to, int limit) throws IOException {
+        ProjectHistory history = history(projectPath, false);
+        long size = history != null ? history.size() : 0;
+        if (from < 0 || from > size || to < 0 || to > size) {
+            throw new IllegalArgumentException(Constants.ERROR_HISTORY_RUN_NOT_FOUND + (from > size ? from : to));
+        }
+        return history.delta(from, to, limit);
+    }
+    
+    /**
+     * Returns a project's history, opening it on first use
+     *
+     * @param create whether to set up a project without history
+     * @return the history, or null if the project has none and create is false
+     */
+    private ProjectHistory history(String projectPath, boolean create) throws IOException {
+        Path root = Paths.get(projectPath).toAbsolutePath().normalize();
+        String key = key(root.toString());
+        synchronized (projects) {
+            ProjectHistory history = projects.get(key);
+            if (history != null) {
+                return history;
+            }
+            Path projectDirectory = directory.resolve(key);
+            if (!create && !Files.isDirectory(projectDirectory)) {
+                return null;
+            }
+            if (create) {
+                Files.createDirectories(projectDirectory);
+                // For people looking through the store
+                Files.writeString(projectDirectory.resolve(PROJECT_FILE), root + System.lineSeparator(),
+                                  StandardCharsets.UTF_8);
+            }
+            history = new ProjectHistory(projectDirectory, root, checkpointInterval);
+            projects.put(key, history);
+            return history;
+        }
+    }
+    
+    private static String key(String projectPath) {
+        String normalized = Paths.get(projectPath).toAbsolutePath().normalize().toString();
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static Path defaultDirectory() {
+        String configured = System.getProperty(Constants.HISTORY_DIR_PROPERTY);
+        if (configured != null && !configured.isBlank()) {
+            return Paths.get(configured);
+        }
+        return Paths.get(System.getProperty("user.home"), ".gradle-migration", "history");
+    }
+}
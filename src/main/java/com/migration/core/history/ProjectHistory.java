@@ -0,0 +1,351 @@
+package com.migration.core.history;
+
+import com.migration.model.AnalysisRun;
+import com.migration.model.MigrationIssue;
+import com.migration.model.RunDelta;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The recorded runs of one project: an append-only log of run records and
+ * an index of fixed-size entries, one per run, giving each run's time,
+ * totals and place in the log. The index is kept in memory; runs are
+ * numbered from 1 in the order they were recorded.
+ */
+final class ProjectHistory {
+    
+    static final String LOG_FILE = "runs.log";
+    static final String INDEX_FILE = "runs.idx";
+    // timestamp, offset, length, total, critical, auto-fixable, flags, padding
+    static final int INDEX_ENTRY_SIZE = 40;
+    private static final byte FLAG_SNAPSHOT = 1;
+    
+    private final Path projectRoot;
+    private final Path logFile;
+    private final Path indexFile;
+    private final int checkpointInterval;
+    private final List<IndexEntry> entries = new ArrayList<>();
+    // Issues of the latest run by fingerprint, to diff the next run against; null until needed
+    private Map<Long, StoredIssue> latest;
+    
+    ProjectHistory(Path directory, Path projectRoot, int checkpointInterval) throws IOException {
+        this.projectRoot = projectRoot;
+        this.logFile = directory.resolve(LOG_FILE);
+        this.indexFile = directory.resolve(INDEX_FILE);
+        this.checkpointInterval = checkpointInterval;
+        try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            loadIndex(index);
+        } catch (NoSuchFileException e) {
+            // No runs yet
+        }
+    }
+    
+    /**
+     * Records a run, storing only how its issues differ from the previous
+     * run's, plus every issue at each checkpoint
+     */
+    // The file lock is held for the block, never referenced
+    @SuppressWarnings("try")
+    synchronized AnalysisRun append(List<MigrationIssue> issues, long now) throws IOException {
+        Files.createDirectories(indexFile.getParent());
+        try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                  StandardOpenOption.WRITE);
+             FileLock lock = index.lock();
+             FileChannel log = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                StandardOpenOption.WRITE)) {
+            if (index.size() != (long) entries.size() * INDEX_ENTRY_SIZE) {
+                // Another process recorded runs since the index was read, or an append was cut short
+                loadIndex(index);
+                index.truncate((long) entries.size() * INDEX_ENTRY_SIZE);
+                latest = null;
+            }
+            Map<Long, StoredIssue> previous = latestIssues(log);
+            Map<Long, StoredIssue> current = capture(issues);
+            
+            List<StoredIssue> added = new ArrayList<>();
+            for (StoredIssue issue : current.values()) {
+                if (!previous.containsKey(issue.fingerprint)) {
+                    added.add(issue);
+                }
+            }
+            List<StoredIssue> removed = new ArrayList<>();
+            for (StoredIssue issue : previous.values()) {
+                if (!current.containsKey(issue.fingerprint)) {
+                    removed.add(issue);
+                }
+            }
+            
+            IndexEntry last = entries.isEmpty() ? null : entries.get(entries.size() - 1);
+            // Times never go backwards, so runs can be looked up by time
+            long timestamp = last == null ? now : Math.max(now, last.timestamp);
+            boolean checkpoint = entries.size() % checkpointInterval == 0;
+            byte[] record = new RunRecord(timestamp, added, removed,
+                                          checkpoint ? new ArrayList<>(current.values()) : null).encode();
+            
+            long offset = last == null ? 0 : last.offset + last.length;
+            // Drops a record left behind by an append that did not reach the index
+            log.truncate(offset);
+            writeFully(log, ByteBuffer.wrap(record), offset);
+            log.force(false);
+            
+            int critical = 0;
+            int autoFixable = 0;
+            for (StoredIssue issue : current.values()) {
+                critical += "CRITICAL".equals(issue.severity) ? 1 : 0;
+                autoFixable += issue.autoFixable ? 1 : 0;
+            }
+            IndexEntry entry = new IndexEntry(timestamp, offset, record.length, current.size(), critical, autoFixable,
+                                              checkpoint ? FLAG_SNAPSHOT : 0);
+            writeFully(index, entry.encode(), (long) entries.size() * INDEX_ENTRY_SIZE);
+            index.force(false);
+            
+            entries.add(entry);
+            latest = current;
+            return entry.toRun(entries.size());
+        }
+    }
+    
+    synchronized int size() {
+        return entries.size();
+    }
+    
+    synchronized AnalysisRun run(long sequence) {
+        return entries.get((int) sequence - 1).toRun(sequence);
+    }
+    
+    /**
+     * Lists the runs recorded in a time range, found by binary search
+     */
+    synchronized List<AnalysisRun> runs(long fromMillis, long toMillis) {
+        List<AnalysisRun> runs = new ArrayList<>();
+        // fromMillis - 1 would wrap around for Long.MIN_VALUE
+        int first = fromMillis == Long.MIN_VALUE ? 0 : firstAfter(fromMillis - 1);
+        for (int i = first; i < entries.size() && entries.get(i).timestamp <= toMillis; i++) {
+            runs.add(entries.get(i).toRun(i + 1));
+        }
+        return runs;
+    }
+    
+    /**
+     * Finds the latest run recorded at or before a time
+     *
+     * @return its sequence number, or 0 if every run is later
+     */
+    synchronized long sequenceAt(long millis) {
+        return firstAfter(millis);
+    }
+    
+    /**
+     * Computes how the issues changed between two runs by combining the
+     * changes recorded for the runs in between, so the cost grows with the
+     * number of changes rather than the number of issues
+     *
+     * @param from the earlier run, or 0 for before the first run
+     * @param to the later run; an earlier one reverses the delta
+     * @param limit issues to list per side
+     */
+    synchronized RunDelta delta(long from, long to, int limit) throws IOException {
+        long low = Math.min(from, to);
+        long high = Math.max(from, to);
+        Map<Long, StoredIssue> introduced = new HashMap<>();
+        Map<Long, StoredIssue> fixed = new HashMap<>();
+        if (low < high) {
+            try (FileChannel log = FileChannel.open(logFile, StandardOpenOption.READ)) {
+                for (int i = (int) low; i < high; i++) {
+                    RunRecord record = read(log, entries.get(i), false);
+                    for (StoredIssue issue : record.removed) {
+                        // Introduced within the range and fixed again cancels out
+                        if (introduced.remove(issue.fingerprint) == null) {
+                            fixed.put(issue.fingerprint, issue);
+                        }
+                    }
+                    for (StoredIssue issue : record.added) {
+                        if (fixed.remove(issue.fingerprint) == null) {
+                            introduced.put(issue.fingerprint, issue);
+                        }
+                    }
+                }
+            }
+        }
+        if (from > to) {
+            Map<Long, StoredIssue> swap = introduced;
+            introduced = fixed;
+            fixed = swap;
+        }
+        
+        RunDelta delta = new RunDelta();
+        delta.setProjectPath(projectRoot.toString());
+        delta.setFrom(from > 0 ? run(from) : null);
+        delta.setTo(to > 0 ? run(to) : null);
+        delta.setIntroducedCount(introduced.size());
+        delta.setFixedCount(fixed.size());
+        delta.setUnchangedCount((to > 0 ? run(to).getTotalIssues() : 0) - introduced.size());
+        delta.setIntroduced(toIssues(introduced.values(), limit));
+        delta.setFixed(toIssues(fixed.values(), limit));
+        return delta;
+    }
+    
+    /**
+     * Forgets the latest run's issues; they are rebuilt from the log when
+     * the next run is recorded
+     */
+    synchronized void dropLatest() {
+        latest = null;
+    }
+    
+    private Map<Long, StoredIssue> capture(List<MigrationIssue> issues) {
+        Map<Long, StoredIssue> captured = new LinkedHashMap<>();
+        Map<String, Integer> occurrences = new HashMap<>();
+        for (MigrationIssue issue : issues) {
+            StoredIssue first = StoredIssue.of(issue, projectRoot, 0);
+            String identity = StoredIssue.identity(first.type, first.file, first.line, first.code);
+            int occurrence = occurrences.merge(identity, 1, Integer::sum) - 1;
+            StoredIssue stored = occurrence == 0 ? first : StoredIssue.of(issue, projectRoot, occurrence);
+            captured.put(stored.fingerprint, stored);
+        }
+        return captured;
+    }
+    
+    /**
+     * Rebuilds the latest run's issues from the last checkpoint and the
+     * changes recorded after it
+     */
+    private Map<Long, StoredIssue> latestIssues(FileChannel log) throws IOException {
+        if (latest != null) {
+            return latest;
+        }
+        Map<Long, StoredIssue> issues = new LinkedHashMap<>();
+        int checkpoint = entries.size() - 1;
+        while (checkpoint >= 0 && (entries.get(checkpoint).flags & FLAG_SNAPSHOT) == 0) {
+            checkpoint--;
+        }
+        if (checkpoint >= 0) {
+            for (StoredIssue issue : read(log, entries.get(checkpoint), true).snapshot) {
+                issues.put(issue.fingerprint, issue);
+            }
+        }
+        for (int i = checkpoint + 1; i < entries.size(); i++) {
+            RunRecord record = read(log, entries.get(i), false);
+            for (StoredIssue issue : record.removed) {
+                issues.remove(issue.fingerprint);
+            }
+            for (StoredIssue issue : record.added) {
+                issues.put(issue.fingerprint, issue);
+            }
+        }
+        latest = issues;
+        return issues;
+    }
+    
+    private List<MigrationIssue> toIssues(Collection<StoredIssue> stored, int limit) {
+        List<MigrationIssue> issues = new ArrayList<>();
+        stored.stream()
+            .sorted(Comparator.comparing((StoredIssue issue) -> issue.file).thenComparingInt(issue -> issue.line))
+            .limit(limit)
+            .forEach(issue -> issues.add(issue.toIssue(projectRoot)));
+        return issues;
+    }
+    
+    /**
+     * Index of the first run recorded after a time
+     */
+    private int firstAfter(long millis) {
+        int low = 0;
+        int high = entries.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (entries.get(middle).timestamp <= millis) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+    
+    private void loadIndex(FileChannel index) throws IOException {
+        entries.clear();
+        long logSize = Files.exists(logFile) ? Files.size(logFile) : 0;
+        ByteBuffer buffer = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+        // A torn last entry, or one whose record is not in the log, is ignored
+        for (long position = 0; position + INDEX_ENTRY_SIZE <= index.size(); position += INDEX_ENTRY_SIZE) {
+            buffer.clear();
+            while (buffer.hasRemaining() && index.read(buffer, position + buffer.position()) > 0) {
+                // Keep reading
+            }
+            buffer.flip();
+            IndexEntry entry = IndexEntry.decode(buffer);
+            if (entry.offset + entry.length > logSize) {
+                break;
+            }
+            entries.add(entry);
+        }
+    }
+    
+    private static RunRecord read(FileChannel log, IndexEntry entry, boolean withSnapshot) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+        while (buffer.hasRemaining()) {
+            if (log.read(buffer, entry.offset + buffer.position()) < 0) {
+                throw new IOException("Truncated history log");
+            }
+        }
+        return RunRecord.decode(buffer.array(), withSnapshot);
+    }
+    
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+    
+    private static final class IndexEntry {
+        final long timestamp;
+        final long offset;
+        final int length;
+        final int total;
+        final int critical;
+        final int autoFixable;
+        final byte flags;
+        
+        IndexEntry(long timestamp, long offset, int length, int total, int critical, int autoFixable, byte flags) {
+            this.timestamp = timestamp;
+            this.offset = offset;
+            this.length = length;
+            this.total = total;
+            this.critical = critical;
+            this.autoFixable = autoFixable;
+            this.flags = flags;
+        }
+        
+        static IndexEntry decode(ByteBuffer buffer) {
+            return new IndexEntry(buffer.getLong(), buffer.getLong(), buffer.getInt(), buffer.getInt(),
+                                  buffer.getInt(), buffer.getInt(), buffer.get());
+        }
+        
+        ByteBuffer encode() {
+            ByteBuffer buffer = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+            buffer.putLong(timestamp).putLong(offset).putInt(length).putInt(total).putInt(critical)
+                  .putInt(autoFixable).put(flags);
+            buffer.clear();
+            return buffer;
+        }
+        
+        AnalysisRun toRun(long sequence) {
+            return new AnalysisRun(sequence, timestamp, total, critical, autoFixable);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.migration.core.history;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * One run as stored in a project's history log: the issues it added and
+ * removed relative to the run before, and for checkpoint runs every issue.
+ *
+ * <p>Layout: a CRC-32 of the rest, the length of the change block, the change
+ * block, then the snapshot block, which is empty for most runs. Each block is
+ * deflated and starts with a table of the distinct strings its issues use;
+ * issues then refer to strings by index, and numbers are varints, so a block
+ * costs a few bytes per issue. The snapshot comes last so that reading a
+ * run's changes never inflates it.
+ */
+final class RunRecord {
+    
+    private static final int HEADER_SIZE = 8;
+    
+    final long timestamp;
+    final List<StoredIssue> added;
+    final List<StoredIssue> removed;
+    // Every issue of the run; null unless the run is a checkpoint
+    final List<StoredIssue> snapshot;
+    
+    RunRecord(long timestamp, List<StoredIssue> added, List<StoredIssue> removed, List<StoredIssue> snapshot) {
+        this.timestamp = timestamp;
+        this.added = added;
+        this.removed = removed;
+        this.snapshot = snapshot;
+    }
+    
+    byte[] encode() {
+        byte[] changes = deflate(encodeBlock(timestamp, added, removed));
+        byte[] all = snapshot != null ? deflate(encodeBlock(timestamp, snapshot)) : new byte[0];
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + changes.length + all.length);
+        record.putInt(0).putInt(changes.length).put(changes).put(all);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 4, record.capacity() - 4);
+        record.putInt(0, (int) crc.getValue());
+        return record.array();
+    }
+    
+    /**
+     * Reads a record
+     *
+     * @param withSnapshot whether to read the snapshot block too
+     * @throws IOException if the record is damaged
+     */
+    static RunRecord decode(byte[] record, boolean withSnapshot) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        if (record.length < HEADER_SIZE) {
+            throw new IOException("Truncated history record");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(record, 4, record.length - 4);
+        if (buffer.getInt() != (int) crc.getValue()) {
+            throw new IOException("Damaged history record");
+        }
+        int changesLength = buffer.getInt();
+        if (changesLength < 0 || changesLength > record.length - HEADER_SIZE) {
+            throw new IOException("Damaged history record");
+        }
+        
+        Block changes = decodeBlock(inflate(record, HEADER_SIZE, changesLength));
+        List<StoredIssue> snapshot = null;
+        int snapshotStart = HEADER_SIZE + changesLength;
+        if (withSnapshot && snapshotStart < record.length) {
+            snapshot = decodeBlock(inflate(record, snapshotStart, record.length - snapshotStart)).lists.get(0);
+        }
+        return new RunRecord(changes.timestamp, changes.lists.get(0), changes.lists.get(1), snapshot);
+    }
+    
+    @SafeVarargs
+    private static byte[] encodeBlock(long timestamp, List<StoredIssue>... lists) {
+        Map<String, Integer> strings = new HashMap<>();
+        List<String> table = new ArrayList<>();
+        for (List<StoredIssue> list : lists) {
+            for (StoredIssue issue : list) {
+                for (String value : Arrays.asList(issue.type, issue.severity, issue.title, issue.file, issue.code)) {
+                    strings.computeIfAbsent(value != null ? value : "", s -> {
+                        table.add(s);
+                        return table.size() - 1;
+                    });
+                }
+            }
+        }
+        
+        Output out = new Output();
+        out.varLong(timestamp);
+        out.varLong(table.size());
+        for (String value : table) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.varLong(bytes.length);
+            out.bytes.write(bytes, 0, bytes.length);
+        }
+        out.varLong(lists.length);
+        for (List<StoredIssue> list : lists) {
+            out.varLong(list.size());
+            for (StoredIssue issue : list) {
+                out.fixedLong(issue.fingerprint);
+                out.varLong(strings.get(issue.type != null ? issue.type : ""));
+                out.varLong(strings.get(issue.severity != null ? issue.severity : ""));
+                out.varLong(strings.get(issue.title != null ? issue.title : ""));
+                out.varLong(strings.get(issue.file));
+                out.varLong(strings.get(issue.code));
+                out.varLong(issue.line);
+                out.bytes.write(issue.autoFixable ? 1 : 0);
+            }
+        }
+        return out.bytes.toByteArray();
+    }
+    
+    private static Block decodeBlock(byte[] block) throws IOException {
+        try {
+            ByteBuffer in = ByteBuffer.wrap(block);
+            long timestamp = varLong(in);
+            String[] table = new String[(int) varLong(in)];
+            for (int i = 0; i < table.length; i++) {
+                byte[] bytes = new byte[(int) varLong(in)];
+                in.get(bytes);
+                table[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            int listCount = (int) varLong(in);
+            List<List<StoredIssue>> lists = new ArrayList<>(listCount);
+            for (int l = 0; l < listCount; l++) {
+                int count = (int) varLong(in);
+                List<StoredIssue> list = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    long fingerprint = in.getLong();
+                    String type = table[(int) varLong(in)];
+                    String severity = table[(int) varLong(in)];
+                    String title = table[(int) varLong(in)];
+                    String file = table[(int) varLong(in)];
+                    String code = table[(int) varLong(in)];
+                    int line = (int) varLong(in);
+                    boolean autoFixable = in.get() != 0;
+                    list.add(new StoredIssue(fingerprint, type, severity, title, file, line, code, autoFixable));
+                }
+                lists.add(list);
+            }
+            return new Block(timestamp, lists);
+        } catch (RuntimeException e) {
+            throw new IOException("Damaged history record", e);
+        }
+    }
+    
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(chunk);
+                out.write(chunk, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+    
+    private static byte[] inflate(byte[] data, int offset, int length) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, offset, length);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(length * 4);
+            byte[] chunk = new byte[8192];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(chunk);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated history record");
+                }
+                out.write(chunk, 0, inflated);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IOException("Damaged history record", e);
+        } finally {
+            inflater.end();
+        }
+    }
+    
+    private static long varLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.get() & 0xFF;
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+    
+    private static final class Block {
+        final long timestamp;
+        final List<List<StoredIssue>> lists;
+        
+        Block(long timestamp, List<List<StoredIssue>> lists) {
+            this.timestamp = timestamp;
+            this.lists = lists;
+        }
+    }
+    
+    private static final class Output {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        
+        void varLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                bytes.write((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes.write((int) value);
+        }
+        
+        void fixedLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes.write((int) (value >>> shift));
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.migration.core.history;
+
+import com.migration.model.MigrationIssue;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The part of an issue kept in the history: enough to list it, keyed by a
+ * fingerprint that is stable across runs
+ */
+final class StoredIssue {
+    final long fingerprint;
+    final String type;
+    final String severity;
+    final String title;
+    // Relative to the project, with '/' separators, so a moved checkout keeps its history
+    final String file;
+    final int line;
+    final String code;
+    final boolean autoFixable;
+    
+    StoredIssue(long fingerprint, String type, String severity, String title, String file, int line, String code,
+                boolean autoFixable) {
+        this.fingerprint = fingerprint;
+        this.type = type;
+        this.severity = severity;
+        this.title = title;
+        this.file = file;
+        this.line = line;
+        this.code = code;
+        this.autoFixable = autoFixable;
+    }
+    
+    /**
+     * Captures an issue of an analysis
+     *
+     * @param occurrence how many issues with the same identity came before it,
+     *                   so repeated matches get distinct fingerprints
+     */
+    static StoredIssue of(MigrationIssue issue, Path projectRoot, int occurrence) {
+        Path filePath = Paths.get(issue.getFilePath());
+        String file = filePath.startsWith(projectRoot)
+            ? projectRoot.relativize(filePath).toString().replace('\\', '/') : issue.getFilePath();
+        String code = issue.getCurrentCode() != null ? issue.getCurrentCode() : "";
+        return new StoredIssue(fingerprint(identity(issue.getType(), file, issue.getLineNumber(), code), occurrence),
+                               issue.getType(), issue.getSeverity(), issue.getTitle(), file, issue.getLineNumber(),
+                               code, issue.isAutoFixable());
+    }
+    
+    /**
+     * Identity of an issue across runs, as for watched projects: lines that
+     * move get a new identity, which shows up as a fix plus a new issue
+     */
+    static String identity(String type, String file, int line, String code) {
+        return type + '\u0000' + file + '\u0000' + line + '\u0000' + code;
+    }
+    
+    /**
+     * 64-bit FNV-1a hash of an identity and its occurrence
+     */
+    static long fingerprint(String identity, int occurrence) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < identity.length(); i++) {
+            hash = (hash ^ identity.charAt(i)) * 0x100000001b3L;
+        }
+        return (hash ^ occurrence) * 0x100000001b3L;
+    }
+    
+    MigrationIssue toIssue(Path projectRoot) {
+        MigrationIssue issue = new MigrationIssue(String.format("%016x", fingerprint), type, severity, title, null,
+                                                  projectRoot.resolve(file).toString(), line);
+        issue.setCurrentCode(code);
+        issue.setAutoFixable(autoFixable);
+        return issue;
+    }
+}
@@ -0,0 +1,322 @@
+package com.migration.core.index;
+
+import com.migration.model.MigrationIssue;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-only index over the issues of a stored analysis.
+ *
+ * Issues are addressed by their position in the analyzed list. Filters are
+ * answered from per-value bitsets and a path-sorted permutation, sort orders
+ * are precomputed permutations built on first use, so a page request touches
+ * only the issues it returns. A descending sort reverses only its key; issues
+ * with equal keys stay in file and line order.
+ */
+public class IssueIndex implements Serializable {
+    
+    public static final List<String> SEVERITY_ORDER = List.of("CRITICAL", "HIGH", "MEDIUM", "LOW");
+    
+    public enum SortKey { NONE, SEVERITY, FILE, TYPE, MODULE }
+    
+    // Not serialized: a restored index no longer matches any live issue list and is rebuilt
+    private final transient List<MigrationIssue> issues;
+    private final int size;
+    private final Map<String, BitSet> bySeverity = new HashMap<>();
+    private final Map<String, BitSet> byType = new HashMap<>();
+    private final Map<String, BitSet> byModule = new HashMap<>();
+    private final BitSet autoFixable = new BitSet();
+    private final int[] fileOrder;
+    private final String[] sortedPaths;
+    private final Map<SortKey, int[]> sortOrders = new ConcurrentHashMap<>();
+    private final Map<SortKey, int[]> descendingOrders = new ConcurrentHashMap<>();
+    
+    public IssueIndex(List<MigrationIssue> issues) {
+        this.issues = issues;
+        this.size = issues.size();
+        
+        for (int i = 0; i < size; i++) {
+            MigrationIssue issue = issues.get(i);
+            bySeverity.computeIfAbsent(issue.getSeverity(), k -> new BitSet()).set(i);
+            byType.computeIfAbsent(issue.getType(), k -> new BitSet()).set(i);
+            for (String module : issue.getAffectedModules()) {
+                byModule.computeIfAbsent(module, k -> new BitSet()).set(i);
+            }
+            if (issue.isAutoFixable()) {
+                autoFixable.set(i);
+            }
+        }
+        
+        // File then line order doubles as the tie-breaker for every other sort key
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator
+            .comparing((Integer i) -> nullToEmpty(issues.get(i).getFilePath()))
+            .thenComparingInt(i -> issues.get(i).getLineNumber())
+            .thenComparingInt(i -> i));
+        
+        fileOrder = new int[size];
+        sortedPaths = new String[size];
+        for (int i = 0; i < size; i++) {
+            fileOrder[i] = order[i];
+            sortedPaths[i] = nullToEmpty(issues.get(order[i]).getFilePath());
+        }
+    }
+    
+    /**
+     * Checks whether this index was built over the given list instance.
+     */
+    public boolean isIndexOf(List<MigrationIssue> candidate) {
+        return issues != null && issues == candidate;
+    }
+    
+    /**
+     * Evaluates a query and returns the requested page of matching issues.
+     */
+    public QueryResult query(IssueQuery query) {
+        BitSet matches = filter(query);
+        int totalMatches = matches.cardinality();
+        
+        // In long, as a large page number times the size overflows; pages past the end are empty
+        long from = (long) (query.getPage() - 1) * query.getSize();
+        List<MigrationIssue> page = new ArrayList<>((int) Math.min(query.getSize(), Math.max(0, totalMatches - from)));
+        if (from < totalMatches) {
+            int[] order = sortOrder(query.getSortKey(), query.isDescending());
+            int seen = 0;
+            for (int k = 0; k < size && page.size() < query.getSize(); k++) {
+                int position = order[k];
+                if (matches.get(position) && seen++ >= from) {
+                    page.add(issues.get(position));
+                }
+            }
+        }
+        
+        return new QueryResult(page, totalMatches);
+    }
+    
+    /**
+     * Walks every issue matching a query's filters in its sort order, for
+     * exports. Paging is ignored and nothing is copied; issues are looked up
+     * as the walk reaches them.
+     */
+    public Iterable<MigrationIssue> matching(IssueQuery query) {
+        BitSet matches = filter(query);
+        int[] order = sortOrder(query.getSortKey(), query.isDescending());
+        return () -> new Iterator<MigrationIssue>() {
+            private int k = advance(0);
+            
+            private int advance(int from) {
+                while (from < size && !matches.get(order[from])) {
+                    from++;
+                }
+                return from;
+            }
+            
+            @Override
+            public boolean hasNext() {
+                return k < size;
+            }
+            
+            @Override
+            public MigrationIssue next() {
+                if (k >= size) {
+                    throw new NoSuchElementException();
+                }
+                MigrationIssue issue = issues.get(order[k]);
+                k = advance(k + 1);
+                return issue;
+            }
+        };
+    }
+    
+    public int getTotalIssues() {
+        return size;
+    }
+    
+    public int getAutoFixableCount() {
+        return autoFixable.cardinality();
+    }
+    
+    public Map<String, Integer> getSeverityCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String severity : SEVERITY_ORDER) {
+            BitSet bits = bySeverity.get(severity);
+            if (bits != null) {
+                counts.put(severity, bits.cardinality());
+            }
+        }
+        // Unknown severities after the known ones
+        countsOf(bySeverity).forEach(counts::putIfAbsent);
+        return counts;
+    }
+    
+    public Map<String, Integer> getTypeCounts() {
+        return countsOf(byType);
+    }
+    
+    public Map<String, Integer> getModuleCounts() {
+        return countsOf(byModule);
+    }
+    
+    private BitSet filter(IssueQuery query) {
+        BitSet result = new BitSet(size);
+        result.set(0, size);
+        
+        and(result, bySeverity, query.getSeverities());
+        and(result, byType, query.getTypes());
+        and(result, byModule, query.getModules());
+        
+        if (query.getAutoFixable() != null) {
+            if (query.getAutoFixable()) {
+                result.and(autoFixable);
+            } else {
+                result.andNot(autoFixable);
+            }
+        }
+        
+        String prefix = query.getFilePrefix();
+        if (prefix != null && !prefix.isEmpty()) {
+            BitSet inPrefix = new BitSet(size);
+            for (int k = lowerBound(prefix); k < size && sortedPaths[k].startsWith(prefix); k++) {
+                inPrefix.set(fileOrder[k]);
+            }
+            result.and(inPrefix);
+        }
+        
+        return result;
+    }
+    
+    private void and(BitSet result, Map<String, BitSet> postings, List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        BitSet union = new BitSet(size);
+        for (String value : values) {
+            BitSet bits = postings.get(value);
+            if (bits != null) {
+                union.or(bits);
+            }
+        }
+        result.and(union);
+    }
+    
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedPaths[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    private int[] sortOrder(SortKey key, boolean descending) {
+        if (key == SortKey.FILE && !descending) {
+            return fileOrder;
+        }
+        Map<SortKey, int[]> orders = descending ? descendingOrders : sortOrders;
+        return orders.computeIfAbsent(key, k -> buildSortOrder(k, descending));
+    }
+    
+    /**
+     * Builds a permutation ordered by the key's rank, then by file and line.
+     * Each position's rank in the file order is unique, so the pair packs into
+     * one long and the permutation sorts as primitives. Descending inverts the
+     * key's rank only, keeping the file and line tie-break ascending.
+     */
+    private int[] buildSortOrder(SortKey key, boolean descending) {
+        int[] primaryRank = new int[size];
+        switch (key) {
+            case NONE:
+                // Analysis order, which is reversed as a whole
+                for (int i = 0; i < size; i++) {
+                    primaryRank[i] = i;
+                }
+                break;
+            case FILE:
+                // Issues of one file share a rank, so their lines stay ascending
+                for (int k = 1; k < size; k++) {
+                    int previous = primaryRank[fileOrder[k - 1]];
+                    primaryRank[fileOrder[k]] = sortedPaths[k].equals(sortedPaths[k - 1]) ? previous : previous + 1;
+                }
+                break;
+            case SEVERITY:
+                bySeverity.forEach((severity, bits) -> {
+                    int rank = SEVERITY_ORDER.indexOf(severity);
+                    fill(primaryRank, bits, rank < 0 ? SEVERITY_ORDER.size() : rank);
+                });
+                break;
+            case TYPE:
+                rankByName(primaryRank, byType);
+                break;
+            case MODULE:
+                Arrays.fill(primaryRank, Integer.MAX_VALUE);
+                rankByName(primaryRank, byModule);
+                break;
+            default:
+                break;
+        }
+        
+        long[] keys = new long[size];
+        for (int k = 0; k < size; k++) {
+            int rank = primaryRank[fileOrder[k]];
+            keys[k] = ((long) (descending ? Integer.MAX_VALUE - rank : rank) << 32) | k;
+        }
+        Arrays.sort(keys);
+        
+        int[] order = new int[size];
+        for (int k = 0; k < size; k++) {
+            order[k] = fileOrder[(int) keys[k]];
+        }
+        return order;
+    }
+    
+    private void rankByName(int[] primaryRank, Map<String, BitSet> postings) {
+        List<String> names = new ArrayList<>(postings.keySet());
+        Collections.sort(names);
+        // Walk in reverse so an issue listed under several modules ranks by the first one
+        for (int rank = names.size() - 1; rank >= 0; rank--) {
+            fill(primaryRank, postings.get(names.get(rank)), rank);
+        }
+    }
+    
+    private static void fill(int[] ranks, BitSet bits, int rank) {
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            ranks[i] = rank;
+        }
+    }
+    
+    private static Map<String, Integer> countsOf(Map<String, BitSet> postings) {
+        Map<String, Integer> counts = new TreeMap<>();
+        postings.forEach((value, bits) -> counts.put(value, bits.cardinality()));
+        return counts;
+    }
+    
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+    
+    /**
+     * One page of query results
+     */
+    public static class QueryResult {
+        private final List<MigrationIssue> issues;
+        private final int totalMatches;
+        
+        QueryResult(List<MigrationIssue> issues, int totalMatches) {
+            this.issues = issues;
+            this.totalMatches = totalMatches;
+        }
+        
+        public List<MigrationIssue> getIssues() { return issues; }
+        public int getTotalMatches() { return totalMatches; }
+    }
+}
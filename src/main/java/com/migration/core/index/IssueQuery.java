@@ -0,0 +1,48 @@
+package com.migration.core.index;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filter, sort and paging criteria evaluated against an {@link IssueIndex}.
+ * Empty filter lists match everything; values within one list are OR-ed,
+ * different lists are AND-ed.
+ */
+public class IssueQuery {
+    private List<String> severities = new ArrayList<>();
+    private List<String> types = new ArrayList<>();
+    private List<String> modules = new ArrayList<>();
+    private String filePrefix;
+    private Boolean autoFixable;
+    private IssueIndex.SortKey sortKey = IssueIndex.SortKey.NONE;
+    private boolean descending;
+    private int page = 1;
+    private int size = 50;
+    
+    public List<String> getSeverities() { return severities; }
+    public void setSeverities(List<String> severities) { this.severities = severities; }
+    
+    public List<String> getTypes() { return types; }
+    public void setTypes(List<String> types) { this.types = types; }
+    
+    public List<String> getModules() { return modules; }
+    public void setModules(List<String> modules) { this.modules = modules; }
+    
+    public String getFilePrefix() { return filePrefix; }
+    public void setFilePrefix(String filePrefix) { this.filePrefix = filePrefix; }
+    
+    public Boolean getAutoFixable() { return autoFixable; }
+    public void setAutoFixable(Boolean autoFixable) { this.autoFixable = autoFixable; }
+    
+    public IssueIndex.SortKey getSortKey() { return sortKey; }
+    public void setSortKey(IssueIndex.SortKey sortKey) { this.sortKey = sortKey; }
+    
+    public boolean isDescending() { return descending; }
+    public void setDescending(boolean descending) { this.descending = descending; }
+    
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+    
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+}
@@ -0,0 +1,172 @@
+package com.migration.core.rules;
+
+import com.migration.core.compat.Compatibility;
+import com.migration.core.compat.CompatibilityIndex;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Checks of declared plugin and plugin classpath versions against the
+ * {@link CompatibilityIndex}
+ */
+final class CompatibilityChecks {
+    
+    /**
+     * Plugin declarations in scripts. Groups: 1-2 id and version of
+     * <code>id 'x' version 'y'</code>, 3-4 name and version of
+     * <code>kotlin("x") version "y"</code>, 5-6 module and version of a
+     * quoted "group:artifact:version" coordinate.
+     */
+    static final String DECLARATION_PATTERN =
+        "\\bid\\s*\\(?\\s*[\"']([\\w.\\-]+)[\"']\\s*\\)?\\s*version\\s*\\(?\\s*[\"']([^\"'\\s$]+)[\"']" +
+        "|\\bkotlin\\s*\\(\\s*[\"']([\\w.\\-]+)[\"']\\s*\\)\\s*version\\s*\\(?\\s*[\"']([^\"'\\s$]+)[\"']" +
+        "|[\"']([\\w.\\-]+:[\\w.\\-]+):([\\w.\\-+]+)[\"']";
+    
+    private static final Pattern VERSION_REF = Pattern.compile("version\\.ref\\s*=\\s*[\"'][^\"']*[\"']");
+    
+    private CompatibilityChecks() {
+    }
+    
+    /**
+     * Checks one match of {@link #DECLARATION_PATTERN}
+     *
+     * @return the declaration with a compatible version or the replacement, or null if it is fine
+     */
+    static String checkDeclaration(MatchResult match, GradleVersion target) {
+        CompatibilityIndex index = CompatibilityIndex.getDefault();
+        if (match.group(1) != null) {
+            return fix(match, 1, 2, index.findPlugin(match.group(1)));
+        }
+        if (match.group(3) != null) {
+            return fix(match, -1, 4, index.findPlugin("org.jetbrains.kotlin." + match.group(3)));
+        }
+        return fix(match, 5, 6, index.findModule(match.group(5)));
+    }
+    
+    /**
+     * Rewrites the id or module group and the version group of a match
+     *
+     * @param keyGroup the group of the id or module, or -1 if it cannot be replaced
+     */
+    private static String fix(MatchResult match, int keyGroup, int versionGroup, Compatibility compatibility) {
+        String version = match.group(versionGroup);
+        if (compatibility == null || !compatibility.isIncompatible(version)) {
+            return null;
+        }
+        String text = match.group();
+        int base = match.start();
+        String replacement = compatibility.getReplacement();
+        if (replacement == null || keyGroup < 0) {
+            if (compatibility.getMinimumVersion() == null) {
+                // Nothing to upgrade to; reported with the declaration unchanged
+                return text;
+            }
+            return splice(text, match.start(versionGroup) - base, match.end(versionGroup) - base,
+                          compatibility.getMinimumVersion());
+        }
+        int split = replacement.lastIndexOf(':');
+        return splice(text, match.start(keyGroup) - base, match.end(keyGroup) - base, replacement.substring(0, split),
+                      match.start(versionGroup) - base, match.end(versionGroup) - base, replacement.substring(split + 1));
+    }
+    
+    /**
+     * Checks the [plugins] and [libraries] of a version catalog. A version set
+     * through version.ref is reported on its [versions] entry, once.
+     */
+    static void checkCatalog(List<ConfigEntry> entries, GradleVersion target,
+                             BiConsumer<ConfigEntry, String> findings) {
+        CompatibilityIndex index = CompatibilityIndex.getDefault();
+        Map<String, ConfigEntry> versions = new HashMap<>();
+        for (ConfigEntry entry : entries) {
+            if ("versions".equals(entry.getSection())) {
+                versions.put(entry.getKey(), entry);
+            }
+        }
+        
+        Set<ConfigEntry> reportedVersions = new HashSet<>();
+        for (ConfigEntry entry : entries) {
+            boolean plugin = "plugins".equals(entry.getSection());
+            if (!plugin && !"libraries".equals(entry.getSection())) {
+                continue;
+            }
+            
+            String key;
+            String version;
+            ConfigEntry versionEntry = null;
+            if (entry.getAttributes().isEmpty()) {
+                // "id:version" or "group:artifact:version"
+                int split = entry.getValue().lastIndexOf(':');
+                if (split < 0) {
+                    continue;
+                }
+                key = entry.getValue().substring(0, split);
+                version = entry.getValue().substring(split + 1);
+            } else {
+                key = plugin ? entry.attribute("id") : entry.attribute("module");
+                if (!plugin && key == null && entry.attribute("group") != null && entry.attribute("name") != null) {
+                    key = entry.attribute("group") + ":" + entry.attribute("name");
+                }
+                version = entry.attribute("version");
+                String ref = entry.attribute("version.ref");
+                if (version == null && ref != null) {
+                    versionEntry = versions.get(ref);
+                    version = versionEntry != null ? versionEntry.getValue() : null;
+                }
+            }
+            // Rich versions such as { strictly = "..." } are left alone
+            if (key == null || version == null || version.startsWith("{")) {
+                continue;
+            }
+            
+            Compatibility compatibility = plugin ? index.findPlugin(key) : index.findModule(key);
+            if (compatibility == null || !compatibility.isIncompatible(version)) {
+                continue;
+            }
+            String replacement = compatibility.getReplacement();
+            if (replacement != null) {
+                int split = replacement.lastIndexOf(':');
+                String newVersion = replacement.substring(split + 1);
+                String fix = replaceQuoted(entry.getText(), key, replacement.substring(0, split));
+                fix = versionEntry != null
+                    ? VERSION_REF.matcher(fix).replaceFirst(Matcher.quoteReplacement("version = \"" + newVersion + "\""))
+                    : replaceQuoted(replaceQuoted(fix, version, newVersion),
+                                    key + ":" + version, replacement);
+                findings.accept(entry, fix);
+            } else if (compatibility.getMinimumVersion() == null) {
+                findings.accept(entry, entry.getText());
+            } else if (versionEntry != null) {
+                if (reportedVersions.add(versionEntry)) {
+                    findings.accept(versionEntry,
+                                    replaceQuoted(versionEntry.getText(), version, compatibility.getMinimumVersion()));
+                }
+            } else {
+                String fix = entry.getAttributes().isEmpty()
+                    ? replaceQuoted(entry.getText(), key + ":" + version, key + ":" + compatibility.getMinimumVersion())
+                    : replaceQuoted(entry.getText(), version, compatibility.getMinimumVersion());
+                findings.accept(entry, fix);
+            }
+        }
+    }
+    
+    /**
+     * Replaces a quoted string in a line, keeping its quotes
+     */
+    private static String replaceQuoted(String text, String value, String replacement) {
+        return text.replaceAll("([\"'])" + Pattern.quote(value) + "\\1",
+                               "$1" + Matcher.quoteReplacement(replacement) + "$1");
+    }
+    
+    private static String splice(String text, int start, int end, String replacement) {
+        return text.substring(0, start) + replacement + text.substring(end);
+    }
+    
+    private static String splice(String text, int start1, int end1, String replacement1,
+                                 int start2, int end2, String replacement2) {
+        // The second span follows the first, so it is replaced first to keep the offsets valid
+        return splice(splice(text, start2, end2, replacement2), start1, end1, replacement1);
+    }
+}
@@ -0,0 +1,47 @@
+package com.migration.core.rules;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * One key of a parsed configuration file: a property, or a TOML key with the
+ * table it is in
+ */
+public final class ConfigEntry {
+    
+    private final String section;
+    private final String key;
+    private final String value;
+    private final Map<String, String> attributes;
+    private final int lineNumber;
+    private final String text;
+    
+    ConfigEntry(String section, String key, String value, Map<String, String> attributes, int lineNumber, String text) {
+        this.section = section;
+        this.key = key;
+        this.value = value;
+        this.attributes = attributes;
+        this.lineNumber = lineNumber;
+        this.text = text;
+    }
+    
+    /**
+     * Returns one key of an inline table value, such as "version.ref" of
+     * <code>{ module = "...", version.ref = "guava" }</code>
+     *
+     * @return the unquoted value, or null if the value has no such key
+     */
+    public String attribute(String name) {
+        return attributes.get(name);
+    }
+    
+    /** TOML table the key is in, or null for properties and top-level keys */
+    public String getSection() { return section; }
+    public String getKey() { return key; }
+    /** Unescaped property value, unquoted TOML string, or the raw text of other TOML values */
+    public String getValue() { return value; }
+    public Map<String, String> getAttributes() { return Collections.unmodifiableMap(attributes); }
+    public int getLineNumber() { return lineNumber; }
+    /** The entry's first line as written, trimmed */
+    public String getText() { return text; }
+}
@@ -0,0 +1,284 @@
+package com.migration.core.rules;
+
+import java.util.*;
+
+/**
+ * Lightweight parsers for the configuration files Gradle reads: Java
+ * properties files and the TOML subset used by version catalogs. They keep
+ * line numbers and the original text for reporting, and do no validation; a
+ * line they cannot make sense of is skipped rather than failing the file.
+ */
+public final class ConfigParser {
+    
+    private ConfigParser() {
+    }
+    
+    /**
+     * Parses a configuration file of the given kind
+     *
+     * @return the entries in file order; empty for script kinds
+     */
+    public static List<ConfigEntry> parse(FileKind kind, String content) {
+        switch (kind) {
+            case WRAPPER_PROPERTIES:
+            case GRADLE_PROPERTIES:
+                return parseProperties(content);
+            case VERSION_CATALOG:
+                return parseToml(content);
+            default:
+                return Collections.emptyList();
+        }
+    }
+    
+    /**
+     * Parses properties the way java.util.Properties does: comments start with
+     * # or !, the key ends at the first unescaped =, : or whitespace, and a line
+     * ending in an odd number of backslashes continues on the next.
+     */
+    public static List<ConfigEntry> parseProperties(String content) {
+        List<ConfigEntry> entries = new ArrayList<>();
+        String[] lines = content.split("\n", -1);
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].stripLeading();
+            if (line.isEmpty() || line.charAt(0) == '#' || line.charAt(0) == '!') {
+                continue;
+            }
+            int start = i;
+            StringBuilder logical = new StringBuilder(line);
+            while (continues(logical)) {
+                logical.setLength(logical.length() - 1);
+                if (i + 1 >= lines.length) {
+                    break;
+                }
+                logical.append(lines[++i].stripLeading());
+            }
+            
+            String text = logical.toString();
+            int keyEnd = 0;
+            while (keyEnd < text.length()) {
+                char c = text.charAt(keyEnd);
+                if (c == '\\') {
+                    keyEnd += 2;
+                    continue;
+                }
+                if (c == '=' || c == ':' || isPropertiesSpace(c)) {
+                    break;
+                }
+                keyEnd++;
+            }
+            keyEnd = Math.min(keyEnd, text.length());
+            int valueStart = keyEnd;
+            while (valueStart < text.length() && isPropertiesSpace(text.charAt(valueStart))) {
+                valueStart++;
+            }
+            if (valueStart < text.length() && (text.charAt(valueStart) == '=' || text.charAt(valueStart) == ':')) {
+                valueStart++;
+            }
+            while (valueStart < text.length() && isPropertiesSpace(text.charAt(valueStart))) {
+                valueStart++;
+            }
+            
+            entries.add(new ConfigEntry(null, unescapeProperty(text.substring(0, keyEnd)),
+                                        unescapeProperty(text.substring(valueStart)),
+                                        Collections.emptyMap(), start + 1, lines[start].trim()));
+        }
+        return entries;
+    }
+    
+    /**
+     * Parses the TOML used by version catalogs: [table] headers, key = value
+     * pairs, strings, inline tables and arrays, which may span lines.
+     * Multi-line strings are not supported.
+     */
+    public static List<ConfigEntry> parseToml(String content) {
+        List<ConfigEntry> entries = new ArrayList<>();
+        String[] lines = content.split("\n", -1);
+        String section = null;
+        for (int i = 0; i < lines.length; i++) {
+            String line = stripTomlComment(lines[i]).trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            if (line.charAt(0) == '[') {
+                String name = line.replaceAll("^\\[+|\\]+$", "").trim();
+                section = unquote(name);
+                continue;
+            }
+            int equals = indexOutsideQuotes(line, '=');
+            if (equals < 0) {
+                continue;
+            }
+            
+            int start = i;
+            String key = unquote(line.substring(0, equals).trim());
+            StringBuilder value = new StringBuilder(line.substring(equals + 1).trim());
+            while (nesting(value) > 0 && i + 1 < lines.length) {
+                value.append(' ').append(stripTomlComment(lines[++i]).trim());
+            }
+            
+            String raw = value.toString();
+            Map<String, String> attributes = raw.startsWith("{") ? parseInlineTable(raw) : Collections.emptyMap();
+            entries.add(new ConfigEntry(section, key, unquote(raw), attributes, start + 1, lines[start].trim()));
+        }
+        return entries;
+    }
+    
+    private static boolean continues(CharSequence line) {
+        int backslashes = 0;
+        for (int i = line.length() - 1; i >= 0 && line.charAt(i) == '\\'; i--) {
+            backslashes++;
+        }
+        return backslashes % 2 == 1;
+    }
+    
+    private static boolean isPropertiesSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\f';
+    }
+    
+    private static String unescapeProperty(String text) {
+        if (text.indexOf('\\') < 0) {
+            return text;
+        }
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c != '\\' || i + 1 >= text.length()) {
+                result.append(c);
+                continue;
+            }
+            char next = text.charAt(++i);
+            switch (next) {
+                case 't': result.append('\t'); break;
+                case 'n': result.append('\n'); break;
+                case 'r': result.append('\r'); break;
+                case 'f': result.append('\f'); break;
+                case 'u':
+                    if (i + 4 < text.length()) {
+                        try {
+                            result.append((char) Integer.parseInt(text.substring(i + 1, i + 5), 16));
+                            i += 4;
+                            break;
+                        } catch (NumberFormatException e) {
+                            // Kept as written
+                        }
+                    }
+                    result.append(next);
+                    break;
+                default:
+                    result.append(next);
+                    break;
+            }
+        }
+        return result.toString();
+    }
+    
+    private static String stripTomlComment(String line) {
+        int hash = indexOutsideQuotes(line, '#');
+        return hash < 0 ? line : line.substring(0, hash);
+    }
+    
+    /**
+     * Returns the index of the first occurrence of a character outside TOML
+     * strings, or -1
+     */
+    private static int indexOutsideQuotes(CharSequence text, char target) {
+        char quote = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quote != 0) {
+                if (c == '\\' && quote == '"') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Returns how many arrays and inline tables are still open at the end of
+     * the text
+     */
+    private static int nesting(CharSequence text) {
+        int depth = 0;
+        char quote = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quote != 0) {
+                if (c == '\\' && quote == '"') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '[' || c == '{') {
+                depth++;
+            } else if (c == ']' || c == '}') {
+                depth--;
+            }
+        }
+        return depth;
+    }
+    
+    /**
+     * Splits <code>{ a = "x", b.c = "y" }</code> into its keys and unquoted values
+     */
+    private static Map<String, String> parseInlineTable(String table) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        String body = table.substring(1, table.endsWith("}") ? table.length() - 1 : table.length());
+        int depth = 0;
+        char quote = 0;
+        int partStart = 0;
+        for (int i = 0; i <= body.length(); i++) {
+            char c = i < body.length() ? body.charAt(i) : ',';
+            if (quote != 0) {
+                if (c == '\\' && quote == '"') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '[' || c == '{') {
+                depth++;
+            } else if (c == ']' || c == '}') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                String part = body.substring(partStart, Math.min(i, body.length()));
+                int equals = indexOutsideQuotes(part, '=');
+                if (equals > 0) {
+                    attributes.put(unquote(part.substring(0, equals).trim()), unquote(part.substring(equals + 1).trim()));
+                }
+                partStart = i + 1;
+            }
+        }
+        return attributes;
+    }
+    
+    /**
+     * Removes the quotes of a TOML string, resolving the escapes of basic
+     * strings; other text is returned as is
+     */
+    private static String unquote(String text) {
+        if (text.length() < 2) {
+            return text;
+        }
+        char first = text.charAt(0);
+        if ((first != '"' && first != '\'') || text.charAt(text.length() - 1) != first) {
+            return text;
+        }
+        String inner = text.substring(1, text.length() - 1);
+        if (first == '\'' || inner.indexOf('\\') < 0) {
+            return inner;
+        }
+        return unescapeProperty(inner);
+    }
+}
@@ -0,0 +1,21 @@
+package com.migration.core.rules;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Check of a rule that runs on the parsed entries of a configuration file
+ * instead of matching a pattern against its text
+ */
+@FunctionalInterface
+public interface EntryCheck {
+    
+    /**
+     * Reports each offending entry, with the replacement for its line when the
+     * check knows it, or null to leave the fix to the detector
+     *
+     * @param entries the file's entries, in file order
+     * @param target the version migrated to
+     */
+    void check(List<ConfigEntry> entries, GradleVersion target, BiConsumer<ConfigEntry, String> findings);
+}
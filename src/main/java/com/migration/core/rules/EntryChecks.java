@@ -0,0 +1,110 @@
+package com.migration.core.rules;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The entry checks of the rules for configuration files
+ */
+final class EntryChecks {
+    
+    private static final Pattern DISTRIBUTION_VERSION = Pattern.compile("gradle-(\\d+\\.\\d+(?:\\.\\d+)?)[-.]");
+    
+    // Properties renamed when the feature they control became stable, old name to new
+    private static final Map<String, String> RENAMED_PROPERTIES = Map.of(
+        "org.gradle.unsafe.configuration-cache", "org.gradle.configuration-cache",
+        "org.gradle.unsafe.configuration-cache-problems", "org.gradle.configuration-cache.problems",
+        "org.gradle.unsafe.configuration-cache.max-problems", "org.gradle.configuration-cache.max-problems",
+        "org.gradle.unsafe.watch-fs", "org.gradle.vfs.watch"
+    );
+    
+    private EntryChecks() {
+    }
+    
+    /**
+     * Reports a wrapper distribution older than the target, with the URL
+     * pointing at the target as the fix
+     */
+    static void outdatedWrapper(List<ConfigEntry> entries, GradleVersion target,
+                                BiConsumer<ConfigEntry, String> findings) {
+        ConfigEntry url = find(entries, "distributionUrl");
+        if (url == null || target == null) {
+            return;
+        }
+        Matcher matcher = DISTRIBUTION_VERSION.matcher(url.getText());
+        if (matcher.find() && GradleVersion.parse(matcher.group(1)).isBefore(target)) {
+            String text = url.getText();
+            findings.accept(url, text.substring(0, matcher.start(1)) + target + text.substring(matcher.end(1)));
+        }
+    }
+    
+    /**
+     * Reports a distribution checksum that will no longer match once the
+     * wrapper is moved to the target
+     */
+    static void staleWrapperChecksum(List<ConfigEntry> entries, GradleVersion target,
+                                     BiConsumer<ConfigEntry, String> findings) {
+        ConfigEntry checksum = find(entries, "distributionSha256Sum");
+        if (checksum == null) {
+            return;
+        }
+        boolean[] outdated = new boolean[1];
+        outdatedWrapper(entries, target, (entry, fix) -> outdated[0] = true);
+        if (outdated[0]) {
+            findings.accept(checksum, null);
+        }
+    }
+    
+    /**
+     * Reports properties set under a name Gradle no longer reads, with the
+     * line using the current name as the fix
+     */
+    static void renamedProperties(List<ConfigEntry> entries, GradleVersion target,
+                                  BiConsumer<ConfigEntry, String> findings) {
+        for (ConfigEntry entry : entries) {
+            String newName = RENAMED_PROPERTIES.get(entry.getKey());
+            if (newName != null) {
+                // A key written with escapes is left as is, so the fix changes nothing rather than the wrong text
+                findings.accept(entry, entry.getText().replace(entry.getKey(), newName));
+            }
+        }
+    }
+    
+    /**
+     * Reports catalog libraries and plugins whose version.ref names no entry of
+     * the [versions] table, which fails every build that loads the catalog
+     */
+    static void undefinedVersionRefs(List<ConfigEntry> entries, GradleVersion target,
+                                     BiConsumer<ConfigEntry, String> findings) {
+        Set<String> versions = new HashSet<>();
+        for (ConfigEntry entry : entries) {
+            if ("versions".equals(entry.getSection())) {
+                versions.add(entry.getKey());
+            }
+        }
+        for (ConfigEntry entry : entries) {
+            if (!"libraries".equals(entry.getSection()) && !"plugins".equals(entry.getSection())) {
+                continue;
+            }
+            String ref = entry.attribute("version.ref");
+            if (ref != null && !versions.contains(ref)) {
+                findings.accept(entry, null);
+            }
+        }
+    }
+    
+    /**
+     * Returns the entry for a key; the last one wins, as in java.util.Properties
+     */
+    private static ConfigEntry find(List<ConfigEntry> entries, String key) {
+        ConfigEntry found = null;
+        for (ConfigEntry entry : entries) {
+            if (entry.getKey().equals(key)) {
+                found = entry;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,57 @@
+package com.migration.core.rules;
+
+import java.nio.file.Path;
+
+/**
+ * The kinds of file a rule can target
+ */
+public enum FileKind {
+    /** Groovy DSL build script (*.gradle) */
+    GROOVY,
+    /** Kotlin DSL build script (*.gradle.kts) */
+    KOTLIN,
+    /** settings.gradle or settings.gradle.kts */
+    SETTINGS,
+    /** gradle/wrapper/gradle-wrapper.properties */
+    WRAPPER_PROPERTIES,
+    /** gradle.properties */
+    GRADLE_PROPERTIES,
+    /** Version catalog such as gradle/libs.versions.toml */
+    VERSION_CATALOG;
+    
+    /**
+     * Checks whether files of this kind are Groovy or Kotlin scripts, matched
+     * with patterns, rather than configuration files parsed into entries
+     */
+    public boolean isScript() {
+        return this == GROOVY || this == KOTLIN || this == SETTINGS;
+    }
+    
+    /**
+     * Classifies a file by name
+     *
+     * @return the kind, or null for files no rule targets
+     */
+    public static FileKind of(Path path) {
+        String fileName = path.getFileName().toString();
+        if (fileName.equals("settings.gradle") || fileName.equals("settings.gradle.kts")) {
+            return SETTINGS;
+        }
+        if (fileName.endsWith(".gradle.kts")) {
+            return KOTLIN;
+        }
+        if (fileName.endsWith(".gradle")) {
+            return GROOVY;
+        }
+        if (fileName.equals("gradle-wrapper.properties")) {
+            return WRAPPER_PROPERTIES;
+        }
+        if (fileName.equals("gradle.properties")) {
+            return GRADLE_PROPERTIES;
+        }
+        if (fileName.endsWith(".versions.toml")) {
+            return VERSION_CATALOG;
+        }
+        return null;
+    }
+}
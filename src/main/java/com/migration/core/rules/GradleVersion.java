@@ -0,0 +1,89 @@
+package com.migration.core.rules;
+
+import java.io.Serializable;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A Gradle release number, compared numerically. Suffixes such as "-bin",
+ * "-all" or "-rc-1" are ignored.
+ */
+public final class GradleVersion implements Comparable<GradleVersion>, Serializable {
+    
+    private static final Pattern VERSION = Pattern.compile("(\\d+)\\.(\\d+)(?:\\.(\\d+))?");
+    
+    private final int major;
+    private final int minor;
+    private final int patch;
+    
+    private GradleVersion(int major, int minor, int patch) {
+        this.major = major;
+        this.minor = minor;
+        this.patch = patch;
+    }
+    
+    /**
+     * Parses a version such as "8.5", "7.6.1" or "8.5-bin"
+     *
+     * @throws IllegalArgumentException if the text does not start with a version
+     */
+    public static GradleVersion parse(String version) {
+        GradleVersion parsed = tryParse(version);
+        if (parsed == null) {
+            throw new IllegalArgumentException("Invalid Gradle version: " + version);
+        }
+        return parsed;
+    }
+    
+    /**
+     * Like {@link #parse(String)}, returning null for text that is not a version
+     */
+    public static GradleVersion tryParse(String version) {
+        if (version == null) {
+            return null;
+        }
+        Matcher matcher = VERSION.matcher(version.trim());
+        if (!matcher.lookingAt()) {
+            return null;
+        }
+        return new GradleVersion(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)),
+                                 matcher.group(3) != null ? Integer.parseInt(matcher.group(3)) : 0);
+    }
+    
+    public boolean isBefore(GradleVersion other) {
+        return compareTo(other) < 0;
+    }
+    
+    @Override
+    public int compareTo(GradleVersion other) {
+        if (major != other.major) {
+            return Integer.compare(major, other.major);
+        }
+        if (minor != other.minor) {
+            return Integer.compare(minor, other.minor);
+        }
+        return Integer.compare(patch, other.patch);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GradleVersion)) {
+            return false;
+        }
+        GradleVersion other = (GradleVersion) o;
+        return major == other.major && minor == other.minor && patch == other.patch;
+    }
+    
+    @Override
+    public int hashCode() {
+        return (major * 31 + minor) * 31 + patch;
+    }
+    
+    @Override
+    public String toString() {
+        return patch == 0 ? major + "." + minor : major + "." + minor + "." + patch;
+    }
+}
@@ -0,0 +1,18 @@
+package com.migration.core.rules;
+
+import java.util.regex.MatchResult;
+
+/**
+ * Second stage of a pattern rule, deciding whether a match is an issue when
+ * the pattern alone cannot tell
+ */
+@FunctionalInterface
+public interface MatchCheck {
+    
+    /**
+     * @param match the match; its groups are those of the rule's pattern
+     * @param target the version migrated to
+     * @return the replacement for the matched text, or null if the match is not an issue
+     */
+    String check(MatchResult match, GradleVersion target);
+}
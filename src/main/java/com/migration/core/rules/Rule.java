@@ -0,0 +1,165 @@
+package com.migration.core.rules;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * One migration check: a pattern, or for configuration files a check of their
+ * parsed entries, plus what to report when it matches, the kinds of file it
+ * targets and the Gradle version that removed the construct it finds. The
+ * pattern is compiled on first use, so rules that never run for an analysis
+ * cost nothing.
+ */
+public final class Rule {
+    
+    private final String type;
+    private final String severity;
+    private final String title;
+    private final String description;
+    private final boolean autoFixable;
+    private final String regex;
+    private EntryCheck entryCheck;
+    private MatchCheck matchCheck;
+    private Set<FileKind> fileKinds = EnumSet.of(FileKind.GROOVY, FileKind.KOTLIN);
+    private GradleVersion removedIn;
+    private boolean upgradeOnly;
+    private List<String> literals = Collections.emptyList();
+    private volatile Pattern pattern;
+    
+    Rule(String type, String severity, String title, String description, boolean autoFixable, String regex) {
+        this.type = type;
+        this.severity = severity;
+        this.title = title;
+        this.description = description;
+        this.autoFixable = autoFixable;
+        this.regex = regex;
+    }
+    
+    Rule(String type, String severity, String title, String description, boolean autoFixable,
+         FileKind kind, EntryCheck entryCheck) {
+        this.type = type;
+        this.severity = severity;
+        this.title = title;
+        this.description = description;
+        this.autoFixable = autoFixable;
+        this.regex = null;
+        this.entryCheck = entryCheck;
+        this.fileKinds = EnumSet.of(kind);
+    }
+    
+    /**
+     * Sets the kinds of file the rule runs on. Build scripts of both DSLs by default.
+     */
+    Rule in(FileKind first, FileKind... rest) {
+        this.fileKinds = EnumSet.of(first, rest);
+        return this;
+    }
+    
+    /**
+     * Sets the Gradle version in which the matched construct stopped working.
+     * Rules without one apply to every version.
+     */
+    Rule removedIn(String version) {
+        this.removedIn = GradleVersion.parse(version);
+        return this;
+    }
+    
+    /**
+     * Limits the rule to migrations to a newer version, for checks of the
+     * version itself
+     */
+    Rule upgradeOnly() {
+        this.upgradeOnly = true;
+        return this;
+    }
+    
+    /**
+     * Sets a check each pattern match must pass to be reported
+     */
+    Rule filteredBy(MatchCheck matchCheck) {
+        this.matchCheck = matchCheck;
+        return this;
+    }
+    
+    /**
+     * Sets the check run on configuration files, for a rule that also has a
+     * pattern for scripts
+     */
+    Rule checking(EntryCheck entryCheck) {
+        this.entryCheck = entryCheck;
+        return this;
+    }
+    
+    /**
+     * Sets strings of which every match contains at least one, so content
+     * containing none of them can skip the pattern
+     */
+    Rule requiring(String... literals) {
+        this.literals = Arrays.asList(literals);
+        return this;
+    }
+    
+    /**
+     * Checks whether the rule is relevant when migrating from one version to
+     * another. A construct removed before the source version cannot be in a
+     * build that works on it, and one removed after the target does not block
+     * the migration.
+     *
+     * @param source the version migrated from, or null if unknown
+     * @param target the version migrated to, or null for the latest
+     */
+    public boolean appliesTo(GradleVersion source, GradleVersion target) {
+        if (upgradeOnly && source != null && target != null && !source.isBefore(target)) {
+            return false;
+        }
+        if (removedIn == null) {
+            return true;
+        }
+        return (source == null || source.isBefore(removedIn)) &&
+               (target == null || !target.isBefore(removedIn));
+    }
+    
+    /**
+     * Cheap check run before the pattern; false means the pattern cannot match
+     */
+    public boolean mightMatch(String content) {
+        if (literals.isEmpty()) {
+            return true;
+        }
+        for (String literal : literals) {
+            if (content.contains(literal)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Returns the compiled pattern, or null for rules with an entry check
+     */
+    public Pattern getPattern() {
+        Pattern compiled = pattern;
+        if (compiled == null && regex != null) {
+            // Compiling twice under a race is harmless
+            compiled = Pattern.compile(regex);
+            pattern = compiled;
+        }
+        return compiled;
+    }
+    
+    public String getType() { return type; }
+    public String getSeverity() { return severity; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public boolean isAutoFixable() { return autoFixable; }
+    /** Check of configuration files, or null for rules that only match scripts */
+    public EntryCheck getEntryCheck() { return entryCheck; }
+    /** Filter of pattern matches, or null if every match is an issue */
+    public MatchCheck getMatchCheck() { return matchCheck; }
+    public Set<FileKind> getFileKinds() { return Collections.unmodifiableSet(fileKinds); }
+    public GradleVersion getRemovedIn() { return removedIn; }
+}
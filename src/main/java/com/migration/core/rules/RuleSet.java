@@ -0,0 +1,280 @@
+package com.migration.core.rules;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The rules relevant to one migration, from a source to a target Gradle
+ * version, grouped by the kind of file they run on. Rule sets are cached per
+ * selection of rules and shared between analyses; since only the versions
+ * where rules are added or removed change the selection, the cache stays
+ * small however many versions are asked for.
+ */
+public final class RuleSet {
+    
+    /**
+     * Holds the rule definitions, created on first use
+     */
+    private static final class Catalog {
+        static final List<Rule> RULES = define();
+        static final Map<String, Rule> BY_TYPE = index(RULES);
+    }
+    
+    private static final Map<List<Rule>, RuleSet> CACHE = new ConcurrentHashMap<>();
+    
+    private final List<Rule> rules;
+    private final Map<FileKind, List<Rule>> byKind = new EnumMap<>(FileKind.class);
+    
+    private RuleSet(List<Rule> selected) {
+        this.rules = Collections.unmodifiableList(selected);
+        for (FileKind kind : FileKind.values()) {
+            List<Rule> forKind = new ArrayList<>();
+            for (Rule rule : selected) {
+                if (rule.getFileKinds().contains(kind)) {
+                    forKind.add(rule);
+                }
+            }
+            byKind.put(kind, Collections.unmodifiableList(forKind));
+        }
+    }
+    
+    /**
+     * Returns the rules for a migration between two versions
+     *
+     * @param source the version migrated from, or null to keep every rule removed before the target
+     * @param target the version migrated to, or null for the latest
+     */
+    public static RuleSet forVersions(GradleVersion source, GradleVersion target) {
+        List<Rule> selected = new ArrayList<>();
+        for (Rule rule : Catalog.RULES) {
+            if (rule.appliesTo(source, target)) {
+                selected.add(rule);
+            }
+        }
+        return CACHE.computeIfAbsent(selected, RuleSet::new);
+    }
+    
+    /**
+     * Returns every rule
+     */
+    public static RuleSet all() {
+        return forVersions(null, null);
+    }
+    
+    /**
+     * Looks up a rule by its type
+     *
+     * @return the rule, or null if there is none
+     */
+    public static Rule rule(String type) {
+        return Catalog.BY_TYPE.get(type);
+    }
+    
+    /**
+     * Returns the types of all rules, in definition order
+     */
+    public static Set<String> types() {
+        return Catalog.BY_TYPE.keySet();
+    }
+    
+    public List<Rule> getRules() {
+        return rules;
+    }
+    
+    /**
+     * Returns the rules that run on a kind of file
+     */
+    public List<Rule> forKind(FileKind kind) {
+        return kind != null ? byKind.get(kind) : Collections.emptyList();
+    }
+    
+    private static Map<String, Rule> index(List<Rule> rules) {
+        Map<String, Rule> byType = new LinkedHashMap<>();
+        for (Rule rule : rules) {
+            byType.put(rule.getType(), rule);
+        }
+        return Collections.unmodifiableMap(byType);
+    }
+    
+    private static List<Rule> define() {
+        List<Rule> rules = new ArrayList<>();
+        
+        // 1. Deprecated compile/runtime configurations
+        rules.add(new Rule(
+            "DEPRECATED_CONFIGURATIONS",
+            "CRITICAL",
+            "Deprecated Configuration Usage",
+            "The 'compile', 'runtime', 'testCompile', and 'testRuntime' configurations are removed in Gradle 9. " +
+            "These must be replaced with 'implementation', 'runtimeOnly', 'testImplementation', and 'testRuntimeOnly' respectively.",
+            true,
+            "\\b(compile|runtime|testCompile|testRuntime)\\s+"
+        ).in(FileKind.GROOVY).removedIn("7.0").requiring("compile", "runtime", "testCompile", "testRuntime"));
+        
+        // 2. Deprecated API usage
+        rules.add(new Rule(
+            "DEPRECATED_API",
+            "HIGH",
+            "Deprecated Convention API",
+            "The Convention API is removed in Gradle 9. Use the newer Provider API and extensions instead. " +
+            "Replace convention.getPlugin() with project.extensions.getByType().",
+            true,
+            "\\bconvention\\s*\\.\\s*getPlugin|\\bconvention\\s*\\["
+        ).in(FileKind.GROOVY, FileKind.KOTLIN, FileKind.SETTINGS).removedIn("9.0").requiring("convention"));
+        
+        // 3. AbstractArchiveTask changes
+        rules.add(new Rule(
+            "ARCHIVE_NAME",
+            "HIGH",
+            "Deprecated Archive Task Properties",
+            "Direct property assignment for archive tasks is deprecated. Use the Property API: " +
+            "archiveFileName.set(), archiveBaseName.set(), archiveVersion.set(), archiveExtension.set().",
+            true,
+            "\\barchiveName\\s*=|\\barchiveBaseName\\s*=|\\barchiveVersion\\s*=|\\barchiveExtension\\s*="
+        ).removedIn("8.0").requiring("archive"));
+        
+        // 4. Gradle wrapper version
+        rules.add(new Rule(
+            "GRADLE_VERSION",
+            "CRITICAL",
+            "Gradle Version Update Required",
+            "Your project is using an older Gradle version. Gradle 9.x requires updating the wrapper to version 9.0 or higher.",
+            true,
+            FileKind.WRAPPER_PROPERTIES,
+            EntryChecks::outdatedWrapper
+        ).upgradeOnly().requiring("distributionUrl"));
+        
+        // 5. Deprecated task configuration
+        rules.add(new Rule(
+            "TASK_LEFTSHIFT",
+            "HIGH",
+            "Deprecated Task Configuration (<<)",
+            "The << operator for task configuration is removed. Use doLast { } instead.",
+            true,
+            "task\\s+\\w+\\s*<<"
+        ).in(FileKind.GROOVY).removedIn("5.0").requiring("<<"));
+        
+        // 6. Deprecated dynamic properties
+        rules.add(new Rule(
+            "DYNAMIC_PROPERTIES",
+            "MEDIUM",
+            "Dynamic Properties Usage",
+            "Dynamic properties using ext[] are discouraged. Consider using typed extensions or the Provider API for better type safety.",
+            false,
+            "\\bproject\\.ext\\[|\\bext\\["
+        ).in(FileKind.GROOVY, FileKind.KOTLIN, FileKind.SETTINGS).requiring("ext["));
+        
+        // 7. Deprecated Gradle API methods
+        rules.add(new Rule(
+            "DEPRECATED_METHODS",
+            "HIGH",
+            "Deprecated Gradle API Methods",
+            "Methods like getArchivePath(), getClassesDir(), and getDestinationDir() are removed. " +
+            "Use archiveFile.get(), classesDirectory.get(), and destinationDirectory.get() respectively.",
+            true,
+            "\\b(getArchivePath|getClassesDir|getDestinationDir)\\s*\\("
+        ).removedIn("8.0").requiring("getArchivePath", "getClassesDir", "getDestinationDir"));
+        
+        // 8. Deprecated configurations in dependencies
+        rules.add(new Rule(
+            "DEPRECATED_DEPENDENCY_CONFIG",
+            "CRITICAL",
+            "Deprecated Dependency Configuration Methods",
+            "Dependency configuration methods compile(), runtime(), testCompile(), and testRuntime() are removed. " +
+            "Use implementation(), runtimeOnly(), testImplementation(), and testRuntimeOnly().",
+            true,
+            "(compile|runtime|testCompile|testRuntime)\\s*\\("
+        ).removedIn("7.0").requiring("compile", "runtime", "testCompile", "testRuntime"));
+        
+        // 9. Deprecated buildscript classpath
+        rules.add(new Rule(
+            "BUILDSCRIPT_CLASSPATH",
+            "MEDIUM",
+            "Legacy Buildscript Classpath",
+            "Consider migrating to the plugins {} block instead of buildscript {} for plugin dependencies. " +
+            "This provides better dependency resolution and version management.",
+            false,
+            "buildscript\\s*\\{[^}]*classpath\\s+['\"]"
+        ).in(FileKind.GROOVY, FileKind.SETTINGS).requiring("buildscript"));
+        
+        // 10. Deprecated SourceSet output
+        rules.add(new Rule(
+            "SOURCESET_OUTPUT",
+            "HIGH",
+            "Deprecated SourceSet Output Property",
+            "The classesDir property is removed. Use classesDirs (plural) which returns a FileCollection.",
+            true,
+            "sourceSets\\.\\w+\\.output\\.classesDir"
+        ).removedIn("5.0").requiring(".output.classesDir"));
+        
+        // 11. Deprecated task types
+        rules.add(new Rule(
+            "DEPRECATED_TASK_TYPES",
+            "HIGH",
+            "Deprecated Task Types",
+            "Task types like Upload and InstallTask are removed. Use the maven-publish or ivy-publish plugins instead.",
+            false,
+            "\\b(Upload|InstallTask)\\b"
+        ).removedIn("7.0").requiring("Upload", "InstallTask"));
+        
+        // 12. Deprecated Gradle properties
+        rules.add(new Rule(
+            "DEPRECATED_PROPERTIES",
+            "MEDIUM",
+            "Direct Property Assignment",
+            "Direct assignment to properties like archivesBaseName is deprecated. " +
+            "Use base.archivesName.set() for archivesBaseName in Gradle 9.",
+            true,
+            "\\b(archivesBaseName|version|group)\\s*="
+        ).removedIn("9.0").requiring("archivesBaseName", "version", "group"));
+        
+        // 13. Wrapper checksum of the old distribution
+        rules.add(new Rule(
+            "WRAPPER_CHECKSUM",
+            "MEDIUM",
+            "Wrapper Checksum Must Be Updated",
+            "gradle-wrapper.properties pins the checksum of the current distribution, so the wrapper will reject the new one. " +
+            "Running the wrapper task with --gradle-distribution-sha256-sum updates it.",
+            false,
+            FileKind.WRAPPER_PROPERTIES,
+            EntryChecks::staleWrapperChecksum
+        ).upgradeOnly().requiring("distributionSha256Sum"));
+        
+        // 14. Renamed Gradle properties
+        rules.add(new Rule(
+            "RENAMED_GRADLE_PROPERTY",
+            "MEDIUM",
+            "Renamed Gradle Property",
+            "This gradle.properties entry uses the incubating name of a feature that is now stable, " +
+            "such as org.gradle.unsafe.configuration-cache. Use the stable name, e.g. org.gradle.configuration-cache.",
+            true,
+            FileKind.GRADLE_PROPERTIES,
+            EntryChecks::renamedProperties
+        ).requiring("org.gradle.unsafe."));
+        
+        // 15. Version catalog references
+        rules.add(new Rule(
+            "CATALOG_UNDEFINED_VERSION_REF",
+            "HIGH",
+            "Undefined Version Catalog Reference",
+            "A library or plugin in the version catalog uses version.ref with a name missing from the [versions] table. " +
+            "Gradle fails to load the catalog; add the version or fix the reference.",
+            false,
+            FileKind.VERSION_CATALOG,
+            EntryChecks::undefinedVersionRefs
+        ).requiring("version.ref"));
+        
+        // 16. Plugin versions that do not work on Gradle 9
+        rules.add(new Rule(
+            "INCOMPATIBLE_PLUGIN",
+            "CRITICAL",
+            "Plugin Version Incompatible with Gradle 9",
+            "This plugin version uses Gradle APIs that Gradle 9 removed, so the build fails when the plugin is applied. " +
+            "Upgrade to the oldest compatible release, or to the suggested replacement for abandoned plugins.",
+            true,
+            CompatibilityChecks.DECLARATION_PATTERN
+        ).in(FileKind.GROOVY, FileKind.KOTLIN, FileKind.SETTINGS, FileKind.VERSION_CATALOG).removedIn("9.0")
+         .filteredBy(CompatibilityChecks::checkDeclaration).checking(CompatibilityChecks::checkCatalog));
+        
+        return Collections.unmodifiableList(rules);
+    }
+}
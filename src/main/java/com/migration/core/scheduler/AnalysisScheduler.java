@@ -0,0 +1,244 @@
+package com.migration.core.scheduler;
+
+import com.migration.core.detector.CancellationToken;
+import com.migration.metrics.AnalysisMetrics;
+import com.migration.util.Constants;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Decides when analyses may start, so bulk work cannot starve people waiting
+ * on the UI. A fixed number of analyses run at once. Interactive analyses go
+ * ahead of batch ones and some slots are kept for them, so under any batch
+ * load an interactive analysis waits at most for another interactive one to
+ * finish. Within a priority, the clients with waiting analyses take turns, so
+ * one client queueing many analyses does not hold up the others.
+ *
+ * Analyses still run on the caller's thread; the scheduler only admits them.
+ */
+public final class AnalysisScheduler {
+    
+    /**
+     * Priority class of an analysis
+     */
+    public enum Priority {
+        /** Started by a person waiting for the result */
+        INTERACTIVE,
+        /** CI, fleet and other bulk analyses */
+        BATCH;
+        
+        /** Lower-case name used in request parameters and metric labels */
+        public String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+    
+    // How often a waiting analysis checks whether it was cancelled
+    private static final long CANCEL_POLL_MILLIS = 100;
+    
+    private static final AnalysisScheduler INSTANCE = new AnalysisScheduler(
+        Math.max(Constants.SCHEDULER_RESERVED_INTERACTIVE_SLOTS + 1, Runtime.getRuntime().availableProcessors()),
+        Constants.SCHEDULER_RESERVED_INTERACTIVE_SLOTS, Constants.SCHEDULER_MAX_QUEUED);
+    
+    private final int slots;
+    private final int batchSlots;
+    private final int maxQueued;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    // Per priority, the waiting analyses of each client, clients in turn order
+    private final Map<Priority, LinkedHashMap<String, ArrayDeque<Waiter>>> queues = new EnumMap<>(Priority.class);
+    private final int[] queued = new int[Priority.values().length];
+    private int running;
+    private int runningBatch;
+    
+    /**
+     * @param slots analyses run at once
+     * @param reservedInteractiveSlots slots batch analyses may not use
+     * @param maxQueued analyses of one priority that may wait before more are rejected
+     */
+    public AnalysisScheduler(int slots, int reservedInteractiveSlots, int maxQueued) {
+        if (slots < 1 || reservedInteractiveSlots < 0 || reservedInteractiveSlots >= slots) {
+            throw new IllegalArgumentException("Invalid scheduler slots: " + slots + ", reserved " +
+                                               reservedInteractiveSlots);
+        }
+        this.slots = slots;
+        this.batchSlots = slots - reservedInteractiveSlots;
+        this.maxQueued = maxQueued;
+        for (Priority priority : Priority.values()) {
+            queues.put(priority, new LinkedHashMap<>());
+        }
+    }
+    
+    public static AnalysisScheduler getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Waits until the analysis may start
+     *
+     * @param priority the analysis' priority class
+     * @param clientId who the analysis runs for; clients take turns within a priority
+     * @param cancellation ends the wait when cancelled; may be null
+     * @return the slot, to close when the analysis ends
+     * @throws RejectedExecutionException if too many analyses of the priority are waiting
+     * @throws CancellationException if the analysis was cancelled while waiting
+     */
+    public Permit acquire(Priority priority, String clientId, CancellationToken cancellation)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            if (queued[priority.ordinal()] >= maxQueued) {
+                AnalysisMetrics.SCHEDULER_REJECTED.labels(priority.label()).increment();
+                throw new RejectedExecutionException(Constants.ERROR_SCHEDULER_QUEUE_FULL);
+            }
+            Waiter waiter = new Waiter(priority, clientId, lock.newCondition());
+            queues.get(priority).computeIfAbsent(clientId, k -> new ArrayDeque<>()).add(waiter);
+            setQueued(priority, 1);
+            dispatch();
+            
+            while (!waiter.granted) {
+                if (cancellation != null && cancellation.isCancelled()) {
+                    remove(waiter);
+                    cancellation.throwIfCancelled();
+                }
+                try {
+                    waiter.condition.await(CANCEL_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    if (waiter.granted) {
+                        release(priority);
+                    } else {
+                        remove(waiter);
+                    }
+                    throw e;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        
+        AnalysisMetrics.SCHEDULER_WAIT.labels(priority.label()).observeNanos(System.nanoTime() - start);
+        AnalysisMetrics.SCHEDULER_RUNNING.labels(priority.label()).incrementAndGet();
+        return new Permit(priority);
+    }
+    
+    /**
+     * Starts waiting analyses while slots are free: interactive ones first,
+     * then batch ones while batch slots are free
+     */
+    private void dispatch() {
+        while (running < slots) {
+            Waiter next = nextTurn(Priority.INTERACTIVE);
+            if (next == null && runningBatch < batchSlots) {
+                next = nextTurn(Priority.BATCH);
+            }
+            if (next == null) {
+                return;
+            }
+            running++;
+            if (next.priority == Priority.BATCH) {
+                runningBatch++;
+            }
+            next.granted = true;
+            next.condition.signal();
+        }
+    }
+    
+    /**
+     * Takes the oldest analysis of the client whose turn it is, and moves the
+     * client to the back of the turn order
+     */
+    private Waiter nextTurn(Priority priority) {
+        Iterator<Map.Entry<String, ArrayDeque<Waiter>>> clients = queues.get(priority).entrySet().iterator();
+        if (!clients.hasNext()) {
+            return null;
+        }
+        Map.Entry<String, ArrayDeque<Waiter>> client = clients.next();
+        String clientId = client.getKey();
+        ArrayDeque<Waiter> waiting = client.getValue();
+        Waiter waiter = waiting.poll();
+        clients.remove();
+        if (!waiting.isEmpty()) {
+            queues.get(priority).put(clientId, waiting);
+        }
+        setQueued(priority, -1);
+        return waiter;
+    }
+    
+    private void remove(Waiter waiter) {
+        LinkedHashMap<String, ArrayDeque<Waiter>> clients = queues.get(waiter.priority);
+        ArrayDeque<Waiter> waiting = clients.get(waiter.clientId);
+        if (waiting != null && waiting.remove(waiter)) {
+            if (waiting.isEmpty()) {
+                clients.remove(waiter.clientId);
+            }
+            setQueued(waiter.priority, -1);
+        }
+    }
+    
+    private void release(Priority priority) {
+        running--;
+        if (priority == Priority.BATCH) {
+            runningBatch--;
+        }
+        dispatch();
+    }
+    
+    private void setQueued(Priority priority, int change) {
+        queued[priority.ordinal()] += change;
+        AnalysisMetrics.SCHEDULER_QUEUED.labels(priority.label()).addAndGet(change);
+    }
+    
+    /**
+     * A running analysis' slot
+     */
+    public final class Permit implements AutoCloseable {
+        private final Priority priority;
+        private boolean closed;
+        
+        private Permit(Priority priority) {
+            this.priority = priority;
+        }
+        
+        /**
+         * Frees the slot for the next waiting analysis
+         */
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            AnalysisMetrics.SCHEDULER_RUNNING.labels(priority.label()).decrementAndGet();
+            lock.lock();
+            try {
+                release(priority);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+    
+    private static final class Waiter {
+        final Priority priority;
+        final String clientId;
+        final Condition condition;
+        boolean granted;
+        
+        Waiter(Priority priority, String clientId, Condition condition) {
+            this.priority = priority;
+            this.clientId = clientId;
+            this.condition = condition;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.migration.core.watch;
+
+import com.migration.core.detector.AnalysisOptions;
+import com.migration.model.MigrationIssue;
+import com.migration.model.ProjectInfo;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * A stored analysis that fixes and watch re-scans keep current. A published
+ * ProjectInfo is never modified: each change publishes a new one, so readers
+ * always see a consistent snapshot, and changes are applied with
+ * compare-and-set, so concurrent ones are not lost.
+ */
+public final class LiveAnalysis implements Serializable {
+    
+    private final AtomicReference<ProjectInfo> current;
+    private final AnalysisOptions options;
+    
+    /**
+     * @param projectInfo the analysis, not modified afterwards
+     * @param options the options it ran with, of which the scan options are kept
+     */
+    public LiveAnalysis(ProjectInfo projectInfo, AnalysisOptions options) {
+        this.current = new AtomicReference<>(projectInfo);
+        this.options = options.copyScanOptions();
+    }
+    
+    /**
+     * Returns the current snapshot, which must not be modified
+     */
+    public ProjectInfo get() {
+        return current.get();
+    }
+    
+    /**
+     * Returns the scan options the analysis ran with
+     */
+    public AnalysisOptions getOptions() {
+        return options;
+    }
+    
+    /**
+     * Publishes a change. The function may be called more than once when
+     * other changes race with it, so it must not have side effects.
+     *
+     * @param change returns the new snapshot built from the current one, or
+     *               the current one itself to leave it unchanged
+     * @return the snapshot published
+     */
+    public ProjectInfo update(UnaryOperator<ProjectInfo> change) {
+        return current.updateAndGet(change);
+    }
+    
+    boolean compareAndSet(ProjectInfo expected, ProjectInfo replacement) {
+        return current.compareAndSet(expected, replacement);
+    }
+    
+    /**
+     * Copies an analysis with another issue list, recounting its critical
+     * and auto-fixable issues
+     */
+    public static ProjectInfo withIssues(ProjectInfo projectInfo, List<MigrationIssue> issues) {
+        ProjectInfo copy = new ProjectInfo();
+        copy.setProjectPath(projectInfo.getProjectPath());
+        copy.setProjectName(projectInfo.getProjectName());
+        copy.setCurrentGradleVersion(projectInfo.getCurrentGradleVersion());
+        copy.setMultiModule(projectInfo.isMultiModule());
+        copy.setModules(projectInfo.getModules());
+        copy.setIssues(issues);
+        copy.setTotalIssues(issues.size());
+        copy.setCriticalIssues((int) issues.stream().filter(i -> "CRITICAL".equals(i.getSeverity())).count());
+        copy.setAutoFixableIssues((int) issues.stream().filter(MigrationIssue::isAutoFixable).count());
+        copy.setProfile(projectInfo.getProfile());
+        copy.setIncomplete(projectInfo.isIncomplete());
+        copy.setChangedSince(projectInfo.getChangedSince());
+        return copy;
+    }
+}
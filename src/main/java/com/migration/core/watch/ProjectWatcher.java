@@ -0,0 +1,255 @@
+package com.migration.core.watch;
+
+import com.migration.core.detector.AnalysisOptions;
+import com.migration.core.detector.GradleIssueDetector;
+import com.migration.metrics.AnalysisMetrics;
+import com.migration.model.MigrationIssue;
+import com.migration.model.ProjectInfo;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches one project's build files and re-scans those that change.
+ *
+ * A daemon thread waits on a WatchService registered for every directory of
+ * the project. Changed build files are collected until no event has arrived
+ * for the debounce window, then only those files are re-scanned and their
+ * issues handed to the listeners, which apply them to their own analyses.
+ */
+public class ProjectWatcher implements Closeable {
+    
+    /**
+     * Receives the issues of re-scanned files
+     */
+    public interface Listener {
+        /**
+         * @param changedFiles the files re-scanned, including deleted ones
+         * @param issues every issue now found in those files
+         */
+        void rescanned(Set<String> changedFiles, List<MigrationIssue> issues);
+    }
+    
+    // The detector skips these, so there is nothing to watch in them
+    private static final Set<String> SKIPPED_DIRECTORIES = Set.of(".git", ".gradle", "build");
+    
+    // Read only: the project path and Gradle version the re-scans need
+    private final ProjectInfo project;
+    private final AnalysisOptions options;
+    private final GradleIssueDetector detector;
+    private final Path root;
+    private final long debounceMillis;
+    private final long maxDelayMillis;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new ConcurrentHashMap<>();
+    // Build files seen, so the files below a deleted directory are known
+    private final Set<Path> knownFiles = ConcurrentHashMap.newKeySet();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Thread thread;
+    private volatile boolean closed;
+    
+    /**
+     * Registers the project's directories; {@link #start()} begins watching
+     *
+     * @param projectInfo the analysis whose project to watch; only its path and Gradle version are read
+     * @param options the scan options re-scans run with
+     * @param detector the detector used for re-scans
+     * @param debounceMillis how long the tree must be quiet before a re-scan
+     * @param maxDelayMillis longest a change waits while edits keep arriving
+     */
+    public ProjectWatcher(ProjectInfo projectInfo, AnalysisOptions options, GradleIssueDetector detector,
+                          long debounceMillis, long maxDelayMillis) throws IOException {
+        this.project = new ProjectInfo();
+        this.project.setProjectPath(projectInfo.getProjectPath());
+        this.project.setCurrentGradleVersion(projectInfo.getCurrentGradleVersion());
+        this.options = options;
+        this.detector = detector;
+        // Not normalized: changed paths must compare equal to the paths the detector reported
+        this.root = Paths.get(projectInfo.getProjectPath());
+        this.debounceMillis = debounceMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.watchService = root.getFileSystem().newWatchService();
+        try {
+            registerTree(root);
+        } catch (IOException e) {
+            watchService.close();
+            throw e;
+        }
+        this.thread = new Thread(this::run, "project-watcher-" + root.getFileName());
+        this.thread.setDaemon(true);
+    }
+    
+    /**
+     * Starts the watch thread
+     */
+    public void start() {
+        thread.start();
+    }
+    
+    public String getProjectPath() {
+        return project.getProjectPath();
+    }
+    
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * @return the number of listeners left
+     */
+    public int removeListener(Listener listener) {
+        listeners.remove(listener);
+        return listeners.size();
+    }
+    
+    public boolean isClosed() {
+        return closed;
+    }
+    
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            System.err.println("Error closing watch service: " + root + " - " + e.getMessage());
+        }
+        if (Thread.currentThread() != thread) {
+            thread.interrupt();
+        }
+    }
+    
+    private void run() {
+        Set<Path> pending = new LinkedHashSet<>();
+        boolean overflow = false;
+        long firstPending = 0;
+        try {
+            while (!closed) {
+                WatchKey key;
+                if (pending.isEmpty() && !overflow) {
+                    key = watchService.take();
+                } else {
+                    long wait = Math.min(debounceMillis, firstPending + maxDelayMillis - System.currentTimeMillis());
+                    key = wait > 0 ? watchService.poll(wait, TimeUnit.MILLISECONDS) : null;
+                }
+                
+                if (key == null) {
+                    // Quiet for a whole window, or changes have waited long enough
+                    rescan(overflow ? allKnownFiles() : pending);
+                    pending = new LinkedHashSet<>();
+                    overflow = false;
+                    continue;
+                }
+                
+                if (pending.isEmpty() && !overflow) {
+                    firstPending = System.currentTimeMillis();
+                }
+                Path directory = directories.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW || directory == null) {
+                        overflow = true;
+                        continue;
+                    }
+                    collect(directory.resolve((Path) event.context()), event.kind(), pending);
+                }
+                if (!key.reset()) {
+                    directories.remove(key);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Watch stopped: " + root + " - " + e.getMessage());
+            close();
+        }
+    }
+    
+    private void collect(Path path, WatchEvent.Kind<?> kind, Set<Path> pending) throws IOException {
+        if (kind == ENTRY_CREATE && Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+            // Files may have been written before the new directory was registered
+            registerTree(path);
+            try (Stream<Path> paths = Files.walk(path)) {
+                paths.filter(GradleIssueDetector::isBuildFile).forEach(pending::add);
+            }
+        } else if (GradleIssueDetector.isBuildFile(path)) {
+            pending.add(path);
+        } else if (kind == ENTRY_DELETE) {
+            // Possibly a directory; re-scan, and so drop, every build file below it
+            for (Path file : knownFiles) {
+                if (file.startsWith(path)) {
+                    pending.add(file);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Every build file on disk plus every one seen before, for when events
+     * were lost and the changed files are not known
+     */
+    private Set<Path> allKnownFiles() throws IOException {
+        Set<Path> files = new LinkedHashSet<>(knownFiles);
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.filter(GradleIssueDetector::isBuildFile).forEach(files::add);
+        }
+        return files;
+    }
+    
+    private void rescan(Set<Path> files) {
+        if (files.isEmpty()) {
+            return;
+        }
+        List<MigrationIssue> fresh = Collections.unmodifiableList(detector.scanFiles(project, files, options));
+        AnalysisMetrics.WATCH_RESCANS.inc();
+        
+        Set<String> changed = new HashSet<>();
+        for (Path file : files) {
+            changed.add(file.toString());
+            if (Files.exists(file, LinkOption.NOFOLLOW_LINKS)) {
+                knownFiles.add(file);
+            } else {
+                knownFiles.remove(file);
+            }
+        }
+        changed = Collections.unmodifiableSet(changed);
+        for (Listener listener : listeners) {
+            listener.rescanned(changed, fresh);
+        }
+    }
+    
+    private void registerTree(Path start) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (!dir.equals(root) && SKIPPED_DIRECTORIES.contains(dir.getFileName().toString())) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                directories.put(dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), dir);
+                return FileVisitResult.CONTINUE;
+            }
+            
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (GradleIssueDetector.isBuildFile(file)) {
+                    knownFiles.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+            
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                // Unreadable directories are not watched
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
@@ -0,0 +1,145 @@
+package com.migration.core.watch;
+
+import com.migration.core.detector.AnalysisOptions;
+import com.migration.core.detector.GradleIssueDetector;
+import com.migration.metrics.AnalysisMetrics;
+import com.migration.util.Constants;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Shares one watcher among the analyses of a project that ran with the same
+ * scan options, since those re-scan a file to the same issues. Each analysis
+ * keeps its own issues. A watcher starts with its first subscriber and stops
+ * with its last.
+ */
+public final class WatchRegistry {
+    
+    private static final WatchRegistry INSTANCE = new WatchRegistry();
+    
+    private final GradleIssueDetector detector = new GradleIssueDetector();
+    private final Map<String, ProjectWatcher> watchers = new HashMap<>();
+    private final Map<LiveAnalysis, WatchedAnalysis> watched = new IdentityHashMap<>();
+    
+    private WatchRegistry() {
+    }
+    
+    public static WatchRegistry getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Subscribes to changes of an analysis, keeping it current while its
+     * project's build files are edited
+     *
+     * @param analysis the analysis to keep current
+     * @param listener receives a delta after each re-scan that changed its issues
+     * @return the watched analysis, to unsubscribe from
+     * @throws IllegalStateException if the watcher limit is reached
+     */
+    public synchronized WatchedAnalysis subscribe(LiveAnalysis analysis, WatchedAnalysis.Listener listener)
+            throws IOException {
+        WatchedAnalysis subscription = watched.get(analysis);
+        if (subscription == null) {
+            String key = watchKey(analysis);
+            ProjectWatcher watcher = watchers.get(key);
+            if (watcher != null && watcher.isClosed()) {
+                // Stopped after an error; start over
+                watchers.remove(key);
+                AnalysisMetrics.WATCHED_PROJECTS.dec();
+                watcher = null;
+            }
+            if (watcher == null) {
+                if (watchers.size() >= Constants.WATCH_MAX_PROJECTS) {
+                    throw new IllegalStateException(Constants.ERROR_WATCH_TOO_MANY + Constants.WATCH_MAX_PROJECTS);
+                }
+                watcher = new ProjectWatcher(analysis.get(), analysis.getOptions(), detector,
+                                             Constants.WATCH_DEBOUNCE_MILLIS, Constants.WATCH_MAX_DELAY_MILLIS);
+                watcher.start();
+                watchers.put(key, watcher);
+                AnalysisMetrics.WATCHED_PROJECTS.inc();
+            }
+            subscription = new WatchedAnalysis(analysis, watcher);
+            watcher.addListener(subscription);
+            watched.put(analysis, subscription);
+        }
+        subscription.addListener(listener);
+        return subscription;
+    }
+    
+    /**
+     * Removes a listener, stopping the watcher when it was the last one
+     */
+    public synchronized void unsubscribe(WatchedAnalysis subscription, WatchedAnalysis.Listener listener) {
+        if (subscription.removeListener(listener) > 0) {
+            return;
+        }
+        detach(subscription);
+    }
+    
+    /**
+     * Stops watching an analysis that was replaced or discarded, closing its
+     * listeners
+     */
+    public void release(LiveAnalysis analysis) {
+        WatchedAnalysis subscription;
+        synchronized (this) {
+            subscription = watched.get(analysis);
+            if (subscription == null) {
+                return;
+            }
+            detach(subscription);
+        }
+        // Outside the lock: listeners unsubscribe as they close
+        subscription.close();
+    }
+    
+    /**
+     * Stops every watcher, for application shutdown
+     */
+    public void closeAll() {
+        ArrayList<WatchedAnalysis> subscriptions;
+        synchronized (this) {
+            subscriptions = new ArrayList<>(watched.values());
+            for (ProjectWatcher watcher : watchers.values()) {
+                watcher.close();
+            }
+            AnalysisMetrics.WATCHED_PROJECTS.set(0);
+            watchers.clear();
+            watched.clear();
+        }
+        for (WatchedAnalysis subscription : subscriptions) {
+            subscription.close();
+        }
+    }
+    
+    private void detach(WatchedAnalysis subscription) {
+        if (watched.remove(subscription.getAnalysis()) != subscription) {
+            return;
+        }
+        ProjectWatcher watcher = subscription.getWatcher();
+        if (watcher.removeListener(subscription) > 0) {
+            return;
+        }
+        watcher.close();
+        if (watchers.remove(watchKey(subscription.getAnalysis()), watcher)) {
+            AnalysisMetrics.WATCHED_PROJECTS.dec();
+        }
+    }
+    
+    /**
+     * The project path and the options that decide a file's issues, with a
+     * wrapper source resolved to the version the analysis read
+     */
+    private static String watchKey(LiveAnalysis analysis) {
+        AnalysisOptions options = analysis.getOptions();
+        String source = options.isSourceFromWrapper() ? "wrapper " + analysis.get().getCurrentGradleVersion()
+                        : String.valueOf(options.getSourceVersion());
+        return analysis.get().getProjectPath() + '\u0000' + source + '\u0000' + options.getTargetVersion() +
+               '\u0000' + options.getMaxIssuesPerPatternPerFile();
+    }
+}
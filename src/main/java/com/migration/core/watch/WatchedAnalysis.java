@@ -0,0 +1,155 @@
+package com.migration.core.watch;
+
+import com.migration.model.IssueDelta;
+import com.migration.model.MigrationIssue;
+import com.migration.model.ProjectInfo;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * One stored analysis fed by a project watcher. Each re-scan is applied to
+ * the analysis' current snapshot, keeping the ids of unchanged issues, and
+ * the difference goes to the analysis' own listeners. Analyses of the same
+ * project share the watcher but not their issues, so one session's fixes or
+ * fresh analysis never show up in another's.
+ */
+public final class WatchedAnalysis implements ProjectWatcher.Listener {
+    
+    /**
+     * Receives the changes of a watched analysis
+     */
+    public interface Listener {
+        /** Called after a re-scan that added or removed issues */
+        void changed(IssueDelta delta);
+        
+        /** Called once when the analysis stops being watched, e.g. because it was replaced */
+        void closed();
+    }
+    
+    private final LiveAnalysis analysis;
+    private final ProjectWatcher watcher;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private long sequence;
+    
+    WatchedAnalysis(LiveAnalysis analysis, ProjectWatcher watcher) {
+        this.analysis = analysis;
+        this.watcher = watcher;
+    }
+    
+    LiveAnalysis getAnalysis() {
+        return analysis;
+    }
+    
+    ProjectWatcher getWatcher() {
+        return watcher;
+    }
+    
+    void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+    
+    /**
+     * @return the number of listeners left
+     */
+    int removeListener(Listener listener) {
+        listeners.remove(listener);
+        return listeners.size();
+    }
+    
+    void close() {
+        for (Listener listener : listeners) {
+            listener.closed();
+        }
+        listeners.clear();
+    }
+    
+    /**
+     * Returns an empty delta carrying the current totals and sequence number,
+     * for clients that start listening
+     */
+    public synchronized IssueDelta snapshot() {
+        ProjectInfo projectInfo = analysis.get();
+        IssueDelta delta = new IssueDelta();
+        delta.setProjectPath(projectInfo.getProjectPath());
+        delta.setSequence(sequence);
+        delta.setTotalIssues(projectInfo.getTotalIssues());
+        delta.setCriticalIssues(projectInfo.getCriticalIssues());
+        delta.setAutoFixableIssues(projectInfo.getAutoFixableIssues());
+        return delta;
+    }
+    
+    @Override
+    public void rescanned(Set<String> changedFiles, List<MigrationIssue> fresh) {
+        IssueDelta delta;
+        synchronized (this) {
+            ProjectInfo before;
+            ProjectInfo after;
+            do {
+                // Retried when a fix published a snapshot meanwhile
+                before = analysis.get();
+                delta = new IssueDelta();
+                after = apply(before, changedFiles, fresh, delta);
+            } while (after != before && !analysis.compareAndSet(before, after));
+            if (delta.isEmpty()) {
+                return;
+            }
+            sequence++;
+            delta.setProjectPath(after.getProjectPath());
+            delta.setSequence(sequence);
+            delta.getChangedFiles().addAll(changedFiles);
+            delta.setTotalIssues(after.getTotalIssues());
+            delta.setCriticalIssues(after.getCriticalIssues());
+            delta.setAutoFixableIssues(after.getAutoFixableIssues());
+        }
+        for (Listener listener : listeners) {
+            listener.changed(delta);
+        }
+    }
+    
+    /**
+     * Replaces the issues of the changed files with the fresh ones, filling
+     * in the delta
+     *
+     * @return the new snapshot, or the given one if nothing changed
+     */
+    private static ProjectInfo apply(ProjectInfo projectInfo, Set<String> changedFiles,
+                                     List<MigrationIssue> fresh, IssueDelta delta) {
+        // Issues of untouched files carry over as they are
+        List<MigrationIssue> issues = new ArrayList<>();
+        Map<String, Deque<MigrationIssue>> previous = new HashMap<>();
+        for (MigrationIssue issue : projectInfo.getIssues()) {
+            if (changedFiles.contains(issue.getFilePath())) {
+                previous.computeIfAbsent(key(issue), k -> new ArrayDeque<>()).add(issue);
+            } else {
+                issues.add(issue);
+            }
+        }
+        
+        for (MigrationIssue issue : fresh) {
+            Deque<MigrationIssue> same = previous.get(key(issue));
+            if (same != null && !same.isEmpty()) {
+                // Unchanged, keep the old id so client selections stay valid
+                issues.add(same.poll());
+            } else {
+                issues.add(issue);
+                delta.getAdded().add(issue);
+            }
+        }
+        for (Deque<MigrationIssue> gone : previous.values()) {
+            for (MigrationIssue issue : gone) {
+                delta.getRemoved().add(issue.getId());
+            }
+        }
+        return delta.isEmpty() ? projectInfo : LiveAnalysis.withIssues(projectInfo, issues);
+    }
+    
+    /**
+     * Identity of an issue across re-scans. Lines that move get a new identity,
+     * which shows up as a removal plus an addition.
+     */
+    private static String key(MigrationIssue issue) {
+        return issue.getType() + '\u0000' + issue.getFilePath() + '\u0000' +
+               issue.getLineNumber() + '\u0000' + issue.getCurrentCode();
+    }
+}
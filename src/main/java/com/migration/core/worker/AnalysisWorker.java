@@ -0,0 +1,161 @@
+package com.migration.core.worker;
+
+import com.migration.core.detector.CancellationToken;
+import com.migration.core.detector.GradleIssueDetector;
+import com.migration.exception.GitException;
+import com.migration.model.ProjectInfo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Entry point of an analysis worker JVM, started by {@link WorkerPool}.
+ *
+ * Jobs arrive on standard input and results leave on standard output, one
+ * job at a time. The main thread reads frames, so a cancel frame reaches the
+ * running analysis; the analysis runs on a second thread. The worker exits
+ * when the server closes its standard input, which also happens when the
+ * server dies, and after reporting a job that failed with an Error.
+ */
+public final class AnalysisWorker {
+    
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private final GradleIssueDetector detector = new GradleIssueDetector();
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "analysis-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Token of the running job, null between jobs
+    private volatile CancellationToken running;
+    
+    AnalysisWorker(DataInputStream in, DataOutputStream out) {
+        this.in = in;
+        this.out = out;
+    }
+    
+    public static void main(String[] args) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(FileDescriptor.in)));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+        // Standard output carries the results; anything printed goes to the server's log instead
+        System.setOut(System.err);
+        new AnalysisWorker(in, out).serve();
+        System.exit(0);
+    }
+    
+    /**
+     * Runs jobs until the server closes the input
+     */
+    void serve() throws IOException {
+        while (true) {
+            int tag;
+            try {
+                tag = WorkerProtocol.readTag(in);
+            } catch (EOFException e) {
+                return;
+            }
+            switch (tag) {
+                case WorkerProtocol.JOB:
+                    WorkerProtocol.Job job = WorkerProtocol.readJob(in);
+                    // Set here rather than on the runner, so a cancel sent for the previous job cannot reach this one
+                    CancellationToken token = CancellationToken.withTimeout(job.timeoutMillis);
+                    job.options.setCancellation(token);
+                    running = token;
+                    runner.execute(() -> run(job));
+                    break;
+                case WorkerProtocol.CANCEL:
+                    CancellationToken current = running;
+                    if (current != null) {
+                        current.cancel();
+                    }
+                    break;
+                default:
+                    throw new IOException("Unknown frame " + tag);
+            }
+        }
+    }
+    
+    private void run(WorkerProtocol.Job job) {
+        try {
+            ProjectInfo projectInfo;
+            int failureKind = WorkerProtocol.FAILURE_IO;
+            String failure = null;
+            try {
+                projectInfo = detector.analyzeProject(job.projectPath, job.options);
+            } catch (CancellationException e) {
+                running = null;
+                reply(() -> out.write(WorkerProtocol.CANCELLED));
+                return;
+            } catch (GitException e) {
+                projectInfo = null;
+                failureKind = WorkerProtocol.FAILURE_GIT;
+                failure = e.getMessage();
+            } catch (IOException | RuntimeException e) {
+                projectInfo = null;
+                failure = e.getMessage() != null ? e.getMessage() : e.toString();
+            } catch (Error e) {
+                // A missing class or resource, or the heap exhausted: later jobs would fail the same way
+                projectInfo = null;
+                failureKind = WorkerProtocol.FAILURE_FATAL;
+                failure = e.toString();
+            }
+            running = null;
+            
+            if (projectInfo == null) {
+                int kind = failureKind;
+                String message = failure;
+                reply(() -> WorkerProtocol.writeFailure(out, kind, message));
+                if (kind == WorkerProtocol.FAILURE_FATAL) {
+                    System.exit(1);
+                }
+            } else {
+                ProjectInfo result = projectInfo;
+                reply(() -> WorkerProtocol.writeResult(out, result, liveHeapBytes(), Runtime.getRuntime().maxMemory()));
+            }
+        } catch (IOException e) {
+            // The server is gone
+            System.exit(1);
+        }
+    }
+    
+    private interface Frame {
+        void write() throws IOException;
+    }
+    
+    private void reply(Frame frame) throws IOException {
+        synchronized (out) {
+            frame.write();
+            out.flush();
+        }
+    }
+    
+    /**
+     * Heap in use after the last collection of each pool, which unlike the
+     * current use leaves out garbage not collected yet
+     */
+    private static long liveHeapBytes() {
+        long live = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                MemoryUsage usage = pool.getCollectionUsage();
+                live += usage != null ? usage.getUsed() : pool.getUsage().getUsed();
+            }
+        }
+        return live;
+    }
+}
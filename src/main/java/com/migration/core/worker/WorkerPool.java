@@ -0,0 +1,394 @@
+package com.migration.core.worker;
+
+import com.google.gson.Gson;
+import com.migration.core.detector.AnalysisOptions;
+import com.migration.core.detector.CancellationToken;
+import com.migration.metrics.AnalysisMetrics;
+import com.migration.model.ProjectInfo;
+import com.migration.util.Constants;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URISyntaxException;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs analyses in child JVMs, so a project too large for its worker's heap
+ * fails alone instead of pushing the server into GC thrashing or an
+ * OutOfMemoryError that takes every session down.
+ *
+ * The pool holds up to {@value Constants#WORKERS_PROPERTY} workers, started
+ * on first use, each with its own maximum heap. A caller takes an idle worker
+ * or waits for one, so at most that many analyses run in workers at once.
+ * A worker is replaced after {@value Constants#WORKER_MAX_JOBS_PROPERTY}
+ * jobs, when its heap is still mostly full after a collection, or when it
+ * exits; a worker that runs out of memory exits and its analysis fails.
+ *
+ * Workers run with the classpath of this class and Gson, which suits an
+ * expanded deployment, or with {@value Constants#WORKER_CLASSPATH_PROPERTY},
+ * such as the CLI jar. The server's gradle.migration.* system properties are
+ * passed on.
+ */
+public final class WorkerPool {
+    
+    // How often callers waiting for a worker, and running jobs, are checked for cancellation
+    private static final long CANCEL_POLL_MILLIS = 100;
+    // How long a stopped worker may take to exit before it is killed
+    private static final long EXIT_TIMEOUT_SECONDS = 5;
+    
+    private static final WorkerPool INSTANCE = new WorkerPool(
+        Math.max(0, Integer.getInteger(Constants.WORKERS_PROPERTY, 0)),
+        System.getProperty(Constants.WORKER_HEAP_PROPERTY, Constants.WORKER_DEFAULT_HEAP),
+        Math.max(1, Integer.getInteger(Constants.WORKER_MAX_JOBS_PROPERTY, Constants.WORKER_DEFAULT_MAX_JOBS)));
+    
+    private final int size;
+    private final String heap;
+    private final int maxJobs;
+    
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    // Most recently used first, so the warmest workers take the next jobs
+    private final ArrayDeque<Worker> idle = new ArrayDeque<>();
+    private int started;
+    private boolean shutdown;
+    private final Set<Worker> busy = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService canceller;
+    
+    /**
+     * @param size workers run at once; 0 disables the pool
+     * @param heap maximum heap of each worker, as for -Xmx
+     * @param maxJobs jobs a worker runs before it is replaced
+     */
+    public WorkerPool(int size, String heap, int maxJobs) {
+        this.size = size;
+        this.heap = heap;
+        this.maxJobs = maxJobs;
+    }
+    
+    public static WorkerPool getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Checks whether analyses should run in workers
+     */
+    public boolean isEnabled() {
+        return size > 0;
+    }
+    
+    /**
+     * Analyzes a project in a worker, as {@link com.migration.core.detector.GradleIssueDetector#analyzeProject}
+     * would. The options' cancellation token is forwarded to the worker, and
+     * its deadline is the worker's.
+     *
+     * @throws CancellationException if the analysis was cancelled
+     * @throws RejectedExecutionException if the pool has been shut down
+     * @throws IOException if the analysis failed, or its worker died
+     */
+    public ProjectInfo analyze(String projectPath, AnalysisOptions options) throws IOException {
+        Worker worker = acquire(options.getCancellation());
+        String exitReason = null;
+        AnalysisMetrics.WORKERS_BUSY.inc();
+        try {
+            WorkerProtocol.Result result = worker.run(projectPath, options);
+            if (++worker.jobs >= maxJobs) {
+                exitReason = "jobs";
+            } else if (result.liveHeapBytes > result.maxHeapBytes * Constants.WORKER_RECYCLE_HEAP_FRACTION) {
+                exitReason = "memory";
+            }
+            return result.projectInfo;
+        } finally {
+            AnalysisMetrics.WORKERS_BUSY.dec();
+            release(worker, worker.broken ? "crashed" : exitReason);
+        }
+    }
+    
+    /**
+     * Stops every worker. Running analyses finish first; later ones are rejected.
+     */
+    public void shutdown() {
+        stopIdle(true, "shutdown");
+    }
+    
+    /**
+     * Stops the idle workers but keeps the pool open, for a checkpoint of the
+     * server: child processes cannot be part of it. Later analyses start new
+     * workers.
+     */
+    public void stopIdle() {
+        stopIdle(false, "checkpoint");
+    }
+    
+    private void stopIdle(boolean shutdownPool, String exitReason) {
+        List<Worker> stopping;
+        lock.lock();
+        try {
+            stopping = new ArrayList<>(idle);
+            started -= idle.size();
+            idle.clear();
+            if (shutdownPool) {
+                shutdown = true;
+                if (canceller != null) {
+                    canceller.shutdownNow();
+                }
+            }
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        for (Worker worker : stopping) {
+            worker.stop();
+            AnalysisMetrics.WORKER_EXITS.labels(exitReason).increment();
+        }
+    }
+    
+    private Worker acquire(CancellationToken cancellation) throws IOException {
+        lock.lock();
+        try {
+            while (true) {
+                if (shutdown) {
+                    throw new RejectedExecutionException(Constants.ERROR_WORKER_FAILED + "the worker pool is shut down");
+                }
+                Worker worker = idle.pollFirst();
+                if (worker != null) {
+                    if (worker.process.isAlive()) {
+                        return worker;
+                    }
+                    // Died while idle
+                    worker.stop();
+                    started--;
+                    AnalysisMetrics.WORKER_EXITS.labels("crashed").increment();
+                    continue;
+                }
+                if (started < size) {
+                    started++;
+                    break;
+                }
+                if (cancellation != null) {
+                    cancellation.throwIfCancelled();
+                }
+                available.await(CANCEL_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            if (canceller == null) {
+                canceller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "analysis-worker-canceller");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                canceller.scheduleWithFixedDelay(this::forwardCancellations, CANCEL_POLL_MILLIS,
+                                                 CANCEL_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for an analysis worker");
+        } finally {
+            lock.unlock();
+        }
+        
+        // Started outside the lock: launching a JVM takes a while
+        try {
+            return new Worker(command());
+        } catch (IOException | RuntimeException e) {
+            release(null, null);
+            throw e;
+        }
+    }
+    
+    /**
+     * Returns a worker to the pool, or stops it if given a reason
+     */
+    private void release(Worker worker, String exitReason) {
+        boolean stop = exitReason != null;
+        lock.lock();
+        try {
+            if (worker != null && !stop && shutdown) {
+                stop = true;
+                exitReason = "shutdown";
+            }
+            if (worker == null || stop) {
+                started--;
+            } else {
+                idle.addFirst(worker);
+            }
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (worker != null && stop) {
+            worker.stop();
+            AnalysisMetrics.WORKER_EXITS.labels(exitReason).increment();
+        }
+    }
+    
+    private void forwardCancellations() {
+        for (Worker worker : busy) {
+            CancellationToken cancellation = worker.cancellation;
+            if (cancellation != null && cancellation.isCancelled()) {
+                worker.cancel();
+            }
+        }
+    }
+    
+    private List<String> command() throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Xmx" + heap);
+        // Fail the one analysis rather than leave a worker limping on
+        command.add("-XX:+ExitOnOutOfMemoryError");
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith(Constants.SYSTEM_PROPERTY_PREFIX) && !name.equals(Constants.WORKERS_PROPERTY)) {
+                command.add("-D" + name + "=" + System.getProperty(name));
+            }
+        }
+        command.add("-cp");
+        command.add(classpath());
+        command.add(AnalysisWorker.class.getName());
+        return command;
+    }
+    
+    private static String classpath() throws IOException {
+        String configured = System.getProperty(Constants.WORKER_CLASSPATH_PROPERTY);
+        if (configured != null && !configured.isBlank()) {
+            return configured.trim();
+        }
+        Set<String> entries = new LinkedHashSet<>();
+        for (Class<?> type : new Class<?>[] {AnalysisWorker.class, Gson.class}) {
+            CodeSource source = type.getProtectionDomain().getCodeSource();
+            if (source == null || !"file".equals(source.getLocation().getProtocol())) {
+                throw new IOException(Constants.ERROR_WORKER_FAILED + "cannot locate " + type.getName()
+                                      + " on disk; set " + Constants.WORKER_CLASSPATH_PROPERTY);
+            }
+            try {
+                entries.add(Paths.get(source.getLocation().toURI()).toString());
+            } catch (URISyntaxException e) {
+                throw new IOException(Constants.ERROR_WORKER_FAILED + "invalid location " + source.getLocation(), e);
+            }
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+    
+    /**
+     * One child JVM and its pipes
+     */
+    private final class Worker {
+        private final Process process;
+        private final DataOutputStream out;
+        private final DataInputStream in;
+        private int jobs;
+        private boolean broken;
+        // Token of the running job, watched by the canceller
+        private volatile CancellationToken cancellation;
+        private boolean cancelSent;
+        
+        Worker(List<String> command) throws IOException {
+            process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+            out = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+            in = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+        }
+        
+        WorkerProtocol.Result run(String projectPath, AnalysisOptions options) throws IOException {
+            IOException failure;
+            try {
+                // Starting the worker may have taken long enough for the analysis to be cancelled
+                if (options.getCancellation() != null) {
+                    options.getCancellation().throwIfCancelled();
+                }
+                synchronized (out) {
+                    WorkerProtocol.writeJob(out, projectPath, options);
+                    out.flush();
+                    cancelSent = false;
+                }
+                cancellation = options.getCancellation();
+                busy.add(this);
+                
+                int tag = WorkerProtocol.readTag(in);
+                switch (tag) {
+                    case WorkerProtocol.RESULT:
+                        return WorkerProtocol.readResult(in);
+                    case WorkerProtocol.CANCELLED:
+                        throw new CancellationException("Analysis cancelled");
+                    case WorkerProtocol.FAILED:
+                        int kind = WorkerProtocol.readFailureKind(in);
+                        failure = WorkerProtocol.readFailure(in, kind);
+                        // After an Error the worker exits, and must not be handed out meanwhile
+                        broken = kind == WorkerProtocol.FAILURE_FATAL;
+                        break;
+                    default:
+                        throw new IOException("unknown frame " + tag);
+                }
+            } catch (IOException e) {
+                broken = true;
+                throw new IOException(Constants.ERROR_WORKER_FAILED + describeFailure(e), e);
+            } finally {
+                busy.remove(this);
+                cancellation = null;
+            }
+            // The analysis failed; unless broken, the worker is fine
+            throw failure;
+        }
+        
+        void cancel() {
+            synchronized (out) {
+                if (cancelSent || cancellation == null) {
+                    return;
+                }
+                cancelSent = true;
+                try {
+                    out.write(WorkerProtocol.CANCEL);
+                    out.flush();
+                } catch (IOException e) {
+                    // The worker died; its job fails when the pipe is read
+                }
+            }
+        }
+        
+        /**
+         * Closes the worker's input, which makes it exit, and kills it if it
+         * does not
+         */
+        void stop() {
+            try {
+                out.close();
+            } catch (IOException e) {
+                // Already gone
+            }
+            process.onExit()
+                .orTimeout(EXIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .exceptionally(timeout -> {
+                    process.destroyForcibly();
+                    return null;
+                });
+        }
+        
+        private String describeFailure(IOException e) {
+            try {
+                if (process.waitFor(1, TimeUnit.SECONDS)) {
+                    // Out of memory among others; the worker's own output is in the server log
+                    return "worker exited with status " + process.exitValue();
+                }
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return e.getMessage() != null ? e.getMessage() : e.toString();
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.migration.core.worker;
+
+import com.google.gson.Gson;
+import com.migration.core.detector.AnalysisOptions;
+import com.migration.exception.GitException;
+import com.migration.model.AnalysisProfile;
+import com.migration.model.MigrationIssue;
+import com.migration.model.ProjectInfo;
+import com.migration.util.Constants;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Frames exchanged between the server and an analysis worker over the
+ * worker's standard input and output.
+ *
+ * Each frame is a tag byte and a body. Integers are unsigned varints.
+ * Strings are written once per frame and referred to by number afterwards,
+ * so the type, severity, title, explanation and path shared by many issues
+ * cost a byte or two each after their first use.
+ */
+final class WorkerProtocol {
+    
+    // Server to worker
+    static final int JOB = 'J';
+    static final int CANCEL = 'C';
+    // Worker to server
+    static final int RESULT = 'R';
+    static final int CANCELLED = 'X';
+    static final int FAILED = 'F';
+    
+    // Kinds of failure, so the server throws what an analysis in its own JVM would
+    static final int FAILURE_IO = 0;
+    static final int FAILURE_GIT = 1;
+    // An Error such as a LinkageError, after which the worker exits rather than take more jobs
+    static final int FAILURE_FATAL = 2;
+    
+    private static final Gson GSON = new Gson();
+    
+    private WorkerProtocol() {
+        throw new AssertionError("Cannot instantiate WorkerProtocol class");
+    }
+    
+    /**
+     * Writes an analysis request. The cancellation token stays behind; its
+     * remaining time travels as a timeout.
+     */
+    static void writeJob(DataOutputStream out, String projectPath, AnalysisOptions options) throws IOException {
+        Writer writer = new Writer(out);
+        out.write(JOB);
+        writer.string(projectPath);
+        out.writeBoolean(options.isProfile());
+        writer.string(options.getChangedSince());
+        writer.string(options.isSourceFromWrapper() ? Constants.SOURCE_VERSION_WRAPPER
+                      : options.getSourceVersion() != null ? options.getSourceVersion().toString() : null);
+        writer.string(options.getTargetVersion().toString());
+        writeVarint(out, options.getMaxIssuesPerPatternPerFile());
+        writeVarlong(out, options.getCancellation() != null ? options.getCancellation().remainingMillis() : 0);
+    }
+    
+    /**
+     * An analysis request read by a worker
+     */
+    static final class Job {
+        final String projectPath;
+        final AnalysisOptions options;
+        final long timeoutMillis;
+        
+        Job(String projectPath, AnalysisOptions options, long timeoutMillis) {
+            this.projectPath = projectPath;
+            this.options = options;
+            this.timeoutMillis = timeoutMillis;
+        }
+    }
+    
+    /**
+     * Reads the body of a {@link #JOB} frame
+     */
+    static Job readJob(DataInputStream in) throws IOException {
+        Reader reader = new Reader(in);
+        String projectPath = reader.string();
+        AnalysisOptions options = new AnalysisOptions();
+        options.setProfile(in.readBoolean());
+        options.setChangedSince(reader.string());
+        String source = reader.string();
+        options.setVersions(source, reader.string());
+        options.setMaxIssuesPerPatternPerFile(readVarint(in));
+        return new Job(projectPath, options, readVarlong(in));
+    }
+    
+    /**
+     * Writes a finished analysis, with the worker's heap after its last
+     * collection so the server can tell when to replace it
+     */
+    static void writeResult(DataOutputStream out, ProjectInfo projectInfo, long liveHeapBytes, long maxHeapBytes)
+            throws IOException {
+        Writer writer = new Writer(out);
+        out.write(RESULT);
+        writer.string(projectInfo.getProjectPath());
+        writer.string(projectInfo.getProjectName());
+        writer.string(projectInfo.getCurrentGradleVersion());
+        out.writeBoolean(projectInfo.isMultiModule());
+        writer.strings(projectInfo.getModules());
+        writeVarint(out, projectInfo.getTotalIssues());
+        writeVarint(out, projectInfo.getCriticalIssues());
+        writeVarint(out, projectInfo.getAutoFixableIssues());
+        // Small and rare: not worth a binary layout of its own
+        writer.string(projectInfo.getProfile() != null ? GSON.toJson(projectInfo.getProfile()) : null);
+        out.writeBoolean(projectInfo.isIncomplete());
+        writer.string(projectInfo.getChangedSince());
+        
+        List<MigrationIssue> issues = projectInfo.getIssues();
+        writeVarint(out, issues != null ? issues.size() + 1 : 0);
+        if (issues != null) {
+            for (MigrationIssue issue : issues) {
+                writer.string(issue.getId());
+                writer.string(issue.getType());
+                writer.string(issue.getSeverity());
+                writer.string(issue.getTitle());
+                writer.string(issue.getDescription());
+                writer.string(issue.getFilePath());
+                writeVarint(out, Math.max(0, issue.getLineNumber()));
+                writer.string(issue.getCurrentCode());
+                writer.string(issue.getSuggestedFix());
+                writer.string(issue.getExplanation());
+                out.writeBoolean(issue.isAutoFixable());
+                writer.strings(issue.getAffectedModules());
+            }
+        }
+        
+        writeVarlong(out, liveHeapBytes);
+        writeVarlong(out, maxHeapBytes);
+    }
+    
+    /**
+     * A finished analysis read by the server
+     */
+    static final class Result {
+        final ProjectInfo projectInfo;
+        final long liveHeapBytes;
+        final long maxHeapBytes;
+        
+        Result(ProjectInfo projectInfo, long liveHeapBytes, long maxHeapBytes) {
+            this.projectInfo = projectInfo;
+            this.liveHeapBytes = liveHeapBytes;
+            this.maxHeapBytes = maxHeapBytes;
+        }
+    }
+    
+    /**
+     * Reads the body of a {@link #RESULT} frame
+     */
+    static Result readResult(DataInputStream in) throws IOException {
+        Reader reader = new Reader(in);
+        ProjectInfo projectInfo = new ProjectInfo();
+        projectInfo.setProjectPath(reader.string());
+        projectInfo.setProjectName(reader.string());
+        projectInfo.setCurrentGradleVersion(reader.string());
+        projectInfo.setMultiModule(in.readBoolean());
+        projectInfo.setModules(reader.strings());
+        projectInfo.setTotalIssues(readVarint(in));
+        projectInfo.setCriticalIssues(readVarint(in));
+        projectInfo.setAutoFixableIssues(readVarint(in));
+        String profile = reader.string();
+        projectInfo.setProfile(profile != null ? GSON.fromJson(profile, AnalysisProfile.class) : null);
+        projectInfo.setIncomplete(in.readBoolean());
+        projectInfo.setChangedSince(reader.string());
+        
+        int count = readVarint(in) - 1;
+        // Set even when null, rather than keep the empty list a new ProjectInfo starts with
+        List<MigrationIssue> issues = null;
+        if (count >= 0) {
+            issues = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                MigrationIssue issue = new MigrationIssue();
+                issue.setId(reader.string());
+                issue.setType(reader.string());
+                issue.setSeverity(reader.string());
+                issue.setTitle(reader.string());
+                issue.setDescription(reader.string());
+                issue.setFilePath(reader.string());
+                issue.setLineNumber(readVarint(in));
+                issue.setCurrentCode(reader.string());
+                issue.setSuggestedFix(reader.string());
+                issue.setExplanation(reader.string());
+                issue.setAutoFixable(in.readBoolean());
+                issue.setAffectedModules(reader.strings());
+                issues.add(issue);
+            }
+        }
+        projectInfo.setIssues(issues);
+        
+        return new Result(projectInfo, readVarlong(in), readVarlong(in));
+    }
+    
+    static void writeFailure(DataOutputStream out, int kind, String message) throws IOException {
+        out.write(FAILED);
+        out.write(kind);
+        new Writer(out).string(message);
+    }
+    
+    /**
+     * Reads the kind of failure at the start of a {@link #FAILED} frame's body
+     */
+    static int readFailureKind(DataInputStream in) throws IOException {
+        return in.readUnsignedByte();
+    }
+    
+    /**
+     * Reads the rest of a {@link #FAILED} frame's body as the exception to throw
+     */
+    static IOException readFailure(DataInputStream in, int kind) throws IOException {
+        String message = new Reader(in).string();
+        return kind == FAILURE_GIT ? new GitException(message) : new IOException(message);
+    }
+    
+    /**
+     * Reads a frame's tag
+     *
+     * @throws EOFException if the other side has closed the stream
+     */
+    static int readTag(DataInputStream in) throws IOException {
+        int tag = in.read();
+        if (tag < 0) {
+            throw new EOFException();
+        }
+        return tag;
+    }
+    
+    static void writeVarint(DataOutputStream out, int value) throws IOException {
+        writeVarlong(out, value & 0xFFFFFFFFL);
+    }
+    
+    static int readVarint(DataInputStream in) throws IOException {
+        return (int) readVarlong(in);
+    }
+    
+    static void writeVarlong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+    
+    static long readVarlong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+    
+    /**
+     * Writes the strings of one frame: 0 for null, 1 and the UTF-8 bytes for
+     * a string not written before in the frame, or its number plus 2
+     */
+    private static final class Writer {
+        private final DataOutputStream out;
+        private final Map<String, Integer> written = new HashMap<>();
+        
+        Writer(DataOutputStream out) {
+            this.out = out;
+        }
+        
+        void string(String value) throws IOException {
+            if (value == null) {
+                writeVarint(out, 0);
+                return;
+            }
+            Integer number = written.get(value);
+            if (number != null) {
+                writeVarint(out, number + 2);
+                return;
+            }
+            written.put(value, written.size());
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(out, 1);
+            writeVarint(out, bytes.length);
+            out.write(bytes);
+        }
+        
+        void strings(List<String> values) throws IOException {
+            writeVarint(out, values != null ? values.size() + 1 : 0);
+            if (values != null) {
+                for (String value : values) {
+                    string(value);
+                }
+            }
+        }
+    }
+    
+    private static final class Reader {
+        private final DataInputStream in;
+        private final List<String> read = new ArrayList<>();
+        
+        Reader(DataInputStream in) {
+            this.in = in;
+        }
+        
+        String string() throws IOException {
+            int code = readVarint(in);
+            if (code == 0) {
+                return null;
+            }
+            if (code >= 2) {
+                if (code - 2 >= read.size()) {
+                    throw new IOException("Malformed string reference " + code);
+                }
+                return read.get(code - 2);
+            }
+            byte[] bytes = new byte[readVarint(in)];
+            in.readFully(bytes);
+            String value = new String(bytes, StandardCharsets.UTF_8);
+            read.add(value);
+            return value;
+        }
+        
+        List<String> strings() throws IOException {
+            int count = readVarint(in) - 1;
+            if (count < 0) {
+                return null;
+            }
+            List<String> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(string());
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.migration.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event: traversal of a project tree collecting the build files to scan.
+ * One per full analysis; analyses of the files changed since a revision list them through Git instead.
+ */
+@Name("com.migration.DirectoryWalk")
+@Label("Directory Walk")
+@Description("Traversal of a project tree collecting the build files to scan")
+@Category({"Gradle Migration", "Detector"})
+@Enabled(false)
+@StackTrace(false)
+public class DirectoryWalkEvent extends Event {
+    
+    @Label("Root")
+    public String root;
+    
+    @Label("Files Found")
+    public int filesFound;
+}
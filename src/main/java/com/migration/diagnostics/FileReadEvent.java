@@ -0,0 +1,30 @@
+package com.migration.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event: read and decode of one build file.
+ * Reads served from the file cache are recorded too, with their short duration.
+ */
+@Name("com.migration.FileRead")
+@Label("Build File Read")
+@Description("Read and decode of one build file")
+@Category({"Gradle Migration", "Detector"})
+@Enabled(false)
+@StackTrace(false)
+public class FileReadEvent extends Event {
+    
+    @Label("Path")
+    public String path;
+    
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
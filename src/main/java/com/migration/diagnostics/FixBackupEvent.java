@@ -0,0 +1,30 @@
+package com.migration.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event: copy of a build file to its backup before a fix.
+ * Taken once per file however many of its issues are fixed.
+ */
+@Name("com.migration.FixBackup")
+@Label("Fix Backup")
+@Description("Copy of a build file to its backup before a fix")
+@Category({"Gradle Migration", "Fixer"})
+@Enabled(false)
+@StackTrace(false)
+public class FixBackupEvent extends Event {
+    
+    @Label("Path")
+    public String path;
+    
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
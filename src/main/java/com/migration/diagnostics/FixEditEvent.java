@@ -0,0 +1,36 @@
+package com.migration.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event: in-memory rewrite of a build file for one issue.
+ * The size is of the content before the edit, in UTF-8 bytes.
+ */
+@Name("com.migration.FixEdit")
+@Label("Fix Edit")
+@Description("In-memory rewrite of a build file for one issue")
+@Category({"Gradle Migration", "Fixer"})
+@Enabled(false)
+@StackTrace(false)
+public class FixEditEvent extends Event {
+    
+    @Label("Path")
+    public String path;
+    
+    @Label("Issue Type")
+    public String issueType;
+    
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+    
+    @Label("Changed")
+    public boolean changed;
+}
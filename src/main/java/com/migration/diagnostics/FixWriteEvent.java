@@ -0,0 +1,30 @@
+package com.migration.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event: write of a fixed build file back to disk.
+ * The size is the number of UTF-8 bytes written.
+ */
+@Name("com.migration.FixWrite")
+@Label("Fix Write")
+@Description("Write of a fixed build file back to disk")
+@Category({"Gradle Migration", "Fixer"})
+@Enabled(false)
+@StackTrace(false)
+public class FixWriteEvent extends Event {
+    
+    @Label("Path")
+    public String path;
+    
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,28 @@
+package com.migration.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event: serialization of an API response to JSON.
+ * Counted in characters, since the response is written as text.
+ */
+@Name("com.migration.JsonWrite")
+@Label("JSON Write")
+@Description("Serialization of an API response to JSON")
+@Category({"Gradle Migration", "API"})
+@Enabled(false)
+@StackTrace(false)
+public class JsonWriteEvent extends Event {
+    
+    @Label("Endpoint")
+    public String endpoint;
+    
+    @Label("Characters")
+    public long characters;
+}
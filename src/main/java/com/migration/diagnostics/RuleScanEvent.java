@@ -0,0 +1,36 @@
+package com.migration.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event: match of one detection rule against one build file.
+ * Rules skipped by their literal prefilter record no event.
+ */
+@Name("com.migration.RuleScan")
+@Label("Rule Scan")
+@Description("Match of one detection rule against one build file")
+@Category({"Gradle Migration", "Detector"})
+@Enabled(false)
+@StackTrace(false)
+public class RuleScanEvent extends Event {
+    
+    @Label("Path")
+    public String path;
+    
+    @Label("Rule")
+    public String rule;
+    
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+    
+    @Label("Matches")
+    public int matches;
+}
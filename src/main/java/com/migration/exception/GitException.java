@@ -0,0 +1,18 @@
+package com.migration.exception;
+
+import java.io.IOException;
+
+/**
+ * Exception thrown when a Git repository cannot be read or a revision cannot
+ * be resolved
+ */
+public class GitException extends IOException {
+    
+    public GitException(String message) {
+        super(message);
+    }
+    
+    public GitException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,128 @@
+package com.migration.metrics;
+
+/**
+ * Metrics recorded by the detector, the fixer and the servlets
+ */
+public final class AnalysisMetrics {
+    
+    private static final MetricsRegistry REGISTRY = MetricsRegistry.getInstance();
+    
+    public static final Histogram ANALYSIS_DURATION = REGISTRY.register(new Histogram(
+        "gradle_migration_analysis_duration_seconds",
+        "Wall time of a project analysis",
+        Histogram.DURATION_BUCKETS));
+    
+    public static final Histogram ANALYSIS_FILES_PER_SECOND = REGISTRY.register(new Histogram(
+        "gradle_migration_analysis_files_per_second",
+        "Build files scanned per second by one analysis",
+        Histogram.RATE_BUCKETS));
+    
+    public static final Histogram ANALYSIS_BYTES_READ = REGISTRY.register(new Histogram(
+        "gradle_migration_analysis_read_bytes",
+        "Bytes of build files read by one analysis",
+        Histogram.BYTE_BUCKETS));
+    
+    public static final Counter FILES_SCANNED = REGISTRY.register(new Counter(
+        "gradle_migration_files_scanned_total",
+        "Build files scanned"));
+    
+    public static final Counter BYTES_READ = REGISTRY.register(new Counter(
+        "gradle_migration_bytes_read_total",
+        "Bytes of build files read"));
+    
+    public static final Counter SCAN_ERRORS = REGISTRY.register(new Counter(
+        "gradle_migration_scan_errors_total",
+        "Build files that could not be read"));
+    
+    public static final Histogram RULE_MATCH_DURATION = REGISTRY.register(new Histogram(
+        "gradle_migration_rule_match_seconds",
+        "Time spent matching one rule against one file",
+        Histogram.FINE_DURATION_BUCKETS, "rule"));
+    
+    public static final Counter RULE_HITS = REGISTRY.register(new Counter(
+        "gradle_migration_rule_hits_total",
+        "Issues reported per rule",
+        "rule"));
+    
+    public static final Counter RULE_SKIPS = REGISTRY.register(new Counter(
+        "gradle_migration_rule_skips_total",
+        "Rule runs skipped because the file lacks every literal the rule requires",
+        "rule"));
+    
+    public static final Gauge ANALYSES_IN_FLIGHT = REGISTRY.register(new Gauge(
+        "gradle_migration_analyses_in_flight",
+        "Analyses currently running"));
+    
+    public static final Counter ANALYSES_STOPPED = REGISTRY.register(new Counter(
+        "gradle_migration_analyses_stopped_total",
+        "Analyses stopped before scanning every file, by reason: cancelled or deadline",
+        "reason"));
+    
+    public static final Histogram SCHEDULER_WAIT = REGISTRY.register(new Histogram(
+        "gradle_migration_scheduler_wait_seconds",
+        "Time analyses waited for a slot, by priority class",
+        Histogram.DURATION_BUCKETS, "priority"));
+    
+    public static final Gauge SCHEDULER_QUEUED = REGISTRY.register(new Gauge(
+        "gradle_migration_scheduler_queued",
+        "Analyses waiting for a slot, by priority class",
+        "priority"));
+    
+    public static final Gauge SCHEDULER_RUNNING = REGISTRY.register(new Gauge(
+        "gradle_migration_scheduler_running",
+        "Analyses holding a slot, by priority class",
+        "priority"));
+    
+    public static final Counter SCHEDULER_REJECTED = REGISTRY.register(new Counter(
+        "gradle_migration_scheduler_rejected_total",
+        "Analyses rejected because their priority class' queue was full",
+        "priority"));
+    
+    public static final Histogram FIX_BATCH_DURATION = REGISTRY.register(new Histogram(
+        "gradle_migration_fix_batch_duration_seconds",
+        "Wall time of one batch of fixes",
+        Histogram.DURATION_BUCKETS));
+    
+    public static final Counter FIXES = REGISTRY.register(new Counter(
+        "gradle_migration_fixes_total",
+        "Fixes attempted, by outcome",
+        "result"));
+    
+    public static final Counter CACHE_REQUESTS = REGISTRY.register(new Counter(
+        "gradle_migration_cache_requests_total",
+        "Cache lookups, by cache and outcome",
+        "cache", "result"));
+    
+    public static final Gauge FILE_CACHE_BYTES = REGISTRY.register(new Gauge(
+        "gradle_migration_file_cache_bytes",
+        "Approximate heap used by cached build file contents"));
+    
+    public static final Gauge WATCHED_PROJECTS = REGISTRY.register(new Gauge(
+        "gradle_migration_watched_projects",
+        "Projects currently watched for changes"));
+    
+    public static final Counter WATCH_RESCANS = REGISTRY.register(new Counter(
+        "gradle_migration_watch_rescans_total",
+        "Incremental re-scans triggered by file changes"));
+    
+    public static final Gauge WORKERS_BUSY = REGISTRY.register(new Gauge(
+        "gradle_migration_workers_busy",
+        "Analysis worker JVMs running an analysis"));
+    
+    public static final Counter WORKER_EXITS = REGISTRY.register(new Counter(
+        "gradle_migration_worker_exits_total",
+        "Analysis worker JVMs stopped, by reason: jobs, memory, crashed, shutdown or checkpoint",
+        "reason"));
+    
+    // Prevent instantiation
+    private AnalysisMetrics() {
+        throw new AssertionError("Cannot instantiate AnalysisMetrics class");
+    }
+    
+    /**
+     * Records one cache lookup
+     */
+    public static void recordCacheLookup(String cache, boolean hit) {
+        CACHE_REQUESTS.labels(cache, hit ? "hit" : "miss").increment();
+    }
+}
@@ -0,0 +1,40 @@
+package com.migration.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonically increasing count
+ */
+public class Counter extends Metric<LongAdder> {
+    
+    public Counter(String name, String help, String... labelNames) {
+        super(name, help, labelNames);
+    }
+    
+    public void inc() {
+        noLabels().increment();
+    }
+    
+    public void inc(long amount) {
+        noLabels().add(amount);
+    }
+    
+    public long get() {
+        return noLabels().sum();
+    }
+    
+    @Override
+    protected String type() {
+        return "counter";
+    }
+    
+    @Override
+    protected LongAdder newChild() {
+        return new LongAdder();
+    }
+    
+    @Override
+    protected void writeChild(StringBuilder out, String labels, LongAdder child) {
+        out.append(getName()).append(labels).append(' ').append(child.sum()).append('\n');
+    }
+}
@@ -0,0 +1,62 @@
+package com.migration.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Value that can go up and down, either set directly or read from a supplier
+ * at scrape time
+ */
+public class Gauge extends Metric<AtomicLong> {
+    
+    private final LongSupplier supplier;
+    
+    public Gauge(String name, String help, String... labelNames) {
+        super(name, help, labelNames);
+        this.supplier = null;
+    }
+    
+    public Gauge(String name, String help, LongSupplier supplier) {
+        super(name, help);
+        this.supplier = supplier;
+    }
+    
+    public void inc() {
+        noLabels().incrementAndGet();
+    }
+    
+    public void dec() {
+        noLabels().decrementAndGet();
+    }
+    
+    public void set(long value) {
+        noLabels().set(value);
+    }
+    
+    public long get() {
+        return supplier != null ? supplier.getAsLong() : noLabels().get();
+    }
+    
+    /**
+     * Kept: a gauge describes the present, not what happened before
+     */
+    @Override
+    void reset() {
+    }
+    
+    @Override
+    protected String type() {
+        return "gauge";
+    }
+    
+    @Override
+    protected AtomicLong newChild() {
+        return new AtomicLong();
+    }
+    
+    @Override
+    protected void writeChild(StringBuilder out, String labels, AtomicLong child) {
+        long value = supplier != null ? supplier.getAsLong() : child.get();
+        out.append(getName()).append(labels).append(' ').append(value).append('\n');
+    }
+}
@@ -0,0 +1,103 @@
+package com.migration.metrics;
+
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of observed values over fixed, cumulative buckets
+ */
+public class Histogram extends Metric<Histogram.Child> {
+    
+    /** Buckets for durations in seconds, from 1ms to 5 minutes */
+    public static final double[] DURATION_BUCKETS = {
+        0.001, 0.005, 0.01, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60, 120, 300
+    };
+    
+    /** Buckets for per-file rule match times in seconds, from 1µs to 1s */
+    public static final double[] FINE_DURATION_BUCKETS = {
+        0.000001, 0.00001, 0.00005, 0.0001, 0.0005, 0.001, 0.005, 0.01, 0.05, 0.1, 1
+    };
+    
+    /** Buckets for byte counts, from 1KB to 1GB */
+    public static final double[] BYTE_BUCKETS = {
+        1024, 16384, 131072, 1048576, 8388608, 67108864, 268435456, 1073741824
+    };
+    
+    /** Buckets for throughput in files per second */
+    public static final double[] RATE_BUCKETS = {
+        10, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 50000
+    };
+    
+    private final double[] buckets;
+    
+    public Histogram(String name, String help, double[] buckets, String... labelNames) {
+        super(name, help, labelNames);
+        this.buckets = buckets.clone();
+    }
+    
+    public void observe(double value) {
+        noLabels().observe(value);
+    }
+    
+    /**
+     * Records a duration measured with {@link System#nanoTime()} in seconds
+     */
+    public void observeNanos(long nanos) {
+        noLabels().observeNanos(nanos);
+    }
+    
+    @Override
+    protected String type() {
+        return "histogram";
+    }
+    
+    @Override
+    protected Child newChild() {
+        return new Child(buckets);
+    }
+    
+    @Override
+    protected void writeChild(StringBuilder out, String labels, Child child) {
+        long cumulative = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            cumulative += child.counts[i].sum();
+            out.append(getName()).append("_bucket").append(withLabel(labels, "le", format(buckets[i])))
+               .append(' ').append(cumulative).append('\n');
+        }
+        cumulative += child.counts[buckets.length].sum();
+        out.append(getName()).append("_bucket").append(withLabel(labels, "le", "+Inf"))
+           .append(' ').append(cumulative).append('\n');
+        out.append(getName()).append("_sum").append(labels).append(' ').append(format(child.sum.sum())).append('\n');
+        out.append(getName()).append("_count").append(labels).append(' ').append(cumulative).append('\n');
+    }
+    
+    /**
+     * Observations for one label set
+     */
+    public static class Child {
+        private final double[] buckets;
+        private final LongAdder[] counts;
+        private final DoubleAdder sum = new DoubleAdder();
+        
+        Child(double[] buckets) {
+            this.buckets = buckets;
+            this.counts = new LongAdder[buckets.length + 1];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+        
+        public void observe(double value) {
+            int i = 0;
+            while (i < buckets.length && value > buckets[i]) {
+                i++;
+            }
+            counts[i].increment();
+            sum.add(value);
+        }
+        
+        public void observeNanos(long nanos) {
+            observe(nanos / 1_000_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.migration.metrics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Base class for a named metric family with optional labels.
+ *
+ * @param <C> the per-label-set child type
+ */
+public abstract class Metric<C> {
+    
+    private final String name;
+    private final String help;
+    private final String[] labelNames;
+    private final Map<LabelValues, C> children = new ConcurrentHashMap<>();
+    
+    protected Metric(String name, String help, String... labelNames) {
+        this.name = name;
+        this.help = help;
+        this.labelNames = labelNames;
+    }
+    
+    public String getName() { return name; }
+    public String getHelp() { return help; }
+    
+    /**
+     * Prometheus type of this family ("counter", "gauge", "histogram")
+     */
+    protected abstract String type();
+    
+    protected abstract C newChild();
+    
+    /**
+     * Appends the samples of one child in text exposition format
+     */
+    protected abstract void writeChild(StringBuilder out, String labels, C child);
+    
+    /**
+     * Returns the child for the given label values, creating it on first use
+     */
+    public C labels(String... values) {
+        if (values.length != labelNames.length) {
+            throw new IllegalArgumentException(name + " expects " + labelNames.length + " label values");
+        }
+        return children.computeIfAbsent(new LabelValues(values), k -> newChild());
+    }
+    
+    /**
+     * Returns the child of an unlabelled family
+     */
+    protected C noLabels() {
+        return labels();
+    }
+    
+    /**
+     * Drops the values recorded for every label set
+     */
+    void reset() {
+        children.clear();
+    }
+    
+    void write(StringBuilder out) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type()).append('\n');
+        if (labelNames.length == 0) {
+            writeChild(out, "", noLabels());
+            return;
+        }
+        children.forEach((values, child) -> writeChild(out, values.format(labelNames), child));
+    }
+    
+    /**
+     * Joins a formatted label set with an extra label, e.g. a histogram bucket bound
+     */
+    static String withLabel(String labels, String name, String value) {
+        String extra = name + "=\"" + value + "\"";
+        return labels.isEmpty() ? "{" + extra + "}" : labels.substring(0, labels.length() - 1) + "," + extra + "}";
+    }
+    
+    static String format(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+    
+    private static final class LabelValues {
+        private final String[] values;
+        private final int hash;
+        
+        LabelValues(String[] values) {
+            this.values = values.clone();
+            this.hash = Arrays.hashCode(this.values);
+        }
+        
+        String format(String[] names) {
+            StringBuilder sb = new StringBuilder("{");
+            for (int i = 0; i < names.length; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append(names[i]).append("=\"").append(escape(values[i])).append('"');
+            }
+            return sb.append('}').toString();
+        }
+        
+        private static String escape(String value) {
+            return value == null ? "" : value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        }
+        
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof LabelValues && Arrays.equals(values, ((LabelValues) other).values);
+        }
+        
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.migration.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Process-wide registry of metric families, rendered in the Prometheus text
+ * exposition format
+ */
+public final class MetricsRegistry {
+    
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+    
+    private final Map<String, Metric<?>> metrics = new ConcurrentSkipListMap<>();
+    
+    private MetricsRegistry() {
+    }
+    
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Registers a metric family. Registering a second family under the same
+     * name returns the existing one, so static holders can be re-initialized
+     * by a redeployed application without failing.
+     */
+    @SuppressWarnings("unchecked")
+    public <M extends Metric<?>> M register(M metric) {
+        Metric<?> existing = metrics.putIfAbsent(metric.getName(), metric);
+        return existing != null ? (M) existing : metric;
+    }
+    
+    /**
+     * Clears the counters and histograms, so work done at startup, such as
+     * the warm-up, is not reported as served requests. Gauges are kept.
+     */
+    public void reset() {
+        for (Metric<?> metric : metrics.values()) {
+            metric.reset();
+        }
+    }
+    
+    /**
+     * Renders all registered families in text exposition format
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        for (Metric<?> metric : metrics.values()) {
+            metric.write(out);
+        }
+        return out.toString();
+    }
+}
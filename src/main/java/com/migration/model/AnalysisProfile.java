@@ -0,0 +1,112 @@
+package com.migration.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Where the time of one analysis went, returned when profiling is requested
+ */
+public class AnalysisProfile implements Serializable {
+    private long totalMillis;
+    private long walkMillis;
+    private long readMillis;
+    private long matchMillis;
+    private int filesScanned;
+    private long bytesRead;
+    private int filesDeduplicated;
+    private List<FileTiming> slowestFiles;
+    private List<RuleTiming> slowestRules;
+    
+    public AnalysisProfile() {
+        this.slowestFiles = new ArrayList<>();
+        this.slowestRules = new ArrayList<>();
+    }
+    
+    // Getters and Setters
+    public long getTotalMillis() { return totalMillis; }
+    public void setTotalMillis(long totalMillis) { this.totalMillis = totalMillis; }
+    
+    public long getWalkMillis() { return walkMillis; }
+    public void setWalkMillis(long walkMillis) { this.walkMillis = walkMillis; }
+    
+    public long getReadMillis() { return readMillis; }
+    public void setReadMillis(long readMillis) { this.readMillis = readMillis; }
+    
+    public long getMatchMillis() { return matchMillis; }
+    public void setMatchMillis(long matchMillis) { this.matchMillis = matchMillis; }
+    
+    public int getFilesScanned() { return filesScanned; }
+    public void setFilesScanned(int filesScanned) { this.filesScanned = filesScanned; }
+    
+    public long getBytesRead() { return bytesRead; }
+    public void setBytesRead(long bytesRead) { this.bytesRead = bytesRead; }
+    
+    public int getFilesDeduplicated() { return filesDeduplicated; }
+    public void setFilesDeduplicated(int filesDeduplicated) { this.filesDeduplicated = filesDeduplicated; }
+    
+    public List<FileTiming> getSlowestFiles() { return slowestFiles; }
+    public void setSlowestFiles(List<FileTiming> slowestFiles) { this.slowestFiles = slowestFiles; }
+    
+    public List<RuleTiming> getSlowestRules() { return slowestRules; }
+    public void setSlowestRules(List<RuleTiming> slowestRules) { this.slowestRules = slowestRules; }
+    
+    /**
+     * Time spent reading and matching one build file
+     */
+    public static class FileTiming implements Serializable {
+        private String filePath;
+        private double millis;
+        private long bytes;
+        private int issues;
+        
+        public FileTiming() {
+        }
+        
+        public FileTiming(String filePath, double millis, long bytes, int issues) {
+            this.filePath = filePath;
+            this.millis = millis;
+            this.bytes = bytes;
+            this.issues = issues;
+        }
+        
+        public String getFilePath() { return filePath; }
+        public void setFilePath(String filePath) { this.filePath = filePath; }
+        
+        public double getMillis() { return millis; }
+        public void setMillis(double millis) { this.millis = millis; }
+        
+        public long getBytes() { return bytes; }
+        public void setBytes(long bytes) { this.bytes = bytes; }
+        
+        public int getIssues() { return issues; }
+        public void setIssues(int issues) { this.issues = issues; }
+    }
+    
+    /**
+     * Time spent matching one rule across all files
+     */
+    public static class RuleTiming implements Serializable {
+        private String rule;
+        private double millis;
+        private int matches;
+        
+        public RuleTiming() {
+        }
+        
+        public RuleTiming(String rule, double millis, int matches) {
+            this.rule = rule;
+            this.millis = millis;
+            this.matches = matches;
+        }
+        
+        public String getRule() { return rule; }
+        public void setRule(String rule) { this.rule = rule; }
+        
+        public double getMillis() { return millis; }
+        public void setMillis(double millis) { this.millis = millis; }
+        
+        public int getMatches() { return matches; }
+        public void setMatches(int matches) { this.matches = matches; }
+    }
+}
@@ -0,0 +1,41 @@
+package com.migration.model;
+
+import java.io.Serializable;
+
+/**
+ * One recorded analysis of a project in its history
+ */
+public class AnalysisRun implements Serializable {
+    private long sequence;
+    private long timestamp; // epoch milliseconds
+    private int totalIssues;
+    private int criticalIssues;
+    private int autoFixableIssues;
+    
+    public AnalysisRun() {
+    }
+    
+    public AnalysisRun(long sequence, long timestamp, int totalIssues, int criticalIssues, int autoFixableIssues) {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.totalIssues = totalIssues;
+        this.criticalIssues = criticalIssues;
+        this.autoFixableIssues = autoFixableIssues;
+    }
+    
+    // Getters and Setters
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+    
+    public long getTimestamp() { return timestamp; }
+    public void setTimestamp(long timestamp) { this.timestamp = timestamp; }
+    
+    public int getTotalIssues() { return totalIssues; }
+    public void setTotalIssues(int totalIssues) { this.totalIssues = totalIssues; }
+    
+    public int getCriticalIssues() { return criticalIssues; }
+    public void setCriticalIssues(int criticalIssues) { this.criticalIssues = criticalIssues; }
+    
+    public int getAutoFixableIssues() { return autoFixableIssues; }
+    public void setAutoFixableIssues(int autoFixableIssues) { this.autoFixableIssues = autoFixableIssues; }
+}
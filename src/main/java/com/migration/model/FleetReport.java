@@ -0,0 +1,145 @@
+package com.migration.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Result of analyzing many Gradle builds in one request: a summary per
+ * repository plus fleet-wide rollups. Issue lists are not included; analyze
+ * a single repository for details.
+ */
+public class FleetReport implements Serializable {
+    private List<String> roots;
+    private int repositories;
+    private int analyzed;
+    private int failed;
+    private int ready;
+    private int totalIssues;
+    private int criticalIssues;
+    private int autoFixableIssues;
+    private Map<String, Integer> issuesBySeverity;
+    private Map<String, Integer> issuesByType;
+    private Map<String, Integer> repositoriesByType;
+    private Map<String, Integer> gradleVersions;
+    private long durationMillis;
+    private List<RepositorySummary> results;
+    
+    public FleetReport() {
+        this.roots = new ArrayList<>();
+        this.issuesBySeverity = new TreeMap<>();
+        this.issuesByType = new TreeMap<>();
+        this.repositoriesByType = new TreeMap<>();
+        this.gradleVersions = new TreeMap<>();
+        this.results = new ArrayList<>();
+    }
+    
+    // Getters and Setters
+    public List<String> getRoots() { return roots; }
+    public void setRoots(List<String> roots) { this.roots = roots; }
+    
+    public int getRepositories() { return repositories; }
+    public void setRepositories(int repositories) { this.repositories = repositories; }
+    
+    public int getAnalyzed() { return analyzed; }
+    public void setAnalyzed(int analyzed) { this.analyzed = analyzed; }
+    
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+    
+    public int getReady() { return ready; }
+    public void setReady(int ready) { this.ready = ready; }
+    
+    public int getTotalIssues() { return totalIssues; }
+    public void setTotalIssues(int totalIssues) { this.totalIssues = totalIssues; }
+    
+    public int getCriticalIssues() { return criticalIssues; }
+    public void setCriticalIssues(int criticalIssues) { this.criticalIssues = criticalIssues; }
+    
+    public int getAutoFixableIssues() { return autoFixableIssues; }
+    public void setAutoFixableIssues(int autoFixableIssues) { this.autoFixableIssues = autoFixableIssues; }
+    
+    public Map<String, Integer> getIssuesBySeverity() { return issuesBySeverity; }
+    public void setIssuesBySeverity(Map<String, Integer> issuesBySeverity) { this.issuesBySeverity = issuesBySeverity; }
+    
+    public Map<String, Integer> getIssuesByType() { return issuesByType; }
+    public void setIssuesByType(Map<String, Integer> issuesByType) { this.issuesByType = issuesByType; }
+    
+    public Map<String, Integer> getRepositoriesByType() { return repositoriesByType; }
+    public void setRepositoriesByType(Map<String, Integer> repositoriesByType) { this.repositoriesByType = repositoriesByType; }
+    
+    public Map<String, Integer> getGradleVersions() { return gradleVersions; }
+    public void setGradleVersions(Map<String, Integer> gradleVersions) { this.gradleVersions = gradleVersions; }
+    
+    public long getDurationMillis() { return durationMillis; }
+    public void setDurationMillis(long durationMillis) { this.durationMillis = durationMillis; }
+    
+    public List<RepositorySummary> getResults() { return results; }
+    public void setResults(List<RepositorySummary> results) { this.results = results; }
+    
+    /**
+     * Outcome for one discovered build. A build is ready for Gradle 9 when it
+     * has no CRITICAL or HIGH issues.
+     */
+    public static class RepositorySummary implements Serializable {
+        private String projectPath;
+        private String projectName;
+        private String currentGradleVersion;
+        private boolean multiModule;
+        private int modules;
+        private int totalIssues;
+        private int criticalIssues;
+        private int autoFixableIssues;
+        private boolean ready;
+        private Map<String, Integer> issuesBySeverity;
+        private Map<String, Integer> issuesByType;
+        private long durationMillis;
+        private String error;
+        
+        public RepositorySummary() {
+            this.issuesBySeverity = new TreeMap<>();
+            this.issuesByType = new TreeMap<>();
+        }
+        
+        public String getProjectPath() { return projectPath; }
+        public void setProjectPath(String projectPath) { this.projectPath = projectPath; }
+        
+        public String getProjectName() { return projectName; }
+        public void setProjectName(String projectName) { this.projectName = projectName; }
+        
+        public String getCurrentGradleVersion() { return currentGradleVersion; }
+        public void setCurrentGradleVersion(String currentGradleVersion) { this.currentGradleVersion = currentGradleVersion; }
+        
+        public boolean isMultiModule() { return multiModule; }
+        public void setMultiModule(boolean multiModule) { this.multiModule = multiModule; }
+        
+        public int getModules() { return modules; }
+        public void setModules(int modules) { this.modules = modules; }
+        
+        public int getTotalIssues() { return totalIssues; }
+        public void setTotalIssues(int totalIssues) { this.totalIssues = totalIssues; }
+        
+        public int getCriticalIssues() { return criticalIssues; }
+        public void setCriticalIssues(int criticalIssues) { this.criticalIssues = criticalIssues; }
+        
+        public int getAutoFixableIssues() { return autoFixableIssues; }
+        public void setAutoFixableIssues(int autoFixableIssues) { this.autoFixableIssues = autoFixableIssues; }
+        
+        public boolean isReady() { return ready; }
+        public void setReady(boolean ready) { this.ready = ready; }
+        
+        public Map<String, Integer> getIssuesBySeverity() { return issuesBySeverity; }
+        public void setIssuesBySeverity(Map<String, Integer> issuesBySeverity) { this.issuesBySeverity = issuesBySeverity; }
+        
+        public Map<String, Integer> getIssuesByType() { return issuesByType; }
+        public void setIssuesByType(Map<String, Integer> issuesByType) { this.issuesByType = issuesByType; }
+        
+        public long getDurationMillis() { return durationMillis; }
+        public void setDurationMillis(long durationMillis) { this.durationMillis = durationMillis; }
+        
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+    }
+}
@@ -0,0 +1,56 @@
+package com.migration.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Change to a watched project's issues after some of its build files were
+ * edited. Issues that survive an edit keep their ids; removed issues are
+ * reported by id only. The totals describe the whole project afterwards.
+ */
+public class IssueDelta implements Serializable {
+    private String projectPath;
+    private long sequence;
+    private List<String> changedFiles;
+    private List<MigrationIssue> added;
+    private List<String> removed;
+    private int totalIssues;
+    private int criticalIssues;
+    private int autoFixableIssues;
+    
+    public IssueDelta() {
+        this.changedFiles = new ArrayList<>();
+        this.added = new ArrayList<>();
+        this.removed = new ArrayList<>();
+    }
+    
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty();
+    }
+    
+    // Getters and Setters
+    public String getProjectPath() { return projectPath; }
+    public void setProjectPath(String projectPath) { this.projectPath = projectPath; }
+    
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+    
+    public List<String> getChangedFiles() { return changedFiles; }
+    public void setChangedFiles(List<String> changedFiles) { this.changedFiles = changedFiles; }
+    
+    public List<MigrationIssue> getAdded() { return added; }
+    public void setAdded(List<MigrationIssue> added) { this.added = added; }
+    
+    public List<String> getRemoved() { return removed; }
+    public void setRemoved(List<String> removed) { this.removed = removed; }
+    
+    public int getTotalIssues() { return totalIssues; }
+    public void setTotalIssues(int totalIssues) { this.totalIssues = totalIssues; }
+    
+    public int getCriticalIssues() { return criticalIssues; }
+    public void setCriticalIssues(int criticalIssues) { this.criticalIssues = criticalIssues; }
+    
+    public int getAutoFixableIssues() { return autoFixableIssues; }
+    public void setAutoFixableIssues(int autoFixableIssues) { this.autoFixableIssues = autoFixableIssues; }
+}
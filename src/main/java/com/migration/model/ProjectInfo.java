@@ -14,6 +14,11 @@ public class ProjectInfo implements Serializable {
     private int totalIssues;
     private int criticalIssues;
     private int autoFixableIssues;
+    private AnalysisProfile profile;
+    // The deadline stopped the analysis; issues cover only the files scanned before it
+    private boolean incomplete;
+    // Base revision when only build files changed since it were analyzed
+    private String changedSince;
     
     public ProjectInfo() {
         this.modules = new ArrayList<>();
@@ -51,4 +56,13 @@ public class ProjectInfo implements Serializable {
     public void setAutoFixableIssues(int autoFixableIssues) { 
         this.autoFixableIssues = autoFixableIssues; 
     }
+    
+    public AnalysisProfile getProfile() { return profile; }
+    public void setProfile(AnalysisProfile profile) { this.profile = profile; }
+    
+    public boolean isIncomplete() { return incomplete; }
+    public void setIncomplete(boolean incomplete) { this.incomplete = incomplete; }
+    
+    public String getChangedSince() { return changedSince; }
+    public void setChangedSince(String changedSince) { this.changedSince = changedSince; }
 }
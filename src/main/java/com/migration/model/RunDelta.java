@@ -0,0 +1,50 @@
+package com.migration.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Change to a project's issues between two recorded analyses. The counts
+ * are complete; the issue lists may be cut short of them.
+ */
+public class RunDelta implements Serializable {
+    private String projectPath;
+    private AnalysisRun from;
+    private AnalysisRun to;
+    private int introducedCount;
+    private int fixedCount;
+    private int unchangedCount;
+    private List<MigrationIssue> introduced;
+    private List<MigrationIssue> fixed;
+    
+    public RunDelta() {
+        this.introduced = new ArrayList<>();
+        this.fixed = new ArrayList<>();
+    }
+    
+    // Getters and Setters
+    public String getProjectPath() { return projectPath; }
+    public void setProjectPath(String projectPath) { this.projectPath = projectPath; }
+    
+    public AnalysisRun getFrom() { return from; }
+    public void setFrom(AnalysisRun from) { this.from = from; }
+    
+    public AnalysisRun getTo() { return to; }
+    public void setTo(AnalysisRun to) { this.to = to; }
+    
+    public int getIntroducedCount() { return introducedCount; }
+    public void setIntroducedCount(int introducedCount) { this.introducedCount = introducedCount; }
+    
+    public int getFixedCount() { return fixedCount; }
+    public void setFixedCount(int fixedCount) { this.fixedCount = fixedCount; }
+    
+    public int getUnchangedCount() { return unchangedCount; }
+    public void setUnchangedCount(int unchangedCount) { this.unchangedCount = unchangedCount; }
+    
+    public List<MigrationIssue> getIntroduced() { return introduced; }
+    public void setIntroduced(List<MigrationIssue> introduced) { this.introduced = introduced; }
+    
+    public List<MigrationIssue> getFixed() { return fixed; }
+    public void setFixed(List<MigrationIssue> fixed) { this.fixed = fixed; }
+}
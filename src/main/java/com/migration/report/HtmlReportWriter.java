@@ -0,0 +1,245 @@
+package com.migration.report;
+
+import com.migration.model.MigrationIssue;
+import com.migration.model.ProjectInfo;
+import com.migration.util.Constants;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Writes analysis results as a single HTML page that needs nothing else to
+ * display: the stylesheet is inlined and there is no script.
+ *
+ * Like {@link SarifWriter}, the page is streamed. A first pass over the issues
+ * counts them for the summary, and a second writes one table row per issue as
+ * it goes, so memory use depends on the number of files rather than issues.
+ * Consecutive issues in the same file share a collapsible section; issues
+ * sorted by file give one section per file.
+ */
+public class HtmlReportWriter {
+    
+    private static final String[] SEVERITIES = {"CRITICAL", "HIGH", "MEDIUM", "LOW"};
+    
+    private static volatile String stylesheet;
+    
+    private final Writer out;
+    private final String toolVersion;
+    
+    public HtmlReportWriter(Writer out, String toolVersion) {
+        this.out = out;
+        this.toolVersion = toolVersion;
+    }
+    
+    /**
+     * Writes a report covering all issues of the given analysis
+     */
+    public void write(ProjectInfo projectInfo) throws IOException {
+        write(projectInfo, projectInfo.getIssues() != null ? projectInfo.getIssues() : new ArrayList<>());
+    }
+    
+    /**
+     * Writes a report covering some issues of the given analysis. The issues
+     * are walked twice and never copied.
+     */
+    public void write(ProjectInfo projectInfo, Iterable<MigrationIssue> issues) throws IOException {
+        Path root = Paths.get(projectInfo.getProjectPath()).toAbsolutePath().normalize();
+        
+        int total = 0;
+        int autoFixable = 0;
+        int[] bySeverity = new int[SEVERITIES.length];
+        Map<String, Integer> byType = new TreeMap<>();
+        // Length of each run of issues in the same file, in order
+        List<Integer> sections = new ArrayList<>();
+        String previousFile = null;
+        for (MigrationIssue issue : issues) {
+            total++;
+            if (issue.isAutoFixable()) {
+                autoFixable++;
+            }
+            int severity = severityIndex(issue.getSeverity());
+            if (severity >= 0) {
+                bySeverity[severity]++;
+            }
+            byType.merge(issue.getType(), 1, Integer::sum);
+            if (sections.isEmpty() || !Objects.equals(previousFile, issue.getFilePath())) {
+                sections.add(0);
+                previousFile = issue.getFilePath();
+            }
+            sections.set(sections.size() - 1, sections.get(sections.size() - 1) + 1);
+        }
+        
+        String title = "Gradle migration report: " + projectInfo.getProjectName();
+        out.write("<!DOCTYPE html>\n<html lang=\"en\">\n<head>\n<meta charset=\"UTF-8\">\n");
+        out.write("<meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">\n");
+        out.write("<title>" + escape(title) + "</title>\n<style>\n");
+        out.write(stylesheet());
+        out.write("</style>\n</head>\n<body>\n");
+        
+        out.write("<header>\n<h1>" + escape(title) + "</h1>\n<p class=\"meta\">");
+        out.write(escape(root.toString()));
+        if (projectInfo.getCurrentGradleVersion() != null) {
+            out.write(" &middot; Gradle " + escape(projectInfo.getCurrentGradleVersion()));
+        }
+        if (projectInfo.getChangedSince() != null) {
+            out.write(" &middot; files changed since " + escape(projectInfo.getChangedSince()));
+        }
+        out.write(" &middot; generated " + escape(Instant.now().toString()) + " by " + SarifWriter.TOOL_NAME + " "
+                  + escape(toolVersion) + "</p>\n</header>\n");
+        
+        if (projectInfo.isIncomplete()) {
+            out.write("<p class=\"incomplete\">The analysis stopped before scanning every file; "
+                      + "these results are partial.</p>\n");
+        }
+        
+        out.write("<div class=\"summary\">\n");
+        writeStat("Issues", total);
+        for (int i = 0; i < SEVERITIES.length; i++) {
+            writeStat(capitalize(SEVERITIES[i]), bySeverity[i]);
+        }
+        writeStat("Auto-fixable", autoFixable);
+        writeStat("Files", sections.size());
+        out.write("</div>\n");
+        
+        if (!byType.isEmpty()) {
+            out.write("<section>\n<table>\n<thead><tr><th>Issue type</th><th>Count</th></tr></thead>\n<tbody>\n");
+            for (Map.Entry<String, Integer> type : byType.entrySet()) {
+                out.write("<tr><td>" + escape(type.getKey()) + "</td><td>" + type.getValue() + "</td></tr>\n");
+            }
+            out.write("</tbody>\n</table>\n</section>\n");
+        }
+        
+        out.write("<section>\n");
+        int section = -1;
+        int remaining = 0;
+        for (MigrationIssue issue : issues) {
+            if (remaining == 0) {
+                if (section >= 0) {
+                    out.write("</tbody>\n</table>\n</details>\n");
+                }
+                remaining = sections.get(++section);
+                out.write("<details open>\n<summary>" + escape(relativePath(root, issue.getFilePath()))
+                          + "<span class=\"count\">" + remaining + (remaining == 1 ? " issue" : " issues")
+                          + "</span></summary>\n<table>\n<thead><tr><th>Line</th><th>Severity</th><th>Issue</th>"
+                          + "<th>Current code</th><th>Suggested fix</th></tr></thead>\n<tbody>\n");
+            }
+            writeRow(issue);
+            remaining--;
+        }
+        if (section >= 0) {
+            out.write("</tbody>\n</table>\n</details>\n");
+        }
+        out.write("</section>\n</body>\n</html>\n");
+        out.flush();
+    }
+    
+    private void writeStat(String label, int value) throws IOException {
+        out.write("<div class=\"stat\"><span class=\"value\">" + value + "</span><span class=\"label\">"
+                  + label + "</span></div>\n");
+    }
+    
+    private void writeRow(MigrationIssue issue) throws IOException {
+        String severity = issue.getSeverity() != null ? issue.getSeverity() : "";
+        out.write("<tr><td>");
+        out.write(Integer.toString(issue.getLineNumber()));
+        out.write("</td><td><span class=\"badge badge-");
+        out.write(escape(severity.toLowerCase(Locale.ROOT)));
+        out.write("\">");
+        out.write(escape(severity));
+        out.write("</span></td><td>");
+        out.write(escape(issue.getTitle()));
+        out.write("<br><small>");
+        out.write(escape(issue.getType()));
+        out.write("</small>");
+        if (issue.isAutoFixable()) {
+            out.write(" <span class=\"badge badge-fixable\">Auto-fixable</span>");
+        }
+        out.write("</td><td><pre>");
+        out.write(escape(issue.getCurrentCode()));
+        out.write("</pre></td><td><pre>");
+        out.write(escape(issue.getSuggestedFix()));
+        out.write("</pre></td></tr>\n");
+    }
+    
+    /**
+     * Escapes text for use in element content and quoted attribute values
+     */
+    static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder escaped = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            String replacement;
+            switch (c) {
+                case '<': replacement = "&lt;"; break;
+                case '>': replacement = "&gt;"; break;
+                case '&': replacement = "&amp;"; break;
+                case '"': replacement = "&quot;"; break;
+                case '\'': replacement = "&#39;"; break;
+                default: replacement = null; break;
+            }
+            if (replacement != null && escaped == null) {
+                escaped = new StringBuilder(text.length() + 16).append(text, 0, i);
+            }
+            if (escaped != null) {
+                if (replacement != null) {
+                    escaped.append(replacement);
+                } else {
+                    escaped.append(c);
+                }
+            }
+        }
+        return escaped != null ? escaped.toString() : text;
+    }
+    
+    private static int severityIndex(String severity) {
+        for (int i = 0; i < SEVERITIES.length; i++) {
+            if (SEVERITIES[i].equals(severity)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private static String capitalize(String severity) {
+        return severity.charAt(0) + severity.substring(1).toLowerCase(Locale.ROOT);
+    }
+    
+    private static String relativePath(Path root, String filePath) {
+        if (filePath == null) {
+            return "";
+        }
+        Path path = Paths.get(filePath).toAbsolutePath().normalize();
+        return (path.startsWith(root) ? root.relativize(path) : path).toString().replace('\\', '/');
+    }
+    
+    private static String stylesheet() {
+        String css = stylesheet;
+        if (css == null) {
+            try (InputStream in = HtmlReportWriter.class.getResourceAsStream(Constants.REPORT_STYLESHEET_RESOURCE)) {
+                if (in == null) {
+                    throw new IllegalStateException("Missing resource " + Constants.REPORT_STYLESHEET_RESOURCE);
+                }
+                css = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot load the report stylesheet", e);
+            }
+            stylesheet = css;
+        }
+        return css;
+    }
+}
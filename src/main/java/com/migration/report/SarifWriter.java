@@ -0,0 +1,184 @@
+package com.migration.report;
+
+import com.google.gson.stream.JsonWriter;
+import com.migration.model.MigrationIssue;
+import com.migration.model.ProjectInfo;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes analysis results as a SARIF 2.1.0 log.
+ *
+ * The log is streamed: rules are collected in one pass over the issues and
+ * results are written in a second, so no document tree is built in memory.
+ * File locations are relative to the project root ({@code SRCROOT}), which is
+ * what code scanning services expect for uploaded results.
+ */
+public class SarifWriter {
+    
+    public static final String SCHEMA = "https://json.schemastore.org/sarif-2.1.0.json";
+    public static final String VERSION = "2.1.0";
+    public static final String TOOL_NAME = "gradle-migration-helper";
+    
+    private static final String SRCROOT = "SRCROOT";
+    
+    private final Writer out;
+    private final String toolVersion;
+    
+    public SarifWriter(Writer out, String toolVersion) {
+        this.out = out;
+        this.toolVersion = toolVersion;
+    }
+    
+    /**
+     * Writes one run covering all issues of the given analysis
+     */
+    public void write(ProjectInfo projectInfo) throws IOException {
+        write(projectInfo, projectInfo.getIssues() != null ? projectInfo.getIssues() : new ArrayList<>());
+    }
+    
+    /**
+     * Writes one run covering some issues of the given analysis, for example
+     * those matching an export's filters. The issues are walked twice and
+     * never copied.
+     */
+    public void write(ProjectInfo projectInfo, Iterable<MigrationIssue> issues) throws IOException {
+        Path root = Paths.get(projectInfo.getProjectPath()).toAbsolutePath().normalize();
+        
+        // Rule metadata comes from the first issue of each type
+        Map<String, MigrationIssue> rules = new LinkedHashMap<>();
+        for (MigrationIssue issue : issues) {
+            rules.putIfAbsent(issue.getType(), issue);
+        }
+        Map<String, Integer> ruleIndex = new LinkedHashMap<>();
+        
+        JsonWriter json = new JsonWriter(out);
+        json.setIndent("  ");
+        json.beginObject();
+        json.name("$schema").value(SCHEMA);
+        json.name("version").value(VERSION);
+        json.name("runs").beginArray();
+        json.beginObject();
+        
+        json.name("tool").beginObject();
+        json.name("driver").beginObject();
+        json.name("name").value(TOOL_NAME);
+        json.name("version").value(toolVersion);
+        json.name("rules").beginArray();
+        for (MigrationIssue rule : rules.values()) {
+            ruleIndex.put(rule.getType(), ruleIndex.size());
+            json.beginObject();
+            json.name("id").value(rule.getType());
+            json.name("name").value(toPascalCase(rule.getType()));
+            json.name("shortDescription").beginObject().name("text").value(rule.getTitle()).endObject();
+            json.name("fullDescription").beginObject().name("text").value(rule.getDescription()).endObject();
+            json.name("defaultConfiguration").beginObject().name("level").value(level(rule.getSeverity())).endObject();
+            json.name("properties").beginObject();
+            json.name("severity").value(rule.getSeverity());
+            json.name("autoFixable").value(rule.isAutoFixable());
+            json.endObject();
+            json.endObject();
+        }
+        json.endArray();
+        json.endObject();
+        json.endObject();
+        
+        json.name("originalUriBaseIds").beginObject();
+        json.name(SRCROOT).beginObject().name("uri").value(root.toUri().toASCIIString()).endObject();
+        json.endObject();
+        
+        json.name("results").beginArray();
+        for (MigrationIssue issue : issues) {
+            writeResult(json, issue, root, ruleIndex.get(issue.getType()));
+        }
+        json.endArray();
+        
+        json.endObject();
+        json.endArray();
+        json.endObject();
+        json.flush();
+    }
+    
+    private void writeResult(JsonWriter json, MigrationIssue issue, Path root, int ruleIndex) throws IOException {
+        json.beginObject();
+        json.name("ruleId").value(issue.getType());
+        json.name("ruleIndex").value(ruleIndex);
+        json.name("level").value(level(issue.getSeverity()));
+        json.name("message").beginObject().name("text").value(issue.getTitle() + ": " + issue.getCurrentCode()).endObject();
+        
+        json.name("locations").beginArray().beginObject();
+        json.name("physicalLocation").beginObject();
+        writeArtifactLocation(json, root, issue.getFilePath());
+        json.name("region").beginObject();
+        json.name("startLine").value(Math.max(1, issue.getLineNumber()));
+        json.name("snippet").beginObject().name("text").value(issue.getCurrentCode()).endObject();
+        json.endObject();
+        json.endObject();
+        json.endObject().endArray();
+        
+        if (!issue.getAffectedModules().isEmpty()) {
+            json.name("properties").beginObject();
+            json.name("modules").beginArray();
+            for (String module : issue.getAffectedModules()) {
+                json.value(module);
+            }
+            json.endArray();
+            json.endObject();
+        }
+        json.endObject();
+    }
+    
+    /**
+     * Writes a file's location: a percent-encoded URI relative to the project
+     * root, or an absolute file URI for files outside it
+     */
+    private static void writeArtifactLocation(JsonWriter json, Path root, String filePath) throws IOException {
+        Path path = Paths.get(filePath).toAbsolutePath().normalize();
+        json.name("artifactLocation").beginObject();
+        if (path.startsWith(root)) {
+            // SARIF URIs always use forward slashes
+            String relative = root.relativize(path).toString().replace('\\', '/');
+            try {
+                json.name("uri").value(new URI(null, null, relative, null).toASCIIString());
+            } catch (URISyntaxException e) {
+                throw new IllegalArgumentException("Invalid file path: " + filePath, e);
+            }
+            json.name("uriBaseId").value(SRCROOT);
+        } else {
+            json.name("uri").value(path.toUri().toASCIIString());
+        }
+        json.endObject();
+    }
+    
+    /**
+     * Maps an issue severity to a SARIF result level
+     */
+    static String level(String severity) {
+        if ("CRITICAL".equals(severity) || "HIGH".equals(severity)) {
+            return "error";
+        }
+        if ("MEDIUM".equals(severity)) {
+            return "warning";
+        }
+        return "note";
+    }
+    
+    private static String toPascalCase(String type) {
+        StringBuilder name = new StringBuilder();
+        for (String part : type.toLowerCase(Locale.ROOT).split("_")) {
+            if (!part.isEmpty()) {
+                name.append(Character.toUpperCase(part.charAt(0))).append(part.substring(1));
+            }
+        }
+        return name.toString();
+    }
+}
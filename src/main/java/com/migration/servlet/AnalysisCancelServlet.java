@@ -0,0 +1,38 @@
+package com.migration.servlet;
+
+import com.google.gson.Gson;
+import com.migration.api.response.ErrorResponse;
+import com.migration.util.Constants;
+import com.migration.util.SessionManager;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+@WebServlet(Constants.API_ANALYZE_CANCEL)
+public class AnalysisCancelServlet extends HttpServlet {
+    
+    private final Gson gson = new Gson();
+    
+    /**
+     * Cancels the analysis running for the session. The analysis stops at its
+     * next check and its request fails with 409.
+     */
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        
+        if (SessionManager.cancelAnalysis(request)) {
+            response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+            return;
+        }
+        
+        response.setContentType(Constants.CONTENT_TYPE_JSON);
+        response.setCharacterEncoding(Constants.CHARSET_UTF8);
+        response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+        response.getWriter().write(gson.toJson(new ErrorResponse(Constants.ERROR_NO_ANALYSIS_RUNNING)));
+    }
+}
@@ -0,0 +1,90 @@
+package com.migration.servlet;
+
+import com.google.gson.Gson;
+import com.migration.api.response.ErrorResponse;
+import com.migration.core.index.IssueIndex;
+import com.migration.core.index.IssueQuery;
+import com.migration.model.ProjectInfo;
+import com.migration.report.HtmlReportWriter;
+import com.migration.report.SarifWriter;
+import com.migration.util.Constants;
+import com.migration.util.IssueQueryParser;
+import com.migration.util.SessionManager;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+@WebServlet(Constants.API_EXPORT)
+public class ExportServlet extends HttpServlet {
+    
+    private final Gson gson = new Gson();
+    
+    /**
+     * Downloads the stored analysis as a SARIF log or an HTML report. The
+     * filter and sort parameters of the analysis listing apply; paging does
+     * not. The document is written to the response as the issues are read.
+     */
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        
+        String format = request.getParameter("format");
+        format = format == null || format.isBlank() ? "sarif" : format.trim().toLowerCase(Locale.ROOT);
+        if (!"sarif".equals(format) && !"html".equals(format)) {
+            writeError(response, HttpServletResponse.SC_BAD_REQUEST, Constants.ERROR_EXPORT_FORMAT);
+            return;
+        }
+        
+        ProjectInfo projectInfo = SessionManager.getProjectInfo(request);
+        if (projectInfo == null) {
+            writeError(response, HttpServletResponse.SC_NOT_FOUND, Constants.ERROR_NO_PROJECT_IN_SESSION);
+            return;
+        }
+        
+        IssueQuery query;
+        try {
+            query = IssueQueryParser.parse(request, projectInfo.getProjectPath());
+        } catch (IllegalArgumentException e) {
+            writeError(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        // The HTML report groups issues by file
+        if ("html".equals(format) && request.getParameter("sort") == null) {
+            query.setSortKey(IssueIndex.SortKey.FILE);
+        }
+        IssueIndex index = SessionManager.getIssueIndex(request);
+        
+        String name = projectInfo.getProjectName() != null
+            ? projectInfo.getProjectName().replaceAll("[^A-Za-z0-9._-]", "_") : "project";
+        response.setContentType("html".equals(format) ? Constants.CONTENT_TYPE_HTML : Constants.CONTENT_TYPE_SARIF);
+        response.setCharacterEncoding(Constants.CHARSET_UTF8);
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + name + "-migration."
+                           + ("html".equals(format) ? "html" : "sarif") + "\"");
+        response.setStatus(HttpServletResponse.SC_OK);
+        
+        Writer out = response.getWriter();
+        if ("html".equals(format)) {
+            new HtmlReportWriter(out, version()).write(projectInfo, index.matching(query));
+        } else {
+            new SarifWriter(out, version()).write(projectInfo, index.matching(query));
+        }
+    }
+    
+    private void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setContentType(Constants.CONTENT_TYPE_JSON);
+        response.setCharacterEncoding(Constants.CHARSET_UTF8);
+        response.setStatus(status);
+        response.getWriter().write(gson.toJson(new ErrorResponse(message)));
+    }
+    
+    private static String version() {
+        String version = ExportServlet.class.getPackage().getImplementationVersion();
+        return version != null ? version : "dev";
+    }
+}
@@ -0,0 +1,165 @@
+package com.migration.servlet;
+
+import com.google.gson.Gson;
+import com.migration.api.response.ErrorResponse;
+import com.migration.core.fleet.FleetAnalyzer;
+import com.migration.model.FleetReport;
+import com.migration.util.Constants;
+import com.migration.util.SchedulingParser;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Analyzes every Gradle build found under one or more root directories and
+ * returns per-repository summaries with fleet-wide rollups. Roots must lie in
+ * one of the directories listed in {@value Constants#FLEET_ROOTS_PROPERTY};
+ * without that property the endpoint is disabled.
+ */
+@WebServlet(Constants.API_FLEET)
+public class FleetAnalyzerServlet extends HttpServlet {
+    
+    private final Gson gson = new Gson();
+    private FleetAnalyzer analyzer;
+    private List<Path> allowedRoots;
+    
+    @Override
+    public void init() throws ServletException {
+        analyzer = new FleetAnalyzer(Runtime.getRuntime().availableProcessors(), Constants.FLEET_IO_PERMITS);
+        allowedRoots = allowedRoots();
+    }
+    
+    @Override
+    public void destroy() {
+        analyzer.shutdown();
+    }
+    
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        
+        response.setContentType(Constants.CONTENT_TYPE_JSON);
+        response.setCharacterEncoding(Constants.CHARSET_UTF8);
+        
+        PrintWriter out = response.getWriter();
+        
+        if (allowedRoots.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            out.write(gson.toJson(new ErrorResponse(Constants.ERROR_FLEET_DISABLED)));
+            return;
+        }
+        
+        List<Path> roots = new ArrayList<>();
+        String[] values = request.getParameterValues("root");
+        if (values != null) {
+            for (String value : values) {
+                // One per parameter, or a newline or comma separated list
+                for (String root : value.split("[,\\n]")) {
+                    if (!root.trim().isEmpty()) {
+                        roots.add(Paths.get(root.trim()));
+                    }
+                }
+            }
+        }
+        if (roots.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            out.write(gson.toJson(new ErrorResponse(Constants.ERROR_FLEET_ROOTS_REQUIRED)));
+            return;
+        }
+        for (Path root : roots) {
+            String error = !root.isAbsolute() ? Constants.ERROR_PROJECT_PATH_INVALID
+                : !Files.isDirectory(root) ? Constants.ERROR_PROJECT_NOT_FOUND : null;
+            if (error != null) {
+                response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                out.write(gson.toJson(new ErrorResponse(error + ": " + root)));
+                return;
+            }
+            if (!isAllowed(root)) {
+                response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+                out.write(gson.toJson(new ErrorResponse(Constants.ERROR_FLEET_ROOT_NOT_ALLOWED + ": " + root)));
+                return;
+            }
+        }
+        
+        int maxDepth = Constants.FLEET_DEFAULT_MAX_DEPTH;
+        String depth = request.getParameter("maxDepth");
+        if (depth != null && !depth.isEmpty()) {
+            try {
+                maxDepth = Integer.parseInt(depth.trim());
+            } catch (NumberFormatException e) {
+                maxDepth = -1;
+            }
+            if (maxDepth < 0) {
+                response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                out.write(gson.toJson(new ErrorResponse(Constants.ERROR_INVALID_QUERY + "maxDepth=" + depth)));
+                return;
+            }
+            maxDepth = Math.min(maxDepth, Constants.FLEET_MAX_DEPTH);
+        }
+        
+        try {
+            FleetReport report = analyzer.analyze(roots, maxDepth, SchedulingParser.clientId(request));
+            response.setStatus(HttpServletResponse.SC_OK);
+            out.write(gson.toJson(report));
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            out.write(gson.toJson(new ErrorResponse(e.getMessage())));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            out.write(gson.toJson(new ErrorResponse(Constants.ERROR_ANALYZING_FLEET + "interrupted")));
+        } catch (Exception e) {
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            out.write(gson.toJson(new ErrorResponse(Constants.ERROR_ANALYZING_FLEET + e.getMessage())));
+        }
+    }
+    
+    /**
+     * Checks whether a root lies in an allowed directory, following links so
+     * that none leads out of it
+     */
+    private boolean isAllowed(Path root) throws IOException {
+        Path real = root.toRealPath();
+        for (Path allowed : allowedRoots) {
+            if (real.startsWith(allowed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Reads the allowed directories, skipping those that do not exist
+     */
+    private static List<Path> allowedRoots() {
+        List<Path> allowed = new ArrayList<>();
+        String configured = System.getProperty(Constants.FLEET_ROOTS_PROPERTY);
+        if (configured == null) {
+            return allowed;
+        }
+        for (String directory : configured.split(Pattern.quote(File.pathSeparator))) {
+            if (directory.trim().isEmpty()) {
+                continue;
+            }
+            try {
+                allowed.add(Paths.get(directory.trim()).toRealPath());
+            } catch (IOException | InvalidPathException e) {
+                System.err.println("Ignoring missing or invalid fleet root: " + directory);
+            }
+        }
+        return allowed;
+    }
+}
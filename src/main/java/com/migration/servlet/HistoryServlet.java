@@ -0,0 +1,107 @@
+package com.migration.servlet;
+
+import com.google.gson.Gson;
+import com.migration.api.response.ErrorResponse;
+import com.migration.api.response.RunHistory;
+import com.migration.core.history.HistoryStore;
+import com.migration.util.Constants;
+import com.migration.util.IssueQueryParser;
+import com.migration.util.PathValidator;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+@WebServlet(Constants.API_HISTORY)
+public class HistoryServlet extends HttpServlet {
+    
+    private final Gson gson = new Gson();
+    private final HistoryStore store = HistoryStore.getInstance();
+    
+    /**
+     * Lists a project's recorded runs, or with from or to, returns the issues
+     * introduced and fixed between two runs
+     */
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        
+        response.setContentType(Constants.CONTENT_TYPE_JSON);
+        response.setCharacterEncoding(Constants.CHARSET_UTF8);
+        
+        PrintWriter out = response.getWriter();
+        
+        String projectPath = request.getParameter("projectPath");
+        PathValidator.ValidationResult validation = PathValidator.validate(projectPath);
+        if (!validation.isValid()) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            out.write(gson.toJson(new ErrorResponse(validation.getErrorMessage())));
+            return;
+        }
+        
+        try {
+            long latest = store.latestSequence(projectPath);
+            if (request.getParameter("from") == null && request.getParameter("to") == null) {
+                long since = parseTime(request.getParameter("since"), "since", Long.MIN_VALUE);
+                long until = parseTime(request.getParameter("until"), "until", Long.MAX_VALUE);
+                response.setStatus(HttpServletResponse.SC_OK);
+                out.write(gson.toJson(new RunHistory(projectPath, latest, store.runs(projectPath, since, until))));
+                return;
+            }
+            
+            if (latest == 0) {
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                out.write(gson.toJson(new ErrorResponse(Constants.ERROR_NO_HISTORY)));
+                return;
+            }
+            long to = parseRun(request.getParameter("to"), "to", projectPath, latest);
+            long from = parseRun(request.getParameter("from"), "from", projectPath, Math.max(0, to - 1));
+            int limit = IssueQueryParser.parseInt(request.getParameter("limit"), "limit",
+                Constants.HISTORY_DEFAULT_DELTA_LIMIT, 0, Constants.HISTORY_MAX_DELTA_LIMIT);
+            response.setStatus(HttpServletResponse.SC_OK);
+            out.write(gson.toJson(store.delta(projectPath, from, to, limit)));
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            out.write(gson.toJson(new ErrorResponse(e.getMessage())));
+        }
+    }
+    
+    /**
+     * Reads a run given by sequence number, or by an ISO-8601 time meaning the
+     * latest run recorded at or before it
+     */
+    private long parseRun(String value, String name, String projectPath, long defaultValue) throws IOException {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return store.sequenceAt(projectPath, parseTime(value, name, defaultValue));
+        }
+    }
+    
+    /**
+     * Reads an ISO-8601 time or epoch milliseconds
+     */
+    private static long parseTime(String value, String name, long defaultValue) {
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            try {
+                return Instant.parse(value.trim()).toEpochMilli();
+            } catch (DateTimeParseException e2) {
+                throw new IllegalArgumentException(Constants.ERROR_INVALID_QUERY + name + "=" + value);
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.migration.servlet;
 
+import com.migration.util.Constants;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServlet;
@@ -14,6 +15,8 @@ public class HomeServlet extends HttpServlet {
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response) 
             throws ServletException, IOException {
+        // Analyses the page starts are interactive
+        request.getSession(true).setAttribute(Constants.SESSION_INTERACTIVE, Boolean.TRUE);
         request.getRequestDispatcher("/WEB-INF/views/index.jsp").forward(request, response);
     }
 }
@@ -2,8 +2,12 @@ package com.migration.servlet;
 
 import com.google.gson.Gson;
 import com.migration.api.request.FixRequest;
+import com.migration.api.request.FixSelector;
 import com.migration.api.response.ErrorResponse;
 import com.migration.core.fixer.AutoFixer;
+import com.migration.core.index.IssueIndex;
+import com.migration.core.index.IssueQuery;
+import com.migration.core.watch.LiveAnalysis;
 import com.migration.model.MigrationIssue;
 import com.migration.model.ProjectInfo;
 import com.migration.util.Constants;
@@ -14,11 +18,19 @@ import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 @WebServlet(Constants.API_FIX)
 public class IssueFixerServlet extends HttpServlet {
@@ -36,67 +48,153 @@ public class IssueFixerServlet extends HttpServlet {
         PrintWriter out = response.getWriter();
         
         try {
-            // Read request body
-            StringBuilder sb = new StringBuilder();
-            BufferedReader reader = request.getReader();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                sb.append(line);
-            }
-            
-            FixRequest fixRequest = gson.fromJson(sb.toString(), FixRequest.class);
+            // Parsed straight from the body, which may list tens of thousands of ids
+            FixRequest fixRequest = gson.fromJson(request.getReader(), FixRequest.class);
             
-            if (fixRequest == null || fixRequest.getIssueIds() == null || fixRequest.getIssueIds().isEmpty()) {
+            if (fixRequest == null || isEmpty(fixRequest.getIssueIds()) && isEmpty(fixRequest.getSelectors())) {
                 response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
                 out.write(gson.toJson(new ErrorResponse(Constants.ERROR_ISSUE_IDS_REQUIRED)));
                 return;
             }
             
             // Get current project from session
-            ProjectInfo projectInfo = SessionManager.getProjectInfo(request);
-            if (projectInfo == null) {
+            LiveAnalysis analysis = SessionManager.getLiveAnalysis(request);
+            if (analysis == null) {
                 response.setStatus(HttpServletResponse.SC_NOT_FOUND);
                 out.write(gson.toJson(new ErrorResponse(Constants.ERROR_NO_PROJECT_IN_SESSION)));
                 return;
             }
+            ProjectInfo projectInfo = analysis.get();
             
-            // Find issues to fix
-            List<MigrationIssue> issuesToFix = new ArrayList<>();
-            for (String issueId : fixRequest.getIssueIds()) {
-                projectInfo.getIssues().stream()
-                    .filter(issue -> issue.getId().equals(issueId))
-                    .findFirst()
-                    .ifPresent(issuesToFix::add);
+            // Find issues to fix, each once, listed ids first
+            Map<String, MigrationIssue> issuesToFix = new LinkedHashMap<>();
+            if (!isEmpty(fixRequest.getIssueIds())) {
+                Set<String> issueIds = new HashSet<>(fixRequest.getIssueIds());
+                for (MigrationIssue issue : projectInfo.getIssues()) {
+                    if (issueIds.contains(issue.getId())) {
+                        issuesToFix.putIfAbsent(issue.getId(), issue);
+                    }
+                }
+            }
+            if (!isEmpty(fixRequest.getSelectors())) {
+                IssueIndex index = SessionManager.getIssueIndex(request);
+                Path root = Paths.get(projectInfo.getProjectPath()).toAbsolutePath().normalize();
+                for (FixSelector selector : fixRequest.getSelectors()) {
+                    if (selector == null || selector.isEmpty()) {
+                        response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                        out.write(gson.toJson(new ErrorResponse(Constants.ERROR_EMPTY_SELECTOR)));
+                        return;
+                    }
+                    PathMatcher fileMatcher;
+                    try {
+                        fileMatcher = fileMatcher(selector.getFileGlob());
+                    } catch (IllegalArgumentException e) {
+                        response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                        out.write(gson.toJson(new ErrorResponse(Constants.ERROR_INVALID_FILE_GLOB + e.getMessage())));
+                        return;
+                    }
+                    for (MigrationIssue issue : index.matching(toQuery(selector))) {
+                        if (fileMatcher == null || matchesFile(fileMatcher, root, issue.getFilePath())) {
+                            issuesToFix.putIfAbsent(issue.getId(), issue);
+                        }
+                    }
+                }
             }
             
             if (issuesToFix.isEmpty()) {
                 response.setStatus(HttpServletResponse.SC_NOT_FOUND);
-                out.write(gson.toJson(new ErrorResponse("No matching issues found")));
+                out.write(gson.toJson(new ErrorResponse(Constants.ERROR_NO_MATCHING_ISSUES)));
                 return;
             }
             
             // Apply fixes
-            AutoFixer.BatchFixResult result = fixer.applyMultipleFixes(issuesToFix);
+            AutoFixer.BatchFixResult result = fixer.applyMultipleFixes(new ArrayList<>(issuesToFix.values()));
             
             // Update project info - remove fixed issues
             if (result.getSuccessCount() > 0) {
-                List<MigrationIssue> remainingIssues = new ArrayList<>(projectInfo.getIssues());
+                Set<String> fixedIds = new HashSet<>();
                 for (AutoFixer.FixResult fixResult : result.getResults()) {
                     if (fixResult.isSuccess()) {
-                        remainingIssues.removeIf(issue -> issue.getId().equals(fixResult.getIssueId()));
+                        fixedIds.add(fixResult.getIssueId());
                     }
                 }
-                projectInfo.setIssues(remainingIssues);
-                projectInfo.setTotalIssues(remainingIssues.size());
-                SessionManager.storeProjectInfo(request, projectInfo);
+                // Applied to the current snapshot, which a watch re-scan may have replaced
+                analysis.update(current -> withoutIssues(current, fixedIds));
             }
             
             response.setStatus(HttpServletResponse.SC_OK);
-            out.write(gson.toJson(result));
+            gson.toJson(result, out);
             
         } catch (Exception e) {
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             out.write(gson.toJson(new ErrorResponse(Constants.ERROR_APPLYING_FIX + e.getMessage())));
         }
     }
+    
+    /**
+     * Copies an analysis without the given issues
+     * 
+     * @return the copy, or the analysis itself if it has none of them
+     */
+    private static ProjectInfo withoutIssues(ProjectInfo projectInfo, Set<String> issueIds) {
+        List<MigrationIssue> remainingIssues = new ArrayList<>(projectInfo.getIssues().size());
+        for (MigrationIssue issue : projectInfo.getIssues()) {
+            if (!issueIds.contains(issue.getId())) {
+                remainingIssues.add(issue);
+            }
+        }
+        if (remainingIssues.size() == projectInfo.getIssues().size()) {
+            return projectInfo;
+        }
+        return LiveAnalysis.withIssues(projectInfo, remainingIssues);
+    }
+    
+    /**
+     * Builds the index query for a selector's criteria. Selectors only ever
+     * choose auto-fixable issues.
+     */
+    private static IssueQuery toQuery(FixSelector selector) {
+        IssueQuery query = new IssueQuery();
+        if (selector.getTypes() != null) {
+            query.setTypes(selector.getTypes());
+        }
+        if (selector.getSeverities() != null) {
+            List<String> severities = new ArrayList<>(selector.getSeverities());
+            severities.replaceAll(severity -> severity.toUpperCase(Locale.ROOT));
+            query.setSeverities(severities);
+        }
+        if (selector.getModules() != null) {
+            query.setModules(selector.getModules());
+        }
+        query.setAutoFixable(true);
+        return query;
+    }
+    
+    /**
+     * Compiles a selector's file glob, or returns null if it has none
+     *
+     * @throws IllegalArgumentException if the glob is malformed
+     */
+    private static PathMatcher fileMatcher(String glob) {
+        if (glob == null || glob.isEmpty()) {
+            return null;
+        }
+        return FileSystems.getDefault().getPathMatcher("glob:" + glob);
+    }
+    
+    /**
+     * Matches a file against a glob, by its path relative to the project, or
+     * its absolute path if it is outside the project
+     */
+    private static boolean matchesFile(PathMatcher matcher, Path root, String filePath) {
+        if (filePath == null) {
+            return false;
+        }
+        Path path = Paths.get(filePath).toAbsolutePath().normalize();
+        return matcher.matches(path.startsWith(root) ? root.relativize(path) : path);
+    }
+    
+    private static boolean isEmpty(List<?> values) {
+        return values == null || values.isEmpty();
+    }
 }
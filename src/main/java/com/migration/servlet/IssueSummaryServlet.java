@@ -0,0 +1,145 @@
+package com.migration.servlet;
+
+import com.google.gson.Gson;
+import com.migration.api.response.ErrorResponse;
+import com.migration.api.response.IssueSummary;
+import com.migration.core.detector.AnalysisOptions;
+import com.migration.core.detector.CancellationToken;
+import com.migration.core.detector.GradleIssueDetector;
+import com.migration.core.index.IssueIndex;
+import com.migration.core.scheduler.AnalysisScheduler;
+import com.migration.exception.GitException;
+import com.migration.model.ProjectInfo;
+import com.migration.util.Constants;
+import com.migration.util.IssueQueryParser;
+import com.migration.util.PathValidator;
+import com.migration.util.SchedulingParser;
+import com.migration.util.SessionManager;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+
+@WebServlet(Constants.API_ANALYZE_SUMMARY)
+public class IssueSummaryServlet extends HttpServlet {
+    
+    private final Gson gson = new Gson();
+    private final GradleIssueDetector detector = new GradleIssueDetector();
+    
+    /**
+     * Runs a summary analysis: counts only, plus a sample of issues. Nothing
+     * is stored in the session, so the result cannot be paged or fixed.
+     */
+    // The scheduler permit is held for its block, never referenced
+    @Override
+    @SuppressWarnings("try")
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        
+        response.setContentType(Constants.CONTENT_TYPE_JSON);
+        response.setCharacterEncoding(Constants.CHARSET_UTF8);
+        
+        PrintWriter out = response.getWriter();
+        
+        String projectPath = request.getParameter("projectPath");
+        PathValidator.ValidationResult validation = PathValidator.validate(projectPath);
+        if (!validation.isValid()) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            out.write(gson.toJson(new ErrorResponse(validation.getErrorMessage())));
+            return;
+        }
+        
+        AnalysisOptions options = new AnalysisOptions();
+        // Only build files changed since this revision are scanned
+        String changedSince = request.getParameter("changedSince");
+        options.setChangedSince(changedSince == null || changedSince.isBlank() ? null : changedSince.trim());
+        int timeoutSeconds;
+        AnalysisScheduler.Priority priority;
+        try {
+            options.setSampleSize(IssueQueryParser.parseInt(request.getParameter("sampleSize"), "sampleSize",
+                Constants.SUMMARY_DEFAULT_SAMPLE_SIZE, 0, Constants.SUMMARY_MAX_SAMPLE_SIZE));
+            options.setTopFiles(IssueQueryParser.parseInt(request.getParameter("topFiles"), "topFiles",
+                Constants.SUMMARY_DEFAULT_TOP_FILES, 0, Constants.SUMMARY_MAX_TOP_FILES));
+            options.setMaxIssuesPerPatternPerFile(IssueQueryParser.parseInt(
+                request.getParameter("maxIssuesPerPatternPerFile"), "maxIssuesPerPatternPerFile",
+                Constants.MAX_ISSUES_PER_PATTERN_PER_FILE, 1, Integer.MAX_VALUE));
+            options.setVersions(request.getParameter("sourceVersion"), request.getParameter("targetVersion"));
+            timeoutSeconds = IssueQueryParser.parseInt(request.getParameter("timeoutSeconds"), "timeoutSeconds",
+                                                       0, 0, Constants.ANALYSIS_MAX_TIMEOUT_SECONDS);
+            priority = SchedulingParser.parsePriority(request, AnalysisScheduler.Priority.BATCH);
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            out.write(gson.toJson(new ErrorResponse(e.getMessage())));
+            return;
+        }
+        
+        CancellationToken cancellation = SessionManager.startAnalysis(request, timeoutSeconds * 1000L);
+        options.setCancellation(cancellation);
+        try (AnalysisScheduler.Permit permit = AnalysisScheduler.getInstance()
+                 .acquire(priority, SchedulingParser.clientId(request), cancellation)) {
+            IssueSummary summary = detector.summarizeProject(projectPath, options);
+            response.setStatus(HttpServletResponse.SC_OK);
+            out.write(gson.toJson(summary));
+        } catch (CancellationException e) {
+            response.setStatus(HttpServletResponse.SC_CONFLICT);
+            out.write(gson.toJson(new ErrorResponse(Constants.ERROR_ANALYSIS_CANCELLED)));
+        } catch (GitException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            out.write(gson.toJson(new ErrorResponse(Constants.ERROR_CHANGED_FILES + e.getMessage())));
+        } catch (RejectedExecutionException e) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", String.valueOf(Constants.SCHEDULER_RETRY_AFTER_SECONDS));
+            out.write(gson.toJson(new ErrorResponse(e.getMessage())));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            out.write(gson.toJson(new ErrorResponse(Constants.ERROR_ANALYZING_PROJECT + "interrupted")));
+        } catch (Exception e) {
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            out.write(gson.toJson(new ErrorResponse(Constants.ERROR_ANALYZING_PROJECT + e.getMessage())));
+        } finally {
+            SessionManager.finishAnalysis(request, cancellation);
+        }
+    }
+    
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        
+        response.setContentType(Constants.CONTENT_TYPE_JSON);
+        response.setCharacterEncoding(Constants.CHARSET_UTF8);
+        
+        PrintWriter out = response.getWriter();
+        
+        ProjectInfo projectInfo = SessionManager.getProjectInfo(request);
+        IssueIndex index = SessionManager.getIssueIndex(request);
+        if (projectInfo == null || index == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            out.write(gson.toJson(new ErrorResponse(Constants.ERROR_NO_PROJECT_IN_SESSION)));
+            return;
+        }
+        
+        IssueSummary summary = new IssueSummary();
+        summary.setProjectName(projectInfo.getProjectName());
+        summary.setProjectPath(projectInfo.getProjectPath());
+        summary.setCurrentGradleVersion(projectInfo.getCurrentGradleVersion());
+        summary.setMultiModule(projectInfo.isMultiModule());
+        summary.setModules(projectInfo.getModules());
+        summary.setTotalIssues(index.getTotalIssues());
+        summary.setCriticalIssues(index.getSeverityCounts().getOrDefault("CRITICAL", 0));
+        summary.setAutoFixableIssues(index.getAutoFixableCount());
+        summary.setBySeverity(index.getSeverityCounts());
+        summary.setByType(index.getTypeCounts());
+        summary.setByModule(index.getModuleCounts());
+        summary.setIncomplete(projectInfo.isIncomplete());
+        
+        response.setStatus(HttpServletResponse.SC_OK);
+        out.write(gson.toJson(summary));
+    }
+}
@@ -0,0 +1,27 @@
+package com.migration.servlet;
+
+import com.migration.metrics.MetricsRegistry;
+import com.migration.util.Constants;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+@WebServlet(Constants.API_METRICS)
+public class MetricsServlet extends HttpServlet {
+    
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) 
+            throws ServletException, IOException {
+        
+        response.setContentType(Constants.CONTENT_TYPE_PROMETHEUS);
+        response.setCharacterEncoding(Constants.CHARSET_UTF8);
+        response.setHeader("Cache-Control", "no-store");
+        
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.getWriter().write(MetricsRegistry.getInstance().scrape());
+    }
+}
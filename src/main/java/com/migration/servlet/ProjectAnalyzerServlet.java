@@ -2,10 +2,22 @@ package com.migration.servlet;
 
 import com.google.gson.Gson;
 import com.migration.api.response.ErrorResponse;
+import com.migration.api.response.IssuePage;
+import com.migration.core.detector.AnalysisOptions;
+import com.migration.core.detector.CancellationToken;
 import com.migration.core.detector.GradleIssueDetector;
+import com.migration.core.history.HistoryStore;
+import com.migration.core.index.IssueIndex;
+import com.migration.core.index.IssueQuery;
+import com.migration.core.scheduler.AnalysisScheduler;
+import com.migration.core.worker.WorkerPool;
+import com.migration.diagnostics.JsonWriteEvent;
+import com.migration.exception.GitException;
 import com.migration.model.ProjectInfo;
 import com.migration.util.Constants;
+import com.migration.util.IssueQueryParser;
 import com.migration.util.PathValidator;
+import com.migration.util.SchedulingParser;
 import com.migration.util.SessionManager;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
@@ -15,14 +27,25 @@ import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
 
 @WebServlet(Constants.API_ANALYZE)
 public class ProjectAnalyzerServlet extends HttpServlet {
     
     private final Gson gson = new Gson();
     private final GradleIssueDetector detector = new GradleIssueDetector();
+    // Optional child JVMs, so one huge project cannot exhaust the server's heap
+    private final WorkerPool workers = WorkerPool.getInstance();
     
     @Override
+    public void destroy() {
+        workers.shutdown();
+    }
+    
+    // The scheduler permit is held for its block, never referenced
+    @Override
+    @SuppressWarnings("try")
     protected void doPost(HttpServletRequest request, HttpServletResponse response) 
             throws ServletException, IOException {
         
@@ -43,15 +66,65 @@ public class ProjectAnalyzerServlet extends HttpServlet {
             }
             
             // Analyze project
-            ProjectInfo projectInfo = detector.analyzeProject(projectPath);
+            AnalysisOptions options = new AnalysisOptions();
+            options.setProfile(Boolean.parseBoolean(request.getParameter("profile")));
+            // Only build files changed since this revision are scanned
+            String changedSince = request.getParameter("changedSince");
+            options.setChangedSince(changedSince == null || changedSince.isBlank() ? null : changedSince.trim());
+            int timeoutSeconds;
+            AnalysisScheduler.Priority priority;
+            try {
+                options.setVersions(request.getParameter("sourceVersion"), request.getParameter("targetVersion"));
+                timeoutSeconds = IssueQueryParser.parseInt(request.getParameter("timeoutSeconds"), "timeoutSeconds",
+                                                           0, 0, Constants.ANALYSIS_MAX_TIMEOUT_SECONDS);
+                priority = SchedulingParser.parsePriority(request, SchedulingParser.defaultPriority(request));
+            } catch (IllegalArgumentException e) {
+                response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                out.write(gson.toJson(new ErrorResponse(e.getMessage())));
+                return;
+            }
+            
+            // Cancelled by /api/analyze/cancel, a newer analysis in the session, or the session ending
+            CancellationToken cancellation = SessionManager.startAnalysis(request, timeoutSeconds * 1000L);
+            options.setCancellation(cancellation);
+            ProjectInfo projectInfo;
+            try (AnalysisScheduler.Permit permit = AnalysisScheduler.getInstance()
+                     .acquire(priority, SchedulingParser.clientId(request), cancellation)) {
+                projectInfo = workers.isEnabled()
+                    ? workers.analyze(projectPath, options) : detector.analyzeProject(projectPath, options);
+            } finally {
+                SessionManager.finishAnalysis(request, cancellation);
+            }
             
             // Store in session for later use
-            SessionManager.storeProjectInfo(request, projectInfo);
+            SessionManager.storeProjectInfo(request, projectInfo, options);
+            
+            // Partial analyses would show up in the history as fixed issues
+            if (!projectInfo.isIncomplete() && projectInfo.getChangedSince() == null) {
+                try {
+                    HistoryStore.getInstance().record(projectInfo);
+                } catch (IOException e) {
+                    System.err.println("Error recording analysis history: " + projectPath + " - " + e.getMessage());
+                }
+            }
             
-            // Return analysis results
+            // Return analysis results; clients that page through the stored issues can leave them out
             response.setStatus(HttpServletResponse.SC_OK);
-            out.write(gson.toJson(projectInfo));
+            String includeIssues = request.getParameter("includeIssues");
+            writeJson(out, includeIssues == null || Boolean.parseBoolean(includeIssues)
+                ? projectInfo : withoutIssues(projectInfo));
             
+        } catch (CancellationException e) {
+            response.setStatus(HttpServletResponse.SC_CONFLICT);
+            out.write(gson.toJson(new ErrorResponse(Constants.ERROR_ANALYSIS_CANCELLED)));
+        } catch (RejectedExecutionException e) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", String.valueOf(Constants.SCHEDULER_RETRY_AFTER_SECONDS));
+            out.write(gson.toJson(new ErrorResponse(e.getMessage())));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            out.write(gson.toJson(new ErrorResponse(Constants.ERROR_ANALYZING_PROJECT + "interrupted")));
         } catch (Exception e) {
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             out.write(gson.toJson(new ErrorResponse(Constants.ERROR_ANALYZING_PROJECT + e.getMessage())));
@@ -68,13 +141,65 @@ public class ProjectAnalyzerServlet extends HttpServlet {
         PrintWriter out = response.getWriter();
         
         ProjectInfo projectInfo = SessionManager.getProjectInfo(request);
-        if (projectInfo != null) {
+        if (projectInfo == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            out.write(gson.toJson(new ErrorResponse(Constants.ERROR_NO_PROJECT_IN_SESSION)));
+            return;
+        }
+        
+        // Without paging or filter parameters, return the full analysis as before
+        if (!IssueQueryParser.hasQueryParameters(request)) {
             response.setStatus(HttpServletResponse.SC_OK);
-            out.write(gson.toJson(projectInfo));
+            writeJson(out, projectInfo);
+            return;
+        }
+        
+        IssueQuery query;
+        try {
+            query = IssueQueryParser.parse(request, projectInfo.getProjectPath());
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            out.write(gson.toJson(new ErrorResponse(e.getMessage())));
             return;
         }
         
-        response.setStatus(HttpServletResponse.SC_NOT_FOUND);
-        out.write(gson.toJson(new ErrorResponse(Constants.ERROR_NO_PROJECT_IN_SESSION)));
+        IssueIndex index = SessionManager.getIssueIndex(request);
+        IssueIndex.QueryResult result = index.query(query);
+        
+        response.setStatus(HttpServletResponse.SC_OK);
+        out.write(gson.toJson(new IssuePage(query.getPage(), query.getSize(), result.getTotalMatches(),
+                                            request.getParameter("sort"), result.getIssues())));
+    }
+    
+    /**
+     * Copies an analysis' project details and counts, leaving the issues out
+     */
+    private static ProjectInfo withoutIssues(ProjectInfo projectInfo) {
+        ProjectInfo copy = new ProjectInfo();
+        copy.setProjectPath(projectInfo.getProjectPath());
+        copy.setProjectName(projectInfo.getProjectName());
+        copy.setCurrentGradleVersion(projectInfo.getCurrentGradleVersion());
+        copy.setMultiModule(projectInfo.isMultiModule());
+        copy.setModules(projectInfo.getModules());
+        copy.setIssues(null);
+        copy.setTotalIssues(projectInfo.getTotalIssues());
+        copy.setCriticalIssues(projectInfo.getCriticalIssues());
+        copy.setAutoFixableIssues(projectInfo.getAutoFixableIssues());
+        copy.setProfile(projectInfo.getProfile());
+        copy.setIncomplete(projectInfo.isIncomplete());
+        copy.setChangedSince(projectInfo.getChangedSince());
+        return copy;
+    }
+    
+    private void writeJson(PrintWriter out, Object value) {
+        JsonWriteEvent event = new JsonWriteEvent();
+        event.begin();
+        String json = gson.toJson(value);
+        out.write(json);
+        if (event.shouldCommit()) {
+            event.endpoint = Constants.API_ANALYZE;
+            event.characters = json.length();
+            event.commit();
+        }
     }
 }
@@ -0,0 +1,60 @@
+package com.migration.servlet;
+
+import com.migration.metrics.MetricsRegistry;
+import com.migration.startup.CheckpointHooks;
+import com.migration.startup.Warmup;
+import com.migration.util.Constants;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms the detector and fixer before the application takes requests when
+ * {@value Constants#WARMUP_ITERATIONS_PROPERTY} asks for it, and registers the
+ * checkpoint hooks when the server supports CRaC, so a Liberty InstantOn
+ * checkpoint taken after startup restores ready to serve.
+ *
+ * The warm-up leaves the analysis scheduler and fleet pool alone: they size
+ * themselves to the processors when first used, which after a restore are
+ * those of the restored instance.
+ */
+@WebListener
+public class StartupListener implements ServletContextListener {
+    
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        ServletContext context = event.getServletContext();
+        if (isCracAvailable()) {
+            CheckpointHooks.register();
+        }
+        
+        int iterations = Integer.getInteger(Constants.WARMUP_ITERATIONS_PROPERTY, Constants.WARMUP_DEFAULT_ITERATIONS);
+        long start = System.nanoTime();
+        try {
+            int rounds = Warmup.run(iterations, Constants.WARMUP_MAX_MILLIS);
+            if (rounds > 0) {
+                // The warm-up's analyses and fixes were not requests
+                MetricsRegistry.getInstance().reset();
+                context.log("Warmed up with " + rounds + " analyses of the sample project in "
+                            + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+            }
+        } catch (IOException | RuntimeException e) {
+            // A cold start is slower, not broken
+            context.log("Startup warm-up failed", e);
+        }
+    }
+    
+    private static boolean isCracAvailable() {
+        try {
+            Class.forName("org.crac.Core", false, StartupListener.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -1,55 +1,262 @@
 package com.migration.servlet;
 
+import com.migration.metrics.AnalysisMetrics;
+import com.migration.util.Constants;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
 
-@WebServlet(urlPatterns = {"/js/*", "/css/*", "/images/*"})
+/**
+ * Serves static assets from an in-memory cache filled at startup.
+ *
+ * Each asset is held with a precomputed gzip variant (and a brotli variant
+ * when a prebuilt {@code .br} file ships next to it), a strong ETag and its
+ * last-modified time, so a request costs a map lookup and one write, and a
+ * revalidation costs a 304.
+ */
+@WebServlet(urlPatterns = {"/js/*", "/css/*", "/images/*"}, loadOnStartup = 1)
 public class StaticResourceServlet extends HttpServlet {
     
+    private static final String[] STATIC_ROOTS = {"/js/", "/css/", "/images/"};
+    
+    private final Map<String, CachedResource> cache = new ConcurrentHashMap<>();
+    
+    @Override
+    public void init() throws ServletException {
+        for (String root : STATIC_ROOTS) {
+            preload(root);
+        }
+        log("Cached " + cache.size() + " static resources");
+    }
+    
     @Override
-    protected void doGet(HttpServletRequest request, HttpServletResponse response) 
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
         
-        String path = request.getRequestURI();
+        String path = request.getServletPath() + (request.getPathInfo() != null ? request.getPathInfo() : "");
+        
+        CachedResource resource = cache.get(path);
+        AnalysisMetrics.recordCacheLookup("static", resource != null);
+        if (resource == null) {
+            // Not seen at startup, e.g. an exploded deployment that gained a file
+            resource = load(path);
+            if (resource == null) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            cache.putIfAbsent(path, resource);
+        }
+        
+        String acceptEncoding = request.getHeader("Accept-Encoding");
+        String encoding = null;
+        byte[] body = resource.content;
+        if (resource.brotli != null && accepts(acceptEncoding, "br")) {
+            encoding = "br";
+            body = resource.brotli;
+        } else if (resource.gzip != null && accepts(acceptEncoding, "gzip")) {
+            encoding = "gzip";
+            body = resource.gzip;
+        }
+        
+        // Each representation gets its own strong tag
+        String etag = encoding == null
+            ? "\"" + resource.hash + "\""
+            : "\"" + resource.hash + "-" + encoding + "\"";
+        
+        response.setHeader("ETag", etag);
+        response.setDateHeader("Last-Modified", resource.lastModified);
+        response.setHeader("Cache-Control", "public, max-age=" + Constants.STATIC_CACHE_MAX_AGE_SECONDS);
+        if (resource.gzip != null || resource.brotli != null) {
+            response.setHeader("Vary", "Accept-Encoding");
+        }
+        
+        if (isNotModified(request, etag, resource.lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        
+        response.setContentType(resource.contentType);
+        if (encoding != null) {
+            response.setHeader("Content-Encoding", encoding);
+        }
+        response.setContentLength(body.length);
+        
+        try (OutputStream out = response.getOutputStream()) {
+            out.write(body);
+        }
+    }
+    
+    private void preload(String directory) {
+        Set<String> paths = getServletContext().getResourcePaths(directory);
+        if (paths == null) {
+            return;
+        }
+        for (String path : paths) {
+            if (path.endsWith("/")) {
+                preload(path);
+            } else if (!path.endsWith(".br") && !path.endsWith(".gz")) {
+                CachedResource resource = load(path);
+                if (resource != null) {
+                    cache.put(path, resource);
+                }
+            }
+        }
+    }
+    
+    private CachedResource load(String path) {
+        try {
+            byte[] content = readResource(path);
+            if (content == null) {
+                return null;
+            }
+            
+            CachedResource resource = new CachedResource();
+            resource.content = content;
+            resource.contentType = contentType(path);
+            resource.hash = hash(content);
+            resource.lastModified = lastModified(path);
+            if (isCompressible(resource.contentType)) {
+                byte[] gzip = gzip(content);
+                resource.gzip = gzip.length < content.length ? gzip : null;
+                resource.brotli = readResource(path + ".br");
+            }
+            return resource;
+        } catch (IOException e) {
+            log("Error caching static resource: " + path, e);
+            return null;
+        }
+    }
+    
+    private byte[] readResource(String path) throws IOException {
+        try (InputStream in = getServletContext().getResourceAsStream(path)) {
+            return in == null ? null : in.readAllBytes();
+        }
+    }
+    
+    private long lastModified(String path) {
+        long now = System.currentTimeMillis();
+        try {
+            URL url = getServletContext().getResource(path);
+            long modified = url == null ? 0 : url.openConnection().getLastModified();
+            // HTTP dates have second precision
+            return ((modified > 0 ? modified : now) / 1000) * 1000;
+        } catch (IOException e) {
+            return (now / 1000) * 1000;
+        }
+    }
+    
+    private boolean isNotModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            // If-None-Match takes precedence over If-Modified-Since
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
         
+        try {
+            long ifModifiedSince = request.getDateHeader("If-Modified-Since");
+            return ifModifiedSince >= 0 && lastModified <= ifModifiedSince;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+    
+    private static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.trim().split(";");
+            if (params[0].trim().equalsIgnoreCase(coding)) {
+                for (int i = 1; i < params.length; i++) {
+                    String param = params[i].trim();
+                    if (param.startsWith("q=")) {
+                        try {
+                            return Double.parseDouble(param.substring(2)) > 0;
+                        } catch (NumberFormatException e) {
+                            return false;
+                        }
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static String contentType(String path) {
         // Set content type based on file extension
         if (path.endsWith(".css")) {
-            response.setContentType("text/css");
+            return "text/css";
         } else if (path.endsWith(".js")) {
-            response.setContentType("application/javascript");
+            return "application/javascript";
         } else if (path.endsWith(".png")) {
-            response.setContentType("image/png");
+            return "image/png";
         } else if (path.endsWith(".jpg") || path.endsWith(".jpeg")) {
-            response.setContentType("image/jpeg");
+            return "image/jpeg";
         } else if (path.endsWith(".gif")) {
-            response.setContentType("image/gif");
-        } else {
-            response.setContentType("application/octet-stream");
+            return "image/gif";
+        } else if (path.endsWith(".svg")) {
+            return "image/svg+xml";
         }
-        
-        // Get resource from webapp directory
-        InputStream resourceStream = getServletContext().getResourceAsStream(path);
-        
-        if (resourceStream == null) {
-            response.sendError(HttpServletResponse.SC_NOT_FOUND);
-            return;
+        return "application/octet-stream";
+    }
+    
+    private static boolean isCompressible(String contentType) {
+        return contentType.startsWith("text/") ||
+               contentType.equals("application/javascript") ||
+               contentType.equals("image/svg+xml");
+    }
+    
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length / 2 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(content);
         }
-        
-        try (OutputStream out = response.getOutputStream()) {
-            byte[] buffer = new byte[4096];
-            int bytesRead;
-            while ((bytesRead = resourceStream.read(buffer)) != -1) {
-                out.write(buffer, 0, bytesRead);
+        return buffer.toByteArray();
+    }
+    
+    private static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 16; i++) {
+                hex.append(String.format("%02x", digest[i]));
             }
-        } finally {
-            resourceStream.close();
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
+    
+    private static class CachedResource {
+        byte[] content;
+        byte[] gzip;
+        byte[] brotli;
+        String contentType;
+        String hash;
+        long lastModified;
+    }
 }
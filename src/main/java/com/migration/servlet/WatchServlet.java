@@ -0,0 +1,202 @@
+package com.migration.servlet;
+
+import com.google.gson.Gson;
+import com.migration.api.response.ErrorResponse;
+import com.migration.core.watch.LiveAnalysis;
+import com.migration.core.watch.WatchRegistry;
+import com.migration.core.watch.WatchedAnalysis;
+import com.migration.model.IssueDelta;
+import com.migration.util.Constants;
+import com.migration.util.SessionManager;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams changes to the session's analysis as Server-Sent Events while the
+ * project's build files are edited. The stream opens with a "ready" event
+ * holding the current totals, followed by a "delta" event per re-scan that
+ * added or removed issues. The session's analysis is kept current as well,
+ * so /api/analyze/summary and /api/fix see the same issues. Sessions share
+ * the watcher of a project they analyzed with the same options, but each
+ * keeps its own analysis. Streams end when the session's analysis is
+ * replaced.
+ */
+@WebServlet(urlPatterns = Constants.API_WATCH, asyncSupported = true)
+public class WatchServlet extends HttpServlet {
+    
+    private final Gson gson = new Gson();
+    private ScheduledExecutorService heartbeats;
+    
+    @Override
+    public void init() throws ServletException {
+        heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "watch-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @Override
+    public void destroy() {
+        heartbeats.shutdownNow();
+        WatchRegistry.getInstance().closeAll();
+    }
+    
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        
+        response.setCharacterEncoding(Constants.CHARSET_UTF8);
+        
+        LiveAnalysis analysis = SessionManager.getLiveAnalysis(request);
+        if (analysis == null) {
+            response.setContentType(Constants.CONTENT_TYPE_JSON);
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            response.getWriter().write(gson.toJson(new ErrorResponse(Constants.ERROR_NO_PROJECT_IN_SESSION)));
+            return;
+        }
+        
+        EventStream stream = new EventStream(response.getWriter());
+        WatchedAnalysis watched;
+        try {
+            watched = WatchRegistry.getInstance().subscribe(analysis, stream);
+        } catch (IllegalStateException e) {
+            response.setContentType(Constants.CONTENT_TYPE_JSON);
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.getWriter().write(gson.toJson(new ErrorResponse(e.getMessage())));
+            return;
+        } catch (IOException e) {
+            response.setContentType(Constants.CONTENT_TYPE_JSON);
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            response.getWriter().write(gson.toJson(new ErrorResponse(Constants.ERROR_STARTING_WATCH + e.getMessage())));
+            return;
+        }
+        
+        response.setContentType(Constants.CONTENT_TYPE_EVENT_STREAM);
+        response.setHeader("Cache-Control", "no-store");
+        response.setHeader("X-Accel-Buffering", "no");
+        response.setStatus(HttpServletResponse.SC_OK);
+        
+        AsyncContext async = request.startAsync();
+        async.setTimeout(0);
+        stream.start(async, watched);
+    }
+    
+    /**
+     * One open event stream. Deltas arrive on the watcher thread and
+     * heartbeats on the scheduler, so writes are serialized here. A failed
+     * write means the client went away and ends the subscription.
+     */
+    private final class EventStream implements WatchedAnalysis.Listener, AsyncListener {
+        
+        private final PrintWriter out;
+        private AsyncContext async;
+        private WatchedAnalysis watched;
+        private ScheduledFuture<?> heartbeat;
+        private boolean closed;
+        
+        EventStream(PrintWriter out) {
+            this.out = out;
+        }
+        
+        synchronized void start(AsyncContext async, WatchedAnalysis watched) {
+            this.async = async;
+            this.watched = watched;
+            if (closed) {
+                // The analysis was replaced meanwhile
+                async.complete();
+                return;
+            }
+            async.addListener(this);
+            heartbeat = heartbeats.scheduleAtFixedRate(this::ping, Constants.WATCH_HEARTBEAT_SECONDS,
+                                                       Constants.WATCH_HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+            send("ready", watched.snapshot());
+        }
+        
+        @Override
+        public void changed(IssueDelta delta) {
+            send("delta", delta);
+        }
+        
+        @Override
+        public void closed() {
+            close();
+        }
+        
+        private synchronized void send(String event, IssueDelta delta) {
+            // Deltas published before start() are covered by the ready snapshot
+            if (closed || async == null) {
+                return;
+            }
+            out.write("event: " + event + "\nid: " + delta.getSequence() + "\ndata: " + gson.toJson(delta) + "\n\n");
+            out.flush();
+            if (out.checkError()) {
+                close();
+            }
+        }
+        
+        private synchronized void ping() {
+            if (closed) {
+                return;
+            }
+            out.write(": keep-alive\n\n");
+            out.flush();
+            if (out.checkError()) {
+                close();
+            }
+        }
+        
+        private void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                if (async == null) {
+                    // Released before start(), which completes the request
+                    return;
+                }
+            }
+            heartbeat.cancel(false);
+            WatchRegistry.getInstance().unsubscribe(watched, this);
+            try {
+                async.complete();
+            } catch (IllegalStateException e) {
+                // Already completed by the container
+            }
+        }
+        
+        @Override
+        public void onComplete(AsyncEvent event) {
+            close();
+        }
+        
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close();
+        }
+        
+        @Override
+        public void onError(AsyncEvent event) {
+            close();
+        }
+        
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Not restarted
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.migration.startup;
+
+import com.migration.core.cache.FileContentCache;
+import com.migration.core.watch.WatchRegistry;
+import com.migration.core.worker.WorkerPool;
+
+import org.crac.Context;
+import org.crac.Core;
+import org.crac.Resource;
+
+/**
+ * Prepares the application for a checkpoint of the server, such as a Liberty
+ * InstantOn checkpoint taken after startup, through the CRaC API.
+ *
+ * Child processes and file watches cannot be part of a checkpoint, and
+ * cached file contents may not match the files where the checkpoint is
+ * restored, so all three are released first. Each is started or read again
+ * on demand after a restore. Only load this class when org.crac is present.
+ */
+public final class CheckpointHooks implements Resource {
+    
+    // CRaC contexts may hold their resources weakly
+    private static CheckpointHooks registered;
+    
+    private CheckpointHooks() {
+    }
+    
+    /**
+     * Registers the hooks with the global CRaC context, once
+     */
+    public static synchronized void register() {
+        if (registered == null) {
+            registered = new CheckpointHooks();
+            Core.getGlobalContext().register(registered);
+        }
+    }
+    
+    @Override
+    public void beforeCheckpoint(Context<? extends Resource> context) {
+        WorkerPool.getInstance().stopIdle();
+        WatchRegistry.getInstance().closeAll();
+        FileContentCache.getInstance().clear();
+    }
+    
+    @Override
+    public void afterRestore(Context<? extends Resource> context) {
+        // Nothing to reopen: workers, watches and cached files come back on first use
+    }
+}
@@ -0,0 +1,122 @@
+package com.migration.startup;
+
+import com.google.gson.Gson;
+import com.migration.api.response.IssuePage;
+import com.migration.core.cache.FileContentCache;
+import com.migration.core.detector.AnalysisOptions;
+import com.migration.core.detector.GradleIssueDetector;
+import com.migration.core.fixer.AutoFixer;
+import com.migration.core.index.IssueIndex;
+import com.migration.core.index.IssueQuery;
+import com.migration.model.MigrationIssue;
+import com.migration.model.ProjectInfo;
+import com.migration.util.Constants;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Runs the request paths over a bundled sample project at startup, so the
+ * rules, the compatibility index and the classes behind them are loaded and
+ * the hot code is compiled before the first request. With a checkpoint taken
+ * after startup, restored instances start out warm.
+ *
+ * The sample project has every kind of build file the rules check, and
+ * issues of most types. It is copied to a temporary directory for each
+ * round, since the round fixes it, and deleted afterwards.
+ */
+public final class Warmup {
+    
+    // Files of the sample project under Constants.WARMUP_CORPUS_RESOURCE
+    private static final List<String> CORPUS_FILES = List.of(
+        "settings.gradle",
+        "build.gradle",
+        "gradle.properties",
+        "gradle/libs.versions.toml",
+        "gradle/wrapper/gradle-wrapper.properties",
+        "app/build.gradle",
+        "lib/build.gradle.kts");
+    
+    // Prevent instantiation
+    private Warmup() {
+        throw new AssertionError("Cannot instantiate Warmup class");
+    }
+    
+    /**
+     * Analyzes, summarizes, pages, serializes and fixes the sample project
+     * up to the given number of times, stopping early once maxMillis have
+     * passed. The file cache is cleared afterwards.
+     *
+     * @return the rounds run
+     */
+    public static int run(int iterations, long maxMillis) throws IOException {
+        if (iterations <= 0) {
+            return 0;
+        }
+        GradleIssueDetector detector = new GradleIssueDetector();
+        AutoFixer fixer = new AutoFixer();
+        Gson gson = new Gson();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxMillis);
+        
+        Path root = Files.createTempDirectory("migration-warmup-");
+        int rounds = 0;
+        try {
+            while (rounds < iterations && System.nanoTime() - deadline < 0) {
+                Path project = root.resolve("round-" + rounds);
+                copyCorpus(project);
+                String projectPath = project.toString();
+                
+                ProjectInfo projectInfo = detector.analyzeProject(projectPath, new AnalysisOptions());
+                gson.toJson(projectInfo);
+                gson.toJson(detector.summarizeProject(projectPath, new AnalysisOptions()));
+                
+                IssueQuery query = new IssueQuery();
+                query.setSortKey(IssueIndex.SortKey.FILE);
+                IssueIndex.QueryResult page = new IssueIndex(projectInfo.getIssues()).query(query);
+                gson.toJson(new IssuePage(query.getPage(), query.getSize(), page.getTotalMatches(), "file",
+                                          page.getIssues()));
+                
+                List<MigrationIssue> fixable = new ArrayList<>();
+                for (MigrationIssue issue : projectInfo.getIssues()) {
+                    if (issue.isAutoFixable()) {
+                        fixable.add(issue);
+                    }
+                }
+                gson.toJson(fixer.applyMultipleFixes(fixable));
+                rounds++;
+            }
+        } finally {
+            delete(root);
+            FileContentCache.getInstance().clear();
+        }
+        return rounds;
+    }
+    
+    private static void copyCorpus(Path project) throws IOException {
+        for (String file : CORPUS_FILES) {
+            try (InputStream in = Warmup.class.getResourceAsStream(Constants.WARMUP_CORPUS_RESOURCE + file)) {
+                if (in == null) {
+                    throw new IOException("Missing warm-up resource: " + file);
+                }
+                Path target = project.resolve(file);
+                Files.createDirectories(target.getParent());
+                Files.copy(in, target);
+            }
+        }
+    }
+    
+    private static void delete(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -12,6 +12,10 @@ public final class Constants {
     
     // Session attributes
     public static final String SESSION_PROJECT_INFO = "projectInfo";
+    public static final String SESSION_ISSUE_INDEX = "issueIndex";
+    public static final String SESSION_RUNNING_ANALYSIS = "runningAnalysis";
+    // Set for sessions that loaded the web UI, whose analyses are interactive by default
+    public static final String SESSION_INTERACTIVE = "interactive";
     public static final int SESSION_TIMEOUT_MINUTES = 30;
     
     // File patterns
@@ -26,21 +30,111 @@ public final class Constants {
     public static final String SETTINGS_GRADLE_KTS = "settings.gradle.kts";
     public static final String GRADLE_WRAPPER_PROPERTIES = "gradle/wrapper/gradle-wrapper.properties";
     
+    // Migration versions
+    public static final String DEFAULT_TARGET_GRADLE_VERSION = "9.0";
+    // Source version value meaning "the version in the project's wrapper"
+    public static final String SOURCE_VERSION_WRAPPER = "wrapper";
+    
+    // Plugin compatibility index: bundled list, the same compiled at build time, and the system property
+    // naming a compiled index to map instead
+    public static final String COMPAT_INDEX_RESOURCE = "/compat/gradle9-compatibility.txt";
+    public static final String COMPAT_INDEX_COMPILED_RESOURCE = "/compat/gradle9-compatibility.bin";
+    public static final String COMPAT_INDEX_PROPERTY = "gradle.migration.compatIndex";
+    
+    // Stylesheet inlined into exported HTML reports
+    public static final String REPORT_STYLESHEET_RESOURCE = "/report/report.css";
+    
+    // Build file contents kept between analyses and fixes: system property overriding the budget in bytes
+    public static final String FILE_CACHE_BYTES_PROPERTY = "gradle.migration.fileCacheBytes";
+    public static final long FILE_CACHE_MAX_BYTES = 64L * 1024 * 1024;
+    // Files modified this recently when read are not cached: on file systems with coarse timestamps,
+    // a second change within the same tick would keep the size and modification time
+    public static final long FILE_CACHE_RACY_MILLIS = 2000;
+    
+    // Fleet analysis: system property listing the directories fleet roots must lie in, separated by
+    // the platform's path separator; without it the fleet endpoint is disabled
+    public static final String FLEET_ROOTS_PROPERTY = "gradle.migration.fleetRoots";
+    
+    // Analysis history: system property naming the store directory
+    public static final String HISTORY_DIR_PROPERTY = "gradle.migration.historyDir";
+    
+    // Analysis workers: system properties for the number of child JVMs (0 analyzes in the server),
+    // their maximum heap, jobs before recycling, and the classpath they run with
+    public static final String WORKERS_PROPERTY = "gradle.migration.workers";
+    public static final String WORKER_HEAP_PROPERTY = "gradle.migration.workerHeap";
+    public static final String WORKER_MAX_JOBS_PROPERTY = "gradle.migration.workerMaxJobs";
+    public static final String WORKER_CLASSPATH_PROPERTY = "gradle.migration.workerClasspath";
+    // Prefix of the system properties passed on to workers
+    public static final String SYSTEM_PROPERTY_PREFIX = "gradle.migration.";
+    
+    // Startup warm-up over the bundled sample project, so a checkpoint taken after startup holds
+    // loaded classes and compiled code: system property for the rounds to run (0 skips it), and
+    // the resource directory of the project
+    public static final String WARMUP_ITERATIONS_PROPERTY = "gradle.migration.warmupIterations";
+    public static final String WARMUP_CORPUS_RESOURCE = "/warmup/";
+    
     // Excluded directories
     public static final String BUILD_DIR = "/build/";
     public static final String GRADLE_DIR = "/.gradle/";
     
     // Limits
     public static final int MAX_ISSUES_PER_PATTERN_PER_FILE = 100;
+    public static final int ANALYSIS_MAX_TIMEOUT_SECONDS = 3600;
+    public static final int SUMMARY_DEFAULT_SAMPLE_SIZE = 20;
+    public static final int SUMMARY_MAX_SAMPLE_SIZE = 1000;
+    public static final int SUMMARY_DEFAULT_TOP_FILES = 20;
+    public static final int SUMMARY_MAX_TOP_FILES = 1000;
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int STATIC_CACHE_MAX_AGE_SECONDS = 300;
+    // Cached files plus their matches an analysis keeps for reuse on byte-identical build files
+    public static final int DETECTOR_MAX_CACHED_MATCHES = 10_000;
+    public static final int FLEET_DEFAULT_MAX_DEPTH = 4;
+    public static final int FLEET_MAX_DEPTH = 16;
+    public static final int FLEET_MAX_REPOSITORIES = 5000;
+    public static final int FLEET_IO_PERMITS = 16;
+    public static final long WATCH_DEBOUNCE_MILLIS = 300;
+    public static final long WATCH_MAX_DELAY_MILLIS = 2000;
+    public static final long WATCH_HEARTBEAT_SECONDS = 15;
+    public static final int WATCH_MAX_PROJECTS = 32;
+    // Analysis slots batch analyses may not use; the slots are one per processor
+    public static final int SCHEDULER_RESERVED_INTERACTIVE_SLOTS = 1;
+    public static final int SCHEDULER_MAX_QUEUED = 1000;
+    public static final int SCHEDULER_RETRY_AFTER_SECONDS = 30;
+    // Every this many runs, a project's history stores all issues rather than only the changes
+    public static final int HISTORY_CHECKPOINT_INTERVAL = 64;
+    public static final int HISTORY_CACHED_PROJECTS = 16;
+    public static final int HISTORY_DEFAULT_DELTA_LIMIT = 100;
+    public static final int HISTORY_MAX_DELTA_LIMIT = 10000;
+    public static final String WORKER_DEFAULT_HEAP = "1g";
+    public static final int WORKER_DEFAULT_MAX_JOBS = 50;
+    // A worker whose heap is this full after a collection is replaced once its job ends
+    public static final double WORKER_RECYCLE_HEAP_FRACTION = 0.7;
+    // Off unless configured: only a checkpointed image gains enough from it to pay for the startup time
+    public static final int WARMUP_DEFAULT_ITERATIONS = 0;
+    // Warm-up stops after this long even if rounds remain, so a slow machine cannot stall startup
+    public static final long WARMUP_MAX_MILLIS = 10_000;
     
     // API endpoints
     public static final String API_ANALYZE = "/api/analyze";
+    public static final String API_ANALYZE_SUMMARY = "/api/analyze/summary";
+    public static final String API_ANALYZE_CANCEL = "/api/analyze/cancel";
     public static final String API_FIX = "/api/fix";
+    public static final String API_METRICS = "/api/metrics";
+    public static final String API_FLEET = "/api/fleet";
+    public static final String API_WATCH = "/api/watch";
+    public static final String API_HISTORY = "/api/history";
+    public static final String API_EXPORT = "/api/export";
     
     // HTTP headers
     public static final String CONTENT_TYPE_JSON = "application/json";
     public static final String CONTENT_TYPE_FORM = "application/x-www-form-urlencoded";
+    public static final String CONTENT_TYPE_EVENT_STREAM = "text/event-stream";
+    public static final String CONTENT_TYPE_PROMETHEUS = "text/plain; version=0.0.4";
+    public static final String CONTENT_TYPE_SARIF = "application/sarif+json";
+    public static final String CONTENT_TYPE_HTML = "text/html";
     public static final String CHARSET_UTF8 = "UTF-8";
+    public static final String HEADER_CLIENT_ID = "X-Client-Id";
     
     // Error messages
     public static final String ERROR_PROJECT_PATH_REQUIRED = "Project path is required";
@@ -48,7 +142,28 @@ public final class Constants {
     public static final String ERROR_PROJECT_NOT_FOUND = "Project directory not found";
     public static final String ERROR_NOT_GRADLE_PROJECT = "Not a valid Gradle project (missing build.gradle or settings.gradle)";
     public static final String ERROR_NO_PROJECT_IN_SESSION = "No project analysis found in session";
-    public static final String ERROR_ISSUE_IDS_REQUIRED = "Issue IDs are required";
+    public static final String ERROR_ISSUE_IDS_REQUIRED = "Issue IDs or selectors are required";
+    public static final String ERROR_EMPTY_SELECTOR = "A fix selector must set a criterion or allAutoFixable";
+    public static final String ERROR_INVALID_FILE_GLOB = "Invalid fileGlob: ";
+    public static final String ERROR_NO_MATCHING_ISSUES = "No matching issues found";
     public static final String ERROR_ANALYZING_PROJECT = "Error analyzing project: ";
+    public static final String ERROR_ANALYSIS_CANCELLED = "Analysis was cancelled";
+    public static final String ERROR_NO_ANALYSIS_RUNNING = "No analysis is running";
+    public static final String ERROR_SCHEDULER_QUEUE_FULL = "Too many analyses are waiting, try again later";
     public static final String ERROR_APPLYING_FIX = "Error applying fix: ";
+    public static final String ERROR_INVALID_QUERY = "Invalid query parameter: ";
+    public static final String ERROR_FLEET_ROOTS_REQUIRED = "At least one root directory is required";
+    public static final String ERROR_FLEET_DISABLED = "Fleet analysis is disabled; set the system property " +
+        FLEET_ROOTS_PROPERTY;
+    public static final String ERROR_FLEET_ROOT_NOT_ALLOWED = "Root is outside the allowed fleet directories";
+    public static final String ERROR_FLEET_TOO_MANY = "Too many builds found, the limit is ";
+    public static final String ERROR_ANALYZING_FLEET = "Error analyzing fleet: ";
+    public static final String ERROR_WATCH_TOO_MANY = "Too many projects are being watched, the limit is ";
+    public static final String ERROR_STARTING_WATCH = "Error starting watch: ";
+    public static final String ERROR_CHANGED_FILES = "Cannot find changed files: ";
+    public static final String ERROR_EXPORT_FORMAT = "Export format must be sarif or html";
+    public static final String ERROR_NO_HISTORY = "No analyses recorded for this project";
+    public static final String ERROR_HISTORY_RUN_NOT_FOUND = "No such run: ";
+    public static final String ERROR_WORKER_FAILED = "Analysis worker failed: ";
+    public static final String ERROR_TARGET_BEFORE_SOURCE = "Target version must not be older than source version";
 }
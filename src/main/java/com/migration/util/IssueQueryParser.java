@@ -0,0 +1,128 @@
+package com.migration.util;
+
+import com.migration.core.index.IssueIndex;
+import com.migration.core.index.IssueQuery;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.File;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Utility class for reading issue query parameters from a request
+ */
+public final class IssueQueryParser {
+    
+    private static final String[] QUERY_PARAMETERS = {
+        "page", "size", "severity", "type", "module", "filePrefix", "autoFixable", "sort"
+    };
+    
+    // Prevent instantiation
+    private IssueQueryParser() {
+        throw new AssertionError("Cannot instantiate IssueQueryParser class");
+    }
+    
+    /**
+     * Checks if the request carries any paging, filter or sort parameter
+     *
+     * @param request the HTTP request
+     * @return true if at least one query parameter is present
+     */
+    public static boolean hasQueryParameters(HttpServletRequest request) {
+        for (String name : QUERY_PARAMETERS) {
+            if (request.getParameter(name) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Builds an issue query from the request parameters. List parameters accept
+     * comma-separated values and may be repeated. A relative file prefix is
+     * resolved against the project path.
+     *
+     * @param request the HTTP request
+     * @param projectPath the analyzed project path
+     * @return the parsed query
+     * @throws IllegalArgumentException if a parameter has an invalid value
+     */
+    public static IssueQuery parse(HttpServletRequest request, String projectPath) {
+        IssueQuery query = new IssueQuery();
+        
+        query.setPage(parseInt(request.getParameter("page"), "page", 1, 1, Integer.MAX_VALUE));
+        query.setSize(parseInt(request.getParameter("size"), "size",
+                               Constants.DEFAULT_PAGE_SIZE, 1, Constants.MAX_PAGE_SIZE));
+        
+        List<String> severities = parseList(request, "severity");
+        severities.replaceAll(s -> s.toUpperCase(Locale.ROOT));
+        query.setSeverities(severities);
+        query.setTypes(parseList(request, "type"));
+        query.setModules(parseList(request, "module"));
+        
+        String filePrefix = request.getParameter("filePrefix");
+        if (filePrefix != null && !filePrefix.isEmpty()) {
+            if (!Paths.get(filePrefix).isAbsolute() && projectPath != null) {
+                filePrefix = projectPath + (projectPath.endsWith(File.separator) ? "" : File.separator) + filePrefix;
+            }
+            query.setFilePrefix(filePrefix);
+        }
+        
+        String autoFixable = request.getParameter("autoFixable");
+        if (autoFixable != null && !autoFixable.isEmpty()) {
+            query.setAutoFixable(Boolean.parseBoolean(autoFixable));
+        }
+        
+        String sort = request.getParameter("sort");
+        if (sort != null && !sort.isEmpty()) {
+            boolean descending = sort.startsWith("-");
+            String key = descending ? sort.substring(1) : sort;
+            try {
+                query.setSortKey(IssueIndex.SortKey.valueOf(key.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(Constants.ERROR_INVALID_QUERY + "sort=" + sort);
+            }
+            query.setDescending(descending);
+        }
+        
+        return query;
+    }
+    
+    /**
+     * Parses an optional integer parameter within bounds
+     * 
+     * @throws IllegalArgumentException if the value is not a number or out of bounds
+     */
+    public static int parseInt(String value, String name, int defaultValue, int min, int max) {
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed < min || parsed > max) {
+                throw new IllegalArgumentException(Constants.ERROR_INVALID_QUERY + name + "=" + value);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(Constants.ERROR_INVALID_QUERY + name + "=" + value);
+        }
+    }
+    
+    private static List<String> parseList(HttpServletRequest request, String name) {
+        List<String> values = new ArrayList<>();
+        String[] raw = request.getParameterValues(name);
+        if (raw == null) {
+            return values;
+        }
+        for (String entry : raw) {
+            for (String value : entry.split(",")) {
+                if (!value.trim().isEmpty()) {
+                    values.add(value.trim());
+                }
+            }
+        }
+        return values;
+    }
+}
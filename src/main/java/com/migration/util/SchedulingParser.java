@@ -0,0 +1,78 @@
+package com.migration.util;
+
+import com.migration.core.scheduler.AnalysisScheduler;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * Utility class for reading who an analysis runs for and its priority from a
+ * request
+ */
+public final class SchedulingParser {
+    
+    private static final int MAX_CLIENT_ID_LENGTH = 128;
+    
+    // Prevent instantiation
+    private SchedulingParser() {
+        throw new AssertionError("Cannot instantiate SchedulingParser class");
+    }
+    
+    /**
+     * Reads the priority parameter. Only sessions of the web UI get
+     * interactive; other callers asking for it are scheduled as batch, so
+     * scripts cannot take the slots kept for people.
+     *
+     * @param request the HTTP request
+     * @param defaultPriority the priority when the parameter is absent
+     * @return the priority class to schedule the analysis in
+     * @throws IllegalArgumentException if the parameter is neither interactive nor batch
+     */
+    public static AnalysisScheduler.Priority parsePriority(HttpServletRequest request,
+                                                           AnalysisScheduler.Priority defaultPriority) {
+        String value = request.getParameter("priority");
+        if (value == null || value.isBlank()) {
+            return defaultPriority;
+        }
+        for (AnalysisScheduler.Priority priority : AnalysisScheduler.Priority.values()) {
+            if (priority.label().equalsIgnoreCase(value.trim())) {
+                return priority == AnalysisScheduler.Priority.INTERACTIVE && !isWebUiSession(request)
+                    ? AnalysisScheduler.Priority.BATCH : priority;
+            }
+        }
+        throw new IllegalArgumentException(Constants.ERROR_INVALID_QUERY + "priority=" + value);
+    }
+    
+    /**
+     * Returns the priority of analyses that do not ask for one: interactive
+     * for sessions of the web UI, where someone waits for the result, and
+     * batch for other callers such as scripts and CI
+     *
+     * @param request the HTTP request
+     * @return the default priority class
+     */
+    public static AnalysisScheduler.Priority defaultPriority(HttpServletRequest request) {
+        return isWebUiSession(request) ? AnalysisScheduler.Priority.INTERACTIVE : AnalysisScheduler.Priority.BATCH;
+    }
+    
+    private static boolean isWebUiSession(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        return session != null && session.getAttribute(Constants.SESSION_INTERACTIVE) != null;
+    }
+    
+    /**
+     * Identifies the client for fair sharing: the X-Client-Id header, so
+     * automation behind one address can tell its jobs apart, or else the
+     * remote address
+     *
+     * @param request the HTTP request
+     * @return the client identifier
+     */
+    public static String clientId(HttpServletRequest request) {
+        String header = request.getHeader(Constants.HEADER_CLIENT_ID);
+        if (header != null && !header.isBlank()) {
+            String clientId = header.trim();
+            return clientId.length() > MAX_CLIENT_ID_LENGTH ? clientId.substring(0, MAX_CLIENT_ID_LENGTH) : clientId;
+        }
+        return request.getRemoteAddr();
+    }
+}
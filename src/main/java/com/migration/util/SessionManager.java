@@ -1,8 +1,17 @@
 package com.migration.util;
 
+import com.migration.core.detector.AnalysisOptions;
+import com.migration.core.detector.CancellationToken;
+import com.migration.core.index.IssueIndex;
+import com.migration.core.watch.LiveAnalysis;
+import com.migration.core.watch.WatchRegistry;
 import com.migration.model.ProjectInfo;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpSessionBindingEvent;
+import jakarta.servlet.http.HttpSessionBindingListener;
+
+import java.io.Serializable;
 
 /**
  * Utility class for managing HTTP session operations
@@ -15,28 +24,119 @@ public final class SessionManager {
     }
     
     /**
-     * Stores project information in the session
+     * Stores a new analysis in the session with the options it ran with,
+     * replacing the stored one, which stops being watched
      * 
      * @param request the HTTP request
-     * @param projectInfo the project information to store
+     * @param projectInfo the project information to store, not modified afterwards
+     * @param options the analysis options, of which the scan options are kept
      */
-    public static void storeProjectInfo(HttpServletRequest request, ProjectInfo projectInfo) {
+    public static void storeProjectInfo(HttpServletRequest request, ProjectInfo projectInfo, AnalysisOptions options) {
         HttpSession session = request.getSession(true);
-        session.setAttribute(Constants.SESSION_PROJECT_INFO, projectInfo);
+        session.setAttribute(Constants.SESSION_PROJECT_INFO,
+                             new StoredAnalysis(new LiveAnalysis(projectInfo, options)));
+        session.removeAttribute(Constants.SESSION_ISSUE_INDEX);
+    }
+    
+    /**
+     * Retrieves the stored analysis, which fixes and watch re-scans update
+     * 
+     * @param request the HTTP request
+     * @return the analysis, or null if not found
+     */
+    public static LiveAnalysis getLiveAnalysis(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        if (session == null) {
+            return null;
+        }
+        StoredAnalysis stored = (StoredAnalysis) session.getAttribute(Constants.SESSION_PROJECT_INFO);
+        return stored == null ? null : stored.analysis;
     }
     
     /**
      * Retrieves project information from the session
      * 
      * @param request the HTTP request
-     * @return the project information, or null if not found
+     * @return the current snapshot of the project information, which must
+     *         not be modified, or null if not found
      */
     public static ProjectInfo getProjectInfo(HttpServletRequest request) {
+        LiveAnalysis analysis = getLiveAnalysis(request);
+        return analysis == null ? null : analysis.get();
+    }
+    
+    /**
+     * Retrieves the issue index of the stored analysis, building it on first
+     * use and again whenever the stored issue list has been replaced
+     * 
+     * @param request the HTTP request
+     * @return the issue index, or null if no project is stored
+     */
+    public static IssueIndex getIssueIndex(HttpServletRequest request) {
+        ProjectInfo projectInfo = getProjectInfo(request);
+        if (projectInfo == null) {
+            return null;
+        }
+        
+        HttpSession session = request.getSession(false);
+        IssueIndex index = (IssueIndex) session.getAttribute(Constants.SESSION_ISSUE_INDEX);
+        if (index == null || !index.isIndexOf(projectInfo.getIssues())) {
+            index = new IssueIndex(projectInfo.getIssues());
+            session.setAttribute(Constants.SESSION_ISSUE_INDEX, index);
+        }
+        return index;
+    }
+    
+    /**
+     * Registers a new analysis for the session, cancelling the one it
+     * replaces. The analysis is also cancelled when the session is
+     * invalidated or expires.
+     * 
+     * @param request the HTTP request
+     * @param timeoutMillis time the analysis may take, or 0 for no deadline
+     * @return the token to run the analysis with
+     */
+    public static CancellationToken startAnalysis(HttpServletRequest request, long timeoutMillis) {
+        CancellationToken token = CancellationToken.withTimeout(timeoutMillis);
+        request.getSession(true).setAttribute(Constants.SESSION_RUNNING_ANALYSIS, new RunningAnalysis(token));
+        return token;
+    }
+    
+    /**
+     * Unregisters an analysis that has ended, unless a newer one replaced it
+     * 
+     * @param request the HTTP request
+     * @param token the token returned by {@link #startAnalysis}
+     */
+    public static void finishAnalysis(HttpServletRequest request, CancellationToken token) {
         HttpSession session = request.getSession(false);
         if (session == null) {
-            return null;
+            return;
+        }
+        try {
+            Object running = session.getAttribute(Constants.SESSION_RUNNING_ANALYSIS);
+            if (running instanceof RunningAnalysis && ((RunningAnalysis) running).token == token) {
+                session.removeAttribute(Constants.SESSION_RUNNING_ANALYSIS);
+            }
+        } catch (IllegalStateException e) {
+            // Session invalidated while the analysis ran; nothing left to unregister
         }
-        return (ProjectInfo) session.getAttribute(Constants.SESSION_PROJECT_INFO);
+    }
+    
+    /**
+     * Cancels the session's running analysis
+     * 
+     * @param request the HTTP request
+     * @return true if an analysis was running
+     */
+    public static boolean cancelAnalysis(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        if (session == null || session.getAttribute(Constants.SESSION_RUNNING_ANALYSIS) == null) {
+            return false;
+        }
+        // Unbinding cancels it
+        session.removeAttribute(Constants.SESSION_RUNNING_ANALYSIS);
+        return true;
     }
     
     /**
@@ -58,6 +158,7 @@ public final class SessionManager {
         HttpSession session = request.getSession(false);
         if (session != null) {
             session.removeAttribute(Constants.SESSION_PROJECT_INFO);
+            session.removeAttribute(Constants.SESSION_ISSUE_INDEX);
         }
     }
     
@@ -72,4 +173,40 @@ public final class SessionManager {
             session.invalidate();
         }
     }
+    
+    /**
+     * Session attribute holding the token of the running analysis. The
+     * container unbinds it when it is replaced or removed and when the session
+     * ends, and each of those cancels the analysis.
+     */
+    private static final class RunningAnalysis implements HttpSessionBindingListener {
+        private final CancellationToken token;
+        
+        RunningAnalysis(CancellationToken token) {
+            this.token = token;
+        }
+        
+        @Override
+        public void valueUnbound(HttpSessionBindingEvent event) {
+            token.cancel();
+        }
+    }
+    
+    /**
+     * Session attribute holding the stored analysis. Once it is replaced or
+     * removed, or the session ends, nothing can reach the analysis any more,
+     * so it stops being watched.
+     */
+    private static final class StoredAnalysis implements HttpSessionBindingListener, Serializable {
+        private final LiveAnalysis analysis;
+        
+        StoredAnalysis(LiveAnalysis analysis) {
+            this.analysis = analysis;
+        }
+        
+        @Override
+        public void valueUnbound(HttpSessionBindingEvent event) {
+            WatchRegistry.getInstance().release(analysis);
+        }
+    }
 }
@@ -0,0 +1,37 @@
+plugins {
+    `java-library`
+    id("com.github.johnrengelman.shadow") version "7.1.2"
+}
+
+group = "com.example.mixed"
+version = "1.5.0"
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    implementation("com.google.guava:guava:31.1-jre")
+    compile("org.apache.commons:commons-lang3:3.12.0")
+    runtime("org.postgresql:postgresql:42.5.0")
+    testImplementation("org.junit.jupiter:junit-jupiter:5.9.1")
+    testCompile("org.assertj:assertj-core:3.23.1")
+}
+
+val extraVersion = project.ext["extraVersion"]
+
+tasks.jar {
+    archiveBaseName.set("mixed")
+    archiveFileName.set("mixed.jar")
+}
+
+tasks.register("printArchive") {
+    doLast {
+        println(tasks.jar.get().archiveFile.get())
+        println(tasks.jar.get().getArchivePath())
+    }
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
@@ -43,12 +43,16 @@
                 <div id="loadingIndicator" class="loading-indicator" style="display: none;">
                     <div class="spinner"></div>
                     <p>Analyzing project...</p>
+                    <button onclick="cancelAnalysis()" class="btn btn-secondary" id="cancelBtn">Cancel</button>
                 </div>
             </section>
 
             <!-- Project Info Section -->
             <section class="card" id="project-info-section" style="display: none;">
                 <h2>📊 Project Information</h2>
+                <p id="incompleteNotice" class="help-text incomplete-notice" style="display: none;">
+                    ⚠️ The analysis reached its time limit. Only the files scanned before it are included.
+                </p>
                 <div class="info-grid">
                     <div class="info-item">
                         <span class="info-label">Project Name:</span>
@@ -111,9 +115,14 @@
                     <label>
                         <input type="checkbox" id="filterAutoFixable" onchange="filterIssues()"> Auto-Fixable Only
                     </label>
+                    <label>
+                        <input type="checkbox" id="groupByFile" onchange="filterIssues()" checked> Group by File
+                    </label>
                 </div>
                 
+                <p id="issuesStatus" class="issue-status"></p>
                 <div id="issuesList" class="issues-list"></div>
+                <div id="issueDetail" class="issue-detail" style="display: none;"></div>
             </section>
 
             <!-- Fix Results Section -->
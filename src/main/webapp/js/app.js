@@ -1,6 +1,20 @@
 let currentProject = null;
-let allIssues = [];
 let selectedIssues = new Set();
+let watchSource = null;
+let analysisRunning = false;
+
+// Issue rows have a fixed height so only the rows in view need to exist; keep in step with .issue-row
+const ISSUE_ROW_HEIGHT = 56;
+// Rows rendered above and below the visible ones, so short scrolls show no gap
+const ISSUE_ROW_OVERSCAN = 10;
+
+// The issues live in a worker (js/issues-worker.js) that loads, filters and groups them
+let issuesWorker = null;
+const workerRequests = new Map();
+let nextWorkerRequest = 1;
+let latestWindowRequest = 0;
+let windowScheduled = false;
+let detailIssueId = null;
 
 async function browseDirectory() {
     // Check if the File System Access API is supported
@@ -73,36 +87,100 @@ async function analyzeProject() {
     document.getElementById('issues-section').style.display = 'none';
     document.getElementById('results-section').style.display = 'none';
     
+    analysisRunning = true;
     try {
         const response = await fetch('/api/analyze', {
             method: 'POST',
             headers: {
                 'Content-Type': 'application/x-www-form-urlencoded',
             },
-            body: `projectPath=${encodeURIComponent(projectPath)}`
+            // The issues are paged in by the worker as the list scrolls
+            body: `projectPath=${encodeURIComponent(projectPath)}&includeIssues=false`
         });
         
+        if (response.status === 409) {
+            // Cancelled, by the user or by a newer analysis
+            return;
+        }
         if (!response.ok) {
             const error = await response.json();
             throw new Error(error.error || 'Failed to analyze project');
         }
         
         currentProject = await response.json();
-        allIssues = currentProject.issues || [];
         selectedIssues.clear();
+        await workerRequest({ type: 'reset', filter: currentFilter() });
         
         displayProjectInfo();
         displayIssues();
+        startWatching();
         
     } catch (error) {
         alert('Error: ' + error.message);
         console.error('Analysis error:', error);
     } finally {
+        analysisRunning = false;
         document.getElementById('loadingIndicator').style.display = 'none';
         document.getElementById('analyzeBtn').disabled = false;
     }
 }
 
+function cancelAnalysis() {
+    fetch('/api/analyze/cancel', { method: 'POST' });
+}
+
+// Stop the server's work when the page is left mid-analysis
+window.addEventListener('pagehide', () => {
+    if (analysisRunning) {
+        navigator.sendBeacon('/api/analyze/cancel');
+    }
+});
+
+// Keep the displayed issues current while build files are edited
+function startWatching() {
+    if (watchSource) {
+        watchSource.close();
+    }
+    if (!('EventSource' in window)) {
+        return;
+    }
+    
+    watchSource = new EventSource('/api/watch');
+    watchSource.addEventListener('delta', (event) => {
+        applyIssueDelta(JSON.parse(event.data));
+    });
+    watchSource.onerror = () => {
+        // The browser reconnects on its own; deltas missed meanwhile are not replayed
+        console.warn('Watch connection lost, retrying');
+    };
+}
+
+async function applyIssueDelta(delta) {
+    if (!currentProject || delta.projectPath !== currentProject.projectPath) {
+        return;
+    }
+    
+    const wasEmpty = !currentProject.totalIssues;
+    await workerRequest({ type: 'delta', removed: delta.removed, added: delta.added, total: delta.totalIssues });
+    delta.removed.forEach(id => selectedIssues.delete(id));
+    if (delta.removed.includes(detailIssueId)) {
+        hideIssueDetail();
+    }
+    
+    currentProject.totalIssues = delta.totalIssues;
+    currentProject.criticalIssues = delta.criticalIssues;
+    currentProject.autoFixableIssues = delta.autoFixableIssues;
+    displayProjectInfo();
+    
+    // Re-render the rows in view so selections and scroll position survive
+    if (wasEmpty || !currentProject.totalIssues) {
+        displayIssues();
+    } else {
+        requestIssueWindow();
+    }
+    updateFixButtonsState();
+}
+
 function displayProjectInfo() {
     document.getElementById('projectName').textContent = currentProject.projectName || 'Unknown';
     document.getElementById('gradleVersion').textContent = currentProject.currentGradleVersion || 'Unknown';
@@ -116,34 +194,203 @@ function displayProjectInfo() {
     document.getElementById('totalIssues').textContent = currentProject.totalIssues || 0;
     document.getElementById('criticalIssues').textContent = currentProject.criticalIssues || 0;
     document.getElementById('autoFixableIssues').textContent = currentProject.autoFixableIssues || 0;
+    document.getElementById('incompleteNotice').style.display = currentProject.incomplete ? 'block' : 'none';
     
     document.getElementById('project-info-section').style.display = 'block';
 }
 
+function getIssuesWorker() {
+    if (!issuesWorker) {
+        issuesWorker = new Worker('/js/issues-worker.js');
+        issuesWorker.onmessage = (event) => {
+            const reply = event.data;
+            const pending = workerRequests.get(reply.requestId);
+            if (!pending) {
+                return;
+            }
+            workerRequests.delete(reply.requestId);
+            if (reply.error) {
+                pending.reject(new Error(reply.error));
+            } else {
+                pending.resolve(reply);
+            }
+        };
+    }
+    return issuesWorker;
+}
+
+// Sends a request to the issues worker and resolves with its reply
+function workerRequest(message) {
+    const requestId = nextWorkerRequest++;
+    return new Promise((resolve, reject) => {
+        workerRequests.set(requestId, { resolve, reject });
+        getIssuesWorker().postMessage(Object.assign({ requestId }, message));
+    });
+}
+
+function currentFilter() {
+    const severities = [];
+    if (document.getElementById('filterCritical').checked) severities.push('CRITICAL');
+    if (document.getElementById('filterHigh').checked) severities.push('HIGH');
+    if (document.getElementById('filterMedium').checked) severities.push('MEDIUM');
+    return {
+        severities,
+        autoFixableOnly: document.getElementById('filterAutoFixable').checked,
+        groupByFile: document.getElementById('groupByFile').checked
+    };
+}
+
 function displayIssues() {
     const issuesList = document.getElementById('issuesList');
-    issuesList.innerHTML = '';
+    document.getElementById('issues-section').style.display = 'block';
+    document.getElementById('issuesStatus').textContent = '';
+    hideIssueDetail();
     
-    if (!allIssues || allIssues.length === 0) {
+    if (!currentProject.totalIssues) {
         issuesList.innerHTML = '<p class="help-text">No issues found! Your project is ready for Gradle 9.</p>';
-        document.getElementById('issues-section').style.display = 'block';
         return;
     }
     
-    allIssues.forEach(issue => {
-        const issueElement = createIssueElement(issue);
-        issuesList.appendChild(issueElement);
+    issuesList.innerHTML = '<div id="issuesViewport" class="issues-viewport"><div id="issuesSpacer" class="issues-spacer"></div></div>';
+    document.getElementById('issuesViewport').addEventListener('scroll', scheduleIssueWindow, { passive: true });
+    requestIssueWindow();
+}
+
+function scheduleIssueWindow() {
+    if (!windowScheduled) {
+        windowScheduled = true;
+        requestAnimationFrame(() => {
+            windowScheduled = false;
+            requestIssueWindow();
+        });
+    }
+}
+
+// Renders the rows in view, asking the worker for them and for more pages when needed
+async function requestIssueWindow() {
+    const viewport = document.getElementById('issuesViewport');
+    if (!viewport) {
+        return;
+    }
+    const start = Math.max(0, Math.floor(viewport.scrollTop / ISSUE_ROW_HEIGHT) - ISSUE_ROW_OVERSCAN);
+    const end = Math.ceil((viewport.scrollTop + viewport.clientHeight) / ISSUE_ROW_HEIGHT) + ISSUE_ROW_OVERSCAN;
+    const request = ++latestWindowRequest;
+    
+    let reply;
+    try {
+        reply = await workerRequest({ type: 'window', start, end });
+    } catch (error) {
+        console.error('Error loading issues:', error);
+        document.getElementById('issuesStatus').textContent = 'Error loading issues: ' + error.message;
+        return;
+    }
+    // A later scroll or filter change has asked for other rows
+    if (request !== latestWindowRequest || reply.stale) {
+        return;
+    }
+    renderIssueWindow(reply);
+}
+
+function renderIssueWindow(reply) {
+    const spacer = document.getElementById('issuesSpacer');
+    if (!spacer) {
+        return;
+    }
+    const totalRows = reply.rowCount + (reply.more ? 1 : 0);
+    spacer.style.height = (totalRows * ISSUE_ROW_HEIGHT) + 'px';
+    
+    const fragment = document.createDocumentFragment();
+    reply.rows.forEach((row, i) => fragment.appendChild(createIssueRow(row, reply.start + i)));
+    if (reply.more && reply.start + reply.rows.length === reply.rowCount) {
+        const loadingRow = document.createElement('div');
+        loadingRow.className = 'issue-row issue-row-loading';
+        loadingRow.style.top = (reply.rowCount * ISSUE_ROW_HEIGHT) + 'px';
+        loadingRow.textContent = 'Loading more issues...';
+        fragment.appendChild(loadingRow);
+    }
+    if (totalRows === 0) {
+        const empty = document.createElement('p');
+        empty.className = 'help-text';
+        empty.textContent = 'No issues match the selected filters.';
+        fragment.appendChild(empty);
+    }
+    spacer.replaceChildren(fragment);
+    
+    document.getElementById('issuesStatus').textContent = reply.more
+        ? `${reply.matchCount} matching issues in the first ${reply.loadedCount} of ${currentProject.totalIssues}; scroll for more`
+        : `${reply.matchCount} matching issues`;
+}
+
+// One fixed-height row: a file header, or an issue opening its details when clicked
+function createIssueRow(row, index) {
+    const div = document.createElement('div');
+    div.style.top = (index * ISSUE_ROW_HEIGHT) + 'px';
+    
+    if (!row.issue) {
+        div.className = 'issue-row issue-group';
+        div.innerHTML = `
+            <span class="issue-group-file">📄 ${escapeHtml(relativePath(row.file))}</span>
+            <span class="issue-group-count">${row.count} ${row.count === 1 ? 'issue' : 'issues'}</span>
+        `;
+        return div;
+    }
+    
+    const issue = row.issue;
+    const selected = selectedIssues.has(issue.id);
+    div.className = 'issue-row' + (selected ? ' selected' : '') + (issue.id === detailIssueId ? ' active' : '');
+    div.dataset.issueId = issue.id;
+    const location = document.getElementById('groupByFile').checked
+        ? `Line ${issue.lineNumber}`
+        : `${relativePath(issue.filePath)}:${issue.lineNumber}`;
+    div.innerHTML = `
+        <input type="checkbox" class="issue-checkbox" ${selected ? 'checked' : ''} ${issue.autoFixable ? '' : 'disabled'}>
+        <span class="badge badge-${issue.severity.toLowerCase()}">${issue.severity}</span>
+        <span class="issue-row-title">${escapeHtml(issue.title)}</span>
+        <span class="issue-row-location">${escapeHtml(location)}</span>
+        ${issue.autoFixable ? '<span class="badge badge-fixable">Auto-Fixable</span>' : ''}
+    `;
+    div.querySelector('.issue-checkbox').addEventListener('change', (event) => {
+        toggleIssueSelection(issue.id, event.target.checked);
     });
+    div.addEventListener('click', (event) => {
+        if (!event.target.classList.contains('issue-checkbox')) {
+            showIssueDetail(issue);
+        }
+    });
+    return div;
+}
+
+function showIssueDetail(issue) {
+    detailIssueId = issue.id;
+    document.querySelectorAll('.issue-row.active').forEach(element => element.classList.remove('active'));
+    document.querySelectorAll(`.issue-row[data-issue-id="${issue.id}"]`)
+        .forEach(element => element.classList.add('active'));
     
-    document.getElementById('issues-section').style.display = 'block';
+    const detail = document.getElementById('issueDetail');
+    detail.replaceChildren(createIssueElement(issue));
+    detail.style.display = 'block';
+}
+
+function hideIssueDetail() {
+    detailIssueId = null;
+    const detail = document.getElementById('issueDetail');
+    detail.replaceChildren();
+    detail.style.display = 'none';
+}
+
+function relativePath(filePath) {
+    const root = currentProject && currentProject.projectPath;
+    if (filePath && root && filePath.startsWith(root) && filePath.length > root.length) {
+        return filePath.substring(root.length).replace(/^[\\/]/, '');
+    }
+    return filePath || '';
 }
 
 function createIssueElement(issue) {
     const div = document.createElement('div');
-    div.className = 'issue-item';
+    const selected = selectedIssues.has(issue.id);
+    div.className = 'issue-item' + (selected ? ' selected' : '');
     div.dataset.issueId = issue.id;
-    div.dataset.severity = issue.severity;
-    div.dataset.autoFixable = issue.autoFixable;
     
     const severityClass = `badge-${issue.severity.toLowerCase()}`;
     const autoFixableBadge = issue.autoFixable 
@@ -158,8 +405,8 @@ function createIssueElement(issue) {
         <div class="issue-header">
             <div class="issue-title-section">
                 <input type="checkbox" class="issue-checkbox" 
-                       onchange="toggleIssueSelection('${issue.id}')" 
-                       ${issue.autoFixable ? '' : 'disabled'}>
+                       onchange="toggleIssueSelection('${issue.id}', this.checked)" 
+                       ${selected ? 'checked' : ''} ${issue.autoFixable ? '' : 'disabled'}>
                 <div>
                     <div class="issue-title">${escapeHtml(issue.title)}</div>
                 </div>
@@ -215,18 +462,22 @@ function createIssueElement(issue) {
     return div;
 }
 
-function toggleIssueSelection(issueId) {
-    const checkbox = document.querySelector(`[data-issue-id="${issueId}"] .issue-checkbox`);
-    const issueElement = document.querySelector(`[data-issue-id="${issueId}"]`);
-    
-    if (checkbox.checked) {
+function toggleIssueSelection(issueId, checked) {
+    if (checked) {
         selectedIssues.add(issueId);
-        issueElement.classList.add('selected');
     } else {
         selectedIssues.delete(issueId);
-        issueElement.classList.remove('selected');
     }
     
+    // The issue's row and its details, if open, both carry the selection
+    document.querySelectorAll(`[data-issue-id="${issueId}"]`).forEach(element => {
+        element.classList.toggle('selected', checked);
+        const checkbox = element.querySelector('.issue-checkbox');
+        if (checkbox) {
+            checkbox.checked = checked;
+        }
+    });
+    
     updateFixButtonsState();
 }
 
@@ -235,39 +486,21 @@ function updateFixButtonsState() {
     fixSelectedBtn.disabled = selectedIssues.size === 0;
 }
 
-function filterIssues() {
-    const filterCritical = document.getElementById('filterCritical').checked;
-    const filterHigh = document.getElementById('filterHigh').checked;
-    const filterMedium = document.getElementById('filterMedium').checked;
-    const filterAutoFixable = document.getElementById('filterAutoFixable').checked;
-    
-    const issueElements = document.querySelectorAll('.issue-item');
-    
-    issueElements.forEach(element => {
-        const severity = element.dataset.severity;
-        const autoFixable = element.dataset.autoFixable === 'true';
-        
-        let show = true;
-        
-        // Apply severity filters
-        if (filterCritical || filterHigh || filterMedium) {
-            show = false;
-            if (filterCritical && severity === 'CRITICAL') show = true;
-            if (filterHigh && severity === 'HIGH') show = true;
-            if (filterMedium && severity === 'MEDIUM') show = true;
-        }
-        
-        // Apply auto-fixable filter
-        if (filterAutoFixable && !autoFixable) {
-            show = false;
-        }
-        
-        element.style.display = show ? 'block' : 'none';
-    });
+async function filterIssues() {
+    if (!currentProject) {
+        return;
+    }
+    // The worker filters the loaded issues and loads more pages if too few match
+    await workerRequest({ type: 'filter', filter: currentFilter() });
+    const viewport = document.getElementById('issuesViewport');
+    if (viewport) {
+        viewport.scrollTop = 0;
+        requestIssueWindow();
+    }
 }
 
 async function fixSingleIssue(issueId) {
-    await fixIssues([issueId]);
+    await fixIssues({ issueIds: [issueId] });
 }
 
 async function fixSelected() {
@@ -276,27 +509,25 @@ async function fixSelected() {
         return;
     }
     
-    await fixIssues(Array.from(selectedIssues));
+    await fixIssues({ issueIds: Array.from(selectedIssues) });
 }
 
 async function fixAllAutoFixable() {
-    const autoFixableIssues = allIssues
-        .filter(issue => issue.autoFixable)
-        .map(issue => issue.id);
-    
-    if (autoFixableIssues.length === 0) {
+    const autoFixableCount = currentProject ? currentProject.autoFixableIssues : 0;
+    if (!autoFixableCount) {
         alert('No auto-fixable issues found');
         return;
     }
     
-    if (!confirm(`This will fix ${autoFixableIssues.length} issues. Continue?`)) {
+    if (!confirm(`This will fix ${autoFixableCount} issues. Continue?`)) {
         return;
     }
     
-    await fixIssues(autoFixableIssues);
+    // The server picks the issues, including those on pages not loaded yet
+    await fixIssues({ selectors: [{ allAutoFixable: true }] });
 }
 
-async function fixIssues(issueIds) {
+async function fixIssues(fixRequest) {
     try {
         // Disable fix buttons
         document.getElementById('fixAllBtn').disabled = true;
@@ -307,7 +538,7 @@ async function fixIssues(issueIds) {
             headers: {
                 'Content-Type': 'application/json',
             },
-            body: JSON.stringify({ issueIds })
+            body: JSON.stringify(fixRequest)
         });
         
         if (!response.ok) {
@@ -319,23 +550,29 @@ async function fixIssues(issueIds) {
         displayFixResults(result);
         
         // Remove fixed issues from the list
-        result.results.forEach(fixResult => {
-            if (fixResult.success) {
-                const issueElement = document.querySelector(`[data-issue-id="${fixResult.issueId}"]`);
-                if (issueElement) {
-                    issueElement.remove();
-                }
-                allIssues = allIssues.filter(issue => issue.id !== fixResult.issueId);
-                selectedIssues.delete(fixResult.issueId);
-            }
-        });
+        const fixedIds = result.results.filter(fixResult => fixResult.success).map(fixResult => fixResult.issueId);
+        fixedIds.forEach(id => selectedIssues.delete(id));
+        if (fixedIds.includes(detailIssueId)) {
+            hideIssueDetail();
+        }
         
-        // Update stats
-        if (currentProject) {
-            currentProject.totalIssues = allIssues.length;
-            currentProject.criticalIssues = allIssues.filter(i => i.severity === 'CRITICAL').length;
-            currentProject.autoFixableIssues = allIssues.filter(i => i.autoFixable).length;
+        // Update stats; fixed issues may include some not loaded yet, so take the counts from the server
+        if (currentProject && fixedIds.length > 0) {
+            const summaryResponse = await fetch('/api/analyze/summary');
+            if (!summaryResponse.ok) {
+                throw new Error('Failed to refresh issue counts');
+            }
+            const summary = await summaryResponse.json();
+            await workerRequest({ type: 'remove', ids: fixedIds, total: summary.totalIssues });
+            currentProject.totalIssues = summary.totalIssues;
+            currentProject.criticalIssues = summary.criticalIssues;
+            currentProject.autoFixableIssues = summary.autoFixableIssues;
             displayProjectInfo();
+            if (!currentProject.totalIssues) {
+                displayIssues();
+            } else {
+                requestIssueWindow();
+            }
         }
         
     } catch (error) {
@@ -0,0 +1,216 @@
+// Holds the issues of the stored analysis for the page's issue list. Pages
+// are fetched and parsed here as the list scrolls towards their end, and the
+// filtered, grouped rows are built here, so the page only renders the rows
+// in view.
+
+// The largest page GET /api/analyze serves
+const PAGE_SIZE = 500;
+
+let issues = [];           // Loaded issues, in the server's file and line order
+let loadedIds = new Set();
+let serverOffset = 0;      // Positions of the server's list covered by the loaded pages
+let serverTotal = null;    // Issues on the server, known once a page has loaded
+let loading = null;        // Page being fetched
+let generation = 0;        // Bumped on reset, so fetches for an older analysis are dropped
+let filter = { severities: [], autoFixableOnly: false, groupByFile: true };
+let rows = null;           // Filtered rows: { issue } or a file header { file, count }; null when stale
+let matchCount = 0;
+
+self.onmessage = async (event) => {
+    const message = event.data;
+    try {
+        const reply = await handle(message);
+        self.postMessage(Object.assign({ requestId: message.requestId }, reply));
+    } catch (error) {
+        self.postMessage({ requestId: message.requestId, error: error.message });
+    }
+};
+
+async function handle(message) {
+    switch (message.type) {
+        case 'reset':
+            generation++;
+            issues = [];
+            loadedIds = new Set();
+            serverOffset = 0;
+            serverTotal = null;
+            loading = null;
+            filter = message.filter;
+            rows = null;
+            return {};
+        case 'filter':
+            filter = message.filter;
+            rows = null;
+            return {};
+        case 'window':
+            return readWindow(message.start, message.end);
+        case 'remove':
+            // Fixed issues, which the server has dropped from its list too
+            removeIssues(message.ids);
+            serverTotal = message.total;
+            return {};
+        case 'delta':
+            applyDelta(message.removed, message.added, message.total);
+            return {};
+        default:
+            throw new Error('Unknown request ' + message.type);
+    }
+}
+
+function hasMore() {
+    return serverTotal === null || serverOffset < serverTotal;
+}
+
+/**
+ * Loads the page after the ones loaded so far. Pages are addressed by
+ * position, and fixes and watched edits shift positions, so a page may
+ * repeat issues already loaded; those are skipped.
+ */
+function loadNextPage() {
+    if (loading) {
+        return loading;
+    }
+    const pageGeneration = generation;
+    const page = Math.floor(serverOffset / PAGE_SIZE) + 1;
+    loading = fetch(`/api/analyze?sort=file&page=${page}&size=${PAGE_SIZE}`)
+        .then(async response => {
+            if (!response.ok) {
+                const error = await response.json().catch(() => ({}));
+                throw new Error(error.error || 'Failed to load issues');
+            }
+            return response.json();
+        })
+        .then(result => {
+            if (pageGeneration !== generation) {
+                return;
+            }
+            serverTotal = result.totalMatches;
+            serverOffset = (page - 1) * PAGE_SIZE + result.issues.length;
+            if (result.issues.length === 0) {
+                // The list shrank below this page meanwhile
+                serverTotal = serverOffset;
+            }
+            result.issues.forEach(issue => {
+                if (!loadedIds.has(issue.id)) {
+                    loadedIds.add(issue.id);
+                    issues.push(issue);
+                }
+            });
+            rows = null;
+        })
+        .finally(() => {
+            if (pageGeneration === generation) {
+                loading = null;
+            }
+        });
+    return loading;
+}
+
+function currentRows() {
+    if (rows !== null) {
+        return rows;
+    }
+    rows = [];
+    matchCount = 0;
+    const severities = new Set(filter.severities);
+    let header = null;
+    for (const issue of issues) {
+        if (severities.size > 0 && !severities.has(issue.severity)) {
+            continue;
+        }
+        if (filter.autoFixableOnly && !issue.autoFixable) {
+            continue;
+        }
+        if (filter.groupByFile && (header === null || header.file !== issue.filePath)) {
+            header = { file: issue.filePath, count: 0 };
+            rows.push(header);
+        }
+        if (header !== null) {
+            header.count++;
+        }
+        rows.push({ issue });
+        matchCount++;
+    }
+    return rows;
+}
+
+/**
+ * Returns rows start to end, loading pages until there are enough rows or
+ * the server has no more
+ */
+async function readWindow(start, end) {
+    const windowGeneration = generation;
+    while (currentRows().length < end && hasMore()) {
+        await loadNextPage();
+        if (windowGeneration !== generation) {
+            return { stale: true };
+        }
+    }
+    const all = currentRows();
+    return {
+        start,
+        rows: all.slice(start, end),
+        rowCount: all.length,
+        matchCount,
+        loadedCount: issues.length,
+        more: hasMore()
+    };
+}
+
+/**
+ * Drops removed issues. Those loaded were before the next page, which moves
+ * up by as many; those not loaded yet are after it. The caller sets the new
+ * server total.
+ */
+function removeIssues(ids) {
+    const removedIds = new Set(ids);
+    const before = issues.length;
+    issues = issues.filter(issue => {
+        if (!removedIds.has(issue.id)) {
+            return true;
+        }
+        loadedIds.delete(issue.id);
+        return false;
+    });
+    serverOffset = Math.max(0, serverOffset - (before - issues.length));
+    rows = null;
+}
+
+/**
+ * Applies the issues a watched edit removed and added. An added issue that
+ * sorts after every loaded one is left for its page to bring in.
+ */
+function applyDelta(removedIds, added, total) {
+    removeIssues(removedIds);
+    const last = issues.length > 0 ? issues[issues.length - 1] : null;
+    added.forEach(issue => {
+        if (loadedIds.has(issue.id) || (hasMore() && (last === null || compareIssues(issue, last) > 0))) {
+            return;
+        }
+        let low = 0;
+        let high = issues.length;
+        while (low < high) {
+            const middle = (low + high) >>> 1;
+            if (compareIssues(issues[middle], issue) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        issues.splice(low, 0, issue);
+        loadedIds.add(issue.id);
+        serverOffset++;
+    });
+    serverTotal = total;
+    rows = null;
+}
+
+// The server's file sort: by path, then line
+function compareIssues(a, b) {
+    const pathA = a.filePath || '';
+    const pathB = b.filePath || '';
+    if (pathA !== pathB) {
+        return pathA < pathB ? -1 : 1;
+    }
+    return a.lineNumber - b.lineNumber;
+}
@@ -0,0 +1,70 @@
+package com.migration.cli;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MigrationCliTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+    
+    private int run(String... args) {
+        return new MigrationCli(new PrintStream(out, true, StandardCharsets.UTF_8),
+                                new PrintStream(err, true, StandardCharsets.UTF_8)).run(args);
+    }
+    
+    private String stderr() {
+        return err.toString(StandardCharsets.UTF_8);
+    }
+    
+    @Test
+    public void fixRejectsAnalyzeOptions() throws Exception {
+        String project = folder.getRoot().toString();
+        String[][] options = {
+            {"--source-version", "7.0"}, {"--target-version", "8.0"}, {"--timeout", "5"},
+            {"--changed-since", "HEAD"}, {"--fail-on", "HIGH"}, {"--profile"}
+        };
+        for (String[] option : options) {
+            err.reset();
+            String[] args = new String[option.length + 2];
+            args[0] = "fix";
+            args[1] = project;
+            System.arraycopy(option, 0, args, 2, option.length);
+            assertEquals(option[0], MigrationCli.EXIT_USAGE, run(args));
+            assertTrue(stderr(), stderr().contains("Option " + option[0] + " is not supported by fix"));
+        }
+    }
+    
+    @Test
+    public void analyzeAcceptsAnalyzeOptions() {
+        MigrationCli.CliOptions options = MigrationCli.CliOptions.parse(new String[] {
+            "analyze", "project", "--source-version", "7.0", "--target-version", "8.0",
+            "--timeout", "5", "--changed-since", "HEAD", "--fail-on", "HIGH", "--profile"
+        });
+        assertEquals("analyze", options.command);
+        assertTrue(options.profile);
+    }
+    
+    @Test
+    public void fixWithoutAnalyzeOptionsRuns() throws Exception {
+        folder.newFile("build.gradle");
+        int code = run("fix", folder.getRoot().toString(), "--format", "json");
+        assertEquals(stderr(), MigrationCli.EXIT_OK, code);
+    }
+    
+    @Test
+    public void fixRejectsAnalyzeFormats() {
+        assertEquals(MigrationCli.EXIT_USAGE, run("fix", folder.getRoot().toString(), "--format", "sarif"));
+    }
+}
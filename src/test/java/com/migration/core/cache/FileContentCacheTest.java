@@ -0,0 +1,107 @@
+package com.migration.core.cache;
+
+import com.migration.util.Constants;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class FileContentCacheTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private FileContentCache cache;
+    private Path file;
+    
+    @Before
+    public void createFile() throws IOException {
+        cache = new FileContentCache(1024 * 1024);
+        file = folder.newFile("build.gradle").toPath();
+        writeOld(file, "compile 'a:b:1'\n");
+    }
+    
+    @Test
+    public void returnsCachedContentWhileFileIsUnchanged() throws IOException {
+        FileContent first = cache.read(file);
+        
+        assertSame(first, cache.read(file));
+        assertEquals(first.weight(), cache.getWeight());
+    }
+    
+    @Test
+    public void readsChangedFileAgain() throws IOException {
+        FileContent first = cache.read(file);
+        writeOld(file, "implementation 'a:b:1'\n");
+        
+        FileContent second = cache.read(file);
+        
+        assertNotSame(first, second);
+        assertEquals("implementation 'a:b:1'\n", second.text());
+    }
+    
+    @Test
+    public void doesNotCacheRecentlyModifiedFile() throws IOException {
+        Files.writeString(file, "compile 'a:b:2'\n");
+        
+        assertNotSame(cache.read(file), cache.read(file));
+        assertEquals(0, cache.getWeight());
+    }
+    
+    @Test
+    public void dropsEntryOnWrite() throws IOException {
+        cache.read(file);
+        
+        cache.write(file, "implementation 'a:b:1' // é\n");
+        
+        assertEquals(0, cache.getWeight());
+        assertEquals("implementation 'a:b:1' // é\n", cache.read(file).text());
+    }
+    
+    @Test
+    public void dropsEntryOnInvalidate() throws IOException {
+        FileContent first = cache.read(file);
+        
+        cache.invalidate(file);
+        
+        assertEquals(0, cache.getWeight());
+        assertNotSame(first, cache.read(file));
+    }
+    
+    @Test
+    public void evictsLeastRecentlyUsedOverBudget() throws IOException {
+        long oneEntry = FileContent.of("x".repeat(1000)).weight();
+        cache = new FileContentCache(oneEntry * 8 + oneEntry / 2);
+        Path[] files = new Path[9];
+        for (int i = 0; i < files.length; i++) {
+            files[i] = folder.newFile("module" + i + ".gradle").toPath();
+            writeOld(files[i], "x".repeat(1000));
+        }
+        
+        FileContent eldest = cache.read(files[0]);
+        for (int i = 1; i < files.length; i++) {
+            cache.read(files[i]);
+        }
+        
+        assertEquals(oneEntry * 8, cache.getWeight());
+        assertNotSame(eldest, cache.read(files[0]));
+    }
+    
+    /**
+     * Writes a file and backdates it past the racy window, so it can be cached
+     */
+    private static void writeOld(Path file, String content) throws IOException {
+        Files.writeString(file, content);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()
+                                                            - 10 * Constants.FILE_CACHE_RACY_MILLIS));
+    }
+}
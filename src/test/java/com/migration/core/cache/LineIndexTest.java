@@ -0,0 +1,91 @@
+package com.migration.core.cache;
+
+import org.junit.Test;
+
+import java.nio.charset.CharacterCodingException;
+
+import static org.junit.Assert.assertEquals;
+
+public class LineIndexTest {
+    
+    @Test
+    public void findsMatchAtOffsetZero() {
+        LineIndex index = LineIndex.of("compile 'a:b:1'\nruntime 'c:d:2'");
+        
+        assertEquals(1, index.lineNumber(0));
+        assertEquals(2, index.lineNumber(16));
+    }
+    
+    @Test
+    public void countsBlankLinesBeforeMatch() {
+        String text = "\n\n\ncompile 'a:b:1'";
+        LineIndex index = LineIndex.of(text);
+        
+        assertEquals(1, index.lineNumber(0));
+        assertEquals(3, index.lineNumber(2));
+        assertEquals(4, index.lineNumber(text.indexOf("compile")));
+        assertEquals(4, index.getLineCount());
+    }
+    
+    @Test
+    public void placesLineTerminatorOnItsLine() {
+        LineIndex index = LineIndex.of("ab\ncd");
+        
+        assertEquals(1, index.lineNumber(2));
+        assertEquals(2, index.lineNumber(3));
+    }
+    
+    @Test
+    public void indexesFinalLineWithoutNewline() {
+        String text = "plugins {\n}\napply plugin: 'java'";
+        LineIndex index = LineIndex.of(text);
+        
+        assertEquals(3, index.getLineCount());
+        assertEquals(3, index.lineNumber(text.length() - 1));
+    }
+    
+    @Test
+    public void indexesCrlfThroughNormalizedText() throws CharacterCodingException {
+        FileContent content = FileContent.of("plugins {\r\n}\r\n\r\ncompile 'a:b:1'\r\n");
+        String normalized = content.normalizedText();
+        
+        assertEquals("plugins {\n}\n\ncompile 'a:b:1'", normalized);
+        assertEquals(4, content.lineIndex().getLineCount());
+        assertEquals(4, content.lineIndex().lineNumber(normalized.indexOf("compile")));
+    }
+    
+    @Test
+    public void dropsFinalNewlineThroughNormalizedText() throws CharacterCodingException {
+        FileContent content = FileContent.of("a\nb\n");
+        
+        assertEquals(2, content.lineIndex().getLineCount());
+        assertEquals(2, content.lineIndex().lineNumber(content.normalizedText().length() - 1));
+    }
+    
+    @Test
+    public void indexesEmptyText() {
+        LineIndex index = LineIndex.of("");
+        
+        assertEquals(1, index.getLineCount());
+        assertEquals(1, index.lineNumber(0));
+    }
+    
+    @Test
+    public void agreesWithCountingNewlines() {
+        // Enough lines to grow the starts array a few times
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            text.append("x".repeat(i % 7)).append('\n');
+        }
+        LineIndex index = LineIndex.of(text.toString());
+        
+        int line = 1;
+        for (int position = 0; position < text.length(); position++) {
+            assertEquals("position " + position, line, index.lineNumber(position));
+            if (text.charAt(position) == '\n') {
+                line++;
+            }
+        }
+        assertEquals(101, index.getLineCount());
+    }
+}
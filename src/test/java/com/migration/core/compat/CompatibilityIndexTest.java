@@ -0,0 +1,158 @@
+package com.migration.core.compat;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CompatibilityIndexTest {
+    
+    private static final String ENTRIES =
+        "# comment line\n" +
+        "plugin com.example.a          1.0\n" +
+        "plugin com.example.ab         2.0    # shares the prefix of com.example.a\n" +
+        "plugin com.example.b          3.0\n" +
+        "plugin org.vendor.*           4.0\n" +
+        "plugin org.vendor.tools.*     5.0\n" +
+        "plugin org.vendor.special     6.0\n" +
+        "plugin com.example.retired    -      com.example.successor:2.1\n" +
+        "module com.example.a:plugin   7.0\n" +
+        "\n" +
+        "plugin com.example.b          3.1\n";
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    @Test
+    public void findsExactKeys() throws IOException {
+        CompatibilityIndex index = compile(ENTRIES);
+        
+        assertEquals("1.0", index.findPlugin("com.example.a").getMinimumVersion());
+        assertEquals("2.0", index.findPlugin("com.example.ab").getMinimumVersion());
+        // A repeated key replaces the earlier entry
+        assertEquals("3.1", index.findPlugin("com.example.b").getMinimumVersion());
+        assertEquals(8, index.size());
+    }
+    
+    @Test
+    public void missesKeysThatOnlySharePrefixes() throws IOException {
+        CompatibilityIndex index = compile(ENTRIES);
+        
+        assertNull(index.findPlugin("com.example."));
+        assertNull(index.findPlugin("com.example.abc"));
+        assertNull(index.findPlugin("com.example.c"));
+        assertNull(index.findPlugin("com.exam"));
+        assertNull(index.findPlugin(""));
+        assertNull(index.findPlugin("com.exämple.a"));
+    }
+    
+    @Test
+    public void matchesLongestPrefixEntry() throws IOException {
+        CompatibilityIndex index = compile(ENTRIES);
+        
+        assertEquals("4.0", index.findPlugin("org.vendor.lint").getMinimumVersion());
+        assertEquals("4.0", index.findPlugin("org.vendor.").getMinimumVersion());
+        assertEquals("5.0", index.findPlugin("org.vendor.tools.format").getMinimumVersion());
+        // An exact key wins over the prefixes above it
+        assertEquals("6.0", index.findPlugin("org.vendor.special").getMinimumVersion());
+        assertEquals("4.0", index.findPlugin("org.vendor.specialized").getMinimumVersion());
+        assertNull(index.findPlugin("org.vendor"));
+    }
+    
+    @Test
+    public void keepsPluginsAndModulesApart() throws IOException {
+        CompatibilityIndex index = compile(ENTRIES);
+        
+        assertEquals("7.0", index.findModule("com.example.a:plugin").getMinimumVersion());
+        assertNull(index.findModule("com.example.a"));
+        assertNull(index.findPlugin("com.example.a:plugin"));
+    }
+    
+    @Test
+    public void reportsEntriesWithoutCompatibleVersion() throws IOException {
+        Compatibility retired = compile(ENTRIES).findPlugin("com.example.retired");
+        
+        assertNull(retired.getMinimumVersion());
+        assertEquals("com.example.successor:2.1", retired.getReplacement());
+        assertTrue(retired.isIncompatible("99.0"));
+        assertNull(compile(ENTRIES).findPlugin("com.example.a").getReplacement());
+    }
+    
+    @Test
+    public void comparesVersionRanges() throws IOException {
+        Compatibility compatibility = compile("plugin p 2.0.0-1.0.21\nplugin q 1.10\n").findPlugin("q");
+        
+        assertTrue(compatibility.isIncompatible("1.9.9"));
+        assertTrue(compatibility.isIncompatible("1.10-rc1"));
+        assertFalse(compatibility.isIncompatible("1.10"));
+        assertFalse(compatibility.isIncompatible("1.10.0"));
+        assertFalse(compatibility.isIncompatible("01.010"));
+        assertFalse(compatibility.isIncompatible("2.0"));
+        // Dynamic versions cannot be compared and pass
+        assertFalse(compatibility.isIncompatible("1.+"));
+        assertFalse(compatibility.isIncompatible("[1.0, 2.0)"));
+        assertFalse(compatibility.isIncompatible("$pluginVersion"));
+        assertFalse(compatibility.isIncompatible("latest.release"));
+        
+        Compatibility ksp = compile("plugin p 2.0.0-1.0.21\n").findPlugin("p");
+        assertTrue(ksp.isIncompatible("1.9.24-1.0.20"));
+        assertTrue(ksp.isIncompatible("2.0.0-1.0.20"));
+        assertFalse(ksp.isIncompatible("2.0.0-1.0.21"));
+        assertFalse(ksp.isIncompatible("2.0.10-1.0.24"));
+    }
+    
+    @Test
+    public void ordersVersionParts() {
+        assertEquals(0, CompatibilityIndex.compareVersions("1.0", "1.0.0"));
+        assertTrue(CompatibilityIndex.compareVersions("1.0-rc1", "1.0") < 0);
+        assertTrue(CompatibilityIndex.compareVersions("1.0-beta", "1.0-rc") < 0);
+        assertTrue(CompatibilityIndex.compareVersions("9", "10") < 0);
+        assertTrue(CompatibilityIndex.compareVersions("1.0.1", "1.0") > 0);
+        assertTrue(CompatibilityIndex.compareVersions("123456789012345678901", "99") > 0);
+    }
+    
+    @Test
+    public void opensCompiledFile() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("index.bin");
+        CompatibilityIndex.compile(new StringReader(ENTRIES), file);
+        
+        CompatibilityIndex index = CompatibilityIndex.open(file);
+        
+        assertEquals(8, index.size());
+        assertEquals("5.0", index.findPlugin("org.vendor.tools.x").getMinimumVersion());
+    }
+    
+    @Test
+    public void rejectsMalformedEntries() throws IOException {
+        for (String line : new String[] {"plugin only-id", "library a 1.0", "plugin a 1.0 b c"}) {
+            try {
+                compile(line);
+                fail("Accepted: " + line);
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("line 1"));
+            }
+        }
+    }
+    
+    @Test
+    public void loadsBundledIndex() {
+        CompatibilityIndex index = CompatibilityIndex.getDefault();
+        
+        assertTrue(index.size() > 0);
+        assertEquals("2.0.0", index.findPlugin("org.jetbrains.kotlin.jvm").getMinimumVersion());
+        assertEquals("8.4.0", index.findModule("com.android.tools.build:gradle").getMinimumVersion());
+    }
+    
+    private static CompatibilityIndex compile(String entries) throws IOException {
+        return CompatibilityIndex.compile(new StringReader(entries));
+    }
+}
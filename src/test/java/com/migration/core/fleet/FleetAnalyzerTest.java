@@ -0,0 +1,73 @@
+package com.migration.core.fleet;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class FleetAnalyzerTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private FleetAnalyzer analyzer;
+    private Path repos;
+    
+    @Before
+    public void setUp() throws IOException {
+        analyzer = new FleetAnalyzer(1, 1);
+        repos = folder.newFolder("repos").toPath().toRealPath();
+    }
+    
+    @After
+    public void tearDown() {
+        analyzer.shutdown();
+    }
+    
+    private Path build(String path, String file) throws IOException {
+        Path dir = Files.createDirectories(repos.resolve(path));
+        Files.createFile(dir.resolve(file));
+        return dir;
+    }
+    
+    @Test
+    public void findsBuildsWithoutSearchingInsideThem() throws IOException {
+        Path app = build("app", "settings.gradle");
+        build("app/lib", "build.gradle");
+        Path service = build("group/service", "build.gradle.kts");
+        build("group/.cache/hidden", "build.gradle");
+        build("group/node_modules/pkg", "build.gradle");
+        
+        assertEquals(List.of(app, service), analyzer.discoverBuilds(List.of(repos), 3));
+    }
+    
+    @Test
+    public void stopsAtMaxDepth() throws IOException {
+        Path shallow = build("shallow", "build.gradle");
+        build("a/b/deep", "build.gradle");
+        
+        assertEquals(List.of(shallow), analyzer.discoverBuilds(List.of(repos), 1));
+    }
+    
+    @Test
+    public void walksSymlinkedRoot() throws IOException {
+        Path app = build("app", "settings.gradle");
+        Path link = folder.getRoot().toPath().resolve("link");
+        try {
+            Files.createSymbolicLink(link, repos);
+        } catch (UnsupportedOperationException | IOException e) {
+            Assume.assumeTrue("Symbolic links are not supported: " + e, false);
+        }
+        
+        assertEquals(List.of(app), analyzer.discoverBuilds(List.of(link), 3));
+    }
+}
@@ -0,0 +1,155 @@
+package com.migration.core.git;
+
+import org.junit.Assume;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * A small repository built with the git command line, to check what the
+ * readers make of the files git itself wrote. Tests using it are skipped
+ * where git is not installed.
+ */
+final class GitFixture implements AutoCloseable {
+    
+    static final int COMMITS = 4;
+    
+    final Path root;
+    
+    private GitFixture(Path root) {
+        this.root = root;
+    }
+    
+    /**
+     * Creates a repository on branch main with {@link #COMMITS} commits, each
+     * editing one line of a build file long enough for git to store later
+     * versions as deltas, and a lightweight tag v1 on the first commit
+     */
+    static GitFixture create() throws IOException {
+        Assume.assumeTrue("git is not installed", isGitInstalled());
+        GitFixture fixture = new GitFixture(Files.createTempDirectory("git-fixture"));
+        fixture.git("init", "-q", "-b", "main");
+        for (int commit = 1; commit <= COMMITS; commit++) {
+            fixture.write("build.gradle", buildFile(commit));
+            fixture.write("settings.gradle", "rootProject.name = 'fixture'\n");
+            fixture.write("app/build.gradle", "apply plugin: 'java'\n// revision " + commit + "\n");
+            fixture.git("add", "-A");
+            fixture.git("commit", "-q", "-m", "Commit " + commit);
+            if (commit == 1) {
+                fixture.git("tag", "v1");
+            }
+        }
+        return fixture;
+    }
+    
+    private static String buildFile(int revision) {
+        StringBuilder content = new StringBuilder("plugins {\n    id 'java'\n}\n\ndependencies {\n");
+        for (int i = 0; i < 200; i++) {
+            content.append("    implementation 'org.example:library-").append(i).append(":1.").append(i);
+            content.append(i == revision * 10 ? ".changed" : "").append("'\n");
+        }
+        return content.append("}\n").toString();
+    }
+    
+    void write(String path, String content) throws IOException {
+        Path file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Runs git in the repository with fixed identities and dates, ignoring the
+     * user's and system's configuration
+     *
+     * @return the trimmed standard output
+     */
+    String git(String... arguments) throws IOException {
+        List<String> command = new ArrayList<>(List.of("git", "-c", "user.name=Fixture",
+                                                       "-c", "user.email=fixture@example.com",
+                                                       "-c", "commit.gpgsign=false"));
+        command.addAll(List.of(arguments));
+        ProcessBuilder builder = new ProcessBuilder(command).directory(root.toFile()).redirectErrorStream(true);
+        Map<String, String> environment = builder.environment();
+        environment.put("GIT_CONFIG_NOSYSTEM", "1");
+        environment.put("GIT_CONFIG_GLOBAL", root.resolve(".no-global-config").toString());
+        environment.put("GIT_AUTHOR_DATE", "2024-01-01T00:00:00Z");
+        environment.put("GIT_COMMITTER_DATE", "2024-01-01T00:00:00Z");
+        Process process = builder.start();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (InputStream in = process.getInputStream()) {
+            in.transferTo(output);
+        }
+        try {
+            if (process.waitFor() != 0) {
+                throw new IOException("git " + String.join(" ", arguments) + " failed: " + output);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted running git", e);
+        }
+        return output.toString(StandardCharsets.UTF_8).trim();
+    }
+    
+    /**
+     * Lists the ids of every object reachable from the refs
+     */
+    List<String> objectIds() throws IOException {
+        List<String> ids = new ArrayList<>();
+        for (String line : git("rev-list", "--objects", "--all").split("\n")) {
+            ids.add(line.substring(0, 40));
+        }
+        return ids;
+    }
+    
+    /**
+     * Counts the objects of the packs stored with a pack entry type, such as
+     * {@link PackFile#OBJ_OFS_DELTA}
+     */
+    int packedCount(int type) throws IOException {
+        int found = 0;
+        try (Stream<Path> indexes = Files.list(root.resolve(".git/objects/pack"))) {
+            for (Path index : (Iterable<Path>) indexes.filter(p -> p.toString().endsWith(".idx"))::iterator) {
+                String name = index.getFileName().toString();
+                byte[] pack = Files.readAllBytes(index.resolveSibling(name.replace(".idx", ".pack")));
+                for (String line : git("verify-pack", "-v", index.toString()).split("\n")) {
+                    // id, type, size, packed size, offset, then the depth and base of a delta
+                    String[] fields = line.split(" +");
+                    if (fields.length >= 5 && fields[0].matches("[0-9a-f]{40}")
+                            && ((pack[Integer.parseInt(fields[4])] >>> 4) & 7) == type) {
+                        found++;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+    
+    private static boolean isGitInstalled() {
+        try {
+            return new ProcessBuilder("git", "--version").redirectErrorStream(true).start().waitFor() == 0;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.migration.core.git;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GitIndexTest {
+    
+    private GitFixture fixture;
+    
+    @Before
+    public void createRepository() throws IOException {
+        fixture = GitFixture.create();
+    }
+    
+    @After
+    public void deleteRepository() throws IOException {
+        if (fixture != null) {
+            fixture.close();
+        }
+    }
+    
+    @Test
+    public void readsVersion2() throws IOException {
+        fixture.git("update-index", "--index-version", "2");
+        assertMatchesGit();
+    }
+    
+    @Test
+    public void readsVersion4() throws IOException {
+        // Version 4 prefix-compresses each path against the previous one
+        fixture.write("app/src/main/java/App.java", "class App {}\n");
+        fixture.write("app/src/main/java/AppTest.java", "class AppTest {}\n");
+        fixture.git("add", "-A");
+        fixture.git("update-index", "--index-version", "4");
+        assertMatchesGit();
+    }
+    
+    @Test
+    public void readsSkipWorktreeFlag() throws IOException {
+        // The extended flag makes git write version 3
+        fixture.git("update-index", "--skip-worktree", "app/build.gradle");
+        
+        GitIndex index = GitIndex.read(fixture.root.resolve(".git/index"));
+        
+        for (GitIndex.Entry entry : index.entries) {
+            assertEquals(entry.path, entry.path.equals("app/build.gradle"), entry.skipWorktree);
+        }
+        assertMatchesGit();
+    }
+    
+    @Test
+    public void readsMissingIndexAsEmpty() throws IOException {
+        GitIndex index = GitIndex.read(fixture.root.resolve(".git/no-such-index"));
+        
+        assertTrue(index.entries.isEmpty());
+    }
+    
+    /**
+     * Compares the entries with git's own listing of mode, id, stage and path
+     */
+    private void assertMatchesGit() throws IOException {
+        GitIndex index = GitIndex.read(fixture.root.resolve(".git/index"));
+        
+        List<String> entries = new ArrayList<>();
+        for (GitIndex.Entry entry : index.entries) {
+            assertTrue(entry.path, entry.isRegularFile());
+            entries.add(String.format("%o %s %d\t%s", entry.mode, entry.id, entry.stage, entry.path));
+        }
+        assertFalse(entries.isEmpty());
+        assertEquals(List.of(fixture.git("ls-files", "--stage").split("\n")), entries);
+    }
+}
@@ -0,0 +1,109 @@
+package com.migration.core.git;
+
+import com.migration.exception.GitException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class GitRepositoryTest {
+    
+    private GitFixture fixture;
+    
+    @Before
+    public void createRepository() throws IOException {
+        fixture = GitFixture.create();
+    }
+    
+    @After
+    public void deleteRepository() throws IOException {
+        if (fixture != null) {
+            fixture.close();
+        }
+    }
+    
+    @Test
+    public void resolvesRefsAndIds() throws IOException {
+        String head = fixture.git("rev-parse", "HEAD");
+        try (GitRepository repository = GitRepository.open(fixture.root.resolve("app"))) {
+            assertEquals(fixture.root, repository.getWorkTree());
+            assertEquals(head, repository.resolve("HEAD"));
+            assertEquals(head, repository.resolve("main"));
+            assertEquals(head, repository.resolve("refs/heads/main"));
+            assertEquals(head, repository.resolve(head.substring(0, 8)));
+            assertEquals(fixture.git("rev-parse", "v1"), repository.resolve("v1"));
+        }
+    }
+    
+    @Test
+    public void resolvesAncestors() throws IOException {
+        try (GitRepository repository = GitRepository.open(fixture.root)) {
+            for (int n = 0; n < GitFixture.COMMITS; n++) {
+                assertEquals(fixture.git("rev-parse", "HEAD~" + n), repository.resolve("HEAD~" + n));
+            }
+            assertEquals(fixture.git("rev-parse", "HEAD~1"), repository.resolve("HEAD^"));
+            assertEquals(fixture.git("rev-parse", "HEAD~2"), repository.resolve("main~1^1"));
+            assertEquals(fixture.git("rev-parse", "HEAD"), repository.resolve("HEAD^0"));
+        }
+    }
+    
+    @Test(expected = GitException.class)
+    public void rejectsAncestorBeforeRoot() throws IOException {
+        try (GitRepository repository = GitRepository.open(fixture.root)) {
+            repository.resolve("HEAD~" + GitFixture.COMMITS);
+        }
+    }
+    
+    @Test(expected = GitException.class)
+    public void rejectsUnknownRevision() throws IOException {
+        try (GitRepository repository = GitRepository.open(fixture.root)) {
+            repository.resolve("no-such-branch");
+        }
+    }
+    
+    @Test
+    public void resolvesPackedRefsAndObjects() throws IOException {
+        fixture.git("pack-refs", "--all", "--prune");
+        fixture.git("repack", "-adq");
+        assertFalse(Files.exists(fixture.root.resolve(".git/refs/heads/main")));
+        assertFalse(Files.exists(fixture.root.resolve(".git/refs/tags/v1")));
+        
+        try (GitRepository repository = GitRepository.open(fixture.root)) {
+            assertEquals(fixture.git("rev-parse", "main"), repository.resolve("main"));
+            assertEquals(fixture.git("rev-parse", "v1"), repository.resolve("tags/v1"));
+            assertEquals(fixture.git("rev-parse", "HEAD~3"), repository.resolve("HEAD~3"));
+        }
+    }
+    
+    @Test
+    public void listsFilesChangedSinceCommit() throws IOException {
+        try (GitRepository repository = GitRepository.open(fixture.root)) {
+            assertEquals(List.of(), repository.changedFiles("HEAD", fixture.root, file -> true));
+            assertEquals(List.of(fixture.root.resolve("app/build.gradle"), fixture.root.resolve("build.gradle")),
+                         repository.changedFiles("HEAD~1", fixture.root, file -> true));
+        }
+    }
+    
+    @Test
+    public void listsUncommittedChangesWithVersion4Index() throws IOException {
+        fixture.git("update-index", "--index-version", "4");
+        fixture.git("repack", "-adq");
+        fixture.write("app/build.gradle", "apply plugin: 'java'\n// revision 9\n");
+        Path settings = fixture.root.resolve("settings.gradle");
+        
+        try (GitRepository repository = GitRepository.open(fixture.root)) {
+            assertEquals(List.of(fixture.root.resolve("app/build.gradle")),
+                         repository.changedFiles("HEAD", fixture.root, file -> true));
+            assertEquals(List.of(), repository.changedFiles("HEAD", fixture.root, file -> file.equals(settings)));
+            assertEquals(List.of(fixture.root.resolve("app/build.gradle")),
+                         repository.changedFiles("v1", fixture.root.resolve("app"), file -> true));
+        }
+    }
+}
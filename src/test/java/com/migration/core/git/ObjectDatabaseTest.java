@@ -0,0 +1,101 @@
+package com.migration.core.git;
+
+import com.migration.exception.GitException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ObjectDatabaseTest {
+    
+    private GitFixture fixture;
+    
+    @Before
+    public void createRepository() throws IOException {
+        fixture = GitFixture.create();
+    }
+    
+    @After
+    public void deleteRepository() throws IOException {
+        if (fixture != null) {
+            fixture.close();
+        }
+    }
+    
+    @Test
+    public void readsLooseObjects() throws Exception {
+        try (Stream<Path> packs = Files.list(fixture.root.resolve(".git/objects/pack"))) {
+            assertEquals(0, packs.count());
+        }
+        assertReadsEveryObject();
+    }
+    
+    @Test
+    public void readsOffsetDeltas() throws Exception {
+        fixture.git("repack", "-adq");
+        assertTrue("no offset deltas in the pack", fixture.packedCount(PackFile.OBJ_OFS_DELTA) > 0);
+        assertReadsEveryObject();
+    }
+    
+    @Test
+    public void readsRefDeltas() throws Exception {
+        fixture.git("-c", "repack.useDeltaBaseOffset=false", "repack", "-adq");
+        assertTrue("no ref deltas in the pack", fixture.packedCount(PackFile.OBJ_REF_DELTA) > 0);
+        assertReadsEveryObject();
+    }
+    
+    @Test
+    public void findsLooseAndPackedObjectsByPrefix() throws Exception {
+        String packed = fixture.git("rev-parse", "HEAD~1");
+        fixture.git("repack", "-adq");
+        fixture.write("extra.gradle", "// loose\n");
+        String loose = fixture.git("hash-object", "-w", "extra.gradle");
+        
+        try (ObjectDatabase objects = open()) {
+            assertEquals(List.of(packed), objects.findByPrefix(packed.substring(0, 7)));
+            assertEquals(List.of(loose), objects.findByPrefix(loose.substring(0, 5)));
+        }
+    }
+    
+    @Test(expected = GitException.class)
+    public void rejectsMissingObject() throws IOException {
+        try (ObjectDatabase objects = open()) {
+            objects.read("0123456789012345678901234567890123456789");
+        }
+    }
+    
+    /**
+     * Reads every object and checks that its content hashes to its id
+     */
+    private void assertReadsEveryObject() throws IOException, NoSuchAlgorithmException {
+        List<String> ids = fixture.objectIds();
+        try (ObjectDatabase objects = open()) {
+            for (String id : ids) {
+                ObjectDatabase.RawObject object = objects.read(id);
+                assertEquals(id, hash(object));
+            }
+        }
+    }
+    
+    private ObjectDatabase open() throws IOException {
+        return new ObjectDatabase(fixture.root.resolve(".git/objects"));
+    }
+    
+    private static String hash(ObjectDatabase.RawObject object) throws NoSuchAlgorithmException {
+        String type = List.of("", "commit", "tree", "blob", "tag").get(object.type);
+        MessageDigest digest = MessageDigest.getInstance("SHA-1");
+        digest.update((type + " " + object.data.length + "\0").getBytes(StandardCharsets.US_ASCII));
+        return ObjectDatabase.toHex(digest.digest(object.data));
+    }
+}
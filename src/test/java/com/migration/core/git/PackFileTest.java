@@ -0,0 +1,148 @@
+package com.migration.core.git;
+
+import com.migration.exception.GitException;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+
+public class PackFileTest {
+    
+    private static final byte[] BASE = "dependencies { compile 'a:b:1' }".getBytes(StandardCharsets.US_ASCII);
+    
+    @Test
+    public void appliesCopyAndInsertInstructions() throws GitException {
+        Delta delta = new Delta(BASE.length, 39).copy(0, 15).insert("implementation").copy(22, 10);
+        
+        byte[] result = PackFile.applyDelta(BASE, delta.bytes());
+        
+        assertEquals("dependencies { implementation 'a:b:1' }", new String(result, StandardCharsets.US_ASCII));
+    }
+    
+    @Test
+    public void copiesWithImpliedSize() throws GitException {
+        // A copy without size bytes copies 0x10000 bytes
+        byte[] base = new byte[0x10000];
+        base[0xFFFF] = 42;
+        
+        byte[] result = PackFile.applyDelta(base, new Delta(base.length, base.length).copy(0, 0).bytes());
+        
+        assertEquals(42, result[0xFFFF]);
+    }
+    
+    @Test(expected = GitException.class)
+    public void rejectsBaseSizeMismatch() throws GitException {
+        PackFile.applyDelta(BASE, new Delta(BASE.length + 1, 1).insert("x").bytes());
+    }
+    
+    @Test(expected = GitException.class)
+    public void rejectsCopyPastBaseEnd() throws GitException {
+        PackFile.applyDelta(BASE, new Delta(BASE.length, 10).copy(BASE.length - 5, 10).bytes());
+    }
+    
+    @Test(expected = GitException.class)
+    public void rejectsCopyOffsetBeyondIntRange() throws GitException {
+        // All four offset bytes set: 0xFFFFFFFF, negative as an int
+        PackFile.applyDelta(BASE, new Delta(BASE.length, 1).copy(0xFFFFFFFFL, 1).bytes());
+    }
+    
+    @Test(expected = GitException.class)
+    public void rejectsCopyPastResultEnd() throws GitException {
+        PackFile.applyDelta(BASE, new Delta(BASE.length, 4).copy(0, 8).bytes());
+    }
+    
+    @Test(expected = GitException.class)
+    public void rejectsInsertPastDeltaEnd() throws GitException {
+        byte[] delta = new Delta(BASE.length, 10).insert("abc").bytes();
+        // Claim ten inserted bytes where three follow
+        delta[delta.length - 4] = 10;
+        PackFile.applyDelta(BASE, delta);
+    }
+    
+    @Test(expected = GitException.class)
+    public void rejectsInsertPastResultEnd() throws GitException {
+        PackFile.applyDelta(BASE, new Delta(BASE.length, 2).insert("abc").bytes());
+    }
+    
+    @Test(expected = GitException.class)
+    public void rejectsTruncatedCopyOperands() throws GitException {
+        byte[] delta = new Delta(BASE.length, 4).copy(0x0100, 4).bytes();
+        byte[] truncated = new byte[delta.length - 2];
+        System.arraycopy(delta, 0, truncated, 0, truncated.length);
+        PackFile.applyDelta(BASE, truncated);
+    }
+    
+    @Test(expected = GitException.class)
+    public void rejectsTruncatedSizes() throws GitException {
+        PackFile.applyDelta(BASE, new byte[] {(byte) 0x80});
+    }
+    
+    @Test(expected = GitException.class)
+    public void rejectsShortResult() throws GitException {
+        PackFile.applyDelta(BASE, new Delta(BASE.length, 10).copy(0, 4).bytes());
+    }
+    
+    @Test(expected = GitException.class)
+    public void rejectsReservedInstruction() throws GitException {
+        byte[] delta = new Delta(BASE.length, 1).bytes();
+        byte[] withZero = new byte[delta.length + 1];
+        System.arraycopy(delta, 0, withZero, 0, delta.length);
+        PackFile.applyDelta(BASE, withZero);
+    }
+    
+    /**
+     * Builds a delta in the pack format: base and result sizes, then copy and
+     * insert instructions
+     */
+    private static final class Delta {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        Delta(long baseSize, long resultSize) {
+            writeSize(baseSize);
+            writeSize(resultSize);
+        }
+        
+        Delta copy(long offset, int size) {
+            int op = 0x80;
+            ByteArrayOutputStream operands = new ByteArrayOutputStream();
+            for (int bit = 0; bit < 4; bit++) {
+                int value = (int) (offset >>> (bit * 8)) & 0xFF;
+                if (value != 0) {
+                    op |= 1 << bit;
+                    operands.write(value);
+                }
+            }
+            for (int bit = 0; bit < 3; bit++) {
+                int value = (size >>> (bit * 8)) & 0xFF;
+                if (value != 0) {
+                    op |= 0x10 << bit;
+                    operands.write(value);
+                }
+            }
+            out.write(op);
+            out.writeBytes(operands.toByteArray());
+            return this;
+        }
+        
+        Delta insert(String text) {
+            byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+            out.write(bytes.length);
+            out.writeBytes(bytes);
+            return this;
+        }
+        
+        byte[] bytes() {
+            return out.toByteArray();
+        }
+        
+        private void writeSize(long size) {
+            while (size >= 0x80) {
+                out.write((int) (size & 0x7F) | 0x80);
+                size >>>= 7;
+            }
+            out.write((int) size);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.migration.core.history;
+
+import com.migration.model.AnalysisRun;
+import com.migration.model.MigrationIssue;
+import com.migration.model.ProjectInfo;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HistoryStoreTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private Path storeDirectory;
+    private String project;
+    
+    @Before
+    public void createDirectories() throws IOException {
+        storeDirectory = folder.newFolder("store").toPath();
+        project = folder.newFolder("project").getPath();
+    }
+    
+    @Test
+    public void readsRunsRecordedByAnotherStore() throws IOException {
+        HistoryStore store = new HistoryStore(storeDirectory, 64, 1);
+        AnalysisRun first = store.record(projectInfo(2));
+        AnalysisRun second = store.record(projectInfo(3));
+        assertEquals(1, first.getSequence());
+        assertEquals(2, second.getSequence());
+        
+        // A restart: a new store reads the runs from disk
+        HistoryStore restarted = new HistoryStore(storeDirectory, 64, 1);
+        
+        assertEquals(2, restarted.latestSequence(project));
+        assertEquals(2, restarted.runs(project, Long.MIN_VALUE, Long.MAX_VALUE).size());
+        assertEquals(2, restarted.sequenceAt(project, Long.MAX_VALUE));
+        assertEquals(1, restarted.delta(project, 1, 2, 10).getIntroducedCount());
+        assertEquals(3, restarted.record(projectInfo(1)).getSequence());
+        assertEquals(2, restarted.delta(project, 2, 3, 10).getFixedCount());
+    }
+    
+    @Test
+    public void keepsEachProjectApart() throws IOException {
+        HistoryStore store = new HistoryStore(storeDirectory, 64, 1);
+        store.record(projectInfo(2));
+        String other = folder.newFolder("other").getPath();
+        
+        assertEquals(0, store.latestSequence(other));
+        assertTrue(store.runs(other, Long.MIN_VALUE, Long.MAX_VALUE).isEmpty());
+        // The project file names the project each directory belongs to
+        try (var directories = Files.list(storeDirectory)) {
+            Path directory = directories.findFirst().orElseThrow();
+            assertEquals(Path.of(project).toAbsolutePath().toString(),
+                         Files.readString(directory.resolve("project")).trim());
+        }
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnknownRun() throws IOException {
+        HistoryStore store = new HistoryStore(storeDirectory, 64, 1);
+        store.record(projectInfo(1));
+        store.delta(project, 0, 2, 10);
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsDeltaOfProjectWithoutHistory() throws IOException {
+        new HistoryStore(storeDirectory, 64, 1).delta(project, 0, 1, 10);
+    }
+    
+    private ProjectInfo projectInfo(int issueCount) {
+        List<MigrationIssue> issues = new ArrayList<>();
+        for (int line = 1; line <= issueCount; line++) {
+            issues.add(new MigrationIssue(null, "DEPRECATED_CONFIGURATION", "WARNING", "Deprecated configuration",
+                                          null, Path.of(project, "build.gradle").toString(), line));
+        }
+        ProjectInfo info = new ProjectInfo();
+        info.setProjectPath(project);
+        info.setIssues(issues);
+        return info;
+    }
+}
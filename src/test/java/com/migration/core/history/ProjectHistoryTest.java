@@ -0,0 +1,213 @@
+package com.migration.core.history;
+
+import com.migration.model.AnalysisRun;
+import com.migration.model.MigrationIssue;
+import com.migration.model.RunDelta;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class ProjectHistoryTest {
+    
+    private static final Path PROJECT = Path.of("/work/project").toAbsolutePath();
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private Path directory;
+    
+    @Before
+    public void createDirectory() throws IOException {
+        directory = folder.newFolder("history").toPath();
+    }
+    
+    @Test
+    public void readsBackRecordedRuns() throws IOException {
+        ProjectHistory history = new ProjectHistory(directory, PROJECT, 2);
+        history.append(List.of(issue("build.gradle", 1, "CRITICAL"), issue("build.gradle", 2, "WARNING")), 1000);
+        history.append(List.of(issue("build.gradle", 2, "WARNING")), 2000);
+        history.append(List.of(issue("build.gradle", 2, "WARNING"), issue("app/build.gradle", 5, "CRITICAL")), 3000);
+        
+        ProjectHistory reopened = new ProjectHistory(directory, PROJECT, 2);
+        
+        assertEquals(3, reopened.size());
+        assertEquals(List.of("1@1000:2/1", "2@2000:1/0", "3@3000:2/1"), describe(reopened.runs(0, Long.MAX_VALUE)));
+        assertEquals(List.of("2@2000:1/0"), describe(reopened.runs(1500, 2500)));
+        assertEquals(2, reopened.sequenceAt(2999));
+        assertEquals(0, reopened.sequenceAt(999));
+        assertEquals(List.of("app/build.gradle:5"), files(reopened.delta(1, 3, 10).getIntroduced()));
+        assertEquals(List.of("build.gradle:1"), files(reopened.delta(1, 3, 10).getFixed()));
+    }
+    
+    @Test
+    public void diffsAgainstRunsReadFromTheLog() throws IOException {
+        // A checkpoint every two runs: run 5 diffs against run 4, rebuilt from run 3's checkpoint and run 4's changes
+        ProjectHistory history = new ProjectHistory(directory, PROJECT, 2);
+        for (int run = 1; run <= 4; run++) {
+            history.append(issues(run), run * 1000L);
+        }
+        
+        ProjectHistory reopened = new ProjectHistory(directory, PROJECT, 2);
+        reopened.append(issues(5), 5000);
+        
+        RunDelta delta = reopened.delta(4, 5, 10);
+        assertEquals(List.of("build.gradle:5"), files(delta.getIntroduced()));
+        assertEquals(List.of(), files(delta.getFixed()));
+        assertEquals(4, delta.getUnchangedCount());
+    }
+    
+    @Test
+    public void combinesAddedAndRemovedIssues() throws IOException {
+        ProjectHistory history = new ProjectHistory(directory, PROJECT, 64);
+        MigrationIssue a = issue("build.gradle", 1, "WARNING");
+        MigrationIssue b = issue("build.gradle", 2, "WARNING");
+        MigrationIssue c = issue("build.gradle", 3, "WARNING");
+        MigrationIssue d = issue("build.gradle", 4, "WARNING");
+        history.append(List.of(a, b), 1000);
+        history.append(List.of(b, c, d), 2000);
+        history.append(List.of(c), 3000);
+        
+        RunDelta first = history.delta(0, 1, 10);
+        assertEquals(List.of("build.gradle:1", "build.gradle:2"), files(first.getIntroduced()));
+        assertNull(first.getFrom());
+        
+        RunDelta step = history.delta(1, 2, 10);
+        assertEquals(List.of("build.gradle:3", "build.gradle:4"), files(step.getIntroduced()));
+        assertEquals(List.of("build.gradle:1"), files(step.getFixed()));
+        assertEquals(1, step.getUnchangedCount());
+        
+        // d appears and goes again within the range, so it is in neither list
+        RunDelta range = history.delta(1, 3, 10);
+        assertEquals(List.of("build.gradle:3"), files(range.getIntroduced()));
+        assertEquals(List.of("build.gradle:1", "build.gradle:2"), files(range.getFixed()));
+        assertEquals(0, range.getUnchangedCount());
+        
+        RunDelta reversed = history.delta(3, 1, 10);
+        assertEquals(files(range.getFixed()), files(reversed.getIntroduced()));
+        assertEquals(files(range.getIntroduced()), files(reversed.getFixed()));
+        
+        RunDelta limited = history.delta(1, 3, 1);
+        assertEquals(2, limited.getFixedCount());
+        assertEquals(List.of("build.gradle:1"), files(limited.getFixed()));
+    }
+    
+    @Test
+    public void keepsRepeatedMatchesApart() throws IOException {
+        ProjectHistory history = new ProjectHistory(directory, PROJECT, 64);
+        MigrationIssue once = issue("build.gradle", 7, "WARNING");
+        history.append(List.of(once), 1000);
+        history.append(List.of(once, issue("build.gradle", 7, "WARNING")), 2000);
+        
+        RunDelta delta = history.delta(1, 2, 10);
+        
+        assertEquals(1, delta.getIntroducedCount());
+        assertEquals(0, delta.getFixedCount());
+    }
+    
+    @Test
+    public void ignoresTornLastRecord() throws IOException {
+        ProjectHistory history = new ProjectHistory(directory, PROJECT, 64);
+        for (int run = 1; run <= 3; run++) {
+            history.append(issues(run), run * 1000L);
+        }
+        // Cut the log inside the last record, as a crash during the append would
+        Path log = directory.resolve(ProjectHistory.LOG_FILE);
+        try (RandomAccessFile file = new RandomAccessFile(log.toFile(), "rw")) {
+            file.setLength(file.length() - 3);
+        }
+        
+        ProjectHistory reopened = new ProjectHistory(directory, PROJECT, 64);
+        assertEquals(2, reopened.size());
+        
+        AnalysisRun run = reopened.append(issues(4), 4000);
+        assertEquals(3, run.getSequence());
+        assertEquals(List.of("build.gradle:3", "build.gradle:4"), files(reopened.delta(2, 3, 10).getIntroduced()));
+        assertEquals(3, new ProjectHistory(directory, PROJECT, 64).size());
+    }
+    
+    @Test
+    public void ignoresTornLastIndexEntry() throws IOException {
+        ProjectHistory history = new ProjectHistory(directory, PROJECT, 64);
+        history.append(issues(1), 1000);
+        history.append(issues(2), 2000);
+        Path index = directory.resolve(ProjectHistory.INDEX_FILE);
+        try (RandomAccessFile file = new RandomAccessFile(index.toFile(), "rw")) {
+            file.setLength(file.length() - ProjectHistory.INDEX_ENTRY_SIZE / 2);
+        }
+        
+        ProjectHistory reopened = new ProjectHistory(directory, PROJECT, 64);
+        assertEquals(1, reopened.size());
+        
+        reopened.append(issues(3), 3000);
+        assertEquals(2 * ProjectHistory.INDEX_ENTRY_SIZE, Files.size(index));
+        assertEquals(List.of("build.gradle:2", "build.gradle:3"), files(reopened.delta(1, 2, 10).getIntroduced()));
+    }
+    
+    @Test
+    public void rejectsDamagedRecord() throws IOException {
+        ProjectHistory history = new ProjectHistory(directory, PROJECT, 64);
+        history.append(issues(1), 1000);
+        history.append(issues(2), 2000);
+        Path log = directory.resolve(ProjectHistory.LOG_FILE);
+        byte[] bytes = Files.readAllBytes(log);
+        bytes[bytes.length - 1] ^= 0x55;
+        Files.write(log, bytes);
+        
+        ProjectHistory reopened = new ProjectHistory(directory, PROJECT, 64);
+        assertEquals(0, reopened.delta(0, 1, 10).getFixedCount());
+        try {
+            reopened.delta(1, 2, 10);
+            fail("Damaged record was read");
+        } catch (IOException e) {
+            assertEquals("Damaged history record", e.getMessage());
+        }
+    }
+    
+    /**
+     * The issues of a run: one issue per line up to the run number
+     */
+    private static List<MigrationIssue> issues(int run) {
+        List<MigrationIssue> issues = new ArrayList<>();
+        for (int line = 1; line <= run; line++) {
+            issues.add(issue("build.gradle", line, "WARNING"));
+        }
+        return issues;
+    }
+    
+    private static MigrationIssue issue(String file, int line, String severity) {
+        MigrationIssue issue = new MigrationIssue(null, "DEPRECATED_CONFIGURATION", severity, "Deprecated configuration",
+                                                  null, PROJECT.resolve(file).toString(), line);
+        issue.setCurrentCode("compile 'a:b:" + line + "'");
+        return issue;
+    }
+    
+    private static List<String> files(List<MigrationIssue> issues) {
+        List<String> files = new ArrayList<>();
+        for (MigrationIssue issue : issues) {
+            files.add(PROJECT.relativize(Path.of(issue.getFilePath())).toString().replace('\\', '/') + ':' +
+                      issue.getLineNumber());
+        }
+        return files;
+    }
+    
+    private static List<String> describe(List<AnalysisRun> runs) {
+        List<String> described = new ArrayList<>();
+        for (AnalysisRun run : runs) {
+            described.add(run.getSequence() + "@" + run.getTimestamp() + ":" + run.getTotalIssues() + "/" +
+                          run.getCriticalIssues());
+        }
+        return described;
+    }
+}
@@ -0,0 +1,150 @@
+package com.migration.core.index;
+
+import com.migration.model.MigrationIssue;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class IssueIndexTest {
+    
+    private static final List<MigrationIssue> ISSUES = List.of(
+        issue("a", "HIGH", "DEPRECATED_API", "/p/b.gradle", 3, true, "app"),
+        issue("b", "CRITICAL", "DEPRECATED_CONFIGURATIONS", "/p/a.gradle", 9, false, "app"),
+        issue("c", "HIGH", "DEPRECATED_API", "/p/a.gradle", 2, false, "lib"),
+        issue("d", "LOW", "DYNAMIC_PROPERTIES", "/p/c.gradle", 1, true),
+        issue("e", "CRITICAL", "DEPRECATED_CONFIGURATIONS", "/p/b.gradle", 1, true, "lib"),
+        issue("f", "HIGH", "DEPRECATED_API", "/p/a.gradle", 5, true, "app"),
+        issue("g", "HIGH", "DEPRECATED_API", "/p/sub/a.gradle", 4, false, "app")
+    );
+    
+    private final IssueIndex index = new IssueIndex(ISSUES);
+    
+    @Test
+    public void sortsByKeyThenFileAndLine() {
+        assertEquals(List.of("b", "e", "c", "f", "a", "g", "d"), ids(query(IssueIndex.SortKey.SEVERITY, false)));
+        assertEquals(List.of("c", "f", "a", "g", "b", "e", "d"), ids(query(IssueIndex.SortKey.TYPE, false)));
+        assertEquals(List.of("c", "f", "b", "e", "a", "d", "g"), ids(query(IssueIndex.SortKey.FILE, false)));
+        // Issues without a module come last
+        assertEquals(List.of("f", "b", "a", "g", "c", "e", "d"), ids(query(IssueIndex.SortKey.MODULE, false)));
+    }
+    
+    @Test
+    public void reversesOnlyTheKeyWhenDescending() {
+        assertEquals(List.of("d", "c", "f", "a", "g", "b", "e"), ids(query(IssueIndex.SortKey.SEVERITY, true)));
+        assertEquals(List.of("d", "b", "e", "c", "f", "a", "g"), ids(query(IssueIndex.SortKey.TYPE, true)));
+        assertEquals(List.of("g", "d", "e", "a", "c", "f", "b"), ids(query(IssueIndex.SortKey.FILE, true)));
+        assertEquals(List.of("d", "c", "e", "f", "b", "a", "g"), ids(query(IssueIndex.SortKey.MODULE, true)));
+    }
+    
+    @Test
+    public void keepsAnalysisOrderWithoutSortKey() {
+        assertEquals(List.of("a", "b", "c", "d", "e", "f", "g"), ids(query(IssueIndex.SortKey.NONE, false)));
+        assertEquals(List.of("g", "f", "e", "d", "c", "b", "a"), ids(query(IssueIndex.SortKey.NONE, true)));
+    }
+    
+    @Test
+    public void walksMatchesInQueryOrder() {
+        for (IssueIndex.SortKey key : IssueIndex.SortKey.values()) {
+            for (boolean descending : new boolean[] {false, true}) {
+                IssueQuery query = query(key, descending);
+                query.setSize(2);
+                List<String> walked = new ArrayList<>();
+                for (MigrationIssue issue : index.matching(query)) {
+                    walked.add(issue.getId());
+                }
+                query.setSize(ISSUES.size());
+                assertEquals(key + (descending ? " descending" : ""), ids(query), walked);
+            }
+        }
+    }
+    
+    @Test
+    public void pagesAtTheEdges() {
+        IssueQuery query = query(IssueIndex.SortKey.SEVERITY, true);
+        query.setSize(3);
+        
+        query.setPage(1);
+        assertEquals(List.of("d", "c", "f"), ids(query));
+        query.setPage(3);
+        assertEquals(List.of("e"), ids(query));
+        assertEquals(7, index.query(query).getTotalMatches());
+        query.setPage(4);
+        assertEquals(List.of(), ids(query));
+        assertEquals(7, index.query(query).getTotalMatches());
+        
+        // Page times size past Integer.MAX_VALUE
+        query.setPage(Integer.MAX_VALUE);
+        query.setSize(500);
+        assertEquals(List.of(), ids(query));
+        
+        query.setPage(1);
+        query.setSize(7);
+        assertEquals(7, ids(query).size());
+    }
+    
+    @Test
+    public void combinesFilters() {
+        IssueQuery query = query(IssueIndex.SortKey.FILE, false);
+        query.setSeverities(List.of("HIGH", "CRITICAL"));
+        query.setModules(List.of("app"));
+        assertEquals(List.of("f", "b", "a", "g"), ids(query));
+        
+        query.setAutoFixable(true);
+        assertEquals(List.of("f", "a"), ids(query));
+        
+        query.setAutoFixable(false);
+        query.setFilePrefix("/p/a");
+        assertEquals(List.of("b"), ids(query));
+        
+        query.setFilePrefix("/p/sub/");
+        assertEquals(List.of("g"), ids(query));
+        
+        query.setTypes(List.of("DYNAMIC_PROPERTIES"));
+        assertEquals(List.of(), ids(query));
+        assertEquals(0, index.query(query).getTotalMatches());
+    }
+    
+    @Test
+    public void ignoresUnknownFilterValues() {
+        IssueQuery query = query(IssueIndex.SortKey.NONE, false);
+        query.setTypes(List.of("NO_SUCH_TYPE", "DYNAMIC_PROPERTIES"));
+        
+        assertEquals(List.of("d"), ids(query));
+    }
+    
+    @Test
+    public void countsByValue() {
+        assertEquals(List.of("CRITICAL", "HIGH", "LOW"), new ArrayList<>(index.getSeverityCounts().keySet()));
+        assertEquals(Integer.valueOf(4), index.getSeverityCounts().get("HIGH"));
+        assertEquals(Integer.valueOf(4), index.getModuleCounts().get("app"));
+        assertEquals(4, index.getAutoFixableCount());
+        assertEquals(7, index.getTotalIssues());
+    }
+    
+    private static IssueQuery query(IssueIndex.SortKey key, boolean descending) {
+        IssueQuery query = new IssueQuery();
+        query.setSortKey(key);
+        query.setDescending(descending);
+        query.setSize(ISSUES.size());
+        return query;
+    }
+    
+    private List<String> ids(IssueQuery query) {
+        List<String> ids = new ArrayList<>();
+        for (MigrationIssue issue : index.query(query).getIssues()) {
+            ids.add(issue.getId());
+        }
+        return ids;
+    }
+    
+    private static MigrationIssue issue(String id, String severity, String type, String file, int line,
+                                        boolean autoFixable, String... modules) {
+        MigrationIssue issue = new MigrationIssue(id, type, severity, type, null, file, line);
+        issue.setAutoFixable(autoFixable);
+        issue.setAffectedModules(List.of(modules));
+        return issue;
+    }
+}
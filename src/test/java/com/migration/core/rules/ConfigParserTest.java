@@ -0,0 +1,177 @@
+package com.migration.core.rules;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ConfigParserTest {
+    
+    @Test
+    public void skipsPropertiesComments() {
+        List<ConfigEntry> entries = ConfigParser.parseProperties("# comment\n! also a comment\n\n  # indented\na=1\n");
+        
+        assertEquals(1, entries.size());
+        assertEquals("a", entries.get(0).getKey());
+        assertEquals(5, entries.get(0).getLineNumber());
+    }
+    
+    @Test
+    public void splitsPropertiesAtEachSeparator() {
+        List<ConfigEntry> entries = ConfigParser.parseProperties(
+            "equals=1\ncolon:2\nspace 3\n  spaced  =  4\ntab\t5\nempty=\nalone\n");
+        
+        assertEntry(entries.get(0), "equals", "1", 1);
+        assertEntry(entries.get(1), "colon", "2", 2);
+        assertEntry(entries.get(2), "space", "3", 3);
+        assertEntry(entries.get(3), "spaced", "4", 4);
+        assertEntry(entries.get(4), "tab", "5", 5);
+        assertEntry(entries.get(5), "empty", "", 6);
+        assertEntry(entries.get(6), "alone", "", 7);
+    }
+    
+    @Test
+    public void resolvesPropertiesEscapes() {
+        List<ConfigEntry> entries = ConfigParser.parseProperties(
+            "distributionUrl=https\\://services.gradle.org/distributions/gradle-8.5-bin.zip\n" +
+            "key\\ with\\ spaces\\=and\\:colons=value\n" +
+            "unicode=caf\\u00e9\n" +
+            "controls=a\\tb\\nc\n" +
+            "badUnicode=\\uZZ\n");
+        
+        assertEquals("https://services.gradle.org/distributions/gradle-8.5-bin.zip", entries.get(0).getValue());
+        assertEquals("key with spaces=and:colons", entries.get(1).getKey());
+        assertEquals("value", entries.get(1).getValue());
+        assertEquals("café", entries.get(2).getValue());
+        assertEquals("a\tb\nc", entries.get(3).getValue());
+        assertEquals("uZZ", entries.get(4).getValue());
+    }
+    
+    @Test
+    public void joinsPropertiesContinuations() {
+        List<ConfigEntry> entries = ConfigParser.parseProperties(
+            "org.gradle.jvmargs = -Xmx2g \\\n" +
+            "    -Dfile.encoding=UTF-8 \\\n" +
+            "\t-XX:+UseParallelGC\n" +
+            "next=1\n");
+        
+        assertEquals(2, entries.size());
+        assertEntry(entries.get(0), "org.gradle.jvmargs", "-Xmx2g -Dfile.encoding=UTF-8 -XX:+UseParallelGC", 1);
+        assertEquals("org.gradle.jvmargs = -Xmx2g \\", entries.get(0).getText());
+        assertEntry(entries.get(1), "next", "1", 4);
+    }
+    
+    @Test
+    public void endsLineWithEscapedBackslash() {
+        // An even number of backslashes is escaped backslashes, not a continuation
+        List<ConfigEntry> entries = ConfigParser.parseProperties("dir=C:\\\\\nnext=1\nlast=x\\");
+        
+        assertEntry(entries.get(0), "dir", "C:\\", 1);
+        assertEntry(entries.get(1), "next", "1", 2);
+        // A continuation at the end of the file ends the value
+        assertEntry(entries.get(2), "last", "x", 3);
+    }
+    
+    @Test
+    public void readsTomlTablesAndStrings() {
+        List<ConfigEntry> entries = ConfigParser.parseToml(
+            "top = \"level\"\n" +
+            "[versions]\n" +
+            "guava = \"32.1.3-jre\"  # trailing comment\n" +
+            "kotlin = '1.9.20'\n" +
+            "\"quoted.key\" = \"a # not a comment\"\n" +
+            "escaped = \"say \\\"hi\\\"\\tnow\"\n" +
+            "literal = 'C:\\path'\n" +
+            "number = 3\n" +
+            "[[plugins]]\n" +
+            "id = \"java\"\n");
+        
+        assertNull(entries.get(0).getSection());
+        assertEquals("level", entries.get(0).getValue());
+        assertEquals("versions", entries.get(1).getSection());
+        assertEntry(entries.get(1), "guava", "32.1.3-jre", 3);
+        assertEquals("guava = \"32.1.3-jre\"  # trailing comment", entries.get(1).getText());
+        assertEquals("1.9.20", entries.get(2).getValue());
+        assertEntry(entries.get(3), "quoted.key", "a # not a comment", 5);
+        assertEquals("say \"hi\"\tnow", entries.get(4).getValue());
+        assertEquals("C:\\path", entries.get(5).getValue());
+        assertEquals("3", entries.get(6).getValue());
+        assertEquals("plugins", entries.get(7).getSection());
+    }
+    
+    @Test
+    public void readsTomlInlineTables() {
+        List<ConfigEntry> entries = ConfigParser.parseToml(
+            "[libraries]\n" +
+            "guava = { module = \"com.google.guava:guava\", version.ref = \"guava\" }\n" +
+            "strict = { group = \"org.x\", name = \"y, z\", version = { strictly = \"[1.0, 2.0[\", prefer = \"1.5\" } }\n");
+        
+        assertEquals(Map.of("module", "com.google.guava:guava", "version.ref", "guava"), entries.get(0).getAttributes());
+        assertEquals("guava", entries.get(0).attribute("version.ref"));
+        assertNull(entries.get(0).attribute("version"));
+        
+        ConfigEntry strict = entries.get(1);
+        assertEquals("y, z", strict.attribute("name"));
+        assertEquals("{ strictly = \"[1.0, 2.0[\", prefer = \"1.5\" }", strict.attribute("version"));
+        assertEquals(3, strict.getAttributes().size());
+    }
+    
+    @Test
+    public void joinsTomlValuesAcrossLines() {
+        List<ConfigEntry> entries = ConfigParser.parseToml(
+            "[libraries]\n" +
+            "multi = {\n" +
+            "    module = \"org.example:multi\",   # comment inside\n" +
+            "    version.ref = \"kotlin\"\n" +
+            "}\n" +
+            "[bundles]\n" +
+            "core = [\n" +
+            "    \"guava\",  # first\n" +
+            "    \"multi\",\n" +
+            "]\n" +
+            "after = \"x\"\n");
+        
+        ConfigEntry multi = entries.get(0);
+        assertEntry(multi, "multi", null, 2);
+        assertEquals("multi = {", multi.getText());
+        assertEquals("org.example:multi", multi.attribute("module"));
+        assertEquals("kotlin", multi.attribute("version.ref"));
+        
+        ConfigEntry core = entries.get(1);
+        assertEquals("bundles", core.getSection());
+        assertEntry(core, "core", "[ \"guava\", \"multi\", ]", 7);
+        assertEntry(entries.get(2), "after", "x", 11);
+        assertEquals(3, entries.size());
+    }
+    
+    @Test
+    public void stopsUnclosedTomlValueAtEndOfFile() {
+        List<ConfigEntry> entries = ConfigParser.parseToml("core = [\n  \"a\",\n");
+        
+        assertEquals(1, entries.size());
+        assertTrue(entries.get(0).getValue().startsWith("[ \"a\","));
+    }
+    
+    @Test
+    public void parsesByKind() {
+        assertEquals(1, ConfigParser.parse(FileKind.GRADLE_PROPERTIES, "a=1").size());
+        assertEquals(1, ConfigParser.parse(FileKind.WRAPPER_PROPERTIES, "a=1").size());
+        assertEquals(1, ConfigParser.parse(FileKind.VERSION_CATALOG, "a = 1").size());
+        assertTrue(ConfigParser.parse(FileKind.GROOVY, "a = 1").isEmpty());
+    }
+    
+    /**
+     * Checks an entry's key, line and, unless null, its value
+     */
+    private static void assertEntry(ConfigEntry entry, String key, String value, int lineNumber) {
+        assertEquals(key, entry.getKey());
+        if (value != null) {
+            assertEquals(value, entry.getValue());
+        }
+        assertEquals(key + " line", lineNumber, entry.getLineNumber());
+    }
+}
@@ -0,0 +1,55 @@
+package com.migration.core.rules;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RuleSetTest {
+    
+    @Test
+    public void selectsRulesRemovedWithinMigration() {
+        assertTrue(types("6.9", "7.0").contains("DEPRECATED_TASK_TYPES"));
+        assertTrue(types("6.9", "7.0").contains("DEPRECATED_CONFIGURATIONS"));
+        assertFalse(types("6.9", "7.0").contains("DEPRECATED_API"));
+    }
+    
+    @Test
+    public void skipsRulesRemovedBeforeSource() {
+        // Upload and InstallTask went in 7.0, with the configurations
+        assertFalse(types("7.0", "8.0").contains("DEPRECATED_TASK_TYPES"));
+        assertFalse(types("7.0", "8.0").contains("DEPRECATED_CONFIGURATIONS"));
+    }
+    
+    @Test
+    public void keepsEveryRuleWithoutVersions() {
+        assertEquals(new ArrayList<>(RuleSet.types()), types(null, null));
+    }
+    
+    @Test
+    public void sharesRuleSetsWithSameRules() {
+        // No rule is removed in 7.1 or 7.2, so both migrations check the same rules
+        assertSame(RuleSet.forVersions(version("7.0"), version("7.1")),
+                   RuleSet.forVersions(version("7.0"), version("7.2")));
+        assertNotSame(RuleSet.forVersions(version("6.9"), version("7.0")),
+                      RuleSet.forVersions(version("7.0"), version("8.0")));
+    }
+    
+    private static List<String> types(String source, String target) {
+        List<String> types = new ArrayList<>();
+        for (Rule rule : RuleSet.forVersions(version(source), version(target)).getRules()) {
+            types.add(rule.getType());
+        }
+        return types;
+    }
+    
+    private static GradleVersion version(String version) {
+        return version != null ? GradleVersion.parse(version) : null;
+    }
+}
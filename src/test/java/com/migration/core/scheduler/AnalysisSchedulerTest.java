@@ -0,0 +1,154 @@
+package com.migration.core.scheduler;
+
+import com.migration.core.detector.CancellationToken;
+import com.migration.core.scheduler.AnalysisScheduler.Permit;
+import com.migration.core.scheduler.AnalysisScheduler.Priority;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AnalysisSchedulerTest {
+    
+    private static final long TIMEOUT_MILLIS = 5000;
+    
+    // Names of queued analyses, in the order they were admitted or failed
+    private final BlockingQueue<String> admitted = new LinkedBlockingQueue<>();
+    private final BlockingQueue<String> failed = new LinkedBlockingQueue<>();
+    private final Map<String, Permit> permits = new ConcurrentHashMap<>();
+    private final Map<String, Exception> failures = new ConcurrentHashMap<>();
+    private final List<Thread> threads = new ArrayList<>();
+    
+    @After
+    public void tearDown() {
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+    }
+    
+    /**
+     * Starts an analysis on its own thread and returns once it waits for a slot
+     */
+    private void queue(AnalysisScheduler scheduler, String name, Priority priority, String clientId,
+                       CancellationToken cancellation) throws InterruptedException {
+        Thread thread = new Thread(() -> {
+            try {
+                permits.put(name, scheduler.acquire(priority, clientId, cancellation));
+                admitted.add(name);
+            } catch (Exception e) {
+                failures.put(name, e);
+                failed.add(name);
+            }
+        }, name);
+        thread.setDaemon(true);
+        threads.add(thread);
+        thread.start();
+        // A waiting analysis polls for cancellation; blocking on the lock alone is WAITING
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (thread.getState() != Thread.State.TIMED_WAITING) {
+            if (System.currentTimeMillis() > deadline || !admitted.isEmpty() || !failed.isEmpty()) {
+                fail(name + " did not wait for a slot");
+            }
+            Thread.sleep(1);
+        }
+    }
+    
+    private String nextAdmitted() throws InterruptedException {
+        String name = admitted.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        if (name == null) {
+            fail("No analysis was admitted");
+        }
+        return name;
+    }
+    
+    @Test
+    public void keepsReservedSlotsForInteractive() throws Exception {
+        AnalysisScheduler scheduler = new AnalysisScheduler(2, 1, 10);
+        Permit batch = scheduler.acquire(Priority.BATCH, "ci", null);
+        queue(scheduler, "batch2", Priority.BATCH, "ci", null);
+        
+        // The second batch analysis waits although a slot is free; it is kept for this one
+        Permit interactive = scheduler.acquire(Priority.INTERACTIVE, "ui", null);
+        assertTrue(admitted.isEmpty());
+        
+        interactive.close();
+        assertNull(admitted.poll(200, TimeUnit.MILLISECONDS));
+        batch.close();
+        assertEquals("batch2", nextAdmitted());
+        permits.get("batch2").close();
+    }
+    
+    @Test
+    public void interactiveGoesAheadOfQueuedBatch() throws Exception {
+        AnalysisScheduler scheduler = new AnalysisScheduler(1, 0, 10);
+        Permit running = scheduler.acquire(Priority.BATCH, "ci", null);
+        queue(scheduler, "batch", Priority.BATCH, "ci", null);
+        queue(scheduler, "interactive", Priority.INTERACTIVE, "ui", null);
+        
+        running.close();
+        assertEquals("interactive", nextAdmitted());
+        permits.get("interactive").close();
+        assertEquals("batch", nextAdmitted());
+        permits.get("batch").close();
+    }
+    
+    @Test
+    public void clientsTakeTurns() throws Exception {
+        AnalysisScheduler scheduler = new AnalysisScheduler(1, 0, 10);
+        Permit running = scheduler.acquire(Priority.BATCH, "a", null);
+        queue(scheduler, "a1", Priority.BATCH, "a", null);
+        queue(scheduler, "a2", Priority.BATCH, "a", null);
+        queue(scheduler, "a3", Priority.BATCH, "a", null);
+        queue(scheduler, "b1", Priority.BATCH, "b", null);
+        queue(scheduler, "c1", Priority.BATCH, "c", null);
+        
+        List<String> order = new ArrayList<>();
+        running.close();
+        for (int i = 0; i < 5; i++) {
+            String name = nextAdmitted();
+            order.add(name);
+            permits.get(name).close();
+        }
+        assertEquals(List.of("a1", "b1", "c1", "a2", "a3"), order);
+    }
+    
+    @Test
+    public void cancelledAnalysisLeavesTheQueue() throws Exception {
+        AnalysisScheduler scheduler = new AnalysisScheduler(1, 0, 1);
+        Permit running = scheduler.acquire(Priority.BATCH, "ci", null);
+        CancellationToken cancellation = new CancellationToken();
+        queue(scheduler, "cancelled", Priority.BATCH, "ci", cancellation);
+        
+        cancellation.cancel();
+        assertEquals("cancelled", failed.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+        assertTrue(failures.get("cancelled") instanceof CancellationException);
+        
+        // Its place in the queue and the slot go to the next analysis
+        queue(scheduler, "next", Priority.BATCH, "ci", null);
+        running.close();
+        assertEquals("next", nextAdmitted());
+        permits.get("next").close();
+        assertTrue(admitted.isEmpty());
+    }
+    
+    @Test(expected = RejectedExecutionException.class)
+    public void rejectsWhenTheQueueIsFull() throws Exception {
+        AnalysisScheduler scheduler = new AnalysisScheduler(1, 0, 1);
+        scheduler.acquire(Priority.BATCH, "ci", null);
+        queue(scheduler, "waiting", Priority.BATCH, "ci", null);
+        scheduler.acquire(Priority.BATCH, "other", null);
+    }
+}
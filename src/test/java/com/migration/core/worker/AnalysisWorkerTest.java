@@ -0,0 +1,101 @@
+package com.migration.core.worker;
+
+import com.migration.core.detector.AnalysisOptions;
+import com.migration.model.ProjectInfo;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class AnalysisWorkerTest {
+    
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    
+    private DataOutputStream toWorker;
+    private DataInputStream fromWorker;
+    private Thread worker;
+    private String project;
+    
+    @Before
+    public void startWorker() throws IOException {
+        PipedInputStream workerIn = new PipedInputStream(64 * 1024);
+        PipedOutputStream workerOut = new PipedOutputStream();
+        toWorker = new DataOutputStream(new PipedOutputStream(workerIn));
+        fromWorker = new DataInputStream(new PipedInputStream(workerOut, 64 * 1024));
+        AnalysisWorker analysisWorker = new AnalysisWorker(new DataInputStream(workerIn), new DataOutputStream(workerOut));
+        worker = new Thread(() -> {
+            try {
+                analysisWorker.serve();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }, "worker-under-test");
+        worker.start();
+        
+        Path root = folder.newFolder("project").toPath();
+        Files.writeString(root.resolve("build.gradle"), "dependencies {\n    compile 'org.example:lib:1.0'\n}\n");
+        project = root.toString();
+    }
+    
+    @After
+    public void stopWorker() throws Exception {
+        toWorker.close();
+        worker.join(10_000);
+        assertFalse("worker did not stop when its input closed", worker.isAlive());
+    }
+    
+    @Test
+    public void runsJobs() throws IOException {
+        ProjectInfo first = runJob();
+        
+        assertEquals(project, first.getProjectPath());
+        assertEquals(1, first.getIssues().size());
+        assertEquals(1, runJob().getIssues().size());
+    }
+    
+    @Test
+    public void ignoresCancelBetweenJobs() throws IOException {
+        // Sent for a job that finished meanwhile: it must not cancel the next one
+        toWorker.write(WorkerProtocol.CANCEL);
+        toWorker.flush();
+        assertEquals(1, runJob().getIssues().size());
+        
+        toWorker.write(WorkerProtocol.CANCEL);
+        toWorker.write(WorkerProtocol.CANCEL);
+        toWorker.flush();
+        assertEquals(1, runJob().getIssues().size());
+    }
+    
+    @Test
+    public void reportsFailureAndKeepsServing() throws IOException {
+        WorkerProtocol.writeJob(toWorker, folder.getRoot().toPath().resolve("missing").toString(),
+                                new AnalysisOptions());
+        toWorker.flush();
+        
+        assertEquals(WorkerProtocol.FAILED, WorkerProtocol.readTag(fromWorker));
+        assertEquals(WorkerProtocol.FAILURE_IO, WorkerProtocol.readFailureKind(fromWorker));
+        WorkerProtocol.readFailure(fromWorker, WorkerProtocol.FAILURE_IO);
+        assertEquals(1, runJob().getIssues().size());
+    }
+    
+    private ProjectInfo runJob() throws IOException {
+        WorkerProtocol.writeJob(toWorker, project, new AnalysisOptions());
+        toWorker.flush();
+        int tag = WorkerProtocol.readTag(fromWorker);
+        assertEquals("frame " + (char) tag, WorkerProtocol.RESULT, tag);
+        return WorkerProtocol.readResult(fromWorker).projectInfo;
+    }
+}
@@ -0,0 +1,251 @@
+package com.migration.core.worker;
+
+import com.migration.core.detector.AnalysisOptions;
+import com.migration.core.detector.CancellationToken;
+import com.migration.exception.GitException;
+import com.migration.model.AnalysisProfile;
+import com.migration.model.MigrationIssue;
+import com.migration.model.ProjectInfo;
+import com.migration.util.Constants;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class WorkerProtocolTest {
+    
+    @Test
+    public void roundTripsJob() throws IOException {
+        AnalysisOptions options = new AnalysisOptions();
+        options.setProfile(true);
+        options.setChangedSince("origin/main");
+        options.setVersions("7.6", "9.1");
+        options.setMaxIssuesPerPatternPerFile(25);
+        options.setCancellation(CancellationToken.withTimeout(60_000));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        
+        WorkerProtocol.writeJob(new DataOutputStream(bytes), "/projects/café", options);
+        DataInputStream in = input(bytes);
+        assertEquals(WorkerProtocol.JOB, WorkerProtocol.readTag(in));
+        WorkerProtocol.Job job = WorkerProtocol.readJob(in);
+        
+        assertEquals("/projects/café", job.projectPath);
+        assertTrue(job.options.isProfile());
+        assertEquals("origin/main", job.options.getChangedSince());
+        assertEquals("7.6", job.options.getSourceVersion().toString());
+        assertEquals("9.1", job.options.getTargetVersion().toString());
+        assertEquals(25, job.options.getMaxIssuesPerPatternPerFile());
+        assertTrue(job.timeoutMillis > 0 && job.timeoutMillis <= 60_000);
+        assertNull(job.options.getCancellation());
+        assertEquals(-1, in.read());
+    }
+    
+    @Test
+    public void roundTripsJobWithDefaults() throws IOException {
+        AnalysisOptions options = new AnalysisOptions();
+        options.setVersions(Constants.SOURCE_VERSION_WRAPPER, null);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        
+        WorkerProtocol.writeJob(new DataOutputStream(bytes), "/projects/app", options);
+        DataInputStream in = input(bytes);
+        WorkerProtocol.readTag(in);
+        WorkerProtocol.Job job = WorkerProtocol.readJob(in);
+        
+        assertFalse(job.options.isProfile());
+        assertNull(job.options.getChangedSince());
+        assertTrue(job.options.isSourceFromWrapper());
+        assertEquals(options.getTargetVersion().toString(), job.options.getTargetVersion().toString());
+        assertEquals(Constants.MAX_ISSUES_PER_PATTERN_PER_FILE, job.options.getMaxIssuesPerPatternPerFile());
+        assertEquals(0, job.timeoutMillis);
+    }
+    
+    @Test
+    public void roundTripsResult() throws IOException {
+        ProjectInfo projectInfo = new ProjectInfo();
+        projectInfo.setProjectPath("/projects/überapp");
+        projectInfo.setProjectName("überapp");
+        projectInfo.setCurrentGradleVersion("7.6.1");
+        projectInfo.setMultiModule(true);
+        projectInfo.setModules(List.of("app", "lib-日本"));
+        projectInfo.setTotalIssues(3);
+        projectInfo.setCriticalIssues(1);
+        projectInfo.setAutoFixableIssues(2);
+        projectInfo.setProfile(new AnalysisProfile());
+        projectInfo.setIncomplete(true);
+        projectInfo.setChangedSince("HEAD~2");
+        List<MigrationIssue> issues = new ArrayList<>();
+        for (int line = 1; line <= 3; line++) {
+            MigrationIssue issue = new MigrationIssue("id-" + line, "DEPRECATED_CONFIGURATION", "CRITICAL",
+                                                      "Deprecated configuration", "Use implementation",
+                                                      "/projects/überapp/lib-日本/build.gradle", line);
+            issue.setCurrentCode("compile 'a:b:" + line + "'");
+            issue.setSuggestedFix("implementation 'a:b:" + line + "'");
+            issue.setExplanation("Removed in Gradle 7 — 削除");
+            issue.setAutoFixable(line != 2);
+            issue.setAffectedModules(List.of("lib-日本"));
+            issues.add(issue);
+        }
+        projectInfo.setIssues(issues);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        
+        WorkerProtocol.writeResult(new DataOutputStream(bytes), projectInfo, 123_456_789L, 1L << 33);
+        DataInputStream in = input(bytes);
+        assertEquals(WorkerProtocol.RESULT, WorkerProtocol.readTag(in));
+        WorkerProtocol.Result result = WorkerProtocol.readResult(in);
+        
+        ProjectInfo read = result.projectInfo;
+        assertEquals(123_456_789L, result.liveHeapBytes);
+        assertEquals(1L << 33, result.maxHeapBytes);
+        assertEquals("/projects/überapp", read.getProjectPath());
+        assertEquals("überapp", read.getProjectName());
+        assertEquals("7.6.1", read.getCurrentGradleVersion());
+        assertTrue(read.isMultiModule());
+        assertEquals(List.of("app", "lib-日本"), read.getModules());
+        assertEquals(3, read.getTotalIssues());
+        assertEquals(1, read.getCriticalIssues());
+        assertEquals(2, read.getAutoFixableIssues());
+        assertTrue(read.getProfile() != null);
+        assertTrue(read.isIncomplete());
+        assertEquals("HEAD~2", read.getChangedSince());
+        assertEquals(3, read.getIssues().size());
+        for (int i = 0; i < 3; i++) {
+            MigrationIssue expected = issues.get(i);
+            MigrationIssue actual = read.getIssues().get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getType(), actual.getType());
+            assertEquals(expected.getSeverity(), actual.getSeverity());
+            assertEquals(expected.getTitle(), actual.getTitle());
+            assertEquals(expected.getDescription(), actual.getDescription());
+            assertEquals(expected.getFilePath(), actual.getFilePath());
+            assertEquals(expected.getLineNumber(), actual.getLineNumber());
+            assertEquals(expected.getCurrentCode(), actual.getCurrentCode());
+            assertEquals(expected.getSuggestedFix(), actual.getSuggestedFix());
+            assertEquals(expected.getExplanation(), actual.getExplanation());
+            assertEquals(expected.isAutoFixable(), actual.isAutoFixable());
+            assertEquals(expected.getAffectedModules(), actual.getAffectedModules());
+        }
+        assertEquals(-1, in.read());
+    }
+    
+    @Test
+    public void roundTripsResultWithNullFields() throws IOException {
+        ProjectInfo projectInfo = new ProjectInfo();
+        projectInfo.setProjectPath("/projects/app");
+        projectInfo.setModules(null);
+        projectInfo.setIssues(null);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        
+        WorkerProtocol.writeResult(new DataOutputStream(bytes), projectInfo, 0, 0);
+        DataInputStream in = input(bytes);
+        WorkerProtocol.readTag(in);
+        ProjectInfo read = WorkerProtocol.readResult(in).projectInfo;
+        
+        assertEquals("/projects/app", read.getProjectPath());
+        assertNull(read.getProjectName());
+        assertNull(read.getCurrentGradleVersion());
+        assertNull(read.getModules());
+        assertNull(read.getProfile());
+        assertNull(read.getChangedSince());
+        assertNull(read.getIssues());
+        assertEquals(-1, in.read());
+    }
+    
+    @Test
+    public void roundTripsIssueWithNullFields() throws IOException {
+        ProjectInfo projectInfo = new ProjectInfo();
+        MigrationIssue issue = new MigrationIssue();
+        issue.setAffectedModules(null);
+        issue.setLineNumber(-1);
+        projectInfo.setIssues(List.of(issue));
+        projectInfo.setModules(List.of());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        
+        WorkerProtocol.writeResult(new DataOutputStream(bytes), projectInfo, 0, 0);
+        DataInputStream in = input(bytes);
+        WorkerProtocol.readTag(in);
+        ProjectInfo read = WorkerProtocol.readResult(in).projectInfo;
+        
+        assertEquals(List.of(), read.getModules());
+        MigrationIssue actual = read.getIssues().get(0);
+        assertNull(actual.getId());
+        assertNull(actual.getType());
+        assertNull(actual.getFilePath());
+        assertNull(actual.getCurrentCode());
+        assertNull(actual.getAffectedModules());
+        // Negative lines are sent as 0
+        assertEquals(0, actual.getLineNumber());
+    }
+    
+    @Test
+    public void roundTripsIoFailure() throws IOException {
+        IOException failure = roundTripFailure(WorkerProtocol.FAILURE_IO, "Permission denied: build.gradle");
+        
+        assertSame(IOException.class, failure.getClass());
+        assertEquals("Permission denied: build.gradle", failure.getMessage());
+    }
+    
+    @Test
+    public void roundTripsGitFailure() throws IOException {
+        IOException failure = roundTripFailure(WorkerProtocol.FAILURE_GIT, "Unknown revision: nope");
+        
+        assertSame(GitException.class, failure.getClass());
+        assertEquals("Unknown revision: nope", failure.getMessage());
+    }
+    
+    @Test
+    public void roundTripsFatalFailure() throws IOException {
+        IOException failure = roundTripFailure(WorkerProtocol.FAILURE_FATAL, "java.lang.OutOfMemoryError: Java heap space");
+        
+        assertSame(IOException.class, failure.getClass());
+        assertEquals("java.lang.OutOfMemoryError: Java heap space", failure.getMessage());
+    }
+    
+    @Test
+    public void roundTripsFailureWithoutMessage() throws IOException {
+        assertNull(roundTripFailure(WorkerProtocol.FAILURE_IO, null).getMessage());
+    }
+    
+    @Test
+    public void roundTripsVarlongs() throws IOException {
+        long[] values = {0, 1, 127, 128, 16_383, 16_384, Integer.MAX_VALUE, 0xFFFFFFFFL, Long.MAX_VALUE, -1};
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (long value : values) {
+            WorkerProtocol.writeVarlong(out, value);
+        }
+        WorkerProtocol.writeVarint(out, -1);
+        
+        DataInputStream in = input(bytes);
+        for (long value : values) {
+            assertEquals(value, WorkerProtocol.readVarlong(in));
+        }
+        assertEquals(-1, WorkerProtocol.readVarint(in));
+    }
+    
+    private static IOException roundTripFailure(int kind, String message) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WorkerProtocol.writeFailure(new DataOutputStream(bytes), kind, message);
+        
+        DataInputStream in = input(bytes);
+        assertEquals(WorkerProtocol.FAILED, WorkerProtocol.readTag(in));
+        assertEquals(kind, WorkerProtocol.readFailureKind(in));
+        IOException failure = WorkerProtocol.readFailure(in, kind);
+        assertEquals(-1, in.read());
+        return failure;
+    }
+    
+    private static DataInputStream input(ByteArrayOutputStream bytes) {
+        return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+}
@@ -0,0 +1,64 @@
+package com.migration.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A request carrying only parameters and session attributes, for the
+ * parsers that read nothing else. Other methods throw.
+ */
+final class FakeRequest {
+    
+    private final Map<String, List<String>> parameters = new LinkedHashMap<>();
+    private Map<String, Object> session;
+    
+    FakeRequest parameter(String name, String value) {
+        parameters.computeIfAbsent(name, k -> new ArrayList<>()).add(value);
+        return this;
+    }
+    
+    FakeRequest sessionAttribute(String name, Object value) {
+        if (session == null) {
+            session = new HashMap<>();
+        }
+        session.put(name, value);
+        return this;
+    }
+    
+    HttpServletRequest build() {
+        HttpSession httpSession = session == null ? null : (HttpSession) Proxy.newProxyInstance(
+            HttpSession.class.getClassLoader(), new Class<?>[] {HttpSession.class}, (proxy, method, args) -> {
+                if (method.getName().equals("getAttribute")) {
+                    return session.get((String) args[0]);
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+        return (HttpServletRequest) Proxy.newProxyInstance(
+            HttpServletRequest.class.getClassLoader(), new Class<?>[] {HttpServletRequest.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getParameter":
+                        List<String> values = parameters.get((String) args[0]);
+                        return values != null ? values.get(0) : null;
+                    case "getParameterValues":
+                        List<String> all = parameters.get((String) args[0]);
+                        return all != null ? all.toArray(new String[0]) : null;
+                    case "getSession":
+                        // getSession() would create one; only getSession(false) may return null
+                        if (httpSession == null && (args == null || (Boolean) args[0])) {
+                            throw new UnsupportedOperationException("getSession(true)");
+                        }
+                        return httpSession;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+    }
+}
@@ -0,0 +1,103 @@
+package com.migration.util;
+
+import com.migration.core.index.IssueIndex;
+import com.migration.core.index.IssueQuery;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class IssueQueryParserTest {
+    
+    private static final String PROJECT = new File("/work/project").getAbsolutePath();
+    
+    @Test
+    public void defaultsWithoutParameters() {
+        IssueQuery query = IssueQueryParser.parse(new FakeRequest().build(), PROJECT);
+        
+        assertFalse(IssueQueryParser.hasQueryParameters(new FakeRequest().build()));
+        assertEquals(1, query.getPage());
+        assertEquals(Constants.DEFAULT_PAGE_SIZE, query.getSize());
+        assertEquals(IssueIndex.SortKey.NONE, query.getSortKey());
+        assertTrue(query.getSeverities().isEmpty());
+        assertNull(query.getFilePrefix());
+        assertNull(query.getAutoFixable());
+    }
+    
+    @Test
+    public void parsesCombinedFilters() {
+        FakeRequest request = new FakeRequest()
+            .parameter("severity", "critical, high")
+            .parameter("severity", "low")
+            .parameter("type", "DEPRECATED_API,,")
+            .parameter("module", "app")
+            .parameter("filePrefix", "app" + File.separator + "src")
+            .parameter("autoFixable", "false");
+        
+        IssueQuery query = IssueQueryParser.parse(request.build(), PROJECT);
+        
+        assertTrue(IssueQueryParser.hasQueryParameters(request.build()));
+        assertEquals(List.of("CRITICAL", "HIGH", "LOW"), query.getSeverities());
+        assertEquals(List.of("DEPRECATED_API"), query.getTypes());
+        assertEquals(List.of("app"), query.getModules());
+        assertEquals(PROJECT + File.separator + "app" + File.separator + "src", query.getFilePrefix());
+        assertEquals(Boolean.FALSE, query.getAutoFixable());
+    }
+    
+    @Test
+    public void keepsAbsoluteFilePrefix() {
+        String prefix = new File("/elsewhere/build.gradle").getAbsolutePath();
+        
+        IssueQuery query = IssueQueryParser.parse(new FakeRequest().parameter("filePrefix", prefix).build(), PROJECT);
+        
+        assertEquals(prefix, query.getFilePrefix());
+    }
+    
+    @Test
+    public void parsesSortDirection() {
+        IssueQuery ascending = IssueQueryParser.parse(new FakeRequest().parameter("sort", "file").build(), PROJECT);
+        IssueQuery descending = IssueQueryParser.parse(new FakeRequest().parameter("sort", "-Severity").build(),
+                                                       PROJECT);
+        
+        assertEquals(IssueIndex.SortKey.FILE, ascending.getSortKey());
+        assertFalse(ascending.isDescending());
+        assertEquals(IssueIndex.SortKey.SEVERITY, descending.getSortKey());
+        assertTrue(descending.isDescending());
+    }
+    
+    @Test
+    public void acceptsPagingAtItsBounds() {
+        IssueQuery query = IssueQueryParser.parse(new FakeRequest()
+            .parameter("page", String.valueOf(Integer.MAX_VALUE))
+            .parameter("size", String.valueOf(Constants.MAX_PAGE_SIZE)).build(), PROJECT);
+        
+        assertEquals(Integer.MAX_VALUE, query.getPage());
+        assertEquals(Constants.MAX_PAGE_SIZE, query.getSize());
+    }
+    
+    @Test
+    public void rejectsInvalidValues() {
+        assertRejected("page", "0");
+        assertRejected("page", "2147483648");
+        assertRejected("page", "one");
+        assertRejected("size", "0");
+        assertRejected("size", String.valueOf(Constants.MAX_PAGE_SIZE + 1));
+        assertRejected("sort", "-");
+        assertRejected("sort", "line");
+    }
+    
+    private static void assertRejected(String name, String value) {
+        try {
+            IssueQueryParser.parse(new FakeRequest().parameter(name, value).build(), PROJECT);
+            fail(name + "=" + value + " was accepted");
+        } catch (IllegalArgumentException e) {
+            assertEquals(Constants.ERROR_INVALID_QUERY + name + "=" + value, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.migration.util;
+
+import com.migration.core.scheduler.AnalysisScheduler.Priority;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class SchedulingParserTest {
+    
+    private static HttpServletRequest webUi(String priority) {
+        FakeRequest request = new FakeRequest().sessionAttribute(Constants.SESSION_INTERACTIVE, Boolean.TRUE);
+        return (priority != null ? request.parameter("priority", priority) : request).build();
+    }
+    
+    private static HttpServletRequest script(String priority) {
+        FakeRequest request = new FakeRequest();
+        return (priority != null ? request.parameter("priority", priority) : request).build();
+    }
+    
+    @Test
+    public void defaultsByCaller() {
+        assertEquals(Priority.INTERACTIVE, SchedulingParser.defaultPriority(webUi(null)));
+        assertEquals(Priority.BATCH, SchedulingParser.defaultPriority(script(null)));
+        assertEquals(Priority.BATCH, SchedulingParser.defaultPriority(
+            new FakeRequest().sessionAttribute("other", Boolean.TRUE).build()));
+    }
+    
+    @Test
+    public void webUiMayAskForEitherPriority() {
+        assertEquals(Priority.INTERACTIVE, SchedulingParser.parsePriority(webUi(" Interactive "), Priority.BATCH));
+        assertEquals(Priority.BATCH, SchedulingParser.parsePriority(webUi("batch"), Priority.INTERACTIVE));
+        assertEquals(Priority.INTERACTIVE, SchedulingParser.parsePriority(webUi(""), Priority.INTERACTIVE));
+    }
+    
+    @Test
+    public void otherCallersCannotRaiseToInteractive() {
+        assertEquals(Priority.BATCH, SchedulingParser.parsePriority(script("interactive"), Priority.BATCH));
+        assertEquals(Priority.BATCH, SchedulingParser.parsePriority(script("batch"), Priority.BATCH));
+        assertEquals(Priority.BATCH, SchedulingParser.parsePriority(script(null), Priority.BATCH));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnknownPriority() {
+        SchedulingParser.parsePriority(webUi("urgent"), Priority.BATCH);
+    }
+}
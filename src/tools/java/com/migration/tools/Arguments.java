@@ -0,0 +1,72 @@
+package com.migration.tools;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Minimal {@code --name value} command line parsing shared by the tools
+ */
+final class Arguments {
+    
+    // Prevent instantiation
+    private Arguments() {
+        throw new AssertionError("Cannot instantiate Arguments class");
+    }
+    
+    static Map<String, String> parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            String name = args[i].substring(2);
+            int equals = name.indexOf('=');
+            if (equals >= 0) {
+                values.put(name.substring(0, equals), name.substring(equals + 1));
+            } else if (i + 1 < args.length) {
+                values.put(name, args[++i]);
+            } else {
+                throw new IllegalArgumentException("Missing value for --" + name);
+            }
+        }
+        return values;
+    }
+    
+    static int intValue(Map<String, String> values, String name, int defaultValue, int min) {
+        String value = values.remove(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < min) {
+                throw new IllegalArgumentException("--" + name + " must be at least " + min);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid --" + name + ": " + value);
+        }
+    }
+    
+    static double fraction(Map<String, String> values, String name, double defaultValue) {
+        String value = values.remove(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            double parsed = Double.parseDouble(value);
+            if (parsed < 0 || parsed > 1) {
+                throw new IllegalArgumentException("--" + name + " must be between 0 and 1");
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid --" + name + ": " + value);
+        }
+    }
+    
+    static void rejectUnknown(Map<String, String> values) {
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown option: --" + values.keySet().iterator().next());
+        }
+    }
+}
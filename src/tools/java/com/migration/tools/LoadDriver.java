@@ -0,0 +1,280 @@
+package com.migration.tools;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local load driver for the analyze and fix endpoints.
+ *
+ * Each virtual user holds its own cookie jar, and so its own server session,
+ * and loops: analyze a project, fetch a page of auto-fixable issues, and with
+ * the configured probability apply fixes to them. Latencies are reported per
+ * operation as throughput and percentiles.
+ *
+ * Fixes modify the analyzed files, so give each user its own copy when
+ * {@code --fix-ratio} is above zero; projects are assigned to users round-robin.
+ *
+ * <pre>
+ * java com.migration.tools.LoadDriver --projects DIR[,DIR...] [--url http://localhost:9080]
+ *     [--users 8] [--duration 60] [--warmup 10] [--fix-ratio 0.2] [--fix-batch 20] [--seed 42]
+ * </pre>
+ */
+public class LoadDriver {
+    
+    private static final String ANALYZE = "analyze";
+    private static final String PAGE = "page";
+    private static final String FIX = "fix";
+    
+    private final Options options;
+    private final HttpClient.Builder clientTemplate;
+    
+    public LoadDriver(Options options) {
+        this.options = options;
+        this.clientTemplate = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .version(HttpClient.Version.HTTP_1_1);
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: LoadDriver --projects DIR[,DIR...] [--url URL] [--users N] " +
+                               "[--duration SECONDS] [--warmup SECONDS] [--fix-ratio R] " +
+                               "[--fix-batch N] [--seed S]");
+            System.exit(2);
+            return;
+        }
+        
+        Report report = new LoadDriver(options).run();
+        report.print(System.out);
+        System.exit(report.errors() > 0 ? 1 : 0);
+    }
+    
+    /**
+     * Runs the warm-up and measured phases and returns the measured results
+     */
+    public Report run() throws InterruptedException {
+        if (options.warmupSeconds > 0) {
+            System.out.printf("Warming up for %ds with %d users...%n", options.warmupSeconds, options.users);
+            runPhase(options.warmupSeconds);
+        }
+        System.out.printf("Measuring for %ds with %d users...%n", options.durationSeconds, options.users);
+        return runPhase(options.durationSeconds);
+    }
+    
+    private Report runPhase(int seconds) throws InterruptedException {
+        Report report = new Report();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService executor = Executors.newFixedThreadPool(options.users);
+        try {
+            List<Future<?>> users = new ArrayList<>();
+            for (int i = 0; i < options.users; i++) {
+                VirtualUser user = new VirtualUser(i, options.projects.get(i % options.projects.size()), report);
+                users.add(executor.submit(() -> user.runUntil(deadline)));
+            }
+            for (Future<?> user : users) {
+                try {
+                    user.get();
+                } catch (ExecutionException e) {
+                    System.err.println("Virtual user failed: " + e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        report.elapsedNanos = TimeUnit.SECONDS.toNanos(seconds);
+        return report;
+    }
+    
+    /**
+     * One simulated browser session
+     */
+    private class VirtualUser {
+        private final String projectPath;
+        private final Report report;
+        private final Random random;
+        private final HttpClient client;
+        
+        VirtualUser(int index, String projectPath, Report report) {
+            this.projectPath = projectPath;
+            this.report = report;
+            this.random = new Random(options.seed + index);
+            this.client = clientTemplate.cookieHandler(new CookieManager()).build();
+        }
+        
+        void runUntil(long deadline) {
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                HttpResponse<Void> analyzed = send(ANALYZE, HttpRequest.newBuilder(uri("/api/analyze"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString("projectPath=" + encode(projectPath)))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+                if (analyzed == null || random.nextDouble() >= options.fixRatio) {
+                    continue;
+                }
+                
+                HttpResponse<String> page = send(PAGE, HttpRequest.newBuilder(
+                    uri("/api/analyze?autoFixable=true&page=1&size=" + options.fixBatch)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+                if (page == null) {
+                    continue;
+                }
+                
+                JsonArray issueIds = new JsonArray();
+                JsonObject body = JsonParser.parseString(page.body()).getAsJsonObject();
+                for (JsonElement issue : body.getAsJsonArray("issues")) {
+                    issueIds.add(issue.getAsJsonObject().get("id"));
+                }
+                if (issueIds.isEmpty()) {
+                    continue;
+                }
+                
+                JsonObject fixRequest = new JsonObject();
+                fixRequest.add("issueIds", issueIds);
+                send(FIX, HttpRequest.newBuilder(uri("/api/fix"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(fixRequest.toString()))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+            }
+        }
+        
+        private <T> HttpResponse<T> send(String operation, HttpRequest request,
+                                         HttpResponse.BodyHandler<T> handler) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<T> response = client.send(request, handler);
+                long elapsed = System.nanoTime() - start;
+                // A fix batch where nothing changed still answers 200; only 4xx and 5xx count as errors
+                if (response.statusCode() >= 400) {
+                    report.error(operation);
+                    return null;
+                }
+                report.record(operation, elapsed);
+                return response;
+            } catch (IOException e) {
+                report.error(operation);
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+    
+    private URI uri(String path) {
+        return URI.create(options.url + path);
+    }
+    
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Latencies and error counts per operation
+     */
+    public static class Report {
+        private final Map<String, List<Long>> latencies = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        private long elapsedNanos;
+        
+        void record(String operation, long nanos) {
+            List<Long> values = latencies.computeIfAbsent(operation, k -> Collections.synchronizedList(new ArrayList<>()));
+            values.add(nanos);
+        }
+        
+        void error(String operation) {
+            errors.computeIfAbsent(operation, k -> new LongAdder()).increment();
+        }
+        
+        public long errors() {
+            return errors.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+        
+        public void print(PrintStream out) {
+            double seconds = elapsedNanos / 1e9;
+            out.printf("%n%-8s %8s %7s %9s %9s %9s %9s %9s %9s%n",
+                       "op", "count", "errors", "req/s", "mean ms", "p50 ms", "p90 ms", "p99 ms", "max ms");
+            for (String operation : List.of(ANALYZE, PAGE, FIX)) {
+                List<Long> values = latencies.getOrDefault(operation, List.of());
+                long errorCount = errors.containsKey(operation) ? errors.get(operation).sum() : 0;
+                if (values.isEmpty() && errorCount == 0) {
+                    continue;
+                }
+                long[] sorted = values.stream().mapToLong(Long::longValue).sorted().toArray();
+                double mean = Arrays.stream(sorted).average().orElse(0);
+                out.printf("%-8s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                           operation, sorted.length, errorCount, sorted.length / seconds, mean / 1e6,
+                           percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                           sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+            }
+        }
+        
+        // Nearest-rank percentile in milliseconds
+        private static double percentile(long[] sorted, int percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1e6;
+        }
+    }
+    
+    /**
+     * Load driver settings
+     */
+    public static class Options {
+        String url = "http://localhost:9080";
+        List<String> projects = new ArrayList<>();
+        int users = 8;
+        int durationSeconds = 60;
+        int warmupSeconds = 10;
+        double fixRatio = 0.2;
+        int fixBatch = 20;
+        long seed = 42;
+        
+        static Options parse(String[] args) {
+            Map<String, String> values = Arguments.parse(args);
+            Options options = new Options();
+            String projects = values.remove("projects");
+            if (projects == null || projects.isBlank()) {
+                throw new IllegalArgumentException("--projects is required");
+            }
+            for (String project : projects.split(",")) {
+                if (!project.isBlank()) {
+                    options.projects.add(Paths.get(project.trim()).toAbsolutePath().toString());
+                }
+            }
+            String url = values.remove("url");
+            if (url != null) {
+                options.url = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+            }
+            options.users = Arguments.intValue(values, "users", options.users, 1);
+            options.durationSeconds = Arguments.intValue(values, "duration", options.durationSeconds, 1);
+            options.warmupSeconds = Arguments.intValue(values, "warmup", options.warmupSeconds, 0);
+            options.fixRatio = Arguments.fraction(values, "fix-ratio", options.fixRatio);
+            options.fixBatch = Arguments.intValue(values, "fix-batch", options.fixBatch, 1);
+            options.seed = Arguments.intValue(values, "seed", (int) options.seed, 0);
+            Arguments.rejectUnknown(values);
+            return options;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.migration.tools;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates synthetic multi-module Gradle projects for scaling work.
+ *
+ * Module count, build file size, issue density and the Groovy/Kotlin DSL mix
+ * are configurable. Output depends only on the options and the seed, so the
+ * same command line always produces the same tree.
+ *
+ * <pre>
+ * java com.migration.tools.SyntheticProjectGenerator --output DIR [--modules 5000]
+ *     [--lines 200] [--issue-density 0.05] [--kotlin-ratio 0.3] [--group-size 50]
+ *     [--gradle-version 7.6] [--seed 42]
+ * </pre>
+ */
+public class SyntheticProjectGenerator {
+    
+    private final Options options;
+    private final Random random;
+    private long filesWritten;
+    private long bytesWritten;
+    private long issueSites;
+    
+    public SyntheticProjectGenerator(Options options) {
+        this.options = options;
+        this.random = new Random(options.seed);
+    }
+    
+    public static void main(String[] args) {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: SyntheticProjectGenerator --output DIR [--modules N] [--lines N] " +
+                               "[--issue-density D] [--kotlin-ratio R] [--group-size N] " +
+                               "[--gradle-version V] [--seed S]");
+            System.exit(2);
+            return;
+        }
+        
+        long start = System.nanoTime();
+        SyntheticProjectGenerator generator = new SyntheticProjectGenerator(options);
+        try {
+            generator.generate();
+        } catch (IOException e) {
+            System.err.println("Error generating project: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        System.out.printf("Generated %d modules in %s: %d files, %d bytes, %d issue sites (%.1fs)%n",
+                          options.modules, options.output, generator.filesWritten, generator.bytesWritten,
+                          generator.issueSites, (System.nanoTime() - start) / 1e9);
+    }
+    
+    /**
+     * Writes the whole project tree under the output directory
+     */
+    public void generate() throws IOException {
+        Path root = options.output;
+        if (Files.exists(root.resolve("settings.gradle"))) {
+            throw new IOException("Output already contains a project: " + root);
+        }
+        Files.createDirectories(root);
+        
+        StringBuilder settings = new StringBuilder("rootProject.name = '")
+            .append(root.getFileName()).append("'\n\n");
+        for (int i = 0; i < options.modules; i++) {
+            String group = String.format("group-%03d", i / options.groupSize);
+            String module = String.format("module-%05d", i);
+            settings.append("include '").append(group).append(':').append(module).append("'\n");
+            
+            Path moduleDir = Files.createDirectories(root.resolve(group).resolve(module));
+            boolean kotlin = random.nextDouble() < options.kotlinRatio;
+            if (kotlin) {
+                write(moduleDir.resolve("build.gradle.kts"), kotlinBuildFile(i));
+            } else {
+                write(moduleDir.resolve("build.gradle"), groovyBuildFile(i));
+            }
+        }
+        
+        write(root.resolve("settings.gradle"), settings.toString());
+        write(root.resolve("build.gradle"), rootBuildFile());
+        write(Files.createDirectories(root.resolve("gradle/wrapper")).resolve("gradle-wrapper.properties"),
+              "distributionBase=GRADLE_USER_HOME\n" +
+              "distributionPath=wrapper/dists\n" +
+              "distributionUrl=https\\://services.gradle.org/distributions/gradle-" +
+              options.gradleVersion + "-bin.zip\n" +
+              "zipStoreBase=GRADLE_USER_HOME\n" +
+              "zipStorePath=wrapper/dists\n");
+    }
+    
+    private String rootBuildFile() {
+        return "plugins {\n" +
+               "    id 'base'\n" +
+               "}\n\n" +
+               "allprojects {\n" +
+               "    repositories {\n" +
+               "        mavenCentral()\n" +
+               "    }\n" +
+               "}\n";
+    }
+    
+    private String groovyBuildFile(int index) {
+        BuildFile out = new BuildFile();
+        out.line("plugins {").line("    id 'java-library'").line("}").line("");
+        if (issue()) {
+            out.line("version = '1." + index + "'");
+        } else {
+            out.line("base {").line("    archivesName.set('m" + index + "')").line("}");
+        }
+        
+        // Roughly half the file is dependencies, the rest task and archive blocks
+        out.line("").line("dependencies {");
+        while (out.lines < options.lines / 2) {
+            int lib = random.nextInt(10_000);
+            String configuration = issue()
+                ? pick("compile", "runtime", "testCompile", "testRuntime")
+                : pick("implementation", "api", "runtimeOnly", "testImplementation");
+            out.line("    " + configuration + " 'org.example:lib-" + lib + ":1.0." + lib % 10 + "'");
+        }
+        out.line("}");
+        
+        for (int task = 1; out.lines < options.lines; task++) {
+            out.line("");
+            if (!issue()) {
+                out.line("tasks.register('task" + task + "') {")
+                   .line("    doLast {")
+                   .line("        println 'task " + task + "'")
+                   .line("    }")
+                   .line("}");
+                continue;
+            }
+            switch (random.nextInt(5)) {
+                case 0:
+                    out.line("task task" + task + " << {")
+                       .line("    println 'task " + task + "'")
+                       .line("}");
+                    break;
+                case 1:
+                    out.line("jar {")
+                       .line("    archiveName = 'm" + index + "-" + task + ".jar'")
+                       .line("}");
+                    break;
+                case 2:
+                    out.line("tasks.register('print" + task + "') {")
+                       .line("    doLast {")
+                       .line("        println jar.getArchivePath()")
+                       .line("        println sourceSets.main.output.classesDir")
+                       .line("    }")
+                       .line("}");
+                    break;
+                case 3:
+                    out.line("ext['prop" + task + "'] = '" + task + "'");
+                    break;
+                default:
+                    out.line("def convention" + task + " = project.convention.getPlugin(JavaPluginConvention)");
+                    break;
+            }
+        }
+        return out.toString();
+    }
+    
+    private String kotlinBuildFile(int index) {
+        BuildFile out = new BuildFile();
+        out.line("plugins {").line("    `java-library`").line("}");
+        if (issue()) {
+            out.line("").line("version = \"1." + index + "\"");
+        }
+        
+        out.line("").line("dependencies {");
+        while (out.lines < options.lines / 2) {
+            int lib = random.nextInt(10_000);
+            String configuration = issue()
+                ? pick("compile", "runtime", "testCompile", "testRuntime")
+                : pick("implementation", "api", "runtimeOnly", "testImplementation");
+            out.line("    " + configuration + "(\"org.example:lib-" + lib + ":1.0." + lib % 10 + "\")");
+        }
+        out.line("}");
+        
+        for (int task = 1; out.lines < options.lines; task++) {
+            out.line("");
+            if (!issue()) {
+                out.line("tasks.register(\"task" + task + "\") {")
+                   .line("    doLast {")
+                   .line("        println(\"task " + task + "\")")
+                   .line("    }")
+                   .line("}");
+            } else if (random.nextBoolean()) {
+                out.line("tasks.register(\"print" + task + "\") {")
+                   .line("    doLast {")
+                   .line("        println(tasks.jar.get().getArchivePath())")
+                   .line("    }")
+                   .line("}");
+            } else {
+                out.line("val prop" + task + " = project.ext[\"prop" + task + "\"]");
+            }
+        }
+        return out.toString();
+    }
+    
+    private String pick(String... choices) {
+        return choices[random.nextInt(choices.length)];
+    }
+    
+    private boolean issue() {
+        boolean issue = random.nextDouble() < options.issueDensity;
+        if (issue) {
+            issueSites++;
+        }
+        return issue;
+    }
+    
+    private void write(Path file, String content) throws IOException {
+        Files.writeString(file, content);
+        filesWritten++;
+        bytesWritten += content.length();
+    }
+    
+    /**
+     * Build file text that keeps track of its line count
+     */
+    private static class BuildFile {
+        private final StringBuilder content = new StringBuilder();
+        int lines;
+        
+        BuildFile line(String line) {
+            content.append(line).append('\n');
+            lines++;
+            return this;
+        }
+        
+        @Override
+        public String toString() {
+            return content.toString();
+        }
+    }
+    
+    /**
+     * Generator settings
+     */
+    public static class Options {
+        Path output;
+        int modules = 100;
+        int lines = 200;
+        double issueDensity = 0.05;
+        double kotlinRatio = 0.3;
+        int groupSize = 50;
+        String gradleVersion = "7.6";
+        long seed = 42;
+        
+        static Options parse(String[] args) {
+            Map<String, String> values = Arguments.parse(args);
+            Options options = new Options();
+            String output = values.remove("output");
+            if (output == null) {
+                throw new IllegalArgumentException("--output is required");
+            }
+            options.output = Paths.get(output).toAbsolutePath();
+            options.modules = Arguments.intValue(values, "modules", options.modules, 1);
+            options.lines = Arguments.intValue(values, "lines", options.lines, 10);
+            options.issueDensity = Arguments.fraction(values, "issue-density", options.issueDensity);
+            options.kotlinRatio = Arguments.fraction(values, "kotlin-ratio", options.kotlinRatio);
+            options.groupSize = Arguments.intValue(values, "group-size", options.groupSize, 1);
+            options.gradleVersion = values.getOrDefault("gradle-version", options.gradleVersion);
+            values.remove("gradle-version");
+            options.seed = Arguments.intValue(values, "seed", (int) options.seed, 0);
+            Arguments.rejectUnknown(values);
+            return options;
+        }
+    }
+}